@@ -26,8 +26,12 @@ package com.backwardsnode.easyadmin.api.admin;
 
 import com.backwardsnode.easyadmin.api.annotation.Caching;
 import com.backwardsnode.easyadmin.api.data.CacheBehavior;
+import com.backwardsnode.easyadmin.api.data.DatabaseStatistics;
+import com.backwardsnode.easyadmin.api.data.ImportFormat;
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
+import com.backwardsnode.easyadmin.api.data.PlayerDossier;
 import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.data.RecordCounts;
 import com.backwardsnode.easyadmin.api.entity.OfflinePlayer;
 import com.backwardsnode.easyadmin.api.entity.OnlinePlayer;
 import com.backwardsnode.easyadmin.api.record.*;
@@ -37,6 +41,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The main API for requesting, updating and saving admin records.
@@ -85,6 +90,18 @@ public interface AdminManager {
     @Caching
     @NotNull Optional<BanRecord> getActiveBanRecord(@NotNull OfflinePlayer player, @NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalBans);
 
+    /**
+     * Gets the first active {@link BanRecord} for a given player UUID <b>OR</b> IP address, without blocking on the
+     * database. The future is already complete if the records are cached, including while they are being refreshed.
+     * @param playerUUID the UUID of the player to check.
+     * @param ipAddress the IP address to check.
+     * @param inContext the context to check for a ban in, or null for only global bans.
+     * @param includeGlobalBans whether this method can return a global ban record.
+     * @return a future of an optional containing the ban record if one exists, or an empty optional if not.
+     */
+    @Caching
+    @NotNull CompletableFuture<Optional<BanRecord>> getActiveBanRecordAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalBans);
+
     /**
      * Gets the first active {@link MuteRecord} for a given player UUID, if one exists.
      * @param playerUUID the UUID of the player to check.
@@ -126,6 +143,18 @@ public interface AdminManager {
     @Caching
     @NotNull Optional<MuteRecord> getActiveMuteRecord(@NotNull OnlinePlayer player, @Nullable String inContext, boolean includeGlobalMutes);
 
+    /**
+     * Gets the first active {@link MuteRecord} for a given player UUID <b>OR</b> IP address, without blocking on the
+     * database. The future is already complete if the records are cached, including while they are being refreshed.
+     * @param playerUUID the UUID of the player to check.
+     * @param ipAddress the IP address to check.
+     * @param inContext the context to check for a mute in, or null for only global mutes.
+     * @param includeGlobalMutes whether this method can return a global mute record.
+     * @return a future of an optional containing the mute record if one exists, or an empty optional if not.
+     */
+    @Caching
+    @NotNull CompletableFuture<Optional<MuteRecord>> getActiveMuteRecordAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalMutes);
+
     /**
      * Gets all {@link BanRecord}s for a given player UUID, if any exist.
      * @param playerUUID the UUID of the player to check.
@@ -625,6 +654,62 @@ public interface AdminManager {
     @Caching
     @NotNull PlayerRecord getOrInitPlayerRecord(@NotNull OnlinePlayer player);
 
+    /**
+     * Gets a {@link PlayerDossier} for the given UUID, holding the player's record, their latest records of each type
+     * and all of their record counts. The dossier is loaded from the database in a single query and is not cached.
+     * @param playerUUID the UUID of the player to look up.
+     * @param recordLimit the maximum number of records of each type to include.
+     * @return the player's dossier.
+     */
+    @NotNull PlayerDossier getPlayerDossier(@NotNull UUID playerUUID, int recordLimit);
+
+    /**
+     * Gets the number of records held against the given player and the number they have issued as staff, all read
+     * together from counters kept up to date as records are added. The counts are not cached.
+     * @param playerUUID the UUID of the player to count records for.
+     * @return the player's record counts.
+     */
+    @NotNull RecordCounts getRecordCounts(@NotNull UUID playerUUID);
+
+    /**
+     * Gets the connection pool and per-statement timings recorded by the database since it was connected or the
+     * statistics were last reset.
+     * @return a snapshot of the database statistics.
+     */
+    @NotNull DatabaseStatistics getDatabaseStatistics();
+
+    /**
+     * Clears all recorded database statistics, so that later snapshots only cover what happens from now on.
+     */
+    void resetDatabaseStatistics();
+
+    /**
+     * Imports records from another punishment plugin, as configured in the importer section of the configuration. The
+     * import runs in the background and resumes from where it stopped if it was interrupted. No events are fired for
+     * imported records.
+     * @param format the plugin to import from
+     * @return a future completing with the number of records imported, or exceptionally if the import failed or
+     *         another import is already running
+     */
+    @NotNull CompletableFuture<Long> importRecords(@NotNull ImportFormat format);
+
+    /**
+     * Exports every player and record to a new compressed backup in the backups directory. The export runs in the
+     * background and does not block other database access.
+     * @return a future completing with the name of the backup, or exceptionally if the export failed or an import or
+     *         backup is already running
+     */
+    @NotNull CompletableFuture<String> exportDatabase();
+
+    /**
+     * Restores a backup made by {@link #exportDatabase()}, which may have been taken from another database platform.
+     * The database must not have any players yet.
+     * @param name the name of the backup
+     * @return a future completing with the number of rows restored, or exceptionally if the restore failed or an
+     *         import or backup is already running
+     */
+    @NotNull CompletableFuture<Long> restoreDatabase(@NotNull String name);
+
     /**
      * Ends all active bans targeting a specific player.
      * @param playerUUID the UUID of the player to unban.
@@ -27,14 +27,18 @@ package com.backwardsnode.easyadmin.api.commit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Holds the result of a commit operation.
  * @param record The record that was (or was attempted to be) committed.
  * @param status The status of the commit operation.
  * @param existing The existing record that prevented the commit operation from succeeding.
+ * @param persisted A future which completes with whether the record was written to the database, or null if the
+ *                  record was not committed.
  * @param <T> The type of record held by this result.
  */
-public record CommitResult<T>(@NotNull T record, @NotNull CommitStatus status, @Nullable T existing) {
+public record CommitResult<T>(@NotNull T record, @NotNull CommitStatus status, @Nullable T existing, @Nullable CompletableFuture<Boolean> persisted) {
 
     /**
      * Shorthand constructor for results that do not reflect an existing record.
@@ -42,7 +46,26 @@ public record CommitResult<T>(@NotNull T record, @NotNull CommitStatus status, @
      * @param status The status of the commit operation.
      */
     public CommitResult(T record, CommitStatus status) {
-        this(record, status, null);
+        this(record, status, null, null);
+    }
+
+    /**
+     * Shorthand constructor for results that were not persisted.
+     * @param record The record that was (or was attempted to be) committed.
+     * @param status The status of the commit operation.
+     * @param existing The existing record that prevented the commit operation from succeeding.
+     */
+    public CommitResult(T record, CommitStatus status, T existing) {
+        this(record, status, existing, null);
+    }
+
+    /**
+     * Shorthand constructor for committed results.
+     * @param record The record that was committed.
+     * @param persisted A future which completes with whether the record was written to the database.
+     */
+    public CommitResult(T record, CompletableFuture<Boolean> persisted) {
+        this(record, CommitStatus.COMMITTED, null, persisted);
     }
 
 }
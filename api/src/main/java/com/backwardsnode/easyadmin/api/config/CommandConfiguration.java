@@ -67,6 +67,24 @@ public interface CommandConfiguration {
      */
     boolean isLookupCommandEnabled();
 
+    /**
+     * Determines whether the database statistics command is enabled.
+     * @return true if enabled.
+     */
+    boolean isDatabaseStatsCommandEnabled();
+
+    /**
+     * Determines whether the import command is enabled.
+     * @return true if enabled.
+     */
+    boolean isImportCommandEnabled();
+
+    /**
+     * Determines whether the backup command is enabled.
+     * @return true if enabled.
+     */
+    boolean isBackupCommandEnabled();
+
     /**
      * Gets the scopes which the ban command is enabled for.
      * @return the enabled {@link ActionScope}s for "ban".
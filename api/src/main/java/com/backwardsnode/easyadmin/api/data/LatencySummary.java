@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.api.data;
+
+/**
+ * A summary of the latencies recorded for one phase of a database operation. Percentiles are approximate, to within
+ * an eighth of their value.
+ * @param count The number of latencies recorded.
+ * @param totalNanos The sum of all recorded latencies, in nanoseconds.
+ * @param p50Nanos The median latency, in nanoseconds.
+ * @param p95Nanos The 95th percentile latency, in nanoseconds.
+ * @param p99Nanos The 99th percentile latency, in nanoseconds.
+ * @param maxNanos The highest latency recorded, in nanoseconds.
+ */
+public record LatencySummary(long count,
+                             long totalNanos,
+                             long p50Nanos,
+                             long p95Nanos,
+                             long p99Nanos,
+                             long maxNanos) {
+
+    /**
+     * A summary with no recorded latencies.
+     */
+    public static final LatencySummary EMPTY = new LatencySummary(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Gets the mean latency.
+     * @return the mean latency in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long meanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+}
@@ -38,6 +38,7 @@ public final class LookupOptions {
     private final boolean sortDescending;
     private final LocalDateTime dateBefore;
     private final LocalDateTime dateAfter;
+    private final Integer cursor;
 
     /**
      * Initializes a new {@link LookupOptions}.
@@ -58,6 +59,7 @@ public final class LookupOptions {
         this.sortDescending = true;
         this.dateBefore = null;
         this.dateAfter = null;
+        this.cursor = null;
     }
 
     /**
@@ -69,11 +71,25 @@ public final class LookupOptions {
      * @param dateAfter the date after which to return results.
      */
     public LookupOptions(int limit, int offset, boolean sortDescending, @Nullable LocalDateTime dateBefore, @Nullable LocalDateTime dateAfter) {
+        this(limit, offset, sortDescending, dateBefore, dateAfter, null);
+    }
+
+    /**
+     * Initializes a new {@link LookupOptions}.
+     * @param limit the maximum number of results to return.
+     * @param offset the number of results to skip.
+     * @param sortDescending whether to sort the results in descending order.
+     * @param dateBefore the date before which to return results.
+     * @param dateAfter the date after which to return results.
+     * @param cursor the record ID to continue after, in the direction of the sort order.
+     */
+    public LookupOptions(int limit, int offset, boolean sortDescending, @Nullable LocalDateTime dateBefore, @Nullable LocalDateTime dateAfter, @Nullable Integer cursor) {
         this.limit = limit;
         this.offset = offset;
         this.sortDescending = sortDescending;
         this.dateBefore = dateBefore;
         this.dateAfter = dateAfter;
+        this.cursor = cursor;
     }
 
     /**
@@ -115,4 +131,24 @@ public final class LookupOptions {
     public boolean getSortDescending() {
         return sortDescending;
     }
+
+    /**
+     * Gets the record ID to continue after. Only records with a lower ID (or a higher ID when sorting in ascending
+     * order) are returned, which lets a lookup seek straight to the next page instead of skipping over earlier ones.
+     * @return the cursor ID, or null to start from the first record.
+     */
+    public @Nullable Integer getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Creates a copy of these options which continues after the given record ID, with no offset. Passing the ID of the
+     * last record returned by a lookup gives the options for the following page; a page shorter than the limit was the
+     * last one.
+     * @param cursor the ID of the last record already seen.
+     * @return the {@link LookupOptions} for the following page.
+     */
+    public LookupOptions withCursor(int cursor) {
+        return new LookupOptions(limit, 0, sortDescending, dateBefore, dateAfter, cursor);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.api.data;
+
+import com.backwardsnode.easyadmin.api.record.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Holds a player's record along with their most recent punishments and their record counts, as loaded together by a
+ * single lookup.
+ * @param player The player's record, or null if the player has never joined.
+ * @param bans The most recent bans against the player, newest first.
+ * @param comments The most recent comments and warnings on the player, newest first.
+ * @param kicks The most recent kicks of the player, newest first.
+ * @param mutes The most recent mutes against the player, newest first.
+ * @param banCount The total number of bans against the player.
+ * @param commentCount The total number of comments on the player, including warnings.
+ * @param warningCount The total number of warnings given to the player.
+ * @param kickCount The total number of kicks of the player.
+ * @param muteCount The total number of mutes against the player.
+ * @param issuedBanCount The total number of bans issued by the player as staff.
+ * @param issuedCommentCount The total number of comments written by the player as staff.
+ * @param issuedKickCount The total number of kicks issued by the player as staff.
+ * @param issuedMuteCount The total number of mutes issued by the player as staff.
+ */
+public record PlayerDossier(@Nullable PlayerRecord player,
+                            @NotNull List<BanRecord> bans,
+                            @NotNull List<CommentRecord> comments,
+                            @NotNull List<KickRecord> kicks,
+                            @NotNull List<MuteRecord> mutes,
+                            int banCount,
+                            int commentCount,
+                            int warningCount,
+                            int kickCount,
+                            int muteCount,
+                            int issuedBanCount,
+                            int issuedCommentCount,
+                            int issuedKickCount,
+                            int issuedMuteCount) {
+
+}
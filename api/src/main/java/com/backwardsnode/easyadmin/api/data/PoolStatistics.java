@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.api.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds the connection statistics for one database connection pool. The connection counts are only available for
+ * pooled databases, and are 0 otherwise.
+ * @param name The name of the pool, either {@code primary} or {@code read}.
+ * @param acquisitions The number of connections handed out by the pool.
+ * @param waits The number of acquisitions which had to wait for a connection to become free.
+ * @param timeouts The number of acquisitions which gave up waiting for a connection.
+ * @param acquire The time spent acquiring connections.
+ * @param activeConnections The number of connections currently in use.
+ * @param idleConnections The number of connections currently idle in the pool.
+ * @param totalConnections The number of connections currently open.
+ * @param threadsAwaiting The number of threads currently waiting for a connection.
+ */
+public record PoolStatistics(@NotNull String name,
+                             long acquisitions,
+                             long waits,
+                             long timeouts,
+                             @NotNull LatencySummary acquire,
+                             int activeConnections,
+                             int idleConnections,
+                             int totalConnections,
+                             int threadsAwaiting) {
+
+}
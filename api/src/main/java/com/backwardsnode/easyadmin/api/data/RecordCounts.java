@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.api.data;
+
+/**
+ * Holds the number of records held against a player, and the number they have issued as a staff member.
+ * @param bans The total number of bans against the player.
+ * @param comments The total number of comments on the player, including warnings.
+ * @param warnings The total number of warnings given to the player.
+ * @param kicks The total number of kicks of the player.
+ * @param mutes The total number of mutes against the player.
+ * @param issuedBans The total number of bans issued by the player as staff.
+ * @param issuedComments The total number of comments written by the player as staff.
+ * @param issuedKicks The total number of kicks issued by the player as staff.
+ * @param issuedMutes The total number of mutes issued by the player as staff.
+ */
+public record RecordCounts(int bans,
+                           int comments,
+                           int warnings,
+                           int kicks,
+                           int mutes,
+                           int issuedBans,
+                           int issuedComments,
+                           int issuedKicks,
+                           int issuedMutes) {
+
+    /**
+     * Counts for a player with no records.
+     */
+    public static final RecordCounts EMPTY = new RecordCounts(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+}
@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.api.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds the timings recorded for one kind of database statement.
+ * @param kind The name of the statement, such as {@code retrievePlayerBans}.
+ * @param errors The number of times the statement failed to execute.
+ * @param acquire The time spent waiting for a connection before running the statement.
+ * @param execute The time spent preparing and executing the statement, including the commit for writes.
+ * @param decode The time spent reading records from the results. Empty for statements which return no records.
+ */
+public record StatementStatistics(@NotNull String kind,
+                                  long errors,
+                                  @NotNull LatencySummary acquire,
+                                  @NotNull LatencySummary execute,
+                                  @NotNull LatencySummary decode) {
+
+    /**
+     * Gets the number of times the statement was executed.
+     * @return the execution count.
+     */
+    public long count() {
+        return execute.count();
+    }
+
+}
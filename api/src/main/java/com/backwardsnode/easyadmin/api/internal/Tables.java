@@ -238,4 +238,72 @@ public final class Tables {
          */
         String UNMUTE_REASON = "unmuteReason";
     }
+
+    /**
+     * Holds the column names for the 'player_stats' table.
+     */
+    public interface PLAYER_STATS {
+        /**
+         * Player UUID.
+         */
+        String UUID = "uuid";
+        /**
+         * Number of bans against the player.
+         */
+        String BANS = "bans";
+        /**
+         * Number of comments on the player, including warnings.
+         */
+        String COMMENTS = "comments";
+        /**
+         * Number of warnings given to the player.
+         */
+        String WARNINGS = "warnings";
+        /**
+         * Number of kicks of the player.
+         */
+        String KICKS = "kicks";
+        /**
+         * Number of mutes against the player.
+         */
+        String MUTES = "mutes";
+        /**
+         * Number of bans issued by the player.
+         */
+        String ISSUED_BANS = "issuedBans";
+        /**
+         * Number of comments written by the player.
+         */
+        String ISSUED_COMMENTS = "issuedComments";
+        /**
+         * Number of kicks issued by the player.
+         */
+        String ISSUED_KICKS = "issuedKicks";
+        /**
+         * Number of mutes issued by the player.
+         */
+        String ISSUED_MUTES = "issuedMutes";
+    }
+
+    /**
+     * Holds the column names for the 'import_checkpoints' table.
+     */
+    public interface IMPORT_CHECKPOINTS {
+        /**
+         * Name of the import source.
+         */
+        String SOURCE = "source";
+        /**
+         * Position in the source of the last imported row.
+         */
+        String LAST_POSITION = "lastPosition";
+        /**
+         * Number of records imported from the source.
+         */
+        String IMPORTED = "imported";
+        /**
+         * Date the checkpoint was last written.
+         */
+        String LAST_UPDATED = "lastUpdated";
+    }
 }
@@ -25,6 +25,7 @@
 package com.backwardsnode.easyadmin.bungee.event;
 
 import com.backwardsnode.easyadmin.api.admin.ChatFilter;
+import com.backwardsnode.easyadmin.api.commit.CommitException;
 import com.backwardsnode.easyadmin.api.data.ChatFilterResult;
 import com.backwardsnode.easyadmin.api.data.RecommendationAction;
 import com.backwardsnode.easyadmin.api.data.RecommendationReason;
@@ -45,9 +46,14 @@ import net.md_5.bungee.api.event.*;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
 import net.md_5.bungee.event.EventPriority;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 
 public class BungeeListener implements Listener {
 
@@ -70,7 +76,15 @@ public class BungeeListener implements Listener {
             OnlinePlayerWrapper player = new OnlinePlayerWrapper(pp);
             String message = e.getMessage();
             String context = player.getServerName();
-            Optional<MuteRecord> muteRecord = plugin.getInstance().getAdminManager().getActiveMuteRecord(player, context, true);
+            // chat cannot be held open like a login, so only a mute lookup that is still running or failed drops the
+            // message; mutes are warmed on join, so this is normally already complete
+            Optional<MuteRecord> muteRecord = now(plugin.getInstance().getAdminManager().getActiveMuteRecordAsync(player.getUUID(), player.getSerializedIPAddress(), context, true),
+                    "Mute lookup for " + pp.getName() + " failed, message dropped");
+            if (muteRecord == null) {
+                e.setCancelled(true);
+                player.sendKeyedMessage(CommonMessages.PLAYER.CHECK_PENDING);
+                return;
+            }
 
             if (muteRecord.isPresent()) {
                 e.setCancelled(true);
@@ -113,7 +127,7 @@ public class BungeeListener implements Listener {
             mpr.setLastServer(e.getPlayer().getServer().getInfo().getName());
             mpr.setLastLeft(LocalDateTime.now());
             //TODO set playtime (need to cache this somehow)
-            //TODO commit to API committer
+            commitPlayerRecord(mpr);
         }
     }
 
@@ -126,16 +140,34 @@ public class BungeeListener implements Listener {
         PendingConnection conn = e.getConnection();
         OfflinePlayerWrapper player = new OfflinePlayerWrapper(conn.getUniqueId(), conn.getName());
         // TODO: unix socket support P2??
-        Optional<BanRecord> record = plugin.getInstance().getAdminManager().getActiveBanRecord(player, conn.getAddress().getAddress().getHostAddress(), null, true);
-
-        if (record.isPresent()) {
-            // TODO fallback server if not global ban
-            e.setCancelled(true);
-            // TODO ban reason message styleize
-            e.setCancelReason(TextComponent.fromLegacyText(plugin.getInstance().getMessageFactory().getMessageDefault(CommonMessages.PLAYER.BAN.BAN_TITLE)));
-
-            plugin.getInstance().getAdminDynamo().recordAttemptedJoin(player, null);
+        String address = conn.getAddress().getAddress().getHostAddress();
+        // hold the login while the ban lookup runs on the database executor instead of the proxy I/O thread
+        e.registerIntent(plugin);
+        CompletableFuture<Optional<BanRecord>> lookup;
+        try {
+            lookup = plugin.getInstance().getAdminManager().getActiveBanRecordAsync(player.getUUID(), address, null, true);
+        } catch (RuntimeException ex) {
+            lookup = CompletableFuture.failedFuture(ex);
         }
+        lookup.whenComplete((record, ex) -> {
+            try {
+                if (ex != null) {
+                    // never let a player through just because the executor was busy or a query failed
+                    plugin.getLogger().log(Level.SEVERE, "Failed to look up bans for " + conn.getName(), ex);
+                    e.setCancelled(true);
+                    e.setCancelReason(TextComponent.fromLegacyText(plugin.getInstance().getMessageFactory().getMessageDefault(CommonMessages.DATABASE.GENERIC_ERROR)));
+                } else if (record.isPresent()) {
+                    // TODO fallback server if not global ban
+                    e.setCancelled(true);
+                    // TODO ban reason message styleize
+                    e.setCancelReason(TextComponent.fromLegacyText(plugin.getInstance().getMessageFactory().getMessageDefault(CommonMessages.PLAYER.BAN.BAN_TITLE)));
+
+                    plugin.getInstance().getAdminDynamo().recordAttemptedJoin(player, null);
+                }
+            } finally {
+                e.completeIntent(plugin);
+            }
+        });
     }
 
     /*
@@ -144,6 +176,10 @@ public class BungeeListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onPostLoginEvent(PostLoginEvent e) {
         OnlinePlayerWrapper player = new OnlinePlayerWrapper(e.getPlayer());
+        if (plugin.getInstance().getConfigurationManager().getFeatureConfiguration().isMutePlatformEnabled()) {
+            // load mutes in the background now, so the first chat message is checked against the cache
+            plugin.getInstance().getAdminManager().getActiveMuteRecordAsync(player.getUUID(), player.getSerializedIPAddress(), null, true);
+        }
         PlayerRecord playerRecord = plugin.getInstance().getAdminManager().getOrInitPlayerRecord(player);
 
         if (playerRecord instanceof MutableRecordProvider<?> mrp) {
@@ -151,7 +187,7 @@ public class BungeeListener implements Listener {
             mpr.setLastJoined(LocalDateTime.now());
             mpr.setLastAddress(player.getSerializedIPAddress());
             mpr.incrementTotalJoins();
-            //TODO commit to API committer
+            commitPlayerRecord(mpr);
         }
     }
 
@@ -165,9 +201,14 @@ public class BungeeListener implements Listener {
         }
 
         OnlinePlayerWrapper player = new OnlinePlayerWrapper(e.getPlayer());
-        Optional<BanRecord> record = plugin.getInstance().getAdminManager().getActiveBanRecord(player, player.getSerializedIPAddress(), e.getTarget().getName(), false);
+        // bans were loaded at login, so this is normally already complete; the switch is refused until it is
+        Optional<BanRecord> record = now(plugin.getInstance().getAdminManager().getActiveBanRecordAsync(player.getUUID(), player.getSerializedIPAddress(), e.getTarget().getName(), false),
+                "Ban lookup for " + e.getPlayer().getName() + " failed, server switch refused");
 
-        if (record.isPresent()) {
+        if (record == null) {
+            e.setCancelled(true);
+            player.sendKeyedMessage(CommonMessages.PLAYER.CHECK_PENDING);
+        } else if (record.isPresent()) {
             // TODO fallback server
             e.setCancelled(true);
             // TODO ban reason message styleize
@@ -191,8 +232,29 @@ public class BungeeListener implements Listener {
         if (record.get() instanceof MutableRecordProvider<?> mrp) {
             MutablePlayerRecord mpr = (MutablePlayerRecord) mrp.asMutable();
             mpr.setLastServer(e.getPlayer().getServer().getInfo().getName());
-            //TODO commit to API committer
+            commitPlayerRecord(mpr);
         }
     }
 
+    /**
+     * Takes the result of a lookup without waiting on it, for events that cannot be held open.
+     * @return the result, or null if the lookup has not completed or failed
+     */
+    private <T> @Nullable Optional<T> now(CompletableFuture<Optional<T>> lookup, String failure) {
+        try {
+            return lookup.getNow(null);
+        } catch (CompletionException | CancellationException ex) {
+            plugin.getLogger().log(Level.WARNING, failure, ex);
+            return null;
+        }
+    }
+
+    private void commitPlayerRecord(MutablePlayerRecord record) {
+        // player updates are buffered and coalesced by the committer, so this does not wait on the database
+        try {
+            plugin.getInstance().getCommitter().commit(record);
+        } catch (CommitException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to commit player record for " + record.getUsername(), e);
+        }
+    }
 }
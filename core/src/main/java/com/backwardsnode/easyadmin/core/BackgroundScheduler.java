@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the service's periodic background work, such as flushing queued writes, sweeping expired punishments and
+ * rebuilding in-memory indexes, on a small pool of daemon threads shared by every component.
+ * <p>
+ * Components cancel their tasks when they close. Closing the scheduler then waits for any run still in progress, so
+ * the database can be disconnected safely afterwards.</p>
+ */
+public final class BackgroundScheduler implements AutoCloseable {
+
+    public static final int DEFAULT_THREADS = 4;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackgroundScheduler.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    public BackgroundScheduler(@NotNull String name, int threads) {
+        AtomicInteger threadId = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Runs a task repeatedly, waiting for the delay between the end of one run and the start of the next. A run that
+     * throws is logged and does not stop the runs after it.
+     * @param name what the task does, for logging
+     * @param task the task
+     * @param initialDelay the delay before the first run
+     * @param delay the delay between runs
+     * @return the future to cancel the task with
+     */
+    public @NotNull ScheduledFuture<?> scheduleWithFixedDelay(@NotNull String name, @NotNull Runnable task, @NotNull Duration initialDelay, @NotNull Duration delay) {
+        return executor.scheduleWithFixedDelay(guard(name, task), initialDelay.toNanos(), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs a task once, after a delay.
+     * @param name what the task does, for logging
+     * @param task the task
+     * @param delay the delay before it runs
+     * @return the future to cancel the task with
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler has been closed
+     */
+    public @NotNull ScheduledFuture<?> schedule(@NotNull String name, @NotNull Runnable task, @NotNull Duration delay) {
+        return executor.schedule(guard(name, task), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs a task once, as soon as a thread is free.
+     * @param name what the task does, for logging
+     * @param task the task
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler has been closed
+     */
+    public void execute(@NotNull String name, @NotNull Runnable task) {
+        executor.execute(guard(name, task));
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Stops running tasks, waiting for the runs in progress to finish.
+     */
+    @Override
+    public void close() {
+        // runs in progress are not interrupted, as an interrupt during JDBC I/O can close embedded database files
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Background tasks did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Runnable guard(String name, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // an exception would otherwise cancel every later run of a repeating task
+                LOGGER.error("Failed to " + name, e);
+            }
+        };
+    }
+}
@@ -46,16 +46,26 @@ import com.backwardsnode.easyadmin.core.commit.EventFiringCommitter;
 import com.backwardsnode.easyadmin.core.commit.WithholdAgent;
 import com.backwardsnode.easyadmin.core.component.AbstractEnforcer;
 import com.backwardsnode.easyadmin.core.component.AdminManagerImpl;
+import com.backwardsnode.easyadmin.core.component.ActivePunishmentIndex;
+import com.backwardsnode.easyadmin.core.component.ExpirySweeper;
+import com.backwardsnode.easyadmin.core.component.PunishmentFilter;
 import com.backwardsnode.easyadmin.core.component.PermissionsPlatform;
+import com.backwardsnode.easyadmin.core.config.ActiveIndexConfig;
+import com.backwardsnode.easyadmin.core.config.ArchiveConfig;
+import com.backwardsnode.easyadmin.core.config.ImportConfig;
 import com.backwardsnode.easyadmin.core.config.RootConfig;
 import com.backwardsnode.easyadmin.core.config.yaml.YamlRootConfig;
 import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.database.RecordArchiver;
+import com.backwardsnode.easyadmin.core.database.PlayerUpdateBuffer;
+import com.backwardsnode.easyadmin.core.database.WriteBehindQueue;
 import com.backwardsnode.easyadmin.core.database.util.DatabaseUtil;
 import com.backwardsnode.easyadmin.core.event.CommonEventBus;
 import com.backwardsnode.easyadmin.core.exception.ConfigurationException;
 import com.backwardsnode.easyadmin.core.exception.ServiceInitializationException;
 import com.backwardsnode.easyadmin.core.i18n.MessageProvider;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +92,13 @@ public class EasyAdminService implements EasyAdmin, AutoCloseable {
     private final PermissionsPlatform permissionsPlatform;
     private final WithholdAgent withholdAgent;
     private final DatabaseController databaseController;
+    private final BackgroundScheduler backgroundScheduler;
+    private final WriteBehindQueue writeBehindQueue;
+    private final PlayerUpdateBuffer playerUpdateBuffer;
+    private final RecordArchiver recordArchiver;
+    private final ExpirySweeper expirySweeper;
+    private final PunishmentFilter punishmentFilter;
+    private final ActivePunishmentIndex activePunishmentIndex;
     private final RecordCache recordCache;
     private final AdminManager adminManager;
     private final RecordBuilder apiRecordBuilder;
@@ -117,7 +134,22 @@ public class EasyAdminService implements EasyAdmin, AutoCloseable {
         }
         databaseController.logMetadata();
 
-        recordCache = new RecordCache(databaseController);
+        backgroundScheduler = new BackgroundScheduler("EasyAdmin-Background", BackgroundScheduler.DEFAULT_THREADS);
+        writeBehindQueue = new WriteBehindQueue(databaseController, backgroundScheduler);
+        playerUpdateBuffer = new PlayerUpdateBuffer(databaseController, backgroundScheduler);
+        ArchiveConfig archiveConfig = configurationManager.getDatabaseConfiguration().getArchiveConfiguration();
+        recordArchiver = archiveConfig.isEnabled()
+                ? new RecordArchiver(databaseController, backgroundScheduler, archiveConfig.getArchiveAfter(), archiveConfig.getBatchSize(), archiveConfig.getInterval())
+                : null;
+        recordCache = new RecordCache(databaseController, configurationManager.getDatabaseConfiguration()::getCachePolicy);
+        ActiveIndexConfig activeIndexConfig = configurationManager.getDatabaseConfiguration().getActiveIndexConfiguration();
+        activePunishmentIndex = activeIndexConfig.isEnabled()
+                ? new ActivePunishmentIndex(databaseController, backgroundScheduler, activeIndexConfig.getReloadInterval())
+                : null;
+        // the filter only shortcuts the cache, which a loaded index replaces
+        punishmentFilter = activePunishmentIndex == null || !activePunishmentIndex.isLoaded()
+                ? new PunishmentFilter(databaseController, backgroundScheduler)
+                : null;
 
         // TODO enforcer
         enforcer = null;
@@ -127,11 +159,12 @@ public class EasyAdminService implements EasyAdmin, AutoCloseable {
         withholdAgent = null;
 
 
-        apiCommitter = new EventFiringCommitter(this, ServiceSource.API, EnumSet.of(CommitterMode.EVENT_ALLOW_CANCELLATIONS));
+        apiCommitter = new EventFiringCommitter(this, ServiceSource.API, EnumSet.of(CommitterMode.EVENT_ALLOW_CANCELLATIONS, CommitterMode.WRITE_BEHIND));
         adminManager = new AdminManagerImpl(this);
         apiRecordBuilder = new RecordBuilderImpl(apiCommitter);
         messageFactory = new MessageProvider(this,true);
         eventBus = new CommonEventBus();
+        expirySweeper = new ExpirySweeper(this, backgroundScheduler);
     }
 
     @Override
@@ -211,6 +244,20 @@ public class EasyAdminService implements EasyAdmin, AutoCloseable {
             return;
         }
         closed = true;
+        expirySweeper.close();
+        if (punishmentFilter != null) {
+            punishmentFilter.close();
+        }
+        if (activePunishmentIndex != null) {
+            activePunishmentIndex.close();
+        }
+        if (recordArchiver != null) {
+            recordArchiver.close();
+        }
+        playerUpdateBuffer.close();
+        writeBehindQueue.close();
+        // waits for the work the components above left running
+        backgroundScheduler.close();
         databaseController.disconnect();
         Registration.get().unregister();
     }
@@ -231,6 +278,30 @@ public class EasyAdminService implements EasyAdmin, AutoCloseable {
         return databaseController;
     }
 
+    public ImportConfig getImportConfiguration() {
+        return configurationManager.getImportConfiguration();
+    }
+
+    public WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
+    public ExpirySweeper getExpirySweeper() {
+        return expirySweeper;
+    }
+
+    public @Nullable PunishmentFilter getPunishmentFilter() {
+        return punishmentFilter;
+    }
+
+    public @Nullable ActivePunishmentIndex getActivePunishmentIndex() {
+        return activePunishmentIndex;
+    }
+
+    public PlayerUpdateBuffer getPlayerUpdateBuffer() {
+        return playerUpdateBuffer;
+    }
+
     public RecordCache getRecordCache() {
         return recordCache;
     }
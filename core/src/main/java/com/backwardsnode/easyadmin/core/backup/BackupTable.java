@@ -0,0 +1,349 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.backup;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.record.BanRecord;
+import com.backwardsnode.easyadmin.api.record.CommentRecord;
+import com.backwardsnode.easyadmin.api.record.KickRecord;
+import com.backwardsnode.easyadmin.api.record.MuteRecord;
+import com.backwardsnode.easyadmin.api.record.PlayerRecord;
+import com.backwardsnode.easyadmin.api.record.base.AdminRecord;
+import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.importer.ImportedRecord;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
+import com.backwardsnode.easyadmin.core.record.CommentRecordImpl;
+import com.backwardsnode.easyadmin.core.record.KickRecordImpl;
+import com.backwardsnode.easyadmin.core.record.MuteRecordImpl;
+import com.backwardsnode.easyadmin.core.record.PlayerRecordImpl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A table that can be written to and read from a backup. Each table is stored as a header, followed by one entry per
+ * row and a footer holding the row count, so that a truncated backup is detected rather than partly restored. Record
+ * ids are not stored, since they are assigned again on restore.
+ * @param <T> the row type
+ */
+public final class BackupTable<T> {
+
+    private static final int MAGIC = 0x45414231;
+    private static final int VERSION = 1;
+    private static final byte ROW = 1;
+    private static final byte END = 0;
+
+    public static final BackupTable<PlayerRecord> PLAYERS_TABLE = new BackupTable<>("players", DatabaseController::streamAllPlayers,
+            DatabaseController::restorePlayers, BackupTable::writePlayer, BackupTable::readPlayer);
+    public static final BackupTable<BanRecord> BANS_TABLE = new BackupTable<>("bans", DatabaseController::streamAllBans,
+            BackupTable::restoreRecords, BackupTable::writeBan, BackupTable::readBan);
+    public static final BackupTable<CommentRecord> COMMENTS_TABLE = new BackupTable<>("comments", DatabaseController::streamAllComments,
+            BackupTable::restoreRecords, BackupTable::writeComment, BackupTable::readComment);
+    public static final BackupTable<KickRecord> KICKS_TABLE = new BackupTable<>("kicks", DatabaseController::streamAllKicks,
+            BackupTable::restoreRecords, BackupTable::writeKick, BackupTable::readKick);
+    public static final BackupTable<MuteRecord> MUTES_TABLE = new BackupTable<>("mutes", DatabaseController::streamAllMutes,
+            BackupTable::restoreRecords, BackupTable::writeMute, BackupTable::readMute);
+
+    /**
+     * Every table, with players first so that restored records can refer to them.
+     */
+    public static final List<BackupTable<?>> ALL = List.of(PLAYERS_TABLE, BANS_TABLE, COMMENTS_TABLE, KICKS_TABLE, MUTES_TABLE);
+
+    private final String name;
+    private final Function<DatabaseController, Stream<T>> source;
+    private final BiPredicate<DatabaseController, List<T>> restorer;
+    private final RowWriter<T> writer;
+    private final RowReader<T> reader;
+
+    private BackupTable(String name, Function<DatabaseController, Stream<T>> source, BiPredicate<DatabaseController, List<T>> restorer,
+                        RowWriter<T> writer, RowReader<T> reader) {
+        this.name = name;
+        this.source = source;
+        this.restorer = restorer;
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Streams every row of the table in the database.
+     * @param controller the database to read from
+     * @return the rows, which must be closed
+     */
+    public @NotNull Stream<T> rows(@NotNull DatabaseController controller) {
+        return source.apply(controller);
+    }
+
+    /**
+     * Inserts rows read from a backup into the database.
+     * @param controller the database to write to
+     * @param rows the rows to insert
+     * @return whether the rows were inserted
+     */
+    public boolean restore(@NotNull DatabaseController controller, @NotNull List<T> rows) {
+        return restorer.test(controller, rows);
+    }
+
+    /**
+     * Writes rows to a backup stream.
+     * @param output the stream to write to, which is not closed
+     * @param rows the rows to write, which are not closed
+     * @return the number of rows written
+     * @throws IOException if the rows could not be written
+     */
+    public long write(@NotNull OutputStream output, @NotNull Stream<T> rows) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(name);
+
+        long count = 0;
+        for (T row : (Iterable<T>) rows::iterator) {
+            out.writeByte(ROW);
+            writer.write(out, row);
+            count++;
+        }
+
+        out.writeByte(END);
+        out.writeLong(count);
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Reads rows from a backup stream, passing them on in batches.
+     * @param input the stream to read from, which is not closed
+     * @param batchSize the maximum number of rows per batch
+     * @param consumer accepts each batch, returning false to stop reading
+     * @return the number of rows read
+     * @throws IOException if the stream is not a backup of this table, is truncated, or a batch was not accepted
+     */
+    public long read(@NotNull InputStream input, int batchSize, @NotNull BatchConsumer<T> consumer) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a backup file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported backup version " + version);
+        }
+        String table = in.readUTF();
+        if (!table.equals(name)) {
+            throw new IOException("Expected a backup of " + name + " but found " + table);
+        }
+
+        List<T> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        byte marker;
+        while ((marker = in.readByte()) == ROW) {
+            batch.add(reader.read(in));
+            count++;
+            if (batch.size() >= batchSize) {
+                accept(consumer, batch, count);
+            }
+        }
+        if (marker != END) {
+            throw new IOException("Corrupt backup of " + name + " after row " + count);
+        }
+        long expected = in.readLong();
+        if (expected != count) {
+            throw new IOException("Backup of " + name + " holds " + expected + " rows but " + count + " were read");
+        }
+        if (!batch.isEmpty()) {
+            accept(consumer, batch, count);
+        }
+        return count;
+    }
+
+    private void accept(BatchConsumer<T> consumer, List<T> batch, long count) throws IOException {
+        if (!consumer.accept(batch)) {
+            throw new IOException("Failed to restore " + name + " before row " + count);
+        }
+        batch.clear();
+    }
+
+    private static <T extends AdminRecord> boolean restoreRecords(DatabaseController controller, List<T> records) {
+        List<ImportedRecord> imported = new ArrayList<>(records.size());
+        for (T record : records) {
+            imported.add(new ImportedRecord(record, null, null));
+        }
+        return controller.restoreRecords(imported);
+    }
+
+    private static void writePlayer(DataOutputStream out, PlayerRecord player) throws IOException {
+        writeUuid(out, player.getId());
+        out.writeUTF(player.getUsername());
+        writeDateTime(out, player.getFirstJoin());
+        writeDateTime(out, player.getLastJoin());
+        writeDateTime(out, player.getLastLeave());
+        out.writeLong(player.getPlaytime());
+        out.writeInt(player.getTotalJoins());
+        writeString(out, player.getLastServer());
+        writeString(out, player.getLastAddress());
+    }
+
+    private static PlayerRecord readPlayer(DataInputStream in) throws IOException {
+        return new PlayerRecordImpl(readUuid(in), in.readUTF(), readDateTime(in), readDateTime(in), readDateTime(in), in.readLong(), in.readInt(),
+                readString(in), readString(in));
+    }
+
+    private static void writeBan(DataOutputStream out, BanRecord ban) throws IOException {
+        out.writeUTF(ban.getStatus().name());
+        writeUuid(out, ban.getPlayer());
+        writeUuid(out, ban.getAuthor());
+        writeUuid(out, ban.getTerminatingStaff());
+        writeDateTime(out, ban.getDateAdded());
+        writeDateTime(out, ban.getTerminationDate());
+        writeString(out, ban.getIpAddress());
+        writeString(out, ban.getContext());
+        writeString(out, ban.getReason());
+        writeString(out, ban.getTerminationReason());
+    }
+
+    private static BanRecord readBan(DataInputStream in) throws IOException {
+        return new BanRecordImpl(readStatus(in), readUuid(in), readUuid(in), readUuid(in), readDateTime(in), readDateTime(in), readString(in),
+                readString(in), readString(in), readString(in));
+    }
+
+    private static void writeMute(DataOutputStream out, MuteRecord mute) throws IOException {
+        out.writeUTF(mute.getStatus().name());
+        writeUuid(out, mute.getPlayer());
+        writeUuid(out, mute.getAuthor());
+        writeUuid(out, mute.getTerminatingStaff());
+        writeDateTime(out, mute.getDateAdded());
+        writeDateTime(out, mute.getTerminationDate());
+        writeString(out, mute.getIpAddress());
+        writeString(out, mute.getContext());
+        writeString(out, mute.getReason());
+        writeString(out, mute.getTerminationReason());
+    }
+
+    private static MuteRecord readMute(DataInputStream in) throws IOException {
+        return new MuteRecordImpl(readStatus(in), readUuid(in), readUuid(in), readUuid(in), readDateTime(in), readDateTime(in), readString(in),
+                readString(in), readString(in), readString(in));
+    }
+
+    private static void writeComment(DataOutputStream out, CommentRecord comment) throws IOException {
+        writeUuid(out, comment.getPlayer());
+        writeUuid(out, comment.getAuthor());
+        writeDateTime(out, comment.getDateAdded());
+        out.writeBoolean(comment.isWarning());
+        out.writeUTF(comment.getComment());
+    }
+
+    private static CommentRecord readComment(DataInputStream in) throws IOException {
+        return new CommentRecordImpl(readUuid(in), readUuid(in), readDateTime(in), in.readBoolean(), in.readUTF());
+    }
+
+    private static void writeKick(DataOutputStream out, KickRecord kick) throws IOException {
+        writeUuid(out, kick.getPlayer());
+        writeUuid(out, kick.getAuthor());
+        writeDateTime(out, kick.getDateAdded());
+        out.writeBoolean(kick.isGlobal());
+        writeString(out, kick.getServerName());
+        writeString(out, kick.getReason());
+    }
+
+    private static KickRecord readKick(DataInputStream in) throws IOException {
+        return new KickRecordImpl(readUuid(in), readUuid(in), readDateTime(in), in.readBoolean(), readString(in), readString(in));
+    }
+
+    private static PunishmentStatus readStatus(DataInputStream in) throws IOException {
+        String status = in.readUTF();
+        try {
+            return PunishmentStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown punishment status " + status);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, @Nullable UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static @Nullable UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static @Nullable String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // dates are stored as the local date and time the database holds, without converting between zones
+    private static void writeDateTime(DataOutputStream out, @Nullable LocalDateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    private static @Nullable LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(DataOutputStream out, T row) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface BatchConsumer<T> {
+        boolean accept(List<T> batch);
+    }
+
+}
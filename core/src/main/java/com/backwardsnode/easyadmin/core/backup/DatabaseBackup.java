@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.backup;
+
+import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.database.util.UncheckedSQLException;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports every table to a directory of gzip compressed files, and restores them into another database. Backups
+ * don't depend on the database platform, so they can also be used to move between platforms. Tables are read row by
+ * row while they are exported, so memory use doesn't grow with the size of the database, and each table is exported
+ * on its own thread and connection.
+ */
+public class DatabaseBackup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseBackup.class);
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String FILE_EXTENSION = ".bin.gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private final DatabaseController controller;
+    private final Path backupDirectory;
+    private final int batchSize;
+
+    public DatabaseBackup(@NotNull DatabaseController controller, @NotNull Path backupDirectory, int batchSize) {
+        this.controller = controller;
+        this.backupDirectory = backupDirectory;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Exports every table to a new backup, named after the current date and time. Records added while the export
+     * runs may or may not be included.
+     * @return the name of the backup
+     * @throws Exception if a table could not be exported
+     */
+    public @NotNull String export() throws Exception {
+        String name = LocalDateTime.now().format(NAME_FORMAT);
+        Path directory = backupDirectory.resolve(name);
+        Files.createDirectories(directory);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(BackupTable.ALL.size(), runnable -> {
+            Thread thread = new Thread(runnable, "EasyAdmin-Backup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        boolean exported = false;
+        try {
+            List<Future<Long>> exports = new ArrayList<>(BackupTable.ALL.size());
+            for (BackupTable<?> table : BackupTable.ALL) {
+                exports.add(workers.submit(() -> exportTable(table, directory)));
+            }
+            for (int i = 0; i < exports.size(); i++) {
+                LOGGER.info("Exported " + exports.get(i).get() + " rows from " + BackupTable.ALL.get(i).getName());
+            }
+            exported = true;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            workers.shutdownNow();
+            if (!exported) {
+                // a backup missing a table would restore as an incomplete database, so none is left behind
+                workers.awaitTermination(10, TimeUnit.SECONDS);
+                deleteIncomplete(directory);
+            }
+        }
+        return name;
+    }
+
+    private <T> long exportTable(BackupTable<T> table, Path directory) throws IOException, SQLException {
+        Path file = getFile(directory, table);
+        try (Stream<T> rows = table.rows(controller);
+             OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), BUFFER_SIZE)) {
+            return table.write(out, rows);
+        } catch (UncheckedSQLException e) {
+            Files.deleteIfExists(file);
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            // a truncated file still decompresses up to where it stopped, so it must not be left behind
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private static void deleteIncomplete(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete incomplete backup " + directory.getFileName(), e);
+        }
+    }
+
+    /**
+     * Restores a backup into the database, inserting each table in batches. The database must not have any players,
+     * since restored records would otherwise be mixed with existing ones. Record ids are assigned again, and the
+     * record counters are rebuilt once every table has been restored.
+     * @param name the name of the backup
+     * @return the number of rows restored
+     * @throws Exception if the backup could not be read or inserted
+     */
+    public long restore(@NotNull String name) throws Exception {
+        Path directory = backupDirectory.resolve(name).normalize();
+        if (!directory.startsWith(backupDirectory.normalize()) || !Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("No backup named " + name);
+        }
+        int players = controller.countPlayers();
+        if (players != 0) {
+            throw new IllegalStateException(players < 0 ? "Failed to check the database is empty" : "Backups can only be restored into an empty database");
+        }
+
+        long restored = 0;
+        try {
+            // tables are restored one at a time, since embedded databases only allow a single writer
+            for (BackupTable<?> table : BackupTable.ALL) {
+                long rows = restoreTable(table, directory);
+                LOGGER.info("Restored " + rows + " rows into " + table.getName());
+                restored += rows;
+            }
+        } finally {
+            if (restored > 0 && !controller.rebuildRecordCounts()) {
+                LOGGER.warn("Failed to rebuild record counts after restoring");
+            }
+        }
+        return restored;
+    }
+
+    private <T> long restoreTable(BackupTable<T> table, Path directory) throws IOException {
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(getFile(directory, table)), BUFFER_SIZE), BUFFER_SIZE)) {
+            return table.read(in, batchSize, batch -> table.restore(controller, batch));
+        }
+    }
+
+    private static Path getFile(Path directory, BackupTable<?> table) {
+        return directory.resolve(table.getName() + FILE_EXTENSION);
+    }
+
+}
@@ -37,37 +37,63 @@ import java.util.function.BiFunction;
 public final class CacheGroupType<R, T> {
 
     public static final CacheGroupType<UUID, BanRecord> BAN_BY_UUID =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.collection(db.getPlayerBans(uuid, null)));
+            new CacheGroupType<>("ban_by_uuid", (db, uuid) -> CacheLoader.collection(db.getPlayerBans(uuid, null)));
     public static final CacheGroupType<String, BanRecord> BAN_BY_ADDR =
-            new CacheGroupType<>((db, addr) -> CacheLoader.collection(db.getIPBans(addr, null)));
+            new CacheGroupType<>("ban_by_addr", (db, addr) -> CacheLoader.collection(db.getIPBans(addr, null)));
     public static final CacheGroupType<UUID, BanRecord> ACTIVE_BAN_BY_UUID =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.collection(db.getPlayerBansByStatus(uuid, PunishmentStatus.ACTIVE, null)), BAN_BY_UUID);
+            new CacheGroupType<>("active_ban_by_uuid", (db, uuid) -> CacheLoader.collection(db.getPlayerBansByStatus(uuid, PunishmentStatus.ACTIVE, null)), BAN_BY_UUID);
     public static final CacheGroupType<String, BanRecord> ACTIVE_BAN_BY_ADDR =
-            new CacheGroupType<>((db, addr) -> CacheLoader.collection(db.getIPBansByStatus(addr, PunishmentStatus.ACTIVE, null)), BAN_BY_ADDR);
+            new CacheGroupType<>("active_ban_by_addr", (db, addr) -> CacheLoader.collection(db.getIPBansByStatus(addr, PunishmentStatus.ACTIVE, null)), BAN_BY_ADDR);
     public static final CacheGroupType<UUID, KickRecord> KICK =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.collection(db.getPlayerKicks(uuid, null)));
+            new CacheGroupType<>("kick", (db, uuid) -> CacheLoader.collection(db.getPlayerKicks(uuid, null)));
     public static final CacheGroupType<UUID, MuteRecord> MUTE_BY_UUID =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.collection(db.getPlayerMutes(uuid, null)));
+            new CacheGroupType<>("mute_by_uuid", (db, uuid) -> CacheLoader.collection(db.getPlayerMutes(uuid, null)));
     public static final CacheGroupType<String, MuteRecord> MUTE_BY_ADDR =
-            new CacheGroupType<>((db, addr) -> CacheLoader.collection(db.getIPMutes(addr, null)));
+            new CacheGroupType<>("mute_by_addr", (db, addr) -> CacheLoader.collection(db.getIPMutes(addr, null)));
     public static final CacheGroupType<UUID, MuteRecord> ACTIVE_MUTE_BY_UUID =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.collection(db.getPlayerMutesByStatus(uuid, PunishmentStatus.ACTIVE, null)), MUTE_BY_UUID);
+            new CacheGroupType<>("active_mute_by_uuid", (db, uuid) -> CacheLoader.collection(db.getPlayerMutesByStatus(uuid, PunishmentStatus.ACTIVE, null)), MUTE_BY_UUID);
     public static final CacheGroupType<String, MuteRecord> ACTIVE_MUTE_BY_ADDR =
-            new CacheGroupType<>((db, addr) -> CacheLoader.collection(db.getIPMutesByStatus(addr, PunishmentStatus.ACTIVE, null)), MUTE_BY_ADDR);
+            new CacheGroupType<>("active_mute_by_addr", (db, addr) -> CacheLoader.collection(db.getIPMutesByStatus(addr, PunishmentStatus.ACTIVE, null)), MUTE_BY_ADDR);
     public static final CacheGroupType<UUID, CommentRecord> COMMENT =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.collection(db.getPlayerComments(uuid, null)));
+            new CacheGroupType<>("comment", (db, uuid) -> CacheLoader.collection(db.getPlayerComments(uuid, null)));
     public static final CacheGroupType<UUID, PlayerRecord> PLAYER =
-            new CacheGroupType<>((db, uuid) -> CacheLoader.singleton(db.getPlayerRecord(uuid)));
+            new CacheGroupType<>("player", (db, uuid) -> CacheLoader.singleton(db.getPlayerRecord(uuid)));
 
+    private static final List<CacheGroupType<?, ?>> VALUES = List.of(BAN_BY_UUID, BAN_BY_ADDR, ACTIVE_BAN_BY_UUID,
+            ACTIVE_BAN_BY_ADDR, KICK, MUTE_BY_UUID, MUTE_BY_ADDR, ACTIVE_MUTE_BY_UUID, ACTIVE_MUTE_BY_ADDR, COMMENT, PLAYER);
 
+    private final String name;
     private final BiFunction<DatabaseController, R, CacheLoader<T>> loader;
     private final CacheGroupType<R, T>[] relatives;
 
-    private CacheGroupType(final BiFunction<DatabaseController, R, CacheLoader<T>> loader, final CacheGroupType<R, T> ...relatives) {
+    private CacheGroupType(final String name, final BiFunction<DatabaseController, R, CacheLoader<T>> loader, final CacheGroupType<R, T> ...relatives) {
+        this.name = name;
         this.loader = loader;
         this.relatives = relatives;
     }
 
+    public static List<CacheGroupType<?, ?>> values() {
+        return VALUES;
+    }
+
+    /**
+     * Finds a cache group by its configuration name, ignoring case.
+     * @param name the name of the group
+     * @return the group, or null if there is no group with that name
+     */
+    public static CacheGroupType<?, ?> byName(final String name) {
+        for (CacheGroupType<?, ?> type : VALUES) {
+            if (type.name.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
     CacheLoader<T> retrieve(final DatabaseController db, final R key) {
         return loader.apply(db, key);
     }
@@ -76,4 +102,9 @@ public final class CacheGroupType<R, T> {
         return Arrays.stream(relatives).toList();
     }
 
+    @Override
+    public String toString() {
+        return name;
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.cache;
+
+import java.time.Duration;
+
+/**
+ * Bounds, expiry and refresh settings for a single cache group.
+ * @param maximumSize the most entries to keep, or 0 for no size bound
+ * @param maximumWeight the most records to keep across all entries, or 0 to bound by {@code maximumSize} instead
+ * @param expireAfterWrite how long an entry is kept after it was loaded or replaced, or null to keep it until evicted
+ * @param refreshAfterWrite how long after it was loaded an entry is reloaded in the background on its next access,
+ *                          or null to never refresh
+ */
+public record CachePolicy(long maximumSize, long maximumWeight, Duration expireAfterWrite, Duration refreshAfterWrite) {
+
+    /**
+     * Gets the default policy for a cache group. Remote databases are cached aggressively, as every miss is a round
+     * trip, while embedded databases answer quickly enough that caching is kept to the hottest lookups.
+     * @param type the cache group
+     * @param remote if the database is on a remote server
+     * @return the default policy
+     */
+    public static CachePolicy defaultFor(final CacheGroupType<?, ?> type, final boolean remote) {
+        return remote ? aggressive(type) : minimal(type);
+    }
+
+    private static CachePolicy aggressive(final CacheGroupType<?, ?> type) {
+        if (type == CacheGroupType.ACTIVE_BAN_BY_UUID || type == CacheGroupType.ACTIVE_BAN_BY_ADDR
+                || type == CacheGroupType.ACTIVE_MUTE_BY_UUID || type == CacheGroupType.ACTIVE_MUTE_BY_ADDR) {
+            // checked on every login and chat message, and changed by other servers sharing the database
+            return new CachePolicy(50000, 0, Duration.ofMinutes(30), Duration.ofMinutes(5));
+        }
+        if (type == CacheGroupType.PLAYER) {
+            return new CachePolicy(20000, 0, Duration.ofMinutes(30), Duration.ofMinutes(5));
+        }
+        if (type == CacheGroupType.KICK || type == CacheGroupType.COMMENT) {
+            return new CachePolicy(0, 10000, Duration.ofMinutes(5), null);
+        }
+        return new CachePolicy(0, 50000, Duration.ofMinutes(10), null);
+    }
+
+    private static CachePolicy minimal(final CacheGroupType<?, ?> type) {
+        if (type == CacheGroupType.ACTIVE_BAN_BY_UUID || type == CacheGroupType.ACTIVE_BAN_BY_ADDR
+                || type == CacheGroupType.ACTIVE_MUTE_BY_UUID || type == CacheGroupType.ACTIVE_MUTE_BY_ADDR
+                || type == CacheGroupType.PLAYER) {
+            // refreshed well before expiry, so players who stay online are never reloaded on the calling thread
+            return new CachePolicy(1000, 0, Duration.ofMinutes(2), Duration.ofSeconds(30));
+        }
+        return new CachePolicy(100, 0, Duration.ofSeconds(30), null);
+    }
+
+}
@@ -24,41 +24,112 @@
 
 package com.backwardsnode.easyadmin.core.cache;
 
+import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
 import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.database.QueryPriority;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 public class RecordCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RecordCache.class);
-    private final DatabaseController controller;
-    private final LoadingCache<CacheKey<?, ?>, CacheLoader<?>> cache;
+    private final Map<CacheGroupType<?, ?>, AsyncLoadingCache<Object, CacheLoader<?>>> caches = new IdentityHashMap<>();
 
     public RecordCache(DatabaseController controller) {
-        this.controller = controller;
+        this(controller, type -> CachePolicy.defaultFor(type, false));
+    }
+
+    public RecordCache(DatabaseController controller, Function<CacheGroupType<?, ?>, CachePolicy> policies) {
+        for (CacheGroupType<?, ?> type : CacheGroupType.values()) {
+            CachePolicy policy = policies.apply(type);
+            LOGGER.debug("Cache group {} using {}", type, policy);
+            caches.put(type, build(controller, type, policy));
+        }
+    }
 
-        cache = Caffeine.newBuilder()
-                .maximumSize(10000)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .build(this::load);
+    @SuppressWarnings("unchecked")
+    private static AsyncLoadingCache<Object, CacheLoader<?>> build(DatabaseController controller, CacheGroupType<?, ?> type, CachePolicy policy) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .executor(databaseExecutor(controller, getPriority(type)));
+        if (policy.maximumWeight() > 0) {
+            builder.maximumWeight(policy.maximumWeight())
+                    .weigher((Object key, Object value) -> weigh((CacheLoader<?>) value));
+        } else if (policy.maximumSize() > 0) {
+            builder.maximumSize(policy.maximumSize());
+        }
+        if (policy.expireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.expireAfterWrite());
+        }
+        if (policy.refreshAfterWrite() != null) {
+            // the stale value keeps being served while the reload runs
+            builder.refreshAfterWrite(policy.refreshAfterWrite());
+        }
+        CacheGroupType<Object, ?> group = (CacheGroupType<Object, ?>) type;
+        return builder.buildAsync(referrer -> group.retrieve(controller, referrer));
     }
 
-    private CacheLoader<?> load(CacheKey<?, ?> key) {
-        return key.retrieve(controller);
+    private static QueryPriority getPriority(CacheGroupType<?, ?> type) {
+        if (type == CacheGroupType.ACTIVE_BAN_BY_UUID || type == CacheGroupType.ACTIVE_BAN_BY_ADDR
+                || type == CacheGroupType.ACTIVE_MUTE_BY_UUID || type == CacheGroupType.ACTIVE_MUTE_BY_ADDR
+                || type == CacheGroupType.PLAYER) {
+            return QueryPriority.ENFORCEMENT;
+        }
+        return QueryPriority.LOOKUP;
+    }
+
+    private static Executor databaseExecutor(DatabaseController controller, QueryPriority priority) {
+        return task -> {
+            if (controller.getExecutor().isExecutorThread()) {
+                // waiting on a load queued behind this thread could starve the pool
+                task.run();
+                return;
+            }
+            CompletableFuture<Void> submitted = controller.submit(priority, () -> {
+                task.run();
+                return null;
+            });
+            // a full queue is known on submitting, and is thrown so the cache fails the load instead of it running
+            // on the caller's thread, which may be a network thread that must never wait on the database
+            if (submitted.isCompletedExceptionally()) {
+                try {
+                    submitted.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RejectedExecutionException rejected
+                            ? rejected
+                            : new RejectedExecutionException(e.getCause());
+                }
+            }
+        };
+    }
+
+    private static int weigh(CacheLoader<?> loader) {
+        // an empty history still costs an entry
+        return loader.isCollection() ? Math.max(1, loader.getPayloadCollection().size()) : 1;
+    }
+
+    private AsyncLoadingCache<Object, CacheLoader<?>> cache(CacheGroupType<?, ?> type) {
+        return caches.get(type);
     }
 
     public <R, T> void insert(CacheGroupType<R, T> type, R referrer, CacheLoader<T> value) {
-        cache.put(new CacheKey<>(type, referrer), value);
+        cache(type).put(referrer, CompletableFuture.completedFuture(value));
     }
 
     public <R, T> void invalidate(CacheGroupType<R, T> type, R referrer) {
-        cache.invalidate(new CacheKey<>(type, referrer));
+        cache(type).synchronous().invalidate(referrer);
     }
 
     public <R, T> void invalidateWithRelatives(CacheGroupType<R, T> type, R referrer) {
@@ -66,54 +137,106 @@ public class RecordCache {
         type.getRelatives().forEach(relative -> invalidate(relative, referrer));
     }
 
+    public void invalidateAll() {
+        caches.values().forEach(cache -> cache.synchronous().invalidateAll());
+    }
+
+    /**
+     * Gets a cached collection, loading it on the calling thread's behalf if it is missing. Prefer
+     * {@link #requestAsync(CacheGroupType, Object)} on threads that must not wait on the database.
+     * @param type the cache group
+     * @param referrer the key within the group
+     * @return the cached collection
+     */
     @SuppressWarnings("unchecked")
     public <R, T> Collection<T> request(CacheGroupType<R, T> type, R referrer) {
-        return (Collection<T>) cache.get(new CacheKey<>(type, referrer)).getPayloadCollection();
+        return (Collection<T>) cache(type).synchronous().get(referrer).getPayloadCollection();
     }
 
     @SuppressWarnings("unchecked")
     public <R, T> T requestSingleton(CacheGroupType<R, T> type, R referrer) {
-        return (T) cache.get(new CacheKey<>(type, referrer)).getPayloadSingleton();
+        return (T) cache(type).synchronous().get(referrer).getPayloadSingleton();
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    public <R, T> void infuseIfCollectionPresent(CacheGroupType<R, T> type, R referrer, T value) {
-        final Object o = cache.getIfPresent(new CacheKey<>(type, referrer));
-        if (o == null) {
-            return;
+    /**
+     * Gets a cached collection without blocking. The future is already complete when the entry is cached, including
+     * while it is being refreshed, and otherwise completes once the database executor has loaded it. If the executor
+     * is too busy to take the load, the future fails with a {@link RejectedExecutionException}.
+     * @param type the cache group
+     * @param referrer the key within the group
+     * @return a future of the cached collection
+     */
+    @SuppressWarnings("unchecked")
+    public <R, T> CompletableFuture<Collection<T>> requestAsync(CacheGroupType<R, T> type, R referrer) {
+        return load(type, referrer).thenApply(loader -> (Collection<T>) loader.getPayloadCollection());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R, T> CompletableFuture<T> requestSingletonAsync(CacheGroupType<R, T> type, R referrer) {
+        return load(type, referrer).thenApply(loader -> (T) loader.getPayloadSingleton());
+    }
+
+    private CompletableFuture<CacheLoader<?>> load(CacheGroupType<?, ?> type, Object referrer) {
+        try {
+            return cache(type).get(referrer);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
         }
+    }
+
+    public <R, T> void infuseIfCollectionPresent(CacheGroupType<R, T> type, R referrer, T value) {
+        replaceIfCollectionPresent(type, referrer, null, value);
+    }
+
+    /**
+     * Swaps a record in a cached collection and the collections of its relatives, without loading anything that is
+     * not already cached.
+     * @param type the cache group
+     * @param referrer the key within the group
+     * @param original the record to remove, matched by identity or by ID once loaded, or null to only add
+     * @param replacement the record to add, or null to only remove
+     */
+    public <R, T> void replaceIfCollectionPresent(CacheGroupType<R, T> type, R referrer, T original, T replacement) {
         try {
-            if (o instanceof Collection) {
-                ((Collection) o).add(value);
-            }
+            replaceInCollection(cache(type), referrer, original, replacement);
             for (CacheGroupType<?, ?> relative : type.getRelatives()) {
-                final Object relativeCollection = cache.getIfPresent(new CacheKey<>((CacheGroupType<? super Object, ?>) relative, referrer));
-                if (relativeCollection instanceof Collection) {
-                    ((Collection) relativeCollection).add(value);
-                }
+                replaceInCollection(cache(relative), referrer, original, replacement);
             }
         } catch (Exception e) {
             LOGGER.error("Error infusing record cache", e);
         }
     }
 
-    private record CacheKey<R, T>(CacheGroupType<R, T> type, R referrer) {
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            CacheKey<?, ?> cacheKey = (CacheKey<?, ?>) o;
-            return type == cacheKey.type && Objects.equals(referrer, cacheKey.referrer);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(type, referrer);
-        }
+    private void replaceInCollection(AsyncLoadingCache<Object, CacheLoader<?>> cache, Object referrer, Object original, Object replacement) {
+        // writing the entry back discards any refresh already loading the old rows, and reweighs it
+        cache.asMap().computeIfPresent(referrer, (key, future) -> {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return future;
+            }
+            CacheLoader<?> loader = future.join();
+            if (!loader.isCollection()) {
+                return future;
+            }
+            // cached collections may be held by callers, so the swap is made to a copy
+            List<Object> replaced = new ArrayList<>(loader.getPayloadCollection().size() + 1);
+            for (Object o : loader.getPayloadCollection()) {
+                if (!isSame(o, original)) {
+                    replaced.add(o);
+                }
+            }
+            if (replacement != null) {
+                replaced.add(replacement);
+            }
+            return CompletableFuture.completedFuture(CacheLoader.collection(replaced));
+        });
+    }
 
-        private CacheLoader<T> retrieve(final DatabaseController db) {
-            return type.retrieve(db, referrer);
+    private static boolean isSame(Object o, Object original) {
+        if (o == original) {
+            return true;
         }
+        // separately loaded groups hold their own copies of the same row
+        return original instanceof LiveRecord<?> record && record.isLoaded()
+                && o instanceof LiveRecord<?> other && other.isLoaded() && other.getId().equals(record.getId());
     }
 }
@@ -78,12 +78,36 @@ public class CommandManager {
         }
     }
 
+    public void registerDatabaseStatsCommand() {
+        CommandConfiguration configuration = getCommandConfiguration();
+        if (configuration.isDatabaseStatsCommandEnabled()) {
+            registrationProvider.registerCommand(new DatabaseStats());
+        }
+    }
+
+    public void registerImportCommand() {
+        CommandConfiguration configuration = getCommandConfiguration();
+        if (configuration.isImportCommandEnabled()) {
+            registrationProvider.registerCommand(new Import());
+        }
+    }
+
+    public void registerBackupCommand() {
+        CommandConfiguration configuration = getCommandConfiguration();
+        if (configuration.isBackupCommandEnabled()) {
+            registrationProvider.registerCommand(new Backup());
+        }
+    }
+
     public void registerAllCommands() {
         registerBanCommand();
         registerCommentCommand();
         registerKickCommand();
         registerMuteCommand();
         registerLookupCommand();
+        registerDatabaseStatsCommand();
+        registerImportCommand();
+        registerBackupCommand();
     }
 
     public void unregisterAllCommands() {
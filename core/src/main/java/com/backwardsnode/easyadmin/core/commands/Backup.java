@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.commands;
+
+import com.backwardsnode.easyadmin.api.EasyAdminPlugin;
+import com.backwardsnode.easyadmin.api.admin.AdminManager;
+import com.backwardsnode.easyadmin.api.entity.CommandExecutor;
+import com.backwardsnode.easyadmin.api.internal.MessageKey;
+import com.backwardsnode.easyadmin.core.command.Command;
+import com.backwardsnode.easyadmin.core.command.CommandData;
+import com.backwardsnode.easyadmin.core.command.CommandRegistration;
+import com.backwardsnode.easyadmin.core.command.ExecutionStatus;
+import com.backwardsnode.easyadmin.core.command.args.ArgumentResult;
+import com.backwardsnode.easyadmin.core.command.args.ArgumentSelector;
+import com.backwardsnode.easyadmin.core.commands.data.BackupData;
+import com.backwardsnode.easyadmin.core.i18n.CommonMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+public class Backup implements Command<BackupData> {
+
+    private static final String COMMAND = "eabackup";
+    private static final String EXPORT_ARGUMENT = "export";
+    private static final String RESTORE_ARGUMENT = "restore";
+    private static final Logger LOGGER = LoggerFactory.getLogger(Backup.class);
+
+    @Override
+    public CommandRegistration getRegistration() {
+        return new CommandRegistration(COMMAND, Map.of(COMMAND, new String[0]));
+    }
+
+    @Override
+    public BackupData loadState(EasyAdminPlugin instance, CommandExecutor executor, CommandData data) {
+        return new BackupData();
+    }
+
+    @Override
+    public boolean processArgs(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, BackupData state) {
+        ArgumentSelector selector = new ArgumentSelector(instance, data.args());
+
+        ArgumentResult<String> argument = selector.readSingleArgument();
+        if (!argument.isValid()) {
+            return false;
+        }
+        if (argument.value().equalsIgnoreCase(EXPORT_ARGUMENT)) {
+            return true;
+        }
+        if (!argument.value().equalsIgnoreCase(RESTORE_ARGUMENT)) {
+            return false;
+        }
+
+        ArgumentResult<String> name = selector.readSingleArgument();
+        if (!name.isValid()) {
+            return false;
+        }
+        state.setRestore(true);
+        state.setName(name.value());
+
+        return true;
+    }
+
+    @Override
+    public MessageKey getDescription(CommandExecutor executor, CommandData data, BackupData state) {
+        return CommonMessages.ADMINISTRATIVE.BACKUP.DESC;
+    }
+
+    @Override
+    public MessageKey getUsageMessage(CommandExecutor executor, CommandData data, BackupData state) {
+        return CommonMessages.ADMINISTRATIVE.BACKUP.USAGE;
+    }
+
+    @Override
+    public ExecutionStatus execute(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, BackupData state) {
+        AdminManager adminManager = instance.getInstance().getAdminManager();
+
+        if (state.isRestore()) {
+            executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.BACKUP.RESTORE_STARTED, state.getName());
+            adminManager.restoreDatabase(state.getName()).whenComplete((restored, e) -> {
+                if (e == null) {
+                    executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.BACKUP.RESTORED, restored, state.getName());
+                } else {
+                    executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.BACKUP.FAILED, e.getMessage());
+                    LOGGER.error("Failed to restore database (backup: " + state.getName() + ")", e);
+                }
+            });
+            return ExecutionStatus.SUCCESS;
+        }
+
+        executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.BACKUP.EXPORT_STARTED);
+        adminManager.exportDatabase().whenComplete((name, e) -> {
+            if (e == null) {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.BACKUP.EXPORTED, name);
+            } else {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.BACKUP.FAILED, e.getMessage());
+                LOGGER.error("Failed to export database", e);
+            }
+        });
+        return ExecutionStatus.SUCCESS;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.commands;
+
+import com.backwardsnode.easyadmin.api.EasyAdminPlugin;
+import com.backwardsnode.easyadmin.api.admin.AdminManager;
+import com.backwardsnode.easyadmin.api.data.DatabaseStatistics;
+import com.backwardsnode.easyadmin.api.data.PoolStatistics;
+import com.backwardsnode.easyadmin.api.data.StatementStatistics;
+import com.backwardsnode.easyadmin.api.entity.CommandExecutor;
+import com.backwardsnode.easyadmin.api.internal.MessageKey;
+import com.backwardsnode.easyadmin.core.command.Command;
+import com.backwardsnode.easyadmin.core.command.CommandData;
+import com.backwardsnode.easyadmin.core.command.CommandRegistration;
+import com.backwardsnode.easyadmin.core.command.ExecutionStatus;
+import com.backwardsnode.easyadmin.core.command.args.ArgumentResult;
+import com.backwardsnode.easyadmin.core.command.args.ArgumentSelector;
+import com.backwardsnode.easyadmin.core.commands.data.DatabaseStatsData;
+import com.backwardsnode.easyadmin.core.i18n.CommonMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class DatabaseStats implements Command<DatabaseStatsData> {
+
+    private static final String COMMAND = "dbstats";
+    private static final String RESET_ARGUMENT = "reset";
+    private static final int STATEMENT_LIMIT = 10;
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseStats.class);
+
+    @Override
+    public CommandRegistration getRegistration() {
+        return new CommandRegistration(COMMAND, Map.of(COMMAND, new String[0]));
+    }
+
+    @Override
+    public DatabaseStatsData loadState(EasyAdminPlugin instance, CommandExecutor executor, CommandData data) {
+        return new DatabaseStatsData();
+    }
+
+    @Override
+    public boolean processArgs(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, DatabaseStatsData state) {
+        ArgumentSelector selector = new ArgumentSelector(instance, data.args());
+
+        ArgumentResult<String> argument = selector.readSingleArgument();
+        if (!argument.isValid()) {
+            return true;
+        }
+        if (argument.value().equalsIgnoreCase(RESET_ARGUMENT)) {
+            state.setReset(true);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public MessageKey getDescription(CommandExecutor executor, CommandData data, DatabaseStatsData state) {
+        return CommonMessages.ADMINISTRATIVE.DATABASE_STATS.DESC;
+    }
+
+    @Override
+    public MessageKey getUsageMessage(CommandExecutor executor, CommandData data, DatabaseStatsData state) {
+        return CommonMessages.ADMINISTRATIVE.DATABASE_STATS.USAGE;
+    }
+
+    @Override
+    public ExecutionStatus execute(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, DatabaseStatsData state) {
+        AdminManager adminManager = instance.getInstance().getAdminManager();
+
+        try {
+            if (state.isReset()) {
+                adminManager.resetDatabaseStatistics();
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.DATABASE_STATS.RESET);
+                return ExecutionStatus.SUCCESS;
+            }
+
+            DatabaseStatistics statistics = adminManager.getDatabaseStatistics();
+            long queries = statistics.statements().stream().mapToLong(StatementStatistics::count).sum();
+            double seconds = Math.max(1, Duration.between(statistics.since(), LocalDateTime.now()).toSeconds());
+
+            executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.DATABASE_STATS.TITLE);
+            executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.DATABASE_STATS.SINCE, statistics.since(), queries, String.format("%.2f", queries / seconds));
+            for (PoolStatistics pool : statistics.pools()) {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.DATABASE_STATS.POOL, pool.name(), pool.activeConnections(), pool.idleConnections(),
+                        pool.threadsAwaiting(), pool.acquisitions(), pool.waits(), pool.timeouts(), millis(pool.acquire().p99Nanos()));
+            }
+
+            if (statistics.statements().isEmpty()) {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.DATABASE_STATS.NONE);
+            }
+            // statements arrive ordered by total execute time, so the most expensive are shown first
+            for (StatementStatistics statement : statistics.statements().stream().limit(STATEMENT_LIMIT).toList()) {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.DATABASE_STATS.STATEMENT, statement.kind(), statement.count(), statement.errors(),
+                        millis(statement.acquire().p99Nanos()), millis(statement.execute().p50Nanos()), millis(statement.execute().p99Nanos()),
+                        millis(statement.execute().maxNanos()), millis(statement.decode().p99Nanos()));
+            }
+        } catch (Exception e) {
+            executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.ERROR, e.getClass().getName());
+            LOGGER.error("Failed to get database statistics", e);
+            return ExecutionStatus.ERROR;
+        }
+
+        return ExecutionStatus.SUCCESS;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.commands;
+
+import com.backwardsnode.easyadmin.api.EasyAdminPlugin;
+import com.backwardsnode.easyadmin.api.data.ImportFormat;
+import com.backwardsnode.easyadmin.api.entity.CommandExecutor;
+import com.backwardsnode.easyadmin.api.internal.MessageKey;
+import com.backwardsnode.easyadmin.core.command.Command;
+import com.backwardsnode.easyadmin.core.command.CommandData;
+import com.backwardsnode.easyadmin.core.command.CommandRegistration;
+import com.backwardsnode.easyadmin.core.command.ExecutionStatus;
+import com.backwardsnode.easyadmin.core.command.args.ArgumentResult;
+import com.backwardsnode.easyadmin.core.command.args.ArgumentSelector;
+import com.backwardsnode.easyadmin.core.commands.data.ImportData;
+import com.backwardsnode.easyadmin.core.i18n.CommonMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+public class Import implements Command<ImportData> {
+
+    private static final String COMMAND = "eaimport";
+    private static final Logger LOGGER = LoggerFactory.getLogger(Import.class);
+
+    @Override
+    public CommandRegistration getRegistration() {
+        return new CommandRegistration(COMMAND, Map.of(COMMAND, new String[0]));
+    }
+
+    @Override
+    public ImportData loadState(EasyAdminPlugin instance, CommandExecutor executor, CommandData data) {
+        return new ImportData();
+    }
+
+    @Override
+    public boolean processArgs(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, ImportData state) {
+        ArgumentSelector selector = new ArgumentSelector(instance, data.args());
+
+        ArgumentResult<String> argument = selector.readSingleArgument();
+        if (!argument.isValid()) {
+            return false;
+        }
+        try {
+            state.setFormat(ImportFormat.valueOf(argument.value().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public MessageKey getDescription(CommandExecutor executor, CommandData data, ImportData state) {
+        return CommonMessages.ADMINISTRATIVE.IMPORT.DESC;
+    }
+
+    @Override
+    public MessageKey getUsageMessage(CommandExecutor executor, CommandData data, ImportData state) {
+        return CommonMessages.ADMINISTRATIVE.IMPORT.USAGE;
+    }
+
+    @Override
+    public ExecutionStatus execute(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, ImportData state) {
+        String format = state.getFormat().name().toLowerCase();
+        executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.IMPORT.STARTED, format);
+
+        instance.getInstance().getAdminManager().importRecords(state.getFormat()).whenComplete((imported, e) -> {
+            if (e == null) {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.IMPORT.COMPLETE, imported, format);
+            } else {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.IMPORT.FAILED, format, e.getMessage());
+                LOGGER.error("Failed to import records (format: " + format + ")", e);
+            }
+        });
+
+        return ExecutionStatus.SUCCESS;
+    }
+
+}
@@ -25,9 +25,16 @@
 package com.backwardsnode.easyadmin.core.commands;
 
 import com.backwardsnode.easyadmin.api.EasyAdminPlugin;
+import com.backwardsnode.easyadmin.api.admin.AdminManager;
+import com.backwardsnode.easyadmin.api.contextual.Contextual;
+import com.backwardsnode.easyadmin.api.data.PlayerDossier;
 import com.backwardsnode.easyadmin.api.entity.CommandExecutor;
 import com.backwardsnode.easyadmin.api.entity.OfflinePlayer;
 import com.backwardsnode.easyadmin.api.internal.MessageKey;
+import com.backwardsnode.easyadmin.api.record.BanRecord;
+import com.backwardsnode.easyadmin.api.record.MuteRecord;
+import com.backwardsnode.easyadmin.api.record.base.AdminRecord;
+import com.backwardsnode.easyadmin.api.record.base.ScopedRecord;
 import com.backwardsnode.easyadmin.core.command.Command;
 import com.backwardsnode.easyadmin.core.command.CommandData;
 import com.backwardsnode.easyadmin.core.command.CommandRegistration;
@@ -36,13 +43,19 @@ import com.backwardsnode.easyadmin.core.command.args.ArgumentResult;
 import com.backwardsnode.easyadmin.core.command.args.ArgumentSelector;
 import com.backwardsnode.easyadmin.core.commands.data.LookupData;
 import com.backwardsnode.easyadmin.core.i18n.CommonMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public class Lookup implements Command<LookupData> {
 
     private static final String COMMAND = "lookup";
     private static final String SHORTHAND_COMMAND = "l";
+    private static final int RECORD_LIMIT = 5;
+    private static final Logger LOGGER = LoggerFactory.getLogger(Lookup.class);
 
     @Override
     public CommandRegistration getRegistration() {
@@ -84,9 +97,55 @@ public class Lookup implements Command<LookupData> {
 
     @Override
     public ExecutionStatus execute(EasyAdminPlugin instance, CommandExecutor executor, CommandData data, LookupData state) {
-        //TODO implementation
+        AdminManager adminManager = instance.getInstance().getAdminManager();
+
+        try {
+            if (state.getPlayer() != null) {
+                PlayerDossier dossier = adminManager.getPlayerDossier(state.getPlayer().getUUID(), RECORD_LIMIT);
+
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.TITLE, state.getPlayer().getUsername());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.BANS, dossier.banCount());
+                sendDescriptions(instance, executor, dossier.bans());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.MUTES, dossier.muteCount());
+                sendDescriptions(instance, executor, dossier.mutes());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.KICKS, dossier.kickCount());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.COMMENTS, dossier.commentCount() - dossier.warningCount());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.WARNINGS, dossier.warningCount());
+            } else {
+                Collection<BanRecord> bans = adminManager.getBanRecords(state.getIpAddress());
+                Collection<MuteRecord> mutes = adminManager.getMuteRecords(state.getIpAddress());
+
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.TITLE, state.getIpAddress());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.BANS, bans.size());
+                sendDescriptions(instance, executor, bans.stream().limit(RECORD_LIMIT).toList());
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.MUTES, mutes.size());
+                sendDescriptions(instance, executor, mutes.stream().limit(RECORD_LIMIT).toList());
+            }
+        } catch (Exception e) {
+            executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.ERROR, e.getClass().getName());
+            LOGGER.error("Failed to look up records (" + (state.getPlayer() != null
+                    ? "player: " + state.getPlayer().getUUID() : "address: " + state.getIpAddress()) + ")", e);
+            return ExecutionStatus.ERROR;
+        }
 
         return ExecutionStatus.SUCCESS;
     }
 
+    private <T extends AdminRecord & ScopedRecord & Contextual> void sendDescriptions(EasyAdminPlugin instance, CommandExecutor executor, List<T> records) {
+        for (T record : records) {
+            Object staffUsername = CommonMessages.EASYADMIN.CONSOLE;
+            if (record.getAuthor() != null) {
+                OfflinePlayer staffPlayer = instance.getOfflinePlayer(record.getAuthor());
+                staffUsername = staffPlayer.getUsername();
+            }
+            Object endDate = record.getTerminationDate() == null ? CommonMessages.ADMINISTRATIVE.LOOKUP.ONGOING : record.getTerminationDate();
+
+            if (record.hasContext()) {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.DESCRIPTION_FIELD, staffUsername, record.getContext(), record.getDateAdded(), endDate);
+            } else {
+                executor.sendKeyedMessage(CommonMessages.ADMINISTRATIVE.LOOKUP.DESCRIPTION_FIELD_ALL, staffUsername, "", record.getDateAdded(), endDate);
+            }
+        }
+    }
+
 }
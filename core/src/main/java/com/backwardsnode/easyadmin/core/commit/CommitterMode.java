@@ -32,6 +32,7 @@ public enum CommitterMode {
     ALLOW_TARGETING_UNREGISTERED,
     SKIP_EVENTS,
     EVENT_ALLOW_CANCELLATIONS,
-    EVENT_ALLOW_MODIFICATIONS
+    EVENT_ALLOW_MODIFICATIONS,
+    WRITE_BEHIND
 
 }
@@ -29,6 +29,7 @@ import com.backwardsnode.easyadmin.api.commit.CommitResult;
 import com.backwardsnode.easyadmin.api.commit.CommitStatus;
 import com.backwardsnode.easyadmin.api.commit.Committer;
 import com.backwardsnode.easyadmin.api.data.AdminAction;
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
 import com.backwardsnode.easyadmin.api.data.ServiceSource;
 import com.backwardsnode.easyadmin.api.entity.CommandExecutor;
 import com.backwardsnode.easyadmin.api.entity.OfflinePlayer;
@@ -36,9 +37,17 @@ import com.backwardsnode.easyadmin.api.record.BanRecord;
 import com.backwardsnode.easyadmin.api.record.CommentRecord;
 import com.backwardsnode.easyadmin.api.record.KickRecord;
 import com.backwardsnode.easyadmin.api.record.MuteRecord;
+import com.backwardsnode.easyadmin.api.record.PlayerRecord;
 import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
 import com.backwardsnode.easyadmin.core.EasyAdminService;
 import com.backwardsnode.easyadmin.core.cache.CacheGroupType;
+import com.backwardsnode.easyadmin.core.cache.CacheLoader;
+import com.backwardsnode.easyadmin.core.cache.RecordCache;
+import com.backwardsnode.easyadmin.core.component.ActivePunishmentIndex;
+import com.backwardsnode.easyadmin.core.component.PunishmentFilter;
+import com.backwardsnode.easyadmin.core.database.PlayerUpdateBuffer;
+import com.backwardsnode.easyadmin.core.database.QueryPriority;
+import com.backwardsnode.easyadmin.core.database.WriteBehindQueue;
 import com.backwardsnode.easyadmin.core.event.admin.BanEventImpl;
 import com.backwardsnode.easyadmin.core.event.admin.CommentEventImpl;
 import com.backwardsnode.easyadmin.core.event.admin.KickEventImpl;
@@ -46,6 +55,7 @@ import com.backwardsnode.easyadmin.core.event.admin.MuteEventImpl;
 import com.backwardsnode.easyadmin.core.record.*;
 
 import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
 
 public final class EventFiringCommitter implements Committer {
 
@@ -78,7 +88,7 @@ public final class EventFiringCommitter implements Committer {
 
         if (record instanceof PlayerRecordImpl playerRecord) {
 
-            // TODO
+            return (CommitResult<T>) commit(playerRecord);
 
         } else if (record instanceof BanRecordImpl banRecord) {
 
@@ -101,7 +111,39 @@ public final class EventFiringCommitter implements Committer {
         throw new CommitException(record.getClass());
     }
 
+    private CommitResult<PlayerRecord> commit(PlayerRecordImpl record) {
+        MutablePlayerRecordImpl mutable = record instanceof MutablePlayerRecordImpl m ? m : record.asMutable();
+        if (mutable.isLoaded() && !mutable.isModified()) {
+            return new CommitResult<>(mutable.getOriginal(), CompletableFuture.completedFuture(true));
+        }
+
+        // the cached copy carries the change straight away, and is what later changes to the player are made to
+        PlayerRecordImpl updated = mutable.asImmutable();
+        service.getRecordCache().insert(CacheGroupType.PLAYER, updated.getId(), CacheLoader.singleton(updated));
+
+        PlayerUpdateBuffer playerUpdateBuffer = service.getPlayerUpdateBuffer();
+        CompletableFuture<Boolean> persisted = modes.contains(CommitterMode.WRITE_BEHIND) && playerUpdateBuffer != null
+                ? playerUpdateBuffer.enqueue(mutable)
+                : CompletableFuture.completedFuture(service.getDatabaseController().upsertPlayerRecord(mutable));
+        return new CommitResult<>(updated, persisted.thenApply(success -> {
+            if (success) {
+                updated.markLoaded();
+            }
+            return success;
+        }));
+    }
+
     private CommitResult<BanRecord> commit(BanRecordImpl record, CommandExecutor executor) {
+        if (record instanceof MutableBanRecordImpl mutable) {
+            CompletableFuture<Boolean> unwritten = getUnwritten(mutable.getOriginal());
+            if (unwritten != null) {
+                return commitUpdateAfter(mutable, unwritten);
+            }
+            if (mutable.getOriginal().isLoaded()) {
+                return commitUpdate(mutable, mutable.asImmutable());
+            }
+        }
+
         OfflinePlayer player = service.getPlugin().getOfflinePlayer(record.getPlayer());
         if (!player.isRegistered() && !modes.contains(CommitterMode.ALLOW_TARGETING_UNREGISTERED)) {
             return new CommitResult<>(record, CommitStatus.CANCELLED_NOEXIST);
@@ -136,12 +178,33 @@ public final class EventFiringCommitter implements Committer {
         if (record.hasIpAddress()) {
             service.getRecordCache().infuseIfCollectionPresent(CacheGroupType.ACTIVE_BAN_BY_ADDR, record.getIpAddress(), record);
         }
-        service.getDatabaseController().insertBan(record);
-
-        return new CommitResult<>(record, CommitStatus.COMMITTED);
+        indexActive(record);
+
+        // the record only has an ID to expire by once it has been written
+        BanRecordImpl persisted = record;
+        CompletableFuture<Boolean> written = persist(record).thenApply(success -> {
+            if (success) {
+                service.getExpirySweeper().track(persisted);
+                // a filter rebuild or index reload that scanned before the write landed would otherwise drop it
+                indexActive(persisted);
+            }
+            return success;
+        });
+        holdUntilWritten(record, written);
+        return new CommitResult<>(record, written);
     }
 
     private CommitResult<MuteRecord> commit(MuteRecordImpl record, CommandExecutor executor) {
+        if (record instanceof MutableMuteRecordImpl mutable) {
+            CompletableFuture<Boolean> unwritten = getUnwritten(mutable.getOriginal());
+            if (unwritten != null) {
+                return commitUpdateAfter(mutable, unwritten);
+            }
+            if (mutable.getOriginal().isLoaded()) {
+                return commitUpdate(mutable, mutable.asImmutable());
+            }
+        }
+
         OfflinePlayer player = service.getPlugin().getOfflinePlayer(record.getPlayer());
         if (!player.isRegistered() && !modes.contains(CommitterMode.ALLOW_TARGETING_UNREGISTERED)) {
             return new CommitResult<>(record, CommitStatus.CANCELLED_NOEXIST);
@@ -176,9 +239,20 @@ public final class EventFiringCommitter implements Committer {
         if (record.hasIpAddress()) {
             service.getRecordCache().infuseIfCollectionPresent(CacheGroupType.ACTIVE_MUTE_BY_ADDR, record.getIpAddress(), record);
         }
-        service.getDatabaseController().insertMute(record);
-
-        return new CommitResult<>(record, CommitStatus.COMMITTED);
+        indexActive(record);
+
+        // the record only has an ID to expire by once it has been written
+        MuteRecordImpl persisted = record;
+        CompletableFuture<Boolean> written = persist(record).thenApply(success -> {
+            if (success) {
+                service.getExpirySweeper().track(persisted);
+                // a filter rebuild or index reload that scanned before the write landed would otherwise drop it
+                indexActive(persisted);
+            }
+            return success;
+        });
+        holdUntilWritten(record, written);
+        return new CommitResult<>(record, written);
     }
 
     private CommitResult<CommentRecord> commit(CommentRecordImpl record, CommandExecutor executor) {
@@ -216,9 +290,8 @@ public final class EventFiringCommitter implements Committer {
 
         service.getEnforcer().enforceComment(record);
         service.getRecordCache().infuseIfCollectionPresent(CacheGroupType.COMMENT, record.getPlayer(), record);
-        service.getDatabaseController().insertComment(record);
 
-        return new CommitResult<>(record, CommitStatus.COMMITTED);
+        return new CommitResult<>(record, persist(record));
     }
 
     private CommitResult<KickRecord> commit(KickRecordImpl record, CommandExecutor executor) {
@@ -253,8 +326,182 @@ public final class EventFiringCommitter implements Committer {
 
         service.getEnforcer().enforceKick(record);
         service.getRecordCache().infuseIfCollectionPresent(CacheGroupType.KICK, record.getPlayer(), record);
-        service.getDatabaseController().insertKick(record);
 
-        return new CommitResult<>(record, CommitStatus.COMMITTED);
+        return new CommitResult<>(record, persist(record));
+    }
+
+    private CompletableFuture<Boolean> persist(LiveRecord<?> record) {
+        WriteBehindQueue writeBehindQueue = service.getWriteBehindQueue();
+        if (modes.contains(CommitterMode.WRITE_BEHIND) && writeBehindQueue != null) {
+            return writeBehindQueue.enqueue(record);
+        }
+        return CompletableFuture.completedFuture(service.getDatabaseController().insertRecord(record));
+    }
+
+    private CompletableFuture<Boolean> getUnwritten(LiveRecord<?> record) {
+        WriteBehindQueue writeBehindQueue = service.getWriteBehindQueue();
+        return writeBehindQueue == null ? null : writeBehindQueue.getUnwritten(record);
+    }
+
+    private void holdUntilWritten(LiveRecord<?> record, CompletableFuture<Boolean> written) {
+        WriteBehindQueue writeBehindQueue = service.getWriteBehindQueue();
+        if (writeBehindQueue != null && !written.isDone()) {
+            writeBehindQueue.holdUntilWritten(record, written);
+        }
+    }
+
+    private CommitResult<BanRecord> commitUpdateAfter(MutableBanRecordImpl record, CompletableFuture<Boolean> unwritten) {
+        BanRecordImpl original = record.getOriginal();
+        if (!record.isModified()) {
+            return new CommitResult<>(original, unwritten);
+        }
+
+        // the original is still queued to be inserted, so there is no row to update until it has its ID
+        BanRecordImpl updated = record.asImmutable();
+        CompletableFuture<Boolean> written = unwritten.thenCompose(inserted -> {
+            if (!inserted) {
+                return CompletableFuture.completedFuture(false);
+            }
+            // this runs on the thread that flushed the insert, so the update itself goes to the write lane
+            return service.getDatabaseController().submit(QueryPriority.WRITE, () -> commitUpdate(record, updated).persisted().join());
+        });
+        // the updated copy has no ID either until then, so changes to it must wait as well
+        holdUntilWritten(updated, written);
+        return new CommitResult<>(updated, written);
+    }
+
+    private CommitResult<BanRecord> commitUpdate(MutableBanRecordImpl record, BanRecordImpl updated) {
+        BanRecordImpl original = record.getOriginal();
+        if (!record.isModified()) {
+            return new CommitResult<>(original, CompletableFuture.completedFuture(true));
+        }
+        if (!updated.isLoaded()) {
+            // the copy was made before the original was written and given its ID
+            updated.assignGeneratedId(original.getId());
+        }
+
+        boolean persisted = service.getDatabaseController().updateBan(record);
+        if (!persisted) {
+            // the original is still what the database holds, so it stays enforced
+            return new CommitResult<>(updated, CompletableFuture.completedFuture(false));
+        }
+
+        // swap the cached copies so the change is visible without reloading the groups
+        RecordCache recordCache = service.getRecordCache();
+        BanRecordImpl active = updated.getStatus() == PunishmentStatus.ACTIVE ? updated : null;
+        service.getExpirySweeper().untrack(original);
+        unindex(original);
+        if (active != null) {
+            service.getExpirySweeper().track(active);
+            indexActive(active);
+        }
+        recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_BAN_BY_UUID, original.getPlayer(), original, active);
+        if (active == null) {
+            recordCache.replaceIfCollectionPresent(CacheGroupType.BAN_BY_UUID, original.getPlayer(), original, updated);
+        }
+        if (original.hasIpAddress()) {
+            recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_BAN_BY_ADDR, original.getIpAddress(), original, active);
+            if (active == null) {
+                recordCache.replaceIfCollectionPresent(CacheGroupType.BAN_BY_ADDR, original.getIpAddress(), original, updated);
+            }
+        }
+
+        return new CommitResult<>(updated, CompletableFuture.completedFuture(true));
+    }
+
+    private CommitResult<MuteRecord> commitUpdateAfter(MutableMuteRecordImpl record, CompletableFuture<Boolean> unwritten) {
+        MuteRecordImpl original = record.getOriginal();
+        if (!record.isModified()) {
+            return new CommitResult<>(original, unwritten);
+        }
+
+        // the original is still queued to be inserted, so there is no row to update until it has its ID
+        MuteRecordImpl updated = record.asImmutable();
+        CompletableFuture<Boolean> written = unwritten.thenCompose(inserted -> {
+            if (!inserted) {
+                return CompletableFuture.completedFuture(false);
+            }
+            // this runs on the thread that flushed the insert, so the update itself goes to the write lane
+            return service.getDatabaseController().submit(QueryPriority.WRITE, () -> commitUpdate(record, updated).persisted().join());
+        });
+        // the updated copy has no ID either until then, so changes to it must wait as well
+        holdUntilWritten(updated, written);
+        return new CommitResult<>(updated, written);
+    }
+
+    private CommitResult<MuteRecord> commitUpdate(MutableMuteRecordImpl record, MuteRecordImpl updated) {
+        MuteRecordImpl original = record.getOriginal();
+        if (!record.isModified()) {
+            return new CommitResult<>(original, CompletableFuture.completedFuture(true));
+        }
+        if (!updated.isLoaded()) {
+            // the copy was made before the original was written and given its ID
+            updated.assignGeneratedId(original.getId());
+        }
+
+        boolean persisted = service.getDatabaseController().updateMute(record);
+        if (!persisted) {
+            // the original is still what the database holds, so it stays enforced
+            return new CommitResult<>(updated, CompletableFuture.completedFuture(false));
+        }
+
+        // swap the cached copies so the change is visible without reloading the groups
+        RecordCache recordCache = service.getRecordCache();
+        MuteRecordImpl active = updated.getStatus() == PunishmentStatus.ACTIVE ? updated : null;
+        service.getExpirySweeper().untrack(original);
+        unindex(original);
+        if (active != null) {
+            service.getExpirySweeper().track(active);
+            indexActive(active);
+        }
+        recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_MUTE_BY_UUID, original.getPlayer(), original, active);
+        if (active == null) {
+            recordCache.replaceIfCollectionPresent(CacheGroupType.MUTE_BY_UUID, original.getPlayer(), original, updated);
+        }
+        if (original.hasIpAddress()) {
+            recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_MUTE_BY_ADDR, original.getIpAddress(), original, active);
+            if (active == null) {
+                recordCache.replaceIfCollectionPresent(CacheGroupType.MUTE_BY_ADDR, original.getIpAddress(), original, updated);
+            }
+        }
+
+        return new CommitResult<>(updated, CompletableFuture.completedFuture(true));
+    }
+
+    private void indexActive(BanRecord record) {
+        PunishmentFilter filter = service.getPunishmentFilter();
+        if (filter != null) {
+            filter.add(record);
+        }
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.add(record);
+        }
+    }
+
+    private void indexActive(MuteRecord record) {
+        PunishmentFilter filter = service.getPunishmentFilter();
+        if (filter != null) {
+            filter.add(record);
+        }
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.add(record);
+        }
+    }
+
+    private void unindex(BanRecord record) {
+        // the filter cannot remove keys, and forgets ended records on its next rebuild
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.remove(record);
+        }
+    }
+
+    private void unindex(MuteRecord record) {
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.remove(record);
+        }
     }
 }
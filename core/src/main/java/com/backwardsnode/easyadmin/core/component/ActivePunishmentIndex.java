@@ -0,0 +1,332 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.component;
+
+import com.backwardsnode.easyadmin.api.record.BanRecord;
+import com.backwardsnode.easyadmin.api.record.MuteRecord;
+import com.backwardsnode.easyadmin.api.record.base.AdminRecord;
+import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
+import com.backwardsnode.easyadmin.api.record.base.ScopedRecord;
+import com.backwardsnode.easyadmin.core.BackgroundScheduler;
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
+import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.database.util.UncheckedSQLException;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Holds every active ban and mute in memory, keyed by player UUID and by IP address, so enforcement lookups never wait
+ * on the cache or the database. Keys are stored as pairs of longs, UUIDs by their bits and addresses as 128-bit IPv6
+ * addresses with IPv4 mapped into them.
+ * <p>
+ * Everything is loaded at startup. Commits, updates and expiries on this server keep the index current, while
+ * records written by other servers sharing the database are picked up by the optional periodic reload.</p>
+ */
+public final class ActivePunishmentIndex implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActivePunishmentIndex.class);
+
+    private final DatabaseController databaseController;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledFuture<?> task;
+
+    private Tables tables;
+    // changes made while a reload scans, replayed onto the reloaded tables before they replace the current ones
+    private List<Consumer<Tables>> pending;
+
+    private volatile boolean loaded = false;
+
+    /**
+     * Creates the index, loading every active ban and mute before returning.
+     * @param databaseController the database to load from
+     * @param scheduler the scheduler to run periodic reloads on
+     * @param reloadInterval how often to reload everything, or zero to only load once
+     */
+    public ActivePunishmentIndex(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler, @NotNull Duration reloadInterval) {
+        this.databaseController = databaseController;
+
+        reload();
+
+        task = reloadInterval.isZero() || reloadInterval.isNegative()
+                ? null
+                : scheduler.scheduleWithFixedDelay("reload the active index", this::reload, reloadInterval, reloadInterval);
+    }
+
+    /**
+     * Checks if the index has loaded. Until then, and if the load at startup failed, lookups must go to the cache.
+     * @return true if the index holds every active ban and mute
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public @NotNull List<BanRecord> getActiveBans(@NotNull UUID playerUUID) {
+        return read(tables -> tables.bans.getByPlayer(playerUUID));
+    }
+
+    public @NotNull List<BanRecord> getActiveBans(@NotNull String ipAddress) {
+        return read(tables -> tables.bans.getByAddress(ipAddress));
+    }
+
+    public @NotNull List<MuteRecord> getActiveMutes(@NotNull UUID playerUUID) {
+        return read(tables -> tables.mutes.getByPlayer(playerUUID));
+    }
+
+    public @NotNull List<MuteRecord> getActiveMutes(@NotNull String ipAddress) {
+        return read(tables -> tables.mutes.getByAddress(ipAddress));
+    }
+
+    /**
+     * Adds an active ban, replacing any copy of it already held.
+     * @param record the ban
+     */
+    public void add(@NotNull BanRecord record) {
+        write(tables -> tables.bans.add(record));
+    }
+
+    /**
+     * Removes a ban that has ended or changed, matched by identity or by ID once loaded.
+     * @param record the ban
+     */
+    public void remove(@NotNull BanRecord record) {
+        write(tables -> tables.bans.remove(record));
+    }
+
+    public void add(@NotNull MuteRecord record) {
+        write(tables -> tables.mutes.add(record));
+    }
+
+    public void remove(@NotNull MuteRecord record) {
+        write(tables -> tables.mutes.remove(record));
+    }
+
+    private <T> List<T> read(Function<Tables, List<T>> lookup) {
+        lock.readLock().lock();
+        try {
+            return tables == null ? List.of() : lookup.apply(tables);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Tables> change) {
+        lock.writeLock().lock();
+        try {
+            if (tables != null) {
+                change.accept(tables);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads every active ban and mute from the database, such as after records were imported or restored around the
+     * index. Changes made while the reload runs are kept, and the current tables are kept if it fails.
+     */
+    public synchronized void reload() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Tables reloaded = new Tables();
+        boolean success = false;
+        try {
+            long bans = 0;
+            long mutes = 0;
+            try (Stream<BanRecord> records = databaseController.streamActiveBans()) {
+                for (BanRecord record : (Iterable<BanRecord>) records::iterator) {
+                    reloaded.bans.add(record);
+                    bans++;
+                }
+            }
+            try (Stream<MuteRecord> records = databaseController.streamActiveMutes()) {
+                for (MuteRecord record : (Iterable<MuteRecord>) records::iterator) {
+                    reloaded.mutes.add(record);
+                    mutes++;
+                }
+            }
+            success = true;
+            LOGGER.debug("Loaded {} active bans and {} active mutes into the active index", bans, mutes);
+        } catch (UncheckedSQLException e) {
+            // the current tables are kept, as a partial load would let punished players through
+            LOGGER.error("Failed to load active bans and mutes into the active index", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (success) {
+                    pending.forEach(change -> change.accept(reloaded));
+                    tables = reloaded;
+                    loaded = true;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Stops reloading. A reload in progress still finishes before the scheduler finishes closing.
+     */
+    @Override
+    public void close() {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private static final class Tables {
+        private final Table<BanRecord> bans = new Table<>();
+        private final Table<MuteRecord> mutes = new Table<>();
+    }
+
+    private static final class Table<T extends LiveRecord<Integer> & AdminRecord & ScopedRecord> {
+
+        private final LongPairHashMap<List<T>> byPlayer = new LongPairHashMap<>();
+        private final LongPairHashMap<List<T>> byAddress = new LongPairHashMap<>();
+        // addresses that are not IP literals cannot be keyed by their bits, and should not exist outside of imports
+        private final Map<String, List<T>> byUnparsedAddress = new HashMap<>();
+
+        private List<T> getByPlayer(UUID playerUUID) {
+            List<T> records = byPlayer.get(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits());
+            return records == null ? List.of() : records;
+        }
+
+        private List<T> getByAddress(String ipAddress) {
+            ByteBuffer key = addressKey(ipAddress);
+            List<T> records = key == null ? byUnparsedAddress.get(ipAddress) : byAddress.get(key.getLong(0), key.getLong(8));
+            return records == null ? List.of() : records;
+        }
+
+        private void add(T record) {
+            remove(record);
+            UUID player = record.getPlayer();
+            byPlayer.put(player.getMostSignificantBits(), player.getLeastSignificantBits(),
+                    with(byPlayer.get(player.getMostSignificantBits(), player.getLeastSignificantBits()), record));
+            if (record.hasIpAddress()) {
+                ByteBuffer key = addressKey(record.getIpAddress());
+                if (key == null) {
+                    byUnparsedAddress.put(record.getIpAddress(), with(byUnparsedAddress.get(record.getIpAddress()), record));
+                } else {
+                    byAddress.put(key.getLong(0), key.getLong(8), with(byAddress.get(key.getLong(0), key.getLong(8)), record));
+                }
+            }
+        }
+
+        private void remove(T record) {
+            UUID player = record.getPlayer();
+            List<T> remaining = without(byPlayer.get(player.getMostSignificantBits(), player.getLeastSignificantBits()), record);
+            if (remaining == null) {
+                byPlayer.remove(player.getMostSignificantBits(), player.getLeastSignificantBits());
+            } else {
+                byPlayer.put(player.getMostSignificantBits(), player.getLeastSignificantBits(), remaining);
+            }
+            if (record.hasIpAddress()) {
+                ByteBuffer key = addressKey(record.getIpAddress());
+                if (key == null) {
+                    remaining = without(byUnparsedAddress.get(record.getIpAddress()), record);
+                    if (remaining == null) {
+                        byUnparsedAddress.remove(record.getIpAddress());
+                    } else {
+                        byUnparsedAddress.put(record.getIpAddress(), remaining);
+                    }
+                } else {
+                    remaining = without(byAddress.get(key.getLong(0), key.getLong(8)), record);
+                    if (remaining == null) {
+                        byAddress.remove(key.getLong(0), key.getLong(8));
+                    } else {
+                        byAddress.put(key.getLong(0), key.getLong(8), remaining);
+                    }
+                }
+            }
+        }
+
+        // lists are replaced rather than modified, so readers can hold on to them after the read lock is released
+        private List<T> with(List<T> records, T record) {
+            if (records == null) {
+                return List.of(record);
+            }
+            List<T> added = new ArrayList<>(records.size() + 1);
+            added.addAll(records);
+            added.add(record);
+            return List.copyOf(added);
+        }
+
+        private List<T> without(List<T> records, T record) {
+            if (records == null) {
+                return null;
+            }
+            List<T> remaining = new ArrayList<>(records.size());
+            for (T other : records) {
+                if (!isSame(other, record)) {
+                    remaining.add(other);
+                }
+            }
+            return remaining.isEmpty() ? null : List.copyOf(remaining);
+        }
+
+        private boolean isSame(T a, T b) {
+            return a == b || a.isLoaded() && b.isLoaded() && a.getId().equals(b.getId());
+        }
+
+        private static ByteBuffer addressKey(String ipAddress) {
+            // literals only, as this runs under the write lock and must never wait on a DNS lookup
+            byte[] bytes = ColumnCodec.parseAddress(ipAddress);
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer key = ByteBuffer.allocate(16);
+            if (bytes.length == 4) {
+                // IPv4-mapped IPv6, ::ffff:a.b.c.d
+                key.putLong(0, 0).putInt(8, 0xFFFF).put(12, bytes);
+            } else {
+                key.put(0, bytes);
+            }
+            return key;
+        }
+    }
+}
@@ -29,35 +29,61 @@ import com.backwardsnode.easyadmin.api.admin.AdminManager;
 import com.backwardsnode.easyadmin.api.commit.CommitException;
 import com.backwardsnode.easyadmin.api.contextual.ContextTester;
 import com.backwardsnode.easyadmin.api.contextual.Contextual;
+import com.backwardsnode.easyadmin.api.data.DatabaseStatistics;
+import com.backwardsnode.easyadmin.api.data.ImportFormat;
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
+import com.backwardsnode.easyadmin.api.data.PlayerDossier;
 import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.data.RecordCounts;
 import com.backwardsnode.easyadmin.api.entity.OfflinePlayer;
 import com.backwardsnode.easyadmin.api.entity.OnlinePlayer;
 import com.backwardsnode.easyadmin.api.record.*;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableBanRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableMuteRecord;
 import com.backwardsnode.easyadmin.core.EasyAdminService;
+import com.backwardsnode.easyadmin.core.backup.DatabaseBackup;
 import com.backwardsnode.easyadmin.core.cache.CacheGroupType;
 import com.backwardsnode.easyadmin.core.cache.CacheLoader;
 import com.backwardsnode.easyadmin.core.cache.RecordCache;
+import com.backwardsnode.easyadmin.core.config.ImportConfig;
 import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.importer.AdvancedBanImport;
+import com.backwardsnode.easyadmin.core.importer.LiteBansImport;
+import com.backwardsnode.easyadmin.core.importer.RecordImporter;
+import com.backwardsnode.easyadmin.core.importer.VanillaBanListSource;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
 import com.backwardsnode.easyadmin.core.record.MutableRecordProvider;
+import com.backwardsnode.easyadmin.core.record.MuteRecordImpl;
 import com.backwardsnode.easyadmin.core.record.PlayerRecordImpl;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 public class AdminManagerImpl implements AdminManager {
 
+    private static final String IMPORT_THREAD_NAME = "EasyAdmin-Import";
+    private static final String BACKUP_THREAD_NAME = "EasyAdmin-Backup";
+    private static final String BACKUP_DIRECTORY = "backups";
+
     private final EasyAdminService service;
     private final DatabaseController databaseController;
+    private final AtomicBoolean backgroundTaskRunning = new AtomicBoolean();
 
     public AdminManagerImpl(EasyAdminService service) {
         this.service = service;
@@ -66,13 +92,15 @@ public class AdminManagerImpl implements AdminManager {
 
     @Override
     public @NotNull Optional<BanRecord> getActiveBanRecord(@NotNull UUID playerUUID, @Nullable String inContext, boolean includeGlobalBans) {
-        Collection<BanRecord> records = service.getRecordCache().request(CacheGroupType.ACTIVE_BAN_BY_UUID, playerUUID);
+        Collection<BanRecord> records = active(CacheGroupType.ACTIVE_BAN_BY_UUID, playerUUID, ActivePunishmentIndex::getActiveBans, PunishmentFilter::mightBeBanned);
+        trackBans(records);
         return firstMatchContext(records, inContext, includeGlobalBans);
     }
 
     @Override
     public @NotNull Optional<BanRecord> getActiveBanRecord(@NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalBans) {
-        Collection<BanRecord> records = service.getRecordCache().request(CacheGroupType.ACTIVE_BAN_BY_ADDR, ipAddress);
+        Collection<BanRecord> records = active(CacheGroupType.ACTIVE_BAN_BY_ADDR, ipAddress, ActivePunishmentIndex::getActiveBans, PunishmentFilter::mightBeBanned);
+        trackBans(records);
         return firstMatchContext(records, inContext, includeGlobalBans);
     }
 
@@ -90,15 +118,33 @@ public class AdminManagerImpl implements AdminManager {
         return getActiveBanRecord(player.getUUID(), ipAddress, inContext, includeGlobalBans);
     }
 
+    @Override
+    public @NotNull CompletableFuture<Optional<BanRecord>> getActiveBanRecordAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalBans) {
+        // both lookups are started together, so a miss on either only costs one round trip
+        CompletableFuture<Collection<BanRecord>> byUUID = activeAsync(CacheGroupType.ACTIVE_BAN_BY_UUID, playerUUID, ActivePunishmentIndex::getActiveBans, PunishmentFilter::mightBeBanned);
+        CompletableFuture<Collection<BanRecord>> byAddr = activeAsync(CacheGroupType.ACTIVE_BAN_BY_ADDR, ipAddress, ActivePunishmentIndex::getActiveBans, PunishmentFilter::mightBeBanned);
+        return byUUID.thenCombine(byAddr, (uuidRecords, addrRecords) -> {
+            trackBans(uuidRecords);
+            Optional<BanRecord> record = firstMatchContext(uuidRecords, inContext, includeGlobalBans);
+            if (record.isPresent()) {
+                return record;
+            }
+            trackBans(addrRecords);
+            return firstMatchContext(addrRecords, inContext, includeGlobalBans);
+        });
+    }
+
     @Override
     public @NotNull Optional<MuteRecord> getActiveMuteRecord(@NotNull UUID playerUUID, @Nullable String inContext, boolean includeGlobalMutes) {
-        Collection<MuteRecord> records = service.getRecordCache().request(CacheGroupType.ACTIVE_MUTE_BY_UUID, playerUUID);
+        Collection<MuteRecord> records = active(CacheGroupType.ACTIVE_MUTE_BY_UUID, playerUUID, ActivePunishmentIndex::getActiveMutes, PunishmentFilter::mightBeMuted);
+        trackMutes(records);
         return firstMatchContext(records, inContext, includeGlobalMutes);
     }
 
     @Override
     public @NotNull Optional<MuteRecord> getActiveMuteRecord(@NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalMutes) {
-        Collection<MuteRecord> records = service.getRecordCache().request(CacheGroupType.ACTIVE_MUTE_BY_ADDR, ipAddress);
+        Collection<MuteRecord> records = active(CacheGroupType.ACTIVE_MUTE_BY_ADDR, ipAddress, ActivePunishmentIndex::getActiveMutes, PunishmentFilter::mightBeMuted);
+        trackMutes(records);
         return firstMatchContext(records, inContext, includeGlobalMutes);
     }
 
@@ -116,6 +162,21 @@ public class AdminManagerImpl implements AdminManager {
         return getActiveMuteRecord(player.getUUID(), player.getSerializedIPAddress(), inContext, includeGlobalMutes);
     }
 
+    @Override
+    public @NotNull CompletableFuture<Optional<MuteRecord>> getActiveMuteRecordAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, @Nullable String inContext, boolean includeGlobalMutes) {
+        CompletableFuture<Collection<MuteRecord>> byUUID = activeAsync(CacheGroupType.ACTIVE_MUTE_BY_UUID, playerUUID, ActivePunishmentIndex::getActiveMutes, PunishmentFilter::mightBeMuted);
+        CompletableFuture<Collection<MuteRecord>> byAddr = activeAsync(CacheGroupType.ACTIVE_MUTE_BY_ADDR, ipAddress, ActivePunishmentIndex::getActiveMutes, PunishmentFilter::mightBeMuted);
+        return byUUID.thenCombine(byAddr, (uuidRecords, addrRecords) -> {
+            trackMutes(uuidRecords);
+            Optional<MuteRecord> record = firstMatchContext(uuidRecords, inContext, includeGlobalMutes);
+            if (record.isPresent()) {
+                return record;
+            }
+            trackMutes(addrRecords);
+            return firstMatchContext(addrRecords, inContext, includeGlobalMutes);
+        });
+    }
+
     @Override
     public @NotNull Collection<BanRecord> getBanRecords(@NotNull UUID playerUUID) {
         return service.getRecordCache().request(CacheGroupType.BAN_BY_UUID, playerUUID);
@@ -434,13 +495,131 @@ public class AdminManagerImpl implements AdminManager {
         return getOrInitPlayerRecord(player.getUUID(), player.getUsername());
     }
 
+    @Override
+    public @NotNull PlayerDossier getPlayerDossier(@NotNull UUID playerUUID, int recordLimit) {
+        PlayerDossier dossier = databaseController.getPlayerDossier(playerUUID, recordLimit);
+        if (dossier == null) {
+            return new PlayerDossier(null, List.of(), List.of(), List.of(), List.of(), 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return dossier;
+    }
+
+    @Override
+    public @NotNull RecordCounts getRecordCounts(@NotNull UUID playerUUID) {
+        RecordCounts counts = databaseController.getRecordCounts(playerUUID);
+        return counts == null ? RecordCounts.EMPTY : counts;
+    }
+
+    @Override
+    public @NotNull DatabaseStatistics getDatabaseStatistics() {
+        return databaseController.getStatistics();
+    }
+
+    @Override
+    public void resetDatabaseStatistics() {
+        databaseController.resetStatistics();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Long> importRecords(@NotNull ImportFormat format) {
+        return runInBackground(IMPORT_THREAD_NAME, () -> {
+            beforeBulkWrite();
+            try {
+                return runImport(format, service.getImportConfiguration());
+            } finally {
+                reloadAfterBulkWrite();
+            }
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<String> exportDatabase() {
+        return runInBackground(BACKUP_THREAD_NAME, () -> createDatabaseBackup().export());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Long> restoreDatabase(@NotNull String name) {
+        return runInBackground(BACKUP_THREAD_NAME, () -> {
+            beforeBulkWrite();
+            try {
+                return createDatabaseBackup().restore(name);
+            } finally {
+                reloadAfterBulkWrite();
+            }
+        });
+    }
+
+    private void beforeBulkWrite() {
+        PunishmentFilter filter = service.getPunishmentFilter();
+        if (filter != null) {
+            filter.suspend();
+        }
+    }
+
+    // imports and restores write straight to the database, so everything held in memory has to be reloaded after them
+    private void reloadAfterBulkWrite() {
+        service.getRecordCache().invalidateAll();
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.reload();
+        }
+        PunishmentFilter filter = service.getPunishmentFilter();
+        if (filter != null) {
+            filter.resume();
+        }
+    }
+
+    private DatabaseBackup createDatabaseBackup() {
+        return new DatabaseBackup(databaseController, service.getDataFile(BACKUP_DIRECTORY), DatabaseBackup.DEFAULT_BATCH_SIZE);
+    }
+
+    private <T> CompletableFuture<T> runInBackground(String threadName, Callable<T> task) {
+        if (!backgroundTaskRunning.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("An import or backup is already running"));
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // imports and backups can run for minutes, so they get their own thread rather than holding a database executor thread
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            } finally {
+                backgroundTaskRunning.set(false);
+            }
+        }, threadName);
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private long runImport(ImportFormat format, ImportConfig config) throws Exception {
+        RecordImporter importer = new RecordImporter(databaseController, config.getBatchSize());
+        if (format == ImportFormat.VANILLA) {
+            Path directory = config.getVanillaDirectory();
+            return importer.importAll(List.of(VanillaBanListSource.players(directory), VanillaBanListSource.addresses(directory)));
+        }
+
+        if (config.getUrl() == null || config.getUrl().isBlank()) {
+            throw new IllegalStateException("No database url has been configured for importing");
+        }
+        try (Connection connection = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword())) {
+            return importer.importAll(switch (format) {
+                case LITEBANS -> LiteBansImport.createSources(connection, config.getTablePrefix(), config.getBatchSize());
+                case ADVANCEDBAN -> AdvancedBanImport.createSources(connection, config.getBatchSize());
+                default -> throw new IllegalArgumentException("Unsupported import format " + format);
+            });
+        }
+    }
+
     @Override
     public int unbanPlayerEverywhere(@NotNull UUID playerUUID, @Nullable UUID staffUUID, @Nullable String unbanReason) {
         LocalDateTime now = LocalDateTime.now();
         int count = 0;
         for (BanRecord record : getBanRecordsByStatus(playerUUID, PunishmentStatus.ACTIVE)) {
             if (record.isTemporary() && now.isAfter(record.getTerminationDate())) {
-                // TODO where are we updating the status here!?!?!?!
+                // already over, the expiry sweeper marks it as expired
                 continue;
             }
             if (record instanceof MutableRecordProvider<?> mrp) {
@@ -465,7 +644,7 @@ public class AdminManagerImpl implements AdminManager {
         int count = 0;
         for (BanRecord record : getBanRecordsByStatus(playerUUID, PunishmentStatus.ACTIVE)) {
             if (record.isTemporary() && now.isAfter(record.getTerminationDate())) {
-                // TODO where are we updating the status here!?!?!?!
+                // already over, the expiry sweeper marks it as expired
                 continue;
             }
             if (record instanceof MutableRecordProvider<?> mrp) {
@@ -514,7 +693,7 @@ public class AdminManagerImpl implements AdminManager {
         int count = 0;
         for (MuteRecord record : getMuteRecordsByStatus(playerUUID, PunishmentStatus.ACTIVE)) {
             if (record.isTemporary() && now.isAfter(record.getTerminationDate())) {
-                // TODO where are we updating the status here!?!?!?!
+                // already over, the expiry sweeper marks it as expired
                 continue;
             }
             if (record instanceof MutableRecordProvider<?> mrp) {
@@ -539,7 +718,7 @@ public class AdminManagerImpl implements AdminManager {
         int count = 0;
         for (MuteRecord record : getMuteRecordsByStatus(playerUUID, PunishmentStatus.ACTIVE)) {
             if (record.isTemporary() && now.isAfter(record.getTerminationDate())) {
-                // TODO where are we updating the status here!?!?!?!
+                // already over, the expiry sweeper marks it as expired
                 continue;
             }
             if (record instanceof MutableRecordProvider<?> mrp) {
@@ -582,6 +761,53 @@ public class AdminManagerImpl implements AdminManager {
         return false;
     }
 
+    /**
+     * Gets the active records for a key from the active index once loaded, or otherwise from the cache unless the
+     * punishment filter rules the key out.
+     */
+    private <R, T> Collection<T> active(CacheGroupType<R, T> group, R key, BiFunction<ActivePunishmentIndex, R, List<T>> indexed,
+                                        BiPredicate<PunishmentFilter, R> mightMatch) {
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null && index.isLoaded()) {
+            return indexed.apply(index, key);
+        }
+        PunishmentFilter filter = service.getPunishmentFilter();
+        if (filter != null && !mightMatch.test(filter, key)) {
+            return List.of();
+        }
+        return service.getRecordCache().request(group, key);
+    }
+
+    private <R, T> CompletableFuture<Collection<T>> activeAsync(CacheGroupType<R, T> group, R key, BiFunction<ActivePunishmentIndex, R, List<T>> indexed,
+                                                                BiPredicate<PunishmentFilter, R> mightMatch) {
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null && index.isLoaded()) {
+            return CompletableFuture.completedFuture(indexed.apply(index, key));
+        }
+        PunishmentFilter filter = service.getPunishmentFilter();
+        if (filter != null && !mightMatch.test(filter, key)) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return service.getRecordCache().requestAsync(group, key);
+    }
+
+    // active records are looked up for players as they join and chat, so these are the ones worth expiring on time
+    private void trackBans(Collection<BanRecord> records) {
+        for (BanRecord record : records) {
+            if (record instanceof BanRecordImpl banRecord) {
+                service.getExpirySweeper().track(banRecord);
+            }
+        }
+    }
+
+    private void trackMutes(Collection<MuteRecord> records) {
+        for (MuteRecord record : records) {
+            if (record instanceof MuteRecordImpl muteRecord) {
+                service.getExpirySweeper().track(muteRecord);
+            }
+        }
+    }
+
     @NotNull
     private <T extends Contextual> Optional<T> firstMatchContext(Collection<T> records, @Nullable String inContext, boolean includeGlobals) {
         for (T record : records) {
@@ -0,0 +1,265 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.component;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.data.ServiceSource;
+import com.backwardsnode.easyadmin.api.record.BanRecord;
+import com.backwardsnode.easyadmin.api.record.MuteRecord;
+import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
+import com.backwardsnode.easyadmin.core.BackgroundScheduler;
+import com.backwardsnode.easyadmin.core.EasyAdminService;
+import com.backwardsnode.easyadmin.core.cache.CacheGroupType;
+import com.backwardsnode.easyadmin.core.cache.RecordCache;
+import com.backwardsnode.easyadmin.core.database.QueryPriority;
+import com.backwardsnode.easyadmin.core.event.CommonEventBus;
+import com.backwardsnode.easyadmin.core.event.admin.BanEndEventImpl;
+import com.backwardsnode.easyadmin.core.event.admin.MuteEndEventImpl;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
+import com.backwardsnode.easyadmin.core.record.MuteRecordImpl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+/**
+ * Periodically marks temporary bans and mutes whose end date has passed as expired, a batch at a time. Each expired
+ * record fires a {@link com.backwardsnode.easyadmin.api.event.admin.BanEndEvent} or
+ * {@link com.backwardsnode.easyadmin.api.event.admin.MuteEndEvent} and is swapped for its expired copy in the record
+ * cache, so the active groups stop returning it.
+ * <p>
+ * Records that are in use, such as those looked up for online players, can also be tracked on a {@link TimingWheel}
+ * so they expire within a tick of their end date rather than on the next sweep.</p>
+ */
+public final class ExpirySweeper implements AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(100);
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+    public static final Duration DEFAULT_TRACK_AHEAD = Duration.ofDays(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpirySweeper.class);
+
+    private final EasyAdminService service;
+    private final CommonEventBus eventBus;
+    private final int batchSize;
+    private final ScheduledFuture<?> sweepTask;
+
+    private final TimingWheel<LiveRecord<Integer>> wheel;
+    private final Map<Integer, TimingWheel.Timeout<LiveRecord<Integer>>> trackedBans = new ConcurrentHashMap<>();
+    private final Map<Integer, TimingWheel.Timeout<LiveRecord<Integer>>> trackedMutes = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> tickTask;
+
+    private volatile boolean running = true;
+
+    public ExpirySweeper(@NotNull EasyAdminService service, @NotNull BackgroundScheduler scheduler) {
+        this(service, scheduler, DEFAULT_BATCH_SIZE, DEFAULT_INTERVAL);
+    }
+
+    public ExpirySweeper(@NotNull EasyAdminService service, @NotNull BackgroundScheduler scheduler, int batchSize, @NotNull Duration interval) {
+        this.service = service;
+        this.eventBus = service.getEventBus();
+        this.batchSize = batchSize;
+
+        wheel = new TimingWheel<>(DEFAULT_TICK.toNanos(), DEFAULT_TICKS_PER_WHEEL, System.nanoTime());
+        sweepTask = scheduler.scheduleWithFixedDelay("expire punishments", () -> sweep(LocalDateTime.now()), Duration.ZERO, interval);
+        tickTask = scheduler.scheduleWithFixedDelay("advance the expiry timer", this::advance, DEFAULT_TICK, DEFAULT_TICK);
+    }
+
+    /**
+     * Tracks an active temporary ban so it expires as soon as its end date passes. Bans already tracked, not yet
+     * persisted, or ending too far ahead are left to the periodic sweep.
+     * @param record the ban to track
+     */
+    public void track(@NotNull BanRecordImpl record) {
+        track(record, record.getStatus(), record.getTerminationDate(), trackedBans);
+    }
+
+    /**
+     * Tracks an active temporary mute so it expires as soon as its end date passes. Mutes already tracked, not yet
+     * persisted, or ending too far ahead are left to the periodic sweep.
+     * @param record the mute to track
+     */
+    public void track(@NotNull MuteRecordImpl record) {
+        track(record, record.getStatus(), record.getTerminationDate(), trackedMutes);
+    }
+
+    /**
+     * Stops tracking a ban, such as once it has been lifted or its end date has changed.
+     * @param record the ban to stop tracking
+     */
+    public void untrack(@NotNull BanRecordImpl record) {
+        untrack(record, trackedBans);
+    }
+
+    /**
+     * Stops tracking a mute, such as once it has been lifted or its end date has changed.
+     * @param record the mute to stop tracking
+     */
+    public void untrack(@NotNull MuteRecordImpl record) {
+        untrack(record, trackedMutes);
+    }
+
+    private void track(LiveRecord<Integer> record, PunishmentStatus status, @Nullable LocalDateTime terminationDate,
+                       Map<Integer, TimingWheel.Timeout<LiveRecord<Integer>>> tracked) {
+        if (!running || !record.isLoaded() || status != PunishmentStatus.ACTIVE || terminationDate == null
+                || tracked.containsKey(record.getId())) {
+            return;
+        }
+
+        Duration remaining = Duration.between(LocalDateTime.now(), terminationDate);
+        if (remaining.compareTo(DEFAULT_TRACK_AHEAD) > 0) {
+            return;
+        }
+
+        TimingWheel.Timeout<LiveRecord<Integer>> timeout = wheel.schedule(record, System.nanoTime() + remaining.toNanos());
+        if (tracked.putIfAbsent(record.getId(), timeout) != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private void untrack(LiveRecord<Integer> record, Map<Integer, TimingWheel.Timeout<LiveRecord<Integer>>> tracked) {
+        if (!record.isLoaded()) {
+            return;
+        }
+        TimingWheel.Timeout<LiveRecord<Integer>> timeout = tracked.remove(record.getId());
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private void advance() {
+        for (LiveRecord<Integer> record : wheel.advance(System.nanoTime())) {
+            try {
+                fire(record);
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to expire punishment " + record.getId(), e);
+            }
+        }
+    }
+
+    private void fire(LiveRecord<Integer> record) {
+        // the guarded update fails if the record was lifted or swept first, so each expiry fires a single event
+        if (record instanceof BanRecordImpl banRecord) {
+            trackedBans.computeIfPresent(banRecord.getId(), (id, timeout) -> timeout.getItem() == banRecord ? null : timeout);
+            expireLater(record, () -> service.getDatabaseController().expireBan(banRecord.getId()), () -> expired(banRecord));
+        } else if (record instanceof MuteRecordImpl muteRecord) {
+            trackedMutes.computeIfPresent(muteRecord.getId(), (id, timeout) -> timeout.getItem() == muteRecord ? null : timeout);
+            expireLater(record, () -> service.getDatabaseController().expireMute(muteRecord.getId()), () -> expired(muteRecord));
+        }
+    }
+
+    // the tick only advances the wheel, so a slow update cannot hold back the expiries due after it
+    private void expireLater(LiveRecord<Integer> record, Supplier<Boolean> update, Runnable onExpired) {
+        service.getDatabaseController().submit(QueryPriority.ENFORCEMENT, update).whenComplete((updated, e) -> {
+            if (e != null) {
+                // left for the periodic sweep to pick up
+                LOGGER.error("Failed to expire punishment " + record.getId(), e);
+            } else if (updated) {
+                try {
+                    onExpired.run();
+                } catch (RuntimeException ex) {
+                    LOGGER.error("Failed to expire punishment " + record.getId(), ex);
+                }
+            }
+        });
+    }
+
+    private void sweep(LocalDateTime now) {
+        List<BanRecord> bans;
+        do {
+            bans = service.getDatabaseController().expireBans(now, batchSize);
+            if (bans != null) {
+                bans.forEach(record -> expired((BanRecordImpl) record));
+            }
+        } while (running && bans != null && bans.size() == batchSize);
+
+        List<MuteRecord> mutes;
+        do {
+            mutes = service.getDatabaseController().expireMutes(now, batchSize);
+            if (mutes != null) {
+                mutes.forEach(record -> expired((MuteRecordImpl) record));
+            }
+        } while (running && mutes != null && mutes.size() == batchSize);
+    }
+
+    private void expired(BanRecordImpl original) {
+        BanRecordImpl expired = original.asExpired();
+        untrack(original);
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.remove(original);
+        }
+
+        RecordCache recordCache = service.getRecordCache();
+        recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_BAN_BY_UUID, original.getPlayer(), original, null);
+        recordCache.replaceIfCollectionPresent(CacheGroupType.BAN_BY_UUID, original.getPlayer(), original, expired);
+        if (original.hasIpAddress()) {
+            recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_BAN_BY_ADDR, original.getIpAddress(), original, null);
+            recordCache.replaceIfCollectionPresent(CacheGroupType.BAN_BY_ADDR, original.getIpAddress(), original, expired);
+        }
+
+        // the status has already changed, so listeners are told about it but cannot cancel or modify it
+        eventBus.call(new BanEndEventImpl(service, ServiceSource.API, expired, null, false, false, true));
+    }
+
+    private void expired(MuteRecordImpl original) {
+        MuteRecordImpl expired = original.asExpired();
+        untrack(original);
+        ActivePunishmentIndex index = service.getActivePunishmentIndex();
+        if (index != null) {
+            index.remove(original);
+        }
+
+        RecordCache recordCache = service.getRecordCache();
+        recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_MUTE_BY_UUID, original.getPlayer(), original, null);
+        recordCache.replaceIfCollectionPresent(CacheGroupType.MUTE_BY_UUID, original.getPlayer(), original, expired);
+        if (original.hasIpAddress()) {
+            recordCache.replaceIfCollectionPresent(CacheGroupType.ACTIVE_MUTE_BY_ADDR, original.getIpAddress(), original, null);
+            recordCache.replaceIfCollectionPresent(CacheGroupType.MUTE_BY_ADDR, original.getIpAddress(), original, expired);
+        }
+
+        eventBus.call(new MuteEndEventImpl(service, ServiceSource.API, expired, null, false, false, true));
+    }
+
+    /**
+     * Stops sweeping and tracking. A batch in progress still commits before the scheduler finishes closing.
+     */
+    @Override
+    public void close() {
+        running = false;
+        sweepTask.cancel(false);
+        tickTask.cancel(false);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.component;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An open addressing hash map keyed by a pair of longs, such as a UUID or a 128-bit address, stored inline without
+ * boxing. Collisions are resolved by linear probing and removals shift later entries back, so there are no tombstones
+ * to slow lookups down over time. Not thread safe.
+ * @param <V> the type of value, which may not be null
+ */
+public final class LongPairHashMap<V> {
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size = 0;
+    private int resizeAt;
+
+    public LongPairHashMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map.
+     * @param expectedSize the number of entries to hold without resizing
+     */
+    public LongPairHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        // kept at most half full, so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(MINIMUM_CAPACITY, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    public @Nullable V get(long high, long low) {
+        int slot = find(high, low);
+        return slot < 0 ? null : value(slot);
+    }
+
+    public boolean containsKey(long high, long low) {
+        return find(high, low) >= 0;
+    }
+
+    /**
+     * Maps a key to a value.
+     * @param high the high bits of the key
+     * @param low the low bits of the key
+     * @param value the value
+     * @return the value previously mapped to the key, or null if there was none
+     */
+    public @Nullable V put(long high, long low, @NotNull V value) {
+        for (int slot = slot(high, low); ; slot = (slot + 1) & mask) {
+            if (values[slot] == null) {
+                keys[slot << 1] = high;
+                keys[(slot << 1) + 1] = low;
+                values[slot] = value;
+                if (++size > resizeAt) {
+                    allocate(values.length << 1);
+                }
+                return null;
+            }
+            if (keys[slot << 1] == high && keys[(slot << 1) + 1] == low) {
+                V previous = value(slot);
+                values[slot] = value;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping for a key.
+     * @param high the high bits of the key
+     * @param low the low bits of the key
+     * @return the value that was mapped to the key, or null if there was none
+     */
+    public @Nullable V remove(long high, long low) {
+        int slot = find(high, low);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = value(slot);
+        size--;
+
+        // shift back any later entry in the run whose home slot is at or before the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = slot(keys[next << 1], keys[(next << 1) + 1]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap << 1] = keys[next << 1];
+                keys[(gap << 1) + 1] = keys[(next << 1) + 1];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int find(long high, long low) {
+        for (int slot = slot(high, low); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot << 1] == high && keys[(slot << 1) + 1] == low) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int slot(long high, long low) {
+        long hash = high * 0x9E3779B97F4A7C15L + low;
+        hash ^= hash >>> 32;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 29;
+        return (int) hash & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        keys = new long[capacity << 1];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >> 1;
+        size = 0;
+
+        if (oldValues != null) {
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i << 1], oldKeys[(i << 1) + 1], (V) oldValues[i]);
+                }
+            }
+        }
+    }
+}
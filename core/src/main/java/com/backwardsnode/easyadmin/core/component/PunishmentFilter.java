@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.component;
+
+import com.backwardsnode.easyadmin.api.record.BanRecord;
+import com.backwardsnode.easyadmin.api.record.MuteRecord;
+import com.backwardsnode.easyadmin.api.record.base.AdminRecord;
+import com.backwardsnode.easyadmin.api.record.base.ScopedRecord;
+import com.backwardsnode.easyadmin.core.BackgroundScheduler;
+import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import com.backwardsnode.easyadmin.core.database.util.UncheckedSQLException;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the UUIDs and IP addresses of every active ban and mute, so the lookups made on every login and
+ * chat message can answer "not punished" for almost every player without touching the cache or the database.
+ * <p>
+ * The filters are rebuilt from the database periodically, which drops records that have since ended and picks up
+ * records added by other servers sharing the database. Records committed on this server are added as they are
+ * committed. Until the first build completes every lookup is answered "maybe", so nothing is let through unchecked.</p>
+ */
+public final class PunishmentFilter implements AutoCloseable {
+
+    public static final Duration DEFAULT_REBUILD_INTERVAL = Duration.ofMinutes(1);
+    public static final int MINIMUM_EXPECTED_KEYS = 10000;
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PunishmentFilter.class);
+
+    private final DatabaseController databaseController;
+    private final Object lock = new Object();
+    private final ScheduledFuture<?> task;
+
+    private volatile BloomFilter bans;
+    private volatile BloomFilter mutes;
+    // filters being rebuilt, which also receive records committed while their scan runs
+    private BloomFilter nextBans;
+    private BloomFilter nextMutes;
+    private long expectedBanKeys = MINIMUM_EXPECTED_KEYS;
+    private long expectedMuteKeys = MINIMUM_EXPECTED_KEYS;
+
+    // while records are bulk written behind the filters' back, every lookup is answered "maybe"
+    private volatile int suspended = 0;
+
+    public PunishmentFilter(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler) {
+        this(databaseController, scheduler, DEFAULT_REBUILD_INTERVAL);
+    }
+
+    public PunishmentFilter(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler, @NotNull Duration interval) {
+        this.databaseController = databaseController;
+
+        task = scheduler.scheduleWithFixedDelay("rebuild punishment filters", this::rebuild, Duration.ZERO, interval);
+    }
+
+    /**
+     * Tests if a player may have an active ban.
+     * @param playerUUID the UUID of the player
+     * @return false if the player certainly has no active ban, true if they may have one
+     */
+    public boolean mightBeBanned(@NotNull UUID playerUUID) {
+        return mightContain(bans, playerUUID.toString());
+    }
+
+    /**
+     * Tests if an IP address may have an active ban.
+     * @param ipAddress the IP address
+     * @return false if the address certainly has no active ban, true if it may have one
+     */
+    public boolean mightBeBanned(@NotNull String ipAddress) {
+        return mightContain(bans, ipAddress);
+    }
+
+    public boolean mightBeMuted(@NotNull UUID playerUUID) {
+        return mightContain(mutes, playerUUID.toString());
+    }
+
+    public boolean mightBeMuted(@NotNull String ipAddress) {
+        return mightContain(mutes, ipAddress);
+    }
+
+    /**
+     * Adds a ban committed on this server, so it is found before the next rebuild.
+     * @param record the ban
+     */
+    public void add(@NotNull BanRecord record) {
+        synchronized (lock) {
+            put(bans, record);
+            put(nextBans, record);
+        }
+    }
+
+    /**
+     * Adds a mute committed on this server, so it is found before the next rebuild.
+     * @param record the mute
+     */
+    public void add(@NotNull MuteRecord record) {
+        synchronized (lock) {
+            put(mutes, record);
+            put(nextMutes, record);
+        }
+    }
+
+    public boolean isReady() {
+        return bans != null && mutes != null;
+    }
+
+    /**
+     * Stops ruling out any key until {@link #resume()} is called, for while records are imported or restored.
+     */
+    public void suspend() {
+        synchronized (lock) {
+            suspended++;
+        }
+    }
+
+    /**
+     * Rebuilds the filters from the database and then uses them again.
+     */
+    public void resume() {
+        rebuild();
+        synchronized (lock) {
+            suspended = Math.max(0, suspended - 1);
+        }
+    }
+
+    private boolean mightContain(BloomFilter filter, String key) {
+        return suspended > 0 || filter == null || filter.mightContain(key);
+    }
+
+    private static <T extends AdminRecord & ScopedRecord> void put(BloomFilter filter, T record) {
+        if (filter == null) {
+            return;
+        }
+        filter.put(record.getPlayer().toString());
+        if (record.hasIpAddress()) {
+            filter.put(record.getIpAddress());
+        }
+    }
+
+    private synchronized void rebuild() {
+        BloomFilter builtBans;
+        BloomFilter builtMutes;
+        synchronized (lock) {
+            builtBans = nextBans = new BloomFilter(expectedBanKeys, FALSE_POSITIVE_RATE);
+            builtMutes = nextMutes = new BloomFilter(expectedMuteKeys, FALSE_POSITIVE_RATE);
+        }
+        try {
+            long banCount = 0;
+            long muteCount = 0;
+            try (Stream<BanRecord> records = databaseController.streamActiveBans()) {
+                for (BanRecord record : (Iterable<BanRecord>) records::iterator) {
+                    put(builtBans, record);
+                    banCount++;
+                }
+            }
+            try (Stream<MuteRecord> records = databaseController.streamActiveMutes()) {
+                for (MuteRecord record : (Iterable<MuteRecord>) records::iterator) {
+                    put(builtMutes, record);
+                    muteCount++;
+                }
+            }
+            synchronized (lock) {
+                bans = builtBans;
+                mutes = builtMutes;
+                // leave headroom for growth and for the UUID and address of each record
+                expectedBanKeys = Math.max(MINIMUM_EXPECTED_KEYS, banCount * 4);
+                expectedMuteKeys = Math.max(MINIMUM_EXPECTED_KEYS, muteCount * 4);
+            }
+            LOGGER.debug("Rebuilt punishment filters from {} active bans and {} active mutes", banCount, muteCount);
+        } catch (UncheckedSQLException e) {
+            // the previous filters are kept, as an empty filter would let every punished player through
+            LOGGER.warn("Failed to rebuild punishment filters", e);
+        } finally {
+            synchronized (lock) {
+                nextBans = null;
+                nextMutes = null;
+            }
+        }
+    }
+
+    /**
+     * Stops rebuilding. A rebuild in progress still finishes before the scheduler finishes closing.
+     */
+    @Override
+    public void close() {
+        task.cancel(false);
+    }
+}
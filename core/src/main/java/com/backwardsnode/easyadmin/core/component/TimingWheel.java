@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.component;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel. Deadlines are hashed into a ring of buckets by the tick they fall in, so scheduling and
+ * cancelling are constant time and each tick only visits the deadlines sharing its bucket. Deadlines more than one
+ * revolution away wait out the remaining rounds in their bucket.
+ * @param <T> the type of item scheduled
+ */
+public final class TimingWheel<T> {
+
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    private final long tickNanos;
+    private final long startNanos;
+
+    private long tick = 0;
+    private int size = 0;
+
+    /**
+     * Creates an empty wheel.
+     * @param tickNanos the length of a tick, which is the precision deadlines fire at
+     * @param ticksPerWheel the number of buckets, rounded up to a power of two
+     * @param startNanos the {@link System#nanoTime()} the first tick is measured from
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickNanos, int ticksPerWheel, long startNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("Ticks per wheel must be between 1 and 2^30");
+        }
+        int length = Integer.highestOneBit(ticksPerWheel);
+        if (length < ticksPerWheel) {
+            length <<= 1;
+        }
+        this.buckets = new Timeout[length];
+        this.mask = length - 1;
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Schedules an item to expire once a deadline has passed. Deadlines already passed expire on the next tick.
+     * @param item the item to expire
+     * @param deadlineNanos the {@link System#nanoTime()} to expire the item at
+     * @return a handle to cancel the deadline with
+     */
+    public synchronized @NotNull Timeout<T> schedule(@NotNull T item, long deadlineNanos) {
+        long elapsed = deadlineNanos - startNanos;
+        // the tick whose end lies at or after the deadline
+        long deadlineTick = elapsed <= 0 ? 0 : (elapsed - 1) / tickNanos + 1;
+        deadlineTick = Math.max(deadlineTick, tick);
+
+        Timeout<T> timeout = new Timeout<>(item, deadlineNanos);
+        timeout.rounds = (deadlineTick - tick) / buckets.length;
+        timeout.bucket = (int) (deadlineTick & mask);
+        link(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a deadline that has not expired yet.
+     * @param timeout the handle returned when the item was scheduled
+     * @return true if the deadline was cancelled, or false if it had already expired or been cancelled
+     */
+    public synchronized boolean cancel(@NotNull Timeout<T> timeout) {
+        if (timeout.bucket < 0) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Runs every tick that has ended by a time, collecting the items whose deadlines expired.
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the expired items, in the order their ticks ended
+     */
+    public synchronized @NotNull List<T> advance(long nowNanos) {
+        List<T> expired = new ArrayList<>();
+        while (size > 0 && nowNanos - (startNanos + tick * tickNanos) >= 0) {
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    unlink(timeout);
+                    size--;
+                    expired.add(timeout.item);
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+            tick++;
+        }
+        if (size == 0) {
+            // nothing waits on the skipped ticks, so jump straight to the present
+            long elapsed = nowNanos - startNanos;
+            if (elapsed >= 0) {
+                tick = Math.max(tick, elapsed / tickNanos + 1);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the time the next tick ends at, which is the earliest that {@link #advance(long)} can expire anything.
+     * @return the {@link System#nanoTime()} of the end of the next tick
+     */
+    public synchronized long nextTickNanos() {
+        return startNanos + tick * tickNanos;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private void link(Timeout<T> timeout) {
+        Timeout<T> head = buckets[timeout.bucket];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[timeout.bucket] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            buckets[timeout.bucket] = timeout.next;
+        } else {
+            timeout.prev.next = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    /**
+     * A deadline scheduled on a {@link TimingWheel}.
+     * @param <T> the type of item scheduled
+     */
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineNanos;
+
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private long rounds;
+        private int bucket;
+
+        private Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public @NotNull T getItem() {
+            return item;
+        }
+
+        public long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+    }
+}
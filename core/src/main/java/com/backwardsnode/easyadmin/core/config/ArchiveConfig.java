@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.config;
+
+import com.backwardsnode.easyadmin.core.database.RecordArchiver;
+import com.backwardsnode.easyadmin.core.exception.ConfigurationException;
+
+import java.time.Duration;
+
+public final class ArchiveConfig implements ConfigChecker {
+
+    private boolean enabled;
+    private int afterDays;
+    private int batchSize;
+    private int intervalHours;
+
+    @Override
+    public void validate(final String parentPath) throws ConfigurationException {
+        if (afterDays < 0) throw new ConfigurationException(parentPath, "afterDays");
+        if (batchSize < 0) throw new ConfigurationException(parentPath, "batchSize");
+        if (intervalHours < 0) throw new ConfigurationException(parentPath, "intervalHours");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getArchiveAfter() {
+        return Duration.ofDays(afterDays > 0 ? afterDays : RecordArchiver.DEFAULT_ARCHIVE_AFTER_DAYS);
+    }
+
+    public int getBatchSize() {
+        return batchSize > 0 ? batchSize : RecordArchiver.DEFAULT_BATCH_SIZE;
+    }
+
+    public Duration getInterval() {
+        return Duration.ofHours(intervalHours > 0 ? intervalHours : RecordArchiver.DEFAULT_INTERVAL_HOURS);
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.config;
+
+import com.backwardsnode.easyadmin.core.cache.CachePolicy;
+import com.backwardsnode.easyadmin.core.exception.ConfigurationException;
+
+import java.time.Duration;
+
+public final class CacheGroupConfig implements ConfigChecker {
+
+    // null keeps the default for the database type, 0 removes the bound
+    private Long maximumSize;
+    private Long maximumWeight;
+    private Long expireAfterWriteSeconds;
+    private Long refreshAfterWriteSeconds;
+
+    @Override
+    public void validate(final String parentPath) throws ConfigurationException {
+        if (maximumSize != null && maximumSize < 0) throw new ConfigurationException(parentPath, "maximumSize");
+        if (maximumWeight != null && maximumWeight < 0) throw new ConfigurationException(parentPath, "maximumWeight");
+        if (maximumSize != null && maximumWeight != null) throw new ConfigurationException(parentPath, "maximumWeight");
+        if (expireAfterWriteSeconds != null && expireAfterWriteSeconds < 0) throw new ConfigurationException(parentPath, "expireAfterWriteSeconds");
+        if (refreshAfterWriteSeconds != null && refreshAfterWriteSeconds < 0) throw new ConfigurationException(parentPath, "refreshAfterWriteSeconds");
+    }
+
+    public CachePolicy applyTo(final CachePolicy defaults) {
+        long size = defaults.maximumSize();
+        long weight = defaults.maximumWeight();
+        if (maximumSize != null) {
+            size = maximumSize;
+            weight = 0;
+        } else if (maximumWeight != null) {
+            size = 0;
+            weight = maximumWeight;
+        }
+        return new CachePolicy(size, weight,
+                toDuration(expireAfterWriteSeconds, defaults.expireAfterWrite()),
+                toDuration(refreshAfterWriteSeconds, defaults.refreshAfterWrite()));
+    }
+
+    private static Duration toDuration(final Long seconds, final Duration defaultValue) {
+        if (seconds == null) {
+            return defaultValue;
+        }
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+}
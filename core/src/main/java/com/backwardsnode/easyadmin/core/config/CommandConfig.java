@@ -40,6 +40,9 @@ public final class CommandConfig implements CommandConfiguration, ConfigChecker
     private WarningCommandConfig warn;
     private LookupCommandConfig lookup;
     private LookupCommandConfig stafflookup;
+    private DatabaseStatsCommandConfig dbstats;
+    private ImportCommandConfig eaimport;
+    private BackupCommandConfig eabackup;
 
     public static final class BanCommandConfig {
         boolean enabled;
@@ -84,6 +87,18 @@ public final class CommandConfig implements CommandConfiguration, ConfigChecker
         boolean enabled;
     }
 
+    public static final class DatabaseStatsCommandConfig {
+        boolean enabled;
+    }
+
+    public static final class ImportCommandConfig {
+        boolean enabled;
+    }
+
+    public static final class BackupCommandConfig {
+        boolean enabled;
+    }
+
     public static final class ContextBound {
         boolean regex;
         boolean allow;
@@ -132,6 +147,22 @@ public final class CommandConfig implements CommandConfiguration, ConfigChecker
         return lookup.enabled;
     }
 
+    @Override
+    public boolean isDatabaseStatsCommandEnabled() {
+        // added after the other commands, so older configs may not have it
+        return dbstats != null && dbstats.enabled;
+    }
+
+    @Override
+    public boolean isImportCommandEnabled() {
+        return eaimport != null && eaimport.enabled;
+    }
+
+    @Override
+    public boolean isBackupCommandEnabled() {
+        return eabackup != null && eabackup.enabled;
+    }
+
     @Override
     public ActionScope getEnabledBanScopes() {
         return ActionScope.fromFlags(ban.temporary, ban.global, ban.ip);
@@ -24,14 +24,27 @@
 
 package com.backwardsnode.easyadmin.core.config;
 
+import com.backwardsnode.easyadmin.core.cache.CacheGroupType;
+import com.backwardsnode.easyadmin.core.cache.CachePolicy;
 import com.backwardsnode.easyadmin.core.database.DatabasePlatform;
+import com.backwardsnode.easyadmin.core.database.config.LocalConfigLoader;
+import com.backwardsnode.easyadmin.core.database.config.ReadReplica;
 import com.backwardsnode.easyadmin.core.exception.ConfigurationException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 public final class DatabaseConfig implements ConfigChecker {
 
     private String type;
     private boolean cache;
+    private Map<String, CacheGroupConfig> cacheGroups;
+    private boolean compact;
     private DatabaseSettings settings;
+    private ArchiveConfig archive;
+    private SQLiteConfig sqlite;
+    private ActiveIndexConfig activeIndex;
 
     public static final class DatabaseSettings {
         private String user;
@@ -39,12 +52,27 @@ public final class DatabaseConfig implements ConfigChecker {
         private String database;
         private String host;
         private int port;
+        private List<String> replicas;
+        private Integer poolSize;
     }
 
     @Override
     public void validate(final String parentPath) throws ConfigurationException {
         if (getDatabasePlatform() == null) throw new ConfigurationException(parentPath, "type");
         if (settings == null) throw new ConfigurationException(parentPath, "settings");
+        if (settings.poolSize != null && settings.poolSize < 1) throw new ConfigurationException(parentPath + "/settings", "poolSize");
+        // added after the other settings, so older configs may not have it
+        if (archive != null) archive.validate(parentPath + "/archive");
+        if (sqlite != null) sqlite.validate(parentPath + "/sqlite");
+        if (activeIndex != null) activeIndex.validate(parentPath + "/activeIndex");
+        if (cacheGroups != null) {
+            for (Map.Entry<String, CacheGroupConfig> entry : cacheGroups.entrySet()) {
+                if (CacheGroupType.byName(entry.getKey()) == null || entry.getValue() == null) {
+                    throw new ConfigurationException(parentPath + "/cacheGroups", entry.getKey());
+                }
+                entry.getValue().validate(parentPath + "/cacheGroups/" + entry.getKey());
+            }
+        }
     }
 
     public String getDatabasePlatformName() {
@@ -63,6 +91,42 @@ public final class DatabaseConfig implements ConfigChecker {
         return cache;
     }
 
+    /**
+     * Gets the cache policy for a group, starting from an aggressive default for remote databases, or a minimal one
+     * for embedded databases or when caching is disabled, then applying any overrides for the group.
+     * @param type the cache group
+     * @return the policy to use
+     */
+    public CachePolicy getCachePolicy(final CacheGroupType<?, ?> type) {
+        DatabasePlatform platform = getDatabasePlatform();
+        boolean remote = cache && (platform == DatabasePlatform.MYSQL || platform == DatabasePlatform.POSTGRESQL);
+        CachePolicy policy = CachePolicy.defaultFor(type, remote);
+        if (cacheGroups != null) {
+            for (Map.Entry<String, CacheGroupConfig> entry : cacheGroups.entrySet()) {
+                if (type.getName().equalsIgnoreCase(entry.getKey())) {
+                    policy = entry.getValue().applyTo(policy);
+                }
+            }
+        }
+        return policy;
+    }
+
+    public boolean isCompactStorage() {
+        return compact;
+    }
+
+    public ArchiveConfig getArchiveConfiguration() {
+        return archive == null ? new ArchiveConfig() : archive;
+    }
+
+    public SQLiteConfig getSQLiteConfiguration() {
+        return sqlite == null ? new SQLiteConfig() : sqlite;
+    }
+
+    public ActiveIndexConfig getActiveIndexConfiguration() {
+        return activeIndex == null ? new ActiveIndexConfig() : activeIndex;
+    }
+
     public String getDatabaseUser() {
         return settings.user;
     }
@@ -83,4 +147,24 @@ public final class DatabaseConfig implements ConfigChecker {
         return settings.port;
     }
 
+    public int getDatabasePoolSize() {
+        return settings.poolSize == null ? LocalConfigLoader.DEFAULT_POOL_SIZE : settings.poolSize;
+    }
+
+    public List<ReadReplica> getReadReplicas() {
+        if (settings.replicas == null) {
+            return List.of();
+        }
+        List<ReadReplica> replicas = new ArrayList<>(settings.replicas.size());
+        for (String replica : settings.replicas) {
+            int separator = replica.lastIndexOf(':');
+            if (separator == -1) {
+                replicas.add(new ReadReplica(replica, settings.port));
+            } else {
+                replicas.add(new ReadReplica(replica.substring(0, separator), Integer.parseInt(replica.substring(separator + 1))));
+            }
+        }
+        return replicas;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.config;
+
+import com.backwardsnode.easyadmin.core.exception.ConfigurationException;
+import com.backwardsnode.easyadmin.core.importer.RecordImporter;
+
+import java.nio.file.Path;
+
+public final class ImportConfig implements ConfigChecker {
+
+    private static final String DEFAULT_TABLE_PREFIX = "litebans_";
+
+    private String vanillaDirectory;
+    private String url;
+    private String user;
+    private String pass;
+    private String tablePrefix;
+    private int batchSize;
+
+    @Override
+    public void validate(final String parentPath) throws ConfigurationException {
+        if (batchSize < 0) throw new ConfigurationException(parentPath, "batchSize");
+    }
+
+    public Path getVanillaDirectory() {
+        return Path.of(vanillaDirectory == null ? "" : vanillaDirectory);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return pass;
+    }
+
+    public String getTablePrefix() {
+        return tablePrefix == null ? DEFAULT_TABLE_PREFIX : tablePrefix;
+    }
+
+    public int getBatchSize() {
+        return batchSize > 0 ? batchSize : RecordImporter.DEFAULT_BATCH_SIZE;
+    }
+
+}
@@ -40,6 +40,7 @@ public final class RootConfig implements ConfigurationManager, LocaleConfigurati
     private DatabaseConfig storage;
     private UUIDResolutionConfig uuid;
     private CommandConfig commands;
+    private ImportConfig importer;
 
     @Override
     public void validate(final String parentPath) throws ConfigurationException {
@@ -50,12 +51,18 @@ public final class RootConfig implements ConfigurationManager, LocaleConfigurati
         storage.validate("storage");
         uuid.validate("uuid");
         commands.validate("commands");
+        // added after the other sections, so older configs may not have it
+        if (importer != null) importer.validate("importer");
     }
 
     public DatabaseConfig getDatabaseConfiguration() {
         return storage;
     }
 
+    public ImportConfig getImportConfiguration() {
+        return importer == null ? new ImportConfig() : importer;
+    }
+
     @Override
     public CommandConfiguration getCommandConfiguration() {
         return commands;
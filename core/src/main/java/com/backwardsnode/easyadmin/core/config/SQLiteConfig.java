@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.config;
+
+import com.backwardsnode.easyadmin.core.database.config.SQLiteConfigLoader;
+import com.backwardsnode.easyadmin.core.exception.ConfigurationException;
+
+public final class SQLiteConfig implements ConfigChecker {
+
+    private boolean singleWriter;
+    private String synchronous;
+    private int writeGroupSize;
+
+    @Override
+    public void validate(final String parentPath) throws ConfigurationException {
+        if (synchronous != null) {
+            try {
+                SQLiteConfigLoader.Synchronous.valueOf(synchronous.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException(parentPath, "synchronous");
+            }
+        }
+        if (writeGroupSize < 0) throw new ConfigurationException(parentPath, "writeGroupSize");
+    }
+
+    public boolean isSingleWriter() {
+        return singleWriter;
+    }
+
+    public SQLiteConfigLoader.Synchronous getSynchronous() {
+        return synchronous == null ? SQLiteConfigLoader.Synchronous.NORMAL : SQLiteConfigLoader.Synchronous.valueOf(synchronous.toUpperCase());
+    }
+
+    public int getWriteGroupSize() {
+        return writeGroupSize > 0 ? writeGroupSize : SQLiteConfigLoader.DEFAULT_WRITE_GROUP_SIZE;
+    }
+
+}
@@ -24,7 +24,9 @@
 
 package com.backwardsnode.easyadmin.core.config.yaml;
 
+import com.backwardsnode.easyadmin.core.config.CacheGroupConfig;
 import com.backwardsnode.easyadmin.core.config.CommandConfig;
+import com.backwardsnode.easyadmin.core.config.DatabaseConfig;
 import com.backwardsnode.easyadmin.core.config.RootConfig;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
@@ -55,6 +57,10 @@ public final class YamlRootConfig {
         muteCommandConfig.addPropertyParameters("allowedMessages", String.class, CommandConfig.ContextBound.class);
         yaml.addTypeDescription(muteCommandConfig);
 
+        TypeDescription databaseConfig = new TypeDescription(DatabaseConfig.class);
+        databaseConfig.addPropertyParameters("cacheGroups", String.class, CacheGroupConfig.class);
+        yaml.addTypeDescription(databaseConfig);
+
         return yaml.load(is);
     }
 
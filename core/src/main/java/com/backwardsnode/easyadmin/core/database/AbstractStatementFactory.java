@@ -30,21 +30,81 @@ import com.backwardsnode.easyadmin.api.record.*;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableBanRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableMuteRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutablePlayerRecord;
+import com.backwardsnode.easyadmin.core.database.util.DatabaseUtil;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
 
 import static com.backwardsnode.easyadmin.api.internal.Tables.*;
+import static com.backwardsnode.easyadmin.core.record.RecordLoader.*;
 
 public abstract class AbstractStatementFactory implements DatabaseStatementFactory {
 
     private static final int DEFAULT_SELECT_LIMIT_MAX = 100;
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final QueryTemplate RETRIEVE_PLAYER_BANS = banLookup("playerUuid = ?");
+    private static final QueryTemplate RETRIEVE_PLAYER_COMMENTS = new QueryTemplate("SELECT " + COMMENT_COLUMNS + " FROM comments WHERE playerUuid = ?", COMMENTS.DATE_ADDED);
+    private static final QueryTemplate RETRIEVE_PLAYER_KICKS = new QueryTemplate("SELECT " + KICK_COLUMNS + " FROM kicks WHERE playerUuid = ?", KICKS.KICK_DATE);
+    private static final QueryTemplate RETRIEVE_PLAYER_MUTES = muteLookup("playerUuid = ?");
+    private static final QueryTemplate RETRIEVE_STAFF_BANS = banLookup("staffUuid = ?");
+    private static final QueryTemplate RETRIEVE_STAFF_COMMENTS = new QueryTemplate("SELECT " + COMMENT_COLUMNS + " FROM comments WHERE staffUuid = ?", COMMENTS.DATE_ADDED);
+    private static final QueryTemplate RETRIEVE_STAFF_KICKS = new QueryTemplate("SELECT " + KICK_COLUMNS + " FROM kicks WHERE staffUuid = ?", KICKS.KICK_DATE);
+    private static final QueryTemplate RETRIEVE_STAFF_MUTES = muteLookup("staffUuid = ?");
+    private static final QueryTemplate RETRIEVE_PLAYER_BANS_BY_STATUS = banLookup("playerUuid = ? AND status = ?");
+    private static final QueryTemplate RETRIEVE_PLAYER_MUTES_BY_STATUS = muteLookup("playerUuid = ? AND status = ?");
+    private static final QueryTemplate RETRIEVE_PLAYER_COMMENTS_BY_TYPE = new QueryTemplate("SELECT " + COMMENT_COLUMNS + " FROM comments WHERE playerUuid = ? AND isWarning = ?", COMMENTS.DATE_ADDED);
+    private static final QueryTemplate RETRIEVE_IP_BANS = banLookup("playerIP = ?");
+    private static final QueryTemplate RETRIEVE_IP_MUTES = muteLookup("playerIP = ?");
+    private static final QueryTemplate RETRIEVE_IP_BANS_BY_STATUS = banLookup("playerIP = ? AND status = ?");
+    private static final QueryTemplate RETRIEVE_IP_MUTES_BY_STATUS = muteLookup("playerIP = ? AND status = ?");
+    private static final QueryTemplate RETRIEVE_PLAYER_BANS_OR_IP_BANS = banLookup("(playerUuid = ? OR playerIP = ?)");
+    private static final QueryTemplate RETRIEVE_PLAYER_MUTES_OR_IP_MUTES = muteLookup("(playerUuid = ? OR playerIP = ?)");
+    private static final QueryTemplate RETRIEVE_PLAYER_BANS_OR_IP_BANS_BY_STATUS = banLookup("(playerUuid = ? OR playerIP = ?) AND status = ?");
+    private static final QueryTemplate RETRIEVE_PLAYER_MUTES_OR_IP_MUTES_BY_STATUS = muteLookup("(playerUuid = ? OR playerIP = ?) AND status = ?");
+
+
+    private static final String CREATE_COMMENT_SQL = "INSERT INTO comments (playerUuid,staffUuid,dateAdded,isWarning,comment) VALUES (?,?,?,?,?);";
+    private static final String CREATE_KICK_SQL = "INSERT INTO kicks (playerUuid,staffUuid,kickDate,isGlobal,serverName,reason) VALUES (?,?,?,?,?,?);";
+
+    // the record counted by each player_stats column, less the player being counted
+    private static final String[] RECORD_COUNT_SOURCES = { "bans WHERE playerUuid", "comments WHERE playerUuid",
+            "comments WHERE isWarning = true AND playerUuid", "kicks WHERE playerUuid", "mutes WHERE playerUuid",
+            "bans WHERE staffUuid", "comments WHERE staffUuid", "kicks WHERE staffUuid", "mutes WHERE staffUuid" };
+    // the archived records added to each count, if the record type can be archived
+    private static final String[] RECORD_COUNT_ARCHIVES = { "bans_archive WHERE playerUuid", null, null, null, "mutes_archive WHERE playerUuid",
+            "bans_archive WHERE staffUuid", null, null, "mutes_archive WHERE staffUuid" };
+    // the player columns changed by each group of stats, see MutablePlayerRecord
+    private static final String[] PLAYER_JOIN_COLUMNS = { PLAYERS.USERNAME, PLAYERS.LAST_JOIN, PLAYERS.LAST_IP, PLAYERS.TOTAL_JOINS };
+    private static final String[] PLAYER_LEAVE_COLUMNS = { PLAYERS.LAST_LEAVE, PLAYERS.LAST_SERVER, PLAYERS.PLAYTIME };
+    private static final String[] PLAYER_DYNAMIC_COLUMNS = { PLAYERS.LAST_SERVER };
+
+    private static final int RECORD_COUNT_PARAMETERS = RECORD_COUNT_SOURCES.length + (int) Arrays.stream(RECORD_COUNT_ARCHIVES).filter(Objects::nonNull).count();
+
     protected final LookupOptions DEFAULT_OPTIONS;
 
+    private volatile LocalDateTime banArchiveHorizon;
+    private volatile LocalDateTime muteArchiveHorizon;
+
+    private ColumnLayout columnLayout = ColumnLayout.TEXT;
+    protected ColumnCodec columnCodec = ColumnCodec.TEXT;
+
+    private String retrievePlayerDossierSql;
+
     protected AbstractStatementFactory() {
         this(new LookupOptions(DEFAULT_SELECT_LIMIT_MAX));
     }
@@ -53,6 +113,94 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
         DEFAULT_OPTIONS = options;
     }
 
+    private static QueryTemplate banLookup(String condition) {
+        return new QueryTemplate("SELECT " + BAN_COLUMNS + " FROM bans WHERE " + condition,
+                "SELECT " + BAN_COLUMNS + " FROM bans_archive WHERE " + condition, BANS.BAN_DATE);
+    }
+
+    private static QueryTemplate muteLookup(String condition) {
+        return new QueryTemplate("SELECT " + MUTE_COLUMNS + " FROM mutes WHERE " + condition,
+                "SELECT " + MUTE_COLUMNS + " FROM mutes_archive WHERE " + condition, MUTES.MUTE_DATE);
+    }
+
+    /**
+     * Reads a table together with its archive. Ended records moved out of the hot tables keep their ids, so the union
+     * orders the same as one table. The condition is repeated in both arms so each table is filtered by its own
+     * indexes, which means its parameters are bound once for each arm.
+     */
+    private static String withArchive(String columns, String table, @Nullable String condition) {
+        String where = condition == null ? "" : " WHERE " + condition;
+        return "SELECT " + columns + " FROM " + table + where + " UNION ALL SELECT " + columns + " FROM " + table + "_archive" + where;
+    }
+
+    @Override
+    public LocalDateTime getBanArchiveHorizon() {
+        return banArchiveHorizon;
+    }
+
+    @Override
+    public void setBanArchiveHorizon(LocalDateTime horizon) {
+        banArchiveHorizon = horizon;
+    }
+
+    @Override
+    public LocalDateTime getMuteArchiveHorizon() {
+        return muteArchiveHorizon;
+    }
+
+    @Override
+    public void setMuteArchiveHorizon(LocalDateTime horizon) {
+        muteArchiveHorizon = horizon;
+    }
+
+    @Override
+    public ColumnLayout getColumnLayout() {
+        return columnLayout;
+    }
+
+    @Override
+    public void setColumnLayout(ColumnLayout layout) {
+        columnLayout = layout;
+        columnCodec = layout == ColumnLayout.COMPACT ? getCompactColumnCodec() : ColumnCodec.TEXT;
+        // the dossier casts its placeholder columns to the uuid and address types
+        retrievePlayerDossierSql = null;
+    }
+
+    @Override
+    public String getUuidColumnType() {
+        return columnLayout == ColumnLayout.COMPACT ? getCompactUuidColumnType() : "char(36)";
+    }
+
+    @Override
+    public String getAddressColumnType() {
+        return columnLayout == ColumnLayout.COMPACT ? getCompactAddressColumnType() : "varchar(45)";
+    }
+
+    @Override
+    public void convertToCompactLayout(Connection connection) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : DatabaseUtil.loadSchemaStatements(getMigrationScriptDirectory() + "/compact.sql")) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    protected abstract ColumnCodec getCompactColumnCodec();
+
+    protected abstract String getCompactUuidColumnType();
+
+    protected abstract String getCompactAddressColumnType();
+
+    protected PreparedStatement prepareInsert(Connection connection, String sql) throws SQLException {
+        return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    protected PreparedStatement prepareStream(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(STREAM_FETCH_SIZE);
+        return statement;
+    }
+
     protected PreparedStatement initCreatePlayerRecordSql(Connection connection) throws SQLException {
         return connection.prepareStatement("INSERT INTO players (uuid,username,lastIP,firstJoin,lastJoin,lastServer) VALUES (?,?,?,?,?,?);");
     }
@@ -60,157 +208,427 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
     protected PreparedStatement initCreateBanSql(Connection connection, BanRecord record) throws SQLException {
         if (record.getTerminationDate() == null) {
             if (record.getIpAddress() == null) {
-                return connection.prepareStatement("INSERT INTO bans (status,playerUuid,staffUuid,banDate,contexts,reason) VALUES (?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO bans (status,playerUuid,staffUuid,banDate,contexts,reason) VALUES (?,?,?,?,?,?);");
             } else {
-                return connection.prepareStatement("INSERT INTO bans (status,playerUuid,staffUuid,playerIP,banDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO bans (status,playerUuid,staffUuid,playerIP,banDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
             }
         } else {
             if (record.getIpAddress() == null) {
-                return connection.prepareStatement("INSERT INTO bans (status,playerUuid,staffUuid,banDate,unbanDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO bans (status,playerUuid,staffUuid,banDate,unbanDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
             } else {
-                return connection.prepareStatement("INSERT INTO bans (status,playerUuid,staffUuid,playerIP,banDate,unbanDate,contexts,reason) VALUES (?,?,?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO bans (status,playerUuid,staffUuid,playerIP,banDate,unbanDate,contexts,reason) VALUES (?,?,?,?,?,?,?,?);");
             }
         }
     }
 
     protected PreparedStatement initCreateCommentSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("INSERT INTO comments (playerUuid,staffUuid,dateAdded,isWarning,comment) VALUES (?,?,?,?,?);");
+        return prepareInsert(connection, CREATE_COMMENT_SQL);
     }
 
     protected PreparedStatement initCreateKickSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("INSERT INTO kicks (playerUuid,staffUuid,kickDate,isGlobal,serverName,reason) VALUES (?,?,?,?,?,?);");
+        return prepareInsert(connection, CREATE_KICK_SQL);
     }
 
     protected PreparedStatement initCreateMuteSql(Connection connection, MuteRecord record) throws SQLException {
         if (record.getTerminationDate() == null) {
             if (record.getIpAddress() == null) {
-                return connection.prepareStatement("INSERT INTO mutes (status,playerUuid,staffUuid,muteDate,contexts,reason) VALUES (?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO mutes (status,playerUuid,staffUuid,muteDate,contexts,reason) VALUES (?,?,?,?,?,?);");
             } else {
-                return connection.prepareStatement("INSERT INTO mutes (status,playerUuid,staffUuid,playerIP,muteDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO mutes (status,playerUuid,staffUuid,playerIP,muteDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
             }
         } else {
             if (record.getIpAddress() == null) {
-                return connection.prepareStatement("INSERT INTO mutes (status,playerUuid,staffUuid,muteDate,unmuteDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO mutes (status,playerUuid,staffUuid,muteDate,unmuteDate,contexts,reason) VALUES (?,?,?,?,?,?,?);");
             } else {
-                return connection.prepareStatement("INSERT INTO mutes (status,playerUuid,staffUuid,playerIP,muteDate,unmuteDate,contexts,reason) VALUES (?,?,?,?,?,?,?,?);");
+                return prepareInsert(connection, "INSERT INTO mutes (status,playerUuid,staffUuid,playerIP,muteDate,unmuteDate,contexts,reason) VALUES (?,?,?,?,?,?,?,?);");
             }
         }
     }
 
-    protected PreparedStatement initCountPlayerBansSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM bans WHERE playerUuid = ?;");
+    protected PreparedStatement initBatchCreateBanSql(Connection connection) throws SQLException {
+        return prepareInsert(connection, "INSERT INTO bans (status,playerUuid,staffUuid,playerIP,banDate,unbanDate,contexts,reason) VALUES (?,?,?,?,?,?,?,?);");
+    }
+
+    protected PreparedStatement initBatchCreateMuteSql(Connection connection) throws SQLException {
+        return prepareInsert(connection, "INSERT INTO mutes (status,playerUuid,staffUuid,playerIP,muteDate,unmuteDate,contexts,reason) VALUES (?,?,?,?,?,?,?,?);");
+    }
+
+    /**
+     * Inserts a placeholder for a player who has never joined, leaving any existing row untouched. The parameters are
+     * the UUID, username and first join date.
+     */
+    protected PreparedStatement initImportPlayerSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO players (uuid,username,firstJoin,totalJoins) VALUES (?,?,?,0) ON CONFLICT (uuid) DO NOTHING;");
+    }
+
+    protected PreparedStatement initImportBanSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO bans (status,playerUuid,staffUuid,unbanStaffUuid,playerIP,banDate,unbanDate,contexts,reason,unbanReason) VALUES (?,?,?,?,?,?,?,?,?,?);");
     }
 
-    protected PreparedStatement initCountPlayerCommentsSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM comments WHERE playerUuid = ?;");
+    protected PreparedStatement initImportMuteSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO mutes (status,playerUuid,staffUuid,unmuteStaffUuid,playerIP,muteDate,unmuteDate,contexts,reason,unmuteReason) VALUES (?,?,?,?,?,?,?,?,?,?);");
     }
 
-    protected PreparedStatement initCountPlayerKicksSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM kicks WHERE playerUuid = ?;");
+    protected PreparedStatement initRetrieveImportCheckpointSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT " + IMPORT_CHECKPOINTS.LAST_POSITION + "," + IMPORT_CHECKPOINTS.IMPORTED + " FROM import_checkpoints WHERE source = ?;");
     }
 
-    protected PreparedStatement initCountPlayerMutesSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM mutes WHERE playerUuid = ?;");
+    protected PreparedStatement initDeleteImportCheckpointSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("DELETE FROM import_checkpoints WHERE source = ?;");
     }
 
-    protected PreparedStatement initCountStaffBansSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM bans WHERE staffUuid = ?;");
+    protected PreparedStatement initCreateImportCheckpointSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO import_checkpoints (source,lastPosition,imported,lastUpdated) VALUES (?,?,?,?);");
     }
 
-    protected PreparedStatement initCountStaffCommentsSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM comments WHERE staffUuid = ?;");
+    protected PreparedStatement initRetrieveRecordCountsSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT " + String.join(",", RECORD_COUNT_COLUMNS) + " FROM player_stats WHERE uuid = ?;");
     }
 
-    protected PreparedStatement initCountStaffKicksSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM kicks WHERE staffUuid = ?;");
+    protected PreparedStatement initCountRecordsSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT " + recountColumns("?", "") + ";");
     }
 
-    protected PreparedStatement initCountStaffMutesSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT COUNT(*) AS count FROM mutes WHERE staffUuid = ?;");
+    /**
+     * Creates the counters of a player who has none yet, leaving an existing row untouched so concurrent transactions
+     * cannot fail on each other. The parameters are the amount to leave off each count, then the UUID.
+     */
+    protected PreparedStatement initCreateRecordCountsSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO player_stats (uuid," + String.join(",", RECORD_COUNT_COLUMNS) + ") "
+                + selectRecordCountsSql() + " ON CONFLICT (uuid) DO NOTHING;");
+    }
+
+    /**
+     * Selects the UUID and recounted counters of one player, less the amounts given as the first parameters.
+     */
+    protected String selectRecordCountsSql() {
+        return "SELECT uuid," + recountColumns("players.uuid", " - ?") + " FROM players WHERE uuid = ?";
+    }
+
+    protected PreparedStatement initClearRecordCountsSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("DELETE FROM player_stats;");
+    }
+
+    protected PreparedStatement initRebuildRecordCountsSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO player_stats (uuid," + String.join(",", RECORD_COUNT_COLUMNS) + ") SELECT uuid,"
+                + recountColumns("players.uuid", "") + " FROM players;");
+    }
+
+    protected PreparedStatement initIncrementRecordCountsSql(Connection connection) throws SQLException {
+        StringBuilder builder = new StringBuilder("UPDATE player_stats SET ");
+        for (int i = 0; i < RECORD_COUNT_COLUMNS.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(RECORD_COUNT_COLUMNS[i]).append(" = ").append(RECORD_COUNT_COLUMNS[i]).append(" + ?");
+        }
+        return connection.prepareStatement(builder.append(" WHERE uuid = ?;").toString());
+    }
+
+    private String recountColumns(String player, String adjustment) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < RECORD_COUNT_SOURCES.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("((SELECT COUNT(*) FROM ").append(RECORD_COUNT_SOURCES[i]).append(" = ").append(player).append(')');
+            if (RECORD_COUNT_ARCHIVES[i] != null) {
+                builder.append(" + (SELECT COUNT(*) FROM ").append(RECORD_COUNT_ARCHIVES[i]).append(" = ").append(player).append(')');
+            }
+            builder.append(adjustment).append(')');
+        }
+        return builder.toString();
     }
 
     protected PreparedStatement initRetrievePlayerRecordSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM players WHERE uuid = ?;");
+        return connection.prepareStatement("SELECT " + PLAYER_COLUMNS + " FROM players WHERE uuid = ?;");
     }
 
     protected PreparedStatement initRetrievePlayerByUsernameSql(Connection connection) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM players WHERE username = ?;");
+        return connection.prepareStatement("SELECT " + PLAYER_COLUMNS + " FROM players WHERE username = ?;");
     }
 
-    protected PreparedStatement initRetrievePlayerBansSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE playerUuid = ?" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initRetrievePlayerBansSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_BANS.get(options, archiveHorizon));
     }
 
     protected PreparedStatement initRetrievePlayerCommentsSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM comments WHERE playerUuid = ?" + addDateFilter(COMMENTS.DATE_ADDED, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+        return connection.prepareStatement(RETRIEVE_PLAYER_COMMENTS.get(options));
     }
 
     protected PreparedStatement initRetrievePlayerKicksSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM kicks WHERE playerUuid = ?" + addDateFilter(KICKS.KICK_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+        return connection.prepareStatement(RETRIEVE_PLAYER_KICKS.get(options));
     }
 
-    protected PreparedStatement initRetrievePlayerMutesSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE playerUuid = ?" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initRetrievePlayerMutesSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_MUTES.get(options, archiveHorizon));
     }
 
-    protected PreparedStatement initRetrieveStaffBansSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE staffUuid = ?" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initRetrieveStaffBansSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_STAFF_BANS.get(options, archiveHorizon));
     }
 
     protected PreparedStatement initRetrieveStaffCommentsSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM comments WHERE staffUuid = ?" + addDateFilter(COMMENTS.DATE_ADDED, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+        return connection.prepareStatement(RETRIEVE_STAFF_COMMENTS.get(options));
     }
 
     protected PreparedStatement initRetrieveStaffKicksSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM kicks WHERE staffUuid = ?" + addDateFilter(KICKS.KICK_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+        return connection.prepareStatement(RETRIEVE_STAFF_KICKS.get(options));
     }
 
-    protected PreparedStatement initRetrieveStaffMutesSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE staffUuid = ?" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initRetrieveStaffMutesSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_STAFF_MUTES.get(options, archiveHorizon));
     }
 
-    protected PreparedStatement initRetrievePlayerBansByStatusSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE playerUuid = ? AND status = ?" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initRetrievePlayerBansByStatusSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_BANS_BY_STATUS.get(options, archiveHorizon));
     }
 
-    protected PreparedStatement initRetrievePlayerMutesByStatusSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE playerUuid = ? AND status = ?" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initRetrievePlayerMutesByStatusSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_MUTES_BY_STATUS.get(options, archiveHorizon));
     }
 
     protected PreparedStatement initRetrievePlayerCommentsByTypeSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM comments WHERE playerUuid = ? AND isWarning = ?" + addDateFilter(COMMENTS.DATE_ADDED, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+        return connection.prepareStatement(RETRIEVE_PLAYER_COMMENTS_BY_TYPE.get(options));
+    }
+
+    protected PreparedStatement initRetrieveIPBansSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_IP_BANS.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrieveIPMutesSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_IP_MUTES.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrieveIPBansByStatusSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_IP_BANS_BY_STATUS.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrieveIPMutesByStatusSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_IP_MUTES_BY_STATUS.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrievePlayerBansOrIPBansSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_BANS_OR_IP_BANS.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrievePlayerMutesOrIPMutesSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_MUTES_OR_IP_MUTES.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrievePlayerBansOrIPBansByStatusSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_BANS_OR_IP_BANS_BY_STATUS.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrievePlayerMutesOrIPMutesByStatusSql(Connection connection, LookupOptions options, @Nullable LocalDateTime archiveHorizon) throws SQLException {
+        return connection.prepareStatement(RETRIEVE_PLAYER_MUTES_OR_IP_MUTES_BY_STATUS.get(options, archiveHorizon));
+    }
+
+    protected PreparedStatement initRetrievePlayerDossierSql(Connection connection) throws SQLException {
+        if (retrievePlayerDossierSql == null) {
+            retrievePlayerDossierSql = buildPlayerDossierSql();
+        }
+        return connection.prepareStatement(retrievePlayerDossierSql);
+    }
+
+    /**
+     * Builds the dossier query, a UNION ALL of the player row, the latest records of each type and one row per count,
+     * laid out in the {@link com.backwardsnode.easyadmin.core.record.RecordLoader#DOSSIER_COLUMNS} columns.
+     */
+    protected String buildPlayerDossierSql() {
+        String nullInt = typedNull("int");
+        String nullUuid = typedNull(getUuidColumnType());
+        String nullText = typedNull("varchar(255)");
+        String nullIP = typedNull(getAddressColumnType());
+        String nullDate = typedNull("timestamp");
+        String nullFlag = typedNull("boolean");
+
+        StringBuilder builder = new StringBuilder();
+        appendDossierRow(builder, "players WHERE uuid = ?", String.valueOf(DOSSIER_PLAYER),
+                PLAYERS.PLAYTIME, PLAYERS.TOTAL_JOINS, PLAYERS.USERNAME, PLAYERS.UUID, nullUuid, nullUuid, PLAYERS.LAST_IP,
+                PLAYERS.FIRST_JOIN, PLAYERS.LAST_JOIN, PLAYERS.LAST_LEAVE, nullFlag, PLAYERS.LAST_SERVER, nullText, nullText);
+        appendDossierRecords(builder, "bans", String.valueOf(DOSSIER_BAN),
+                BANS.ID, nullInt, statusAsText(), BANS.PLAYER_UUID, BANS.STAFF_UUID, BANS.UNBAN_STAFF_UUID, BANS.PLAYER_IP,
+                BANS.BAN_DATE, BANS.UNBAN_DATE, nullDate, nullFlag, BANS.CONTEXTS, BANS.REASON, BANS.UNBAN_REASON);
+        appendDossierRecords(builder, "comments", String.valueOf(DOSSIER_COMMENT),
+                COMMENTS.ID, nullInt, nullText, COMMENTS.PLAYER_UUID, COMMENTS.STAFF_UUID, nullUuid, nullIP,
+                COMMENTS.DATE_ADDED, nullDate, nullDate, COMMENTS.IS_WARNING, nullText, COMMENTS.COMMENT, nullText);
+        appendDossierRecords(builder, "kicks", String.valueOf(DOSSIER_KICK),
+                KICKS.ID, nullInt, KICKS.SERVER_NAME, KICKS.PLAYER_UUID, KICKS.STAFF_UUID, nullUuid, nullIP,
+                KICKS.KICK_DATE, nullDate, nullDate, KICKS.IS_GLOBAL, nullText, KICKS.REASON, nullText);
+        appendDossierRecords(builder, "mutes", String.valueOf(DOSSIER_MUTE),
+                MUTES.ID, nullInt, statusAsText(), MUTES.PLAYER_UUID, MUTES.STAFF_UUID, MUTES.UNMUTE_STAFF_UUID, MUTES.PLAYER_IP,
+                MUTES.MUTE_DATE, MUTES.UNMUTE_DATE, nullDate, nullFlag, MUTES.CONTEXTS, MUTES.REASON, MUTES.UNMUTE_REASON);
+
+        for (int i = 0; i < RECORD_COUNT_COLUMNS.length; i++) {
+            builder.append(" UNION ALL ");
+            appendDossierRow(builder, "player_stats WHERE uuid = ?", String.valueOf(DOSSIER_COUNTS + i), RECORD_COUNT_COLUMNS[i], nullInt,
+                    nullText, nullUuid, nullUuid, nullUuid, nullIP, nullDate, nullDate, nullDate, nullFlag, nullText, nullText, nullText);
+        }
+
+        return builder.append(" ORDER BY kind, id DESC;").toString();
+    }
+
+    private void appendDossierRecords(StringBuilder builder, String table, String... columns) {
+        // the derived table keeps each branch's ORDER BY and LIMIT, which not every platform allows on a bare UNION member
+        builder.append(" UNION ALL SELECT * FROM (");
+        appendDossierRow(builder, table + " WHERE playerUuid = ? ORDER BY id DESC LIMIT ?", columns);
+        builder.append(") AS latest_").append(table);
+    }
+
+    private void appendDossierRow(StringBuilder builder, String source, String... columns) {
+        builder.append("SELECT ");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(columns[i]).append(" AS ").append(DOSSIER_COLUMNS[i]);
+        }
+        builder.append(" FROM ").append(source);
+    }
+
+    protected String typedNull(String type) {
+        return "CAST(NULL AS " + type + ")";
+    }
+
+    protected String statusAsText() {
+        return "CAST(status AS varchar(16))";
+    }
+
+    protected PreparedStatement initStreamStaffBansSql(Connection connection) throws SQLException {
+        return prepareStream(connection, withArchive(BAN_COLUMNS, "bans", "staffUuid = ?") + " ORDER BY id ASC;");
+    }
+
+    protected PreparedStatement initStreamStaffCommentsSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + COMMENT_COLUMNS + " FROM comments WHERE staffUuid = ? ORDER BY id ASC;");
+    }
+
+    protected PreparedStatement initStreamStaffKicksSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + KICK_COLUMNS + " FROM kicks WHERE staffUuid = ? ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrieveIPBansSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE playerIP = ?" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamStaffMutesSql(Connection connection) throws SQLException {
+        return prepareStream(connection, withArchive(MUTE_COLUMNS, "mutes", "staffUuid = ?") + " ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrieveIPMutesSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE playerIP = ?" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamBansSql(Connection connection) throws SQLException {
+        return prepareStream(connection, withArchive(BAN_COLUMNS, "bans", BANS.BAN_DATE + " >= ? AND " + BANS.BAN_DATE + " < ?") + " ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrieveIPBansByStatusSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE playerIP = ? AND status = ?" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamCommentsSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + COMMENT_COLUMNS + " FROM comments WHERE " + COMMENTS.DATE_ADDED + " >= ? AND " + COMMENTS.DATE_ADDED + " < ? ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrieveIPMutesByStatusSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE playerIP = ? AND status = ?" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamKicksSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + KICK_COLUMNS + " FROM kicks WHERE " + KICKS.KICK_DATE + " >= ? AND " + KICKS.KICK_DATE + " < ? ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrievePlayerBansOrIPBansSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE (playerUuid = ? OR playerIP = ?)" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamMutesSql(Connection connection) throws SQLException {
+        return prepareStream(connection, withArchive(MUTE_COLUMNS, "mutes", MUTES.MUTE_DATE + " >= ? AND " + MUTES.MUTE_DATE + " < ?") + " ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrievePlayerMutesOrIPMutesSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE (playerUuid = ? OR playerIP = ?)" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamAllPlayersSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + PLAYER_COLUMNS + " FROM players;");
     }
 
-    protected PreparedStatement initRetrievePlayerBansOrIPBansByStatusSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM bans WHERE (playerUuid = ? OR playerIP = ?) AND status = ?" + addDateFilter(BANS.BAN_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamAllBansSql(Connection connection) throws SQLException {
+        return prepareStream(connection, withArchive(BAN_COLUMNS, "bans", null) + " ORDER BY id ASC;");
     }
 
-    protected PreparedStatement initRetrievePlayerMutesOrIPMutesByStatusSql(Connection connection, LookupOptions options) throws SQLException {
-        return connection.prepareStatement("SELECT * FROM mutes WHERE (playerUuid = ? OR playerIP = ?) AND status = ?" + addDateFilter(MUTES.MUTE_DATE, options) + " ORDER BY id DESC LIMIT ? OFFSET ?;");
+    protected PreparedStatement initStreamAllCommentsSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + COMMENT_COLUMNS + " FROM comments ORDER BY id ASC;");
+    }
+
+    protected PreparedStatement initStreamAllKicksSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + KICK_COLUMNS + " FROM kicks ORDER BY id ASC;");
+    }
+
+    protected PreparedStatement initStreamAllMutesSql(Connection connection) throws SQLException {
+        return prepareStream(connection, withArchive(MUTE_COLUMNS, "mutes", null) + " ORDER BY id ASC;");
+    }
+
+    protected PreparedStatement initStreamActiveBansSql(Connection connection) throws SQLException {
+        // active records are never archived, so the archive tables are left out
+        return prepareStream(connection, "SELECT " + BAN_COLUMNS + " FROM bans WHERE status = 'Active';");
+    }
+
+    protected PreparedStatement initStreamActiveMutesSql(Connection connection) throws SQLException {
+        return prepareStream(connection, "SELECT " + MUTE_COLUMNS + " FROM mutes WHERE status = 'Active';");
+    }
+
+    protected PreparedStatement initRetrieveExpiredBansSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT " + BAN_COLUMNS + " FROM bans WHERE status = 'Active' AND " + BANS.UNBAN_DATE
+                + " <= ? ORDER BY " + BANS.UNBAN_DATE + " ASC LIMIT ?;");
+    }
+
+    protected PreparedStatement initRetrieveExpiredMutesSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT " + MUTE_COLUMNS + " FROM mutes WHERE status = 'Active' AND " + MUTES.UNMUTE_DATE
+                + " <= ? ORDER BY " + MUTES.UNMUTE_DATE + " ASC LIMIT ?;");
+    }
+
+    protected PreparedStatement initExpireBanSql(Connection connection) throws SQLException {
+        // the status check skips records ended by hand, or expired by another server, since they were read
+        return connection.prepareStatement("UPDATE bans SET status = 'Expired' WHERE id = ? AND status = 'Active';");
+    }
+
+    protected PreparedStatement initExpireMuteSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("UPDATE mutes SET status = 'Expired' WHERE id = ? AND status = 'Active';");
+    }
+
+    protected PreparedStatement initRetrieveArchiveHorizonsSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT (SELECT MAX(" + BANS.BAN_DATE + ") FROM bans_archive),(SELECT MAX(" + MUTES.MUTE_DATE + ") FROM mutes_archive);");
+    }
+
+    protected PreparedStatement initRetrieveArchivableBansSql(Connection connection) throws SQLException {
+        // the newest row is never moved, so that platforms which reseed auto increments from the table never reuse an archived id
+        return connection.prepareStatement("SELECT id FROM bans WHERE status <> 'Active' AND " + BANS.BAN_DATE
+                + " < ? AND id < (SELECT MAX(id) FROM bans) ORDER BY id ASC LIMIT ?;");
+    }
+
+    protected PreparedStatement initRetrieveArchivableMutesSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT id FROM mutes WHERE status <> 'Active' AND " + MUTES.MUTE_DATE
+                + " < ? AND id < (SELECT MAX(id) FROM mutes) ORDER BY id ASC LIMIT ?;");
+    }
+
+    protected PreparedStatement initArchiveBanSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO bans_archive (" + BAN_COLUMNS + ") SELECT " + BAN_COLUMNS + " FROM bans WHERE id = ?;");
+    }
+
+    protected PreparedStatement initArchiveMuteSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO mutes_archive (" + MUTE_COLUMNS + ") SELECT " + MUTE_COLUMNS + " FROM mutes WHERE id = ?;");
+    }
+
+    protected PreparedStatement initDeleteBanSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("DELETE FROM bans WHERE id = ?;");
+    }
+
+    protected PreparedStatement initDeleteMuteSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("DELETE FROM mutes WHERE id = ?;");
+    }
+
+    protected PreparedStatement initCountPlayersSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("SELECT COUNT(*) FROM players;");
+    }
+
+    protected PreparedStatement initRestorePlayerSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO players (" + PLAYER_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?);");
+    }
+
+    /**
+     * Prepares an insert of every player column, which on a conflicting UUID updates only the given columns instead.
+     * The values are bound in the order of {@link com.backwardsnode.easyadmin.core.record.RecordLoader#PLAYER_COLUMNS}.
+     * @param connection the connection
+     * @param updateColumns the columns to update for an existing player, or none to leave them as they are
+     */
+    protected PreparedStatement initUpsertPlayerSql(Connection connection, Collection<String> updateColumns) throws SQLException {
+        if (updateColumns.isEmpty()) {
+            return connection.prepareStatement("INSERT INTO players (" + PLAYER_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?) ON CONFLICT (uuid) DO NOTHING;");
+        }
+        StringJoiner assignments = new StringJoiner(",");
+        for (String column : updateColumns) {
+            assignments.add(column + " = excluded." + column);
+        }
+        return connection.prepareStatement("INSERT INTO players (" + PLAYER_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?) ON CONFLICT (uuid) DO UPDATE SET " + assignments + ";");
     }
 
     protected PreparedStatement initUpdatePlayerJoiningRecordSql(Connection connection) throws SQLException {
@@ -237,13 +655,23 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
         return connection.prepareStatement("UPDATE mutes SET status = ?, unmuteStaffUuid = ?, unmuteDate = ?, unmuteReason = ? WHERE id = ?;");
     }
 
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsLocalDateTime() {
+        return true;
+    }
+
     @Override
     public PreparedStatement getCreatePlayerRecordStatement(Connection connection, PlayerRecord record) throws SQLException {
         PreparedStatement statement = initCreatePlayerRecordSql(connection);
 
-        statement.setString(1, notNull(record.getId()));
+        columnCodec.setUuid(statement, 1, notNull(record.getId()));
         statement.setString(2, notNull(record.getUsername()));
-        statement.setString(3, record.getLastAddress());
+        columnCodec.setAddress(statement, 3, record.getLastAddress());
         statement.setTimestamp(4, Timestamp.valueOf(record.getFirstJoin()));
         statement.setTimestamp(5, Timestamp.valueOf(record.getLastJoin()));
         statement.setString(6, record.getLastServer());
@@ -257,10 +685,10 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
 
         int index = 1;
         statement.setString(index++, notNull(record.getStatus()));
-        statement.setString(index++, notNull(record.getPlayer()));
-        statement.setString(index++, maybeNull(record.getAuthor()));
+        columnCodec.setUuid(statement, index++, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, index++, record.getAuthor());
         if (record.getIpAddress() != null) {
-            statement.setString(index++, record.getIpAddress());
+            columnCodec.setAddress(statement, index++, record.getIpAddress());
         }
         statement.setTimestamp(index++, Timestamp.valueOf(record.getDateAdded()));
         if (record.getTerminationDate() != null) {
@@ -275,8 +703,8 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
     public PreparedStatement getCreateCommentStatement(Connection connection, CommentRecord record) throws SQLException {
         PreparedStatement statement = initCreateCommentSql(connection);
 
-        statement.setString(1, notNull(record.getPlayer()));
-        statement.setString(2, maybeNull(record.getAuthor()));
+        columnCodec.setUuid(statement, 1, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 2, record.getAuthor());
         statement.setTimestamp(3, Timestamp.valueOf(record.getDateAdded()));
         statement.setBoolean(4, record.isWarning());
         statement.setString(5, notNull(record.getComment()));
@@ -288,8 +716,8 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
     public PreparedStatement getCreateKickStatement(Connection connection, KickRecord record) throws SQLException {
         PreparedStatement statement = initCreateKickSql(connection);
 
-        statement.setString(1, notNull(record.getPlayer()));
-        statement.setString(2, maybeNull(record.getAuthor()));
+        columnCodec.setUuid(statement, 1, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 2, record.getAuthor());
         statement.setTimestamp(3, Timestamp.valueOf(record.getDateAdded()));
         statement.setBoolean(4, record.isGlobal());
         statement.setString(5, record.getServerName());
@@ -304,10 +732,10 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
 
         int index = 1;
         statement.setString(index++, notNull(record.getStatus()));
-        statement.setString(index++, notNull(record.getPlayer()));
-        statement.setString(index++, maybeNull(record.getAuthor()));
+        columnCodec.setUuid(statement, index++, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, index++, record.getAuthor());
         if (record.getIpAddress() != null) {
-            statement.setString(index++, record.getIpAddress());
+            columnCodec.setAddress(statement, index++, record.getIpAddress());
         }
         statement.setTimestamp(index++, Timestamp.valueOf(record.getDateAdded()));
         if (record.getTerminationDate() != null) {
@@ -320,66 +748,160 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
     }
 
     @Override
-    public PreparedStatement getCountPlayerBansStatement(Connection connection, UUID player) throws SQLException {
-        PreparedStatement statement = initCountPlayerBansSql(connection);
+    public PreparedStatement getBatchCreateBanStatement(Connection connection) throws SQLException {
+        return initBatchCreateBanSql(connection);
+    }
 
-        statement.setString(1, notNull(player));
-        return statement;
+    @Override
+    public PreparedStatement getBatchCreateCommentStatement(Connection connection) throws SQLException {
+        return initCreateCommentSql(connection);
     }
 
     @Override
-    public PreparedStatement getCountPlayerCommentsStatement(Connection connection, UUID player) throws SQLException {
-        PreparedStatement statement = initCountPlayerCommentsSql(connection);
+    public PreparedStatement getBatchCreateKickStatement(Connection connection) throws SQLException {
+        return initCreateKickSql(connection);
+    }
 
-        statement.setString(1, notNull(player));
-        return statement;
+    @Override
+    public PreparedStatement getBatchCreateMuteStatement(Connection connection) throws SQLException {
+        return initBatchCreateMuteSql(connection);
     }
 
     @Override
-    public PreparedStatement getCountPlayerKicksStatement(Connection connection, UUID player) throws SQLException {
-        PreparedStatement statement = initCountPlayerKicksSql(connection);
+    public void addCreateBanBatch(PreparedStatement statement, BanRecord record) throws SQLException {
+        statement.setString(1, notNull(record.getStatus()));
+        columnCodec.setUuid(statement, 2, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 3, record.getAuthor());
+        columnCodec.setAddress(statement, 4, record.getIpAddress());
+        statement.setTimestamp(5, Timestamp.valueOf(record.getDateAdded()));
+        statement.setTimestamp(6, record.getTerminationDate() == null ? null : Timestamp.valueOf(record.getTerminationDate()));
+        statement.setString(7, record.getContext());
+        statement.setString(8, record.getReason());
+        statement.addBatch();
+    }
 
-        statement.setString(1, notNull(player));
-        return statement;
+    @Override
+    public void addCreateCommentBatch(PreparedStatement statement, CommentRecord record) throws SQLException {
+        columnCodec.setUuid(statement, 1, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 2, record.getAuthor());
+        statement.setTimestamp(3, Timestamp.valueOf(record.getDateAdded()));
+        statement.setBoolean(4, record.isWarning());
+        statement.setString(5, notNull(record.getComment()));
+        statement.addBatch();
     }
 
     @Override
-    public PreparedStatement getCountPlayerMutesStatement(Connection connection, UUID player) throws SQLException {
-        PreparedStatement statement = initCountPlayerMutesSql(connection);
+    public void addCreateKickBatch(PreparedStatement statement, KickRecord record) throws SQLException {
+        columnCodec.setUuid(statement, 1, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 2, record.getAuthor());
+        statement.setTimestamp(3, Timestamp.valueOf(record.getDateAdded()));
+        statement.setBoolean(4, record.isGlobal());
+        statement.setString(5, record.getServerName());
+        statement.setString(6, record.getReason());
+        statement.addBatch();
+    }
 
-        statement.setString(1, notNull(player));
-        return statement;
+    @Override
+    public void addCreateMuteBatch(PreparedStatement statement, MuteRecord record) throws SQLException {
+        statement.setString(1, notNull(record.getStatus()));
+        columnCodec.setUuid(statement, 2, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 3, record.getAuthor());
+        columnCodec.setAddress(statement, 4, record.getIpAddress());
+        statement.setTimestamp(5, Timestamp.valueOf(record.getDateAdded()));
+        statement.setTimestamp(6, record.getTerminationDate() == null ? null : Timestamp.valueOf(record.getTerminationDate()));
+        statement.setString(7, record.getContext());
+        statement.setString(8, record.getReason());
+        statement.addBatch();
     }
 
     @Override
-    public PreparedStatement getCountStaffBansStatement(Connection connection, UUID staff) throws SQLException {
-        PreparedStatement statement = initCountStaffBansSql(connection);
+    public PreparedStatement getImportPlayerStatement(Connection connection) throws SQLException {
+        return initImportPlayerSql(connection);
+    }
 
-        statement.setString(1, notNull(staff));
-        return statement;
+    @Override
+    public PreparedStatement getImportBanStatement(Connection connection) throws SQLException {
+        return initImportBanSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getImportCommentStatement(Connection connection) throws SQLException {
+        // imported records are never read back, so their keys are not requested
+        return connection.prepareStatement(CREATE_COMMENT_SQL);
+    }
+
+    @Override
+    public PreparedStatement getImportKickStatement(Connection connection) throws SQLException {
+        return connection.prepareStatement(CREATE_KICK_SQL);
+    }
+
+    @Override
+    public PreparedStatement getImportMuteStatement(Connection connection) throws SQLException {
+        return initImportMuteSql(connection);
+    }
+
+    @Override
+    public void addImportPlayerBatch(PreparedStatement statement, UUID player, String username, LocalDateTime firstJoin) throws SQLException {
+        columnCodec.setUuid(statement, 1, notNull(player));
+        statement.setString(2, notNull(username));
+        statement.setTimestamp(3, Timestamp.valueOf(firstJoin));
+        statement.addBatch();
     }
 
     @Override
-    public PreparedStatement getCountStaffCommentsStatement(Connection connection, UUID staff) throws SQLException {
-        PreparedStatement statement = initCountStaffCommentsSql(connection);
+    public void addImportBanBatch(PreparedStatement statement, BanRecord record) throws SQLException {
+        statement.setString(1, notNull(record.getStatus()));
+        columnCodec.setUuid(statement, 2, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 3, record.getAuthor());
+        columnCodec.setUuid(statement, 4, record.getTerminatingStaff());
+        columnCodec.setAddress(statement, 5, record.getIpAddress());
+        statement.setTimestamp(6, Timestamp.valueOf(record.getDateAdded()));
+        statement.setTimestamp(7, record.getTerminationDate() == null ? null : Timestamp.valueOf(record.getTerminationDate()));
+        statement.setString(8, record.getContext());
+        statement.setString(9, record.getReason());
+        statement.setString(10, record.getTerminationReason());
+        statement.addBatch();
+    }
+
+    @Override
+    public void addImportMuteBatch(PreparedStatement statement, MuteRecord record) throws SQLException {
+        statement.setString(1, notNull(record.getStatus()));
+        columnCodec.setUuid(statement, 2, notNull(record.getPlayer()));
+        columnCodec.setUuid(statement, 3, record.getAuthor());
+        columnCodec.setUuid(statement, 4, record.getTerminatingStaff());
+        columnCodec.setAddress(statement, 5, record.getIpAddress());
+        statement.setTimestamp(6, Timestamp.valueOf(record.getDateAdded()));
+        statement.setTimestamp(7, record.getTerminationDate() == null ? null : Timestamp.valueOf(record.getTerminationDate()));
+        statement.setString(8, record.getContext());
+        statement.setString(9, record.getReason());
+        statement.setString(10, record.getTerminationReason());
+        statement.addBatch();
+    }
 
-        statement.setString(1, notNull(staff));
+    @Override
+    public PreparedStatement getRetrieveImportCheckpointStatement(Connection connection, String source) throws SQLException {
+        PreparedStatement statement = initRetrieveImportCheckpointSql(connection);
+
+        statement.setString(1, notNull(source));
         return statement;
     }
 
     @Override
-    public PreparedStatement getCountStaffKicksStatement(Connection connection, UUID staff) throws SQLException {
-        PreparedStatement statement = initCountStaffKicksSql(connection);
+    public PreparedStatement getDeleteImportCheckpointStatement(Connection connection, String source) throws SQLException {
+        PreparedStatement statement = initDeleteImportCheckpointSql(connection);
 
-        statement.setString(1, notNull(staff));
+        statement.setString(1, notNull(source));
         return statement;
     }
 
     @Override
-    public PreparedStatement getCountStaffMutesStatement(Connection connection, UUID staff) throws SQLException {
-        PreparedStatement statement = initCountStaffMutesSql(connection);
+    public PreparedStatement getCreateImportCheckpointStatement(Connection connection, String source, long position, long imported) throws SQLException {
+        PreparedStatement statement = initCreateImportCheckpointSql(connection);
 
-        statement.setString(1, notNull(staff));
+        statement.setString(1, notNull(source));
+        statement.setLong(2, position);
+        statement.setLong(3, imported);
+        statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
         return statement;
     }
 
@@ -387,7 +909,7 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
     public PreparedStatement getRetrievePlayerRecordStatement(Connection connection, UUID player) throws SQLException {
         PreparedStatement statement = initRetrievePlayerRecordSql(connection);
 
-        statement.setString(1, notNull(player));
+        columnCodec.setUuid(statement, 1, notNull(player));
         return statement;
     }
 
@@ -401,186 +923,622 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
 
     @Override
     public PreparedStatement getRetrievePlayerBansStatement(Connection connection, UUID player, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerBansSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = banArchiveHorizon;
+        PreparedStatement statement = initRetrievePlayerBansSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        UUID uuid = notNull(player);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerCommentsStatement(Connection connection, UUID player, LookupOptions options) throws SQLException {
+        options = optionsOrDefault(options);
         PreparedStatement statement = initRetrievePlayerCommentsSql(connection, options);
 
-        statement.setString(1, notNull(player));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        columnCodec.setUuid(statement, 1, notNull(player));
+        applyOptions(statement, options, 2);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerKicksStatement(Connection connection, UUID player, LookupOptions options) throws SQLException {
+        options = optionsOrDefault(options);
         PreparedStatement statement = initRetrievePlayerKicksSql(connection, options);
 
-        statement.setString(1, notNull(player));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        columnCodec.setUuid(statement, 1, notNull(player));
+        applyOptions(statement, options, 2);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerMutesStatement(Connection connection, UUID player, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerMutesSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = muteArchiveHorizon;
+        PreparedStatement statement = initRetrievePlayerMutesSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        UUID uuid = notNull(player);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveStaffBansStatement(Connection connection, UUID staff, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrieveStaffBansSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = banArchiveHorizon;
+        PreparedStatement statement = initRetrieveStaffBansSql(connection, options, horizon);
 
-        statement.setString(1, notNull(staff));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        UUID uuid = notNull(staff);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveStaffCommentsStatement(Connection connection, UUID staff, LookupOptions options) throws SQLException {
+        options = optionsOrDefault(options);
         PreparedStatement statement = initRetrieveStaffCommentsSql(connection, options);
 
-        statement.setString(1, notNull(staff));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        columnCodec.setUuid(statement, 1, notNull(staff));
+        applyOptions(statement, options, 2);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveStaffKicksStatement(Connection connection, UUID staff, LookupOptions options) throws SQLException {
+        options = optionsOrDefault(options);
         PreparedStatement statement = initRetrieveStaffKicksSql(connection, options);
 
-        statement.setString(1, notNull(staff));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        columnCodec.setUuid(statement, 1, notNull(staff));
+        applyOptions(statement, options, 2);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveStaffMutesStatement(Connection connection, UUID staff, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrieveStaffMutesSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = muteArchiveHorizon;
+        PreparedStatement statement = initRetrieveStaffMutesSql(connection, options, horizon);
 
-        statement.setString(1, notNull(staff));
-        applyOptions(statement, optionsOrDefault(options), 2);
+        UUID uuid = notNull(staff);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerBansByStatusStatement(Connection connection, UUID player, PunishmentStatus status, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerBansByStatusSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = archiveHorizon(banArchiveHorizon, status);
+        PreparedStatement statement = initRetrievePlayerBansByStatusSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        statement.setString(2, notNull(status));
-        applyOptions(statement, optionsOrDefault(options), 3);
+        UUID uuid = notNull(player);
+        String statusName = notNull(status);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            statement.setString(index++, statusName);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerMutesByStatusStatement(Connection connection, UUID player, PunishmentStatus status, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerMutesByStatusSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = archiveHorizon(muteArchiveHorizon, status);
+        PreparedStatement statement = initRetrievePlayerMutesByStatusSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        statement.setString(2, notNull(status));
-        applyOptions(statement, optionsOrDefault(options), 3);
+        UUID uuid = notNull(player);
+        String statusName = notNull(status);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            statement.setString(index++, statusName);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerCommentsByTypeStatement(Connection connection, UUID player, boolean isWarning, LookupOptions options) throws SQLException {
+        options = optionsOrDefault(options);
         PreparedStatement statement = initRetrievePlayerCommentsByTypeSql(connection, options);
 
-        statement.setString(1, notNull(player));
+        columnCodec.setUuid(statement, 1, notNull(player));
         statement.setBoolean(2, isWarning);
-        applyOptions(statement, optionsOrDefault(options), 3);
+        applyOptions(statement, options, 3);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveIPBansStatement(Connection connection, String ipAddress, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrieveIPBansSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = banArchiveHorizon;
+        PreparedStatement statement = initRetrieveIPBansSql(connection, options, horizon);
 
-        statement.setString(1, notNull(ipAddress));
-        applyOptions(statement, options, 2);
+        String address = notNull(ipAddress);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setAddress(statement, index++, address);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveIPMutesStatement(Connection connection, String ipAddress, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrieveIPMutesSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = muteArchiveHorizon;
+        PreparedStatement statement = initRetrieveIPMutesSql(connection, options, horizon);
 
-        statement.setString(1, notNull(ipAddress));
-        applyOptions(statement, options, 2);
+        String address = notNull(ipAddress);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setAddress(statement, index++, address);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveIPBansByStatusStatement(Connection connection, String ipAddress, PunishmentStatus status, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrieveIPBansByStatusSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = archiveHorizon(banArchiveHorizon, status);
+        PreparedStatement statement = initRetrieveIPBansByStatusSql(connection, options, horizon);
 
-        statement.setString(1, notNull(ipAddress));
-        statement.setString(2, notNull(status));
-        applyOptions(statement, options, 3);
+        String address = notNull(ipAddress);
+        String statusName = notNull(status);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setAddress(statement, index++, address);
+            statement.setString(index++, statusName);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrieveIPMutesByStatusStatement(Connection connection, String ipAddress, PunishmentStatus status, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrieveIPMutesByStatusSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = archiveHorizon(muteArchiveHorizon, status);
+        PreparedStatement statement = initRetrieveIPMutesByStatusSql(connection, options, horizon);
 
-        statement.setString(1, notNull(ipAddress));
-        statement.setString(2, notNull(status));
-        applyOptions(statement, options, 3);
+        String address = notNull(ipAddress);
+        String statusName = notNull(status);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setAddress(statement, index++, address);
+            statement.setString(index++, statusName);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerBansOrIPBansStatement(Connection connection, UUID player, String ipAddress, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerBansOrIPBansSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = banArchiveHorizon;
+        PreparedStatement statement = initRetrievePlayerBansOrIPBansSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        statement.setString(2, notNull(ipAddress));
-        applyOptions(statement, options, 3);
+        UUID uuid = notNull(player);
+        String address = notNull(ipAddress);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            columnCodec.setAddress(statement, index++, address);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerMutesOrIPMutesStatement(Connection connection, UUID player, String ipAddress, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerMutesOrIPMutesSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = muteArchiveHorizon;
+        PreparedStatement statement = initRetrievePlayerMutesOrIPMutesSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        statement.setString(2, notNull(ipAddress));
-        applyOptions(statement, options, 3);
+        UUID uuid = notNull(player);
+        String address = notNull(ipAddress);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            columnCodec.setAddress(statement, index++, address);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerBansOrIPBansByStatusStatement(Connection connection, UUID player, String ipAddress, PunishmentStatus status, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerBansOrIPBansByStatusSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = archiveHorizon(banArchiveHorizon, status);
+        PreparedStatement statement = initRetrievePlayerBansOrIPBansByStatusSql(connection, options, horizon);
 
-        statement.setString(1, notNull(player));
-        statement.setString(2, notNull(ipAddress));
-        statement.setString(3, notNull(status));
-        applyOptions(statement, options, 4);
+        UUID uuid = notNull(player);
+        String address = notNull(ipAddress);
+        String statusName = notNull(status);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            columnCodec.setAddress(statement, index++, address);
+            statement.setString(index++, statusName);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
         return statement;
     }
 
     @Override
     public PreparedStatement getRetrievePlayerMutesOrIPMutesByStatusStatement(Connection connection, UUID player, String ipAddress, PunishmentStatus status, LookupOptions options) throws SQLException {
-        PreparedStatement statement = initRetrievePlayerMutesOrIPMutesByStatusSql(connection, options);
+        options = optionsOrDefault(options);
+        LocalDateTime horizon = archiveHorizon(muteArchiveHorizon, status);
+        PreparedStatement statement = initRetrievePlayerMutesOrIPMutesByStatusSql(connection, options, horizon);
+
+        UUID uuid = notNull(player);
+        String address = notNull(ipAddress);
+        String statusName = notNull(status);
+        int index = 1;
+        for (int arm = lookupArms(options, horizon); arm > 0; arm--) {
+            columnCodec.setUuid(statement, index++, uuid);
+            columnCodec.setAddress(statement, index++, address);
+            statement.setString(index++, statusName);
+            index = applyFilters(statement, options, index);
+        }
+        applyPage(statement, options, index);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getRetrieveRecordCountsStatement(Connection connection, UUID player) throws SQLException {
+        PreparedStatement statement = initRetrieveRecordCountsSql(connection);
+
+        columnCodec.setUuid(statement, 1, notNull(player));
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getCountRecordsStatement(Connection connection, UUID player) throws SQLException {
+        PreparedStatement statement = initCountRecordsSql(connection);
+
+        UUID uuid = notNull(player);
+        for (int i = 1; i <= RECORD_COUNT_PARAMETERS; i++) {
+            columnCodec.setUuid(statement, i, uuid);
+        }
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getCreateRecordCountsStatement(Connection connection, UUID player) throws SQLException {
+        PreparedStatement statement = initCreateRecordCountsSql(connection);
+
+        for (int i = 0; i < RECORD_COUNT_COLUMNS.length; i++) {
+            statement.setInt(i + 1, 0);
+        }
+        columnCodec.setUuid(statement, RECORD_COUNT_COLUMNS.length + 1, notNull(player));
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getCreateRecordCountsStatement(Connection connection) throws SQLException {
+        return initCreateRecordCountsSql(connection);
+    }
+
+    @Override
+    public void addCreateRecordCountsBatch(PreparedStatement statement, UUID player, int[] deltas) throws SQLException {
+        for (int i = 0; i < RECORD_COUNT_COLUMNS.length; i++) {
+            statement.setInt(i + 1, deltas[i]);
+        }
+        columnCodec.setUuid(statement, RECORD_COUNT_COLUMNS.length + 1, notNull(player));
+        statement.addBatch();
+    }
+
+    @Override
+    public PreparedStatement getClearRecordCountsStatement(Connection connection) throws SQLException {
+        return initClearRecordCountsSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getRebuildRecordCountsStatement(Connection connection) throws SQLException {
+        return initRebuildRecordCountsSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getIncrementRecordCountsStatement(Connection connection) throws SQLException {
+        return initIncrementRecordCountsSql(connection);
+    }
+
+    @Override
+    public void addIncrementRecordCountsBatch(PreparedStatement statement, UUID player, int[] deltas) throws SQLException {
+        for (int i = 0; i < RECORD_COUNT_COLUMNS.length; i++) {
+            statement.setInt(i + 1, deltas[i]);
+        }
+        columnCodec.setUuid(statement, RECORD_COUNT_COLUMNS.length + 1, notNull(player));
+        statement.addBatch();
+    }
+
+    @Override
+    public PreparedStatement getRetrievePlayerDossierStatement(Connection connection, UUID player, int recordLimit) throws SQLException {
+        PreparedStatement statement = initRetrievePlayerDossierSql(connection);
+        UUID uuid = notNull(player);
+
+        int index = 1;
+        columnCodec.setUuid(statement, index++, uuid);
+        for (int i = 0; i < 4; i++) {
+            columnCodec.setUuid(statement, index++, uuid);
+            statement.setInt(index++, recordLimit);
+        }
+        for (int i = 0; i < DOSSIER_COUNT_TOTAL; i++) {
+            columnCodec.setUuid(statement, index++, uuid);
+        }
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamStaffBansStatement(Connection connection, UUID staff) throws SQLException {
+        PreparedStatement statement = initStreamStaffBansSql(connection);
+
+        UUID uuid = notNull(staff);
+        columnCodec.setUuid(statement, 1, uuid);
+        columnCodec.setUuid(statement, 2, uuid);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamStaffCommentsStatement(Connection connection, UUID staff) throws SQLException {
+        PreparedStatement statement = initStreamStaffCommentsSql(connection);
+
+        columnCodec.setUuid(statement, 1, notNull(staff));
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamStaffKicksStatement(Connection connection, UUID staff) throws SQLException {
+        PreparedStatement statement = initStreamStaffKicksSql(connection);
+
+        columnCodec.setUuid(statement, 1, notNull(staff));
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamStaffMutesStatement(Connection connection, UUID staff) throws SQLException {
+        PreparedStatement statement = initStreamStaffMutesSql(connection);
+
+        UUID uuid = notNull(staff);
+        columnCodec.setUuid(statement, 1, uuid);
+        columnCodec.setUuid(statement, 2, uuid);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamBansStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException {
+        PreparedStatement statement = initStreamBansSql(connection);
+
+        for (int index = 1; index <= 4; index += 2) {
+            statement.setTimestamp(index, Timestamp.valueOf(from));
+            statement.setTimestamp(index + 1, Timestamp.valueOf(to));
+        }
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamCommentsStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException {
+        PreparedStatement statement = initStreamCommentsSql(connection);
+
+        statement.setTimestamp(1, Timestamp.valueOf(from));
+        statement.setTimestamp(2, Timestamp.valueOf(to));
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamKicksStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException {
+        PreparedStatement statement = initStreamKicksSql(connection);
+
+        statement.setTimestamp(1, Timestamp.valueOf(from));
+        statement.setTimestamp(2, Timestamp.valueOf(to));
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamMutesStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException {
+        PreparedStatement statement = initStreamMutesSql(connection);
+
+        for (int index = 1; index <= 4; index += 2) {
+            statement.setTimestamp(index, Timestamp.valueOf(from));
+            statement.setTimestamp(index + 1, Timestamp.valueOf(to));
+        }
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getStreamAllPlayersStatement(Connection connection) throws SQLException {
+        return initStreamAllPlayersSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getStreamAllBansStatement(Connection connection) throws SQLException {
+        return initStreamAllBansSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getStreamAllCommentsStatement(Connection connection) throws SQLException {
+        return initStreamAllCommentsSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getStreamAllKicksStatement(Connection connection) throws SQLException {
+        return initStreamAllKicksSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getStreamAllMutesStatement(Connection connection) throws SQLException {
+        return initStreamAllMutesSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getStreamActiveBansStatement(Connection connection) throws SQLException {
+        return initStreamActiveBansSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getStreamActiveMutesStatement(Connection connection) throws SQLException {
+        return initStreamActiveMutesSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getRetrieveExpiredBansStatement(Connection connection, LocalDateTime now, int limit) throws SQLException {
+        PreparedStatement statement = initRetrieveExpiredBansSql(connection);
+
+        statement.setTimestamp(1, Timestamp.valueOf(now));
+        statement.setInt(2, limit);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getRetrieveExpiredMutesStatement(Connection connection, LocalDateTime now, int limit) throws SQLException {
+        PreparedStatement statement = initRetrieveExpiredMutesSql(connection);
+
+        statement.setTimestamp(1, Timestamp.valueOf(now));
+        statement.setInt(2, limit);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getExpireBanStatement(Connection connection) throws SQLException {
+        return initExpireBanSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getExpireMuteStatement(Connection connection) throws SQLException {
+        return initExpireMuteSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getRetrieveArchiveHorizonsStatement(Connection connection) throws SQLException {
+        return initRetrieveArchiveHorizonsSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getRetrieveArchivableBansStatement(Connection connection, LocalDateTime before, int limit) throws SQLException {
+        PreparedStatement statement = initRetrieveArchivableBansSql(connection);
+
+        statement.setTimestamp(1, Timestamp.valueOf(before));
+        statement.setInt(2, limit);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement getRetrieveArchivableMutesStatement(Connection connection, LocalDateTime before, int limit) throws SQLException {
+        PreparedStatement statement = initRetrieveArchivableMutesSql(connection);
 
-        statement.setString(1, notNull(player));
-        statement.setString(2, notNull(ipAddress));
-        statement.setString(3, notNull(status));
-        applyOptions(statement, options, 4);
+        statement.setTimestamp(1, Timestamp.valueOf(before));
+        statement.setInt(2, limit);
         return statement;
     }
 
+    @Override
+    public PreparedStatement getArchiveBanStatement(Connection connection) throws SQLException {
+        return initArchiveBanSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getArchiveMuteStatement(Connection connection) throws SQLException {
+        return initArchiveMuteSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getDeleteBanStatement(Connection connection) throws SQLException {
+        return initDeleteBanSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getDeleteMuteStatement(Connection connection) throws SQLException {
+        return initDeleteMuteSql(connection);
+    }
+
+    @Override
+    public void addRecordIdBatch(PreparedStatement statement, int id) throws SQLException {
+        statement.setInt(1, id);
+        statement.addBatch();
+    }
+
+    @Override
+    public PreparedStatement getCountPlayersStatement(Connection connection) throws SQLException {
+        return initCountPlayersSql(connection);
+    }
+
+    @Override
+    public PreparedStatement getRestorePlayerStatement(Connection connection) throws SQLException {
+        return initRestorePlayerSql(connection);
+    }
+
+    @Override
+    public void addRestorePlayerBatch(PreparedStatement statement, PlayerRecord record) throws SQLException {
+        setPlayerColumns(statement, record);
+        statement.addBatch();
+    }
+
+    @Override
+    public PreparedStatement getBatchUpsertPlayerRecordStatement(Connection connection, MutablePlayerRecord record) throws SQLException {
+        // lastServer is in two groups
+        Set<String> updateColumns = new LinkedHashSet<>();
+        if (record.hasPlayerJoinStatsChanged()) {
+            updateColumns.addAll(Arrays.asList(PLAYER_JOIN_COLUMNS));
+        }
+        if (record.hasPlayerLeaveStatsChanged()) {
+            updateColumns.addAll(Arrays.asList(PLAYER_LEAVE_COLUMNS));
+        }
+        if (record.hasPlayerDynamicStatsChanged()) {
+            updateColumns.addAll(Arrays.asList(PLAYER_DYNAMIC_COLUMNS));
+        }
+        return initUpsertPlayerSql(connection, updateColumns);
+    }
+
+    @Override
+    public void addUpsertPlayerRecordBatch(PreparedStatement statement, PlayerRecord record) throws SQLException {
+        setPlayerColumns(statement, record);
+        statement.addBatch();
+    }
+
+    private void setPlayerColumns(PreparedStatement statement, PlayerRecord record) throws SQLException {
+        columnCodec.setUuid(statement, 1, notNull(record.getId()));
+        statement.setString(2, notNull(record.getUsername()));
+        statement.setTimestamp(3, Timestamp.valueOf(record.getFirstJoin()));
+        statement.setTimestamp(4, Timestamp.valueOf(record.getLastJoin()));
+        statement.setTimestamp(5, record.getLastLeave() == null ? null : Timestamp.valueOf(record.getLastLeave()));
+        statement.setLong(6, record.getPlaytime());
+        statement.setInt(7, record.getTotalJoins());
+        statement.setString(8, record.getLastServer());
+        columnCodec.setAddress(statement, 9, record.getLastAddress());
+    }
+
     @Override
     public PreparedStatement getUpdatePlayerRecordStatement(Connection connection, MutablePlayerRecord record) throws SQLException {
         if (record.isLoaded() && record.isModified()) {
@@ -596,31 +1554,31 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
                 statement.setString(1, notNull(record.getUsername()));
                 statement.setTimestamp(2, Timestamp.valueOf(record.getLastJoin()));
                 statement.setTimestamp(3, lastLeave == null ? null : Timestamp.valueOf(lastLeave));
-                statement.setString(4, record.getLastAddress());
+                columnCodec.setAddress(statement, 4, record.getLastAddress());
                 statement.setString(5, record.getLastServer());
                 statement.setLong(6, record.getPlaytime());
                 statement.setInt(7, record.getTotalJoins());
-                statement.setString(8, notNull(record.getId()));
+                columnCodec.setUuid(statement, 8, notNull(record.getId()));
 
             } else if (record.hasPlayerJoinStatsChanged()) {
                 statement = initUpdatePlayerJoiningRecordSql(connection);
                 statement.setString(1, notNull(record.getUsername()));
                 statement.setTimestamp(2, Timestamp.valueOf(record.getLastJoin()));
-                statement.setString(3, record.getLastAddress());
+                columnCodec.setAddress(statement, 3, record.getLastAddress());
                 statement.setInt(4, record.getTotalJoins());
-                statement.setString(5, notNull(record.getId()));
+                columnCodec.setUuid(statement, 5, notNull(record.getId()));
 
             } else if (record.hasPlayerLeaveStatsChanged()) {
                 statement = initUpdatePlayerLeavingRecordSql(connection);
                 statement.setTimestamp(1, lastLeave == null ? null : Timestamp.valueOf(lastLeave));
                 statement.setString(2, record.getLastServer());
                 statement.setLong(3, record.getPlaytime());
-                statement.setString(4, notNull(record.getId()));
+                columnCodec.setUuid(statement, 4, notNull(record.getId()));
 
             } else {
                 statement = initUpdatePlayerDynamicRecordSql(connection);
                 statement.setString(1, record.getLastServer());
-                statement.setString(2, notNull(record.getId()));
+                columnCodec.setUuid(statement, 2, notNull(record.getId()));
             }
             return statement;
         }
@@ -634,7 +1592,7 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
             PreparedStatement statement = initUpdatePlayerBanSql(connection);
 
             statement.setString(1, notNull(record.getStatus()));
-            statement.setString(2, maybeNull(record.getTerminatingStaff()));
+            columnCodec.setUuid(statement, 2, record.getTerminatingStaff());
             statement.setTimestamp(3, record.getTerminationDate() == null ? null : Timestamp.valueOf(record.getTerminationDate()));
             statement.setString(4, maybeNull(record.getTerminationReason()));
             statement.setString(5, notNull(record.getId()));
@@ -650,7 +1608,7 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
             PreparedStatement statement = initUpdatePlayerMuteSql(connection);
 
             statement.setString(1, notNull(record.getStatus()));
-            statement.setString(2, maybeNull(record.getTerminatingStaff()));
+            columnCodec.setUuid(statement, 2, record.getTerminatingStaff());
             statement.setTimestamp(3, record.getTerminationDate() == null ? null : Timestamp.valueOf(record.getTerminationDate()));
             statement.setString(4, maybeNull(record.getTerminationReason()));
             statement.setString(5, notNull(record.getId()));
@@ -660,23 +1618,15 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
         return getCreateMuteStatement(connection, record);
     }
 
-    protected String addDateFilter(String dateColumn, LookupOptions options) {
-        if (options == null) {
-            return "";
-        }
-        if (options.getDateBefore() != null) {
-            if (options.getDateAfter() != null) {
-                return " AND " + dateColumn + " BETWEEN ? AND ?";
-            }
-            return " AND " + dateColumn + " < ?";
-        }
-        if (options.getDateAfter() != null) {
-            return " AND " + dateColumn + " > ?";
-        }
-        return "";
+    protected void applyOptions(PreparedStatement statement, LookupOptions options, int index) throws SQLException {
+        applyPage(statement, options, applyFilters(statement, options, index));
     }
 
-    protected void applyOptions(PreparedStatement statement, LookupOptions options, int index) throws SQLException {
+    /**
+     * Binds the date and cursor filters of a lookup, which archived lookups repeat for each table they read.
+     * @return the index of the next parameter
+     */
+    protected int applyFilters(PreparedStatement statement, LookupOptions options, int index) throws SQLException {
         LocalDateTime dateAfter = options.getDateAfter();
         LocalDateTime dateBefore = options.getDateBefore();
 
@@ -686,15 +1636,37 @@ public abstract class AbstractStatementFactory implements DatabaseStatementFacto
         if (dateBefore != null) {
             statement.setTimestamp(index++, Timestamp.valueOf(dateBefore));
         }
+        if (options.getCursor() != null) {
+            statement.setInt(index++, options.getCursor());
+        }
+        return index;
+    }
 
+    protected void applyPage(PreparedStatement statement, LookupOptions options, int index) throws SQLException {
         statement.setInt(index++, options.getLimit());
         statement.setInt(index, options.getOffset());
     }
 
+    protected int lookupArms(LookupOptions options, @Nullable LocalDateTime archiveHorizon) {
+        return QueryTemplate.readsArchive(options, archiveHorizon) ? 2 : 1;
+    }
+
+    protected LocalDateTime archiveHorizon(LocalDateTime horizon, PunishmentStatus status) {
+        // records are only archived once they have ended
+        return status == PunishmentStatus.ACTIVE ? null : horizon;
+    }
+
     protected LookupOptions optionsOrDefault(LookupOptions options) {
         return options == null ? DEFAULT_OPTIONS : options;
     }
 
+    protected UUID notNull(UUID uuid) {
+        if (uuid == null) {
+            throw new IllegalArgumentException("Object cannot be null");
+        }
+        return uuid;
+    }
+
     protected String notNull(Object object) {
         if (object == null) {
             throw new IllegalArgumentException("Object cannot be null");
@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * Binds UUIDs and IP addresses in the format of the columns they are stored in. Decoding does not need a codec, as
+ * the value returned by the driver already shows which format the column uses.
+ */
+public final class ColumnCodec {
+
+    public enum Format {
+        /**
+         * Stored as a string.
+         */
+        TEXT,
+        /**
+         * Stored as raw bytes: 16 for a UUID, 4 or 16 for an IP address.
+         */
+        BINARY,
+        /**
+         * Stored in a dedicated type of the database, such as uuid or inet.
+         */
+        NATIVE
+    }
+
+    public static final ColumnCodec TEXT = new ColumnCodec(Format.TEXT, Format.TEXT);
+
+    private final Format uuidFormat;
+    private final Format addressFormat;
+
+    public ColumnCodec(Format uuidFormat, Format addressFormat) {
+        this.uuidFormat = uuidFormat;
+        this.addressFormat = addressFormat;
+    }
+
+    public Format getUuidFormat() {
+        return uuidFormat;
+    }
+
+    public Format getAddressFormat() {
+        return addressFormat;
+    }
+
+    public void setUuid(PreparedStatement statement, int index, @Nullable UUID uuid) throws SQLException {
+        switch (uuidFormat) {
+            case TEXT -> statement.setString(index, uuid == null ? null : uuid.toString());
+            case BINARY -> statement.setBytes(index, uuid == null ? null : encodeUuid(uuid));
+            case NATIVE -> {
+                if (uuid == null) {
+                    statement.setNull(index, Types.OTHER);
+                } else {
+                    statement.setObject(index, uuid);
+                }
+            }
+        }
+    }
+
+    public void setAddress(PreparedStatement statement, int index, @Nullable String address) throws SQLException {
+        switch (addressFormat) {
+            case TEXT -> statement.setString(index, address);
+            case BINARY -> statement.setBytes(index, address == null ? null : encodeAddress(address));
+            case NATIVE -> {
+                if (address == null) {
+                    statement.setNull(index, Types.OTHER);
+                } else {
+                    statement.setObject(index, address, Types.OTHER);
+                }
+            }
+        }
+    }
+
+    public static byte[] encodeUuid(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static byte[] encodeAddress(String address) throws SQLException {
+        byte[] bytes = parseAddress(address);
+        if (bytes == null) {
+            throw new SQLException("Invalid IP address " + address);
+        }
+        return bytes;
+    }
+
+    /**
+     * Parses an IPv4 or IPv6 address literal into its bytes. Unlike {@link InetAddress#getByName(String)}, host names
+     * are never resolved and an empty string is not taken to mean the loopback address.
+     * @param address the address literal
+     * @return 4 bytes for an IPv4 address, including one mapped into IPv6, 16 bytes for any other IPv6 address, or null
+     * if the string is not an address literal
+     */
+    public static byte @Nullable [] parseAddress(String address) {
+        if (address.indexOf(':') == -1) {
+            return parseIPv4(address);
+        }
+
+        int zone = address.indexOf('%');
+        if (zone != -1) {
+            address = address.substring(0, zone);
+        }
+        int gap = address.indexOf("::");
+        if (gap != -1 && address.indexOf("::", gap + 1) != -1) {
+            return null;
+        }
+        int[] head = parseGroups(gap == -1 ? address : address.substring(0, gap), gap == -1);
+        int[] tail = gap == -1 ? new int[0] : parseGroups(address.substring(gap + 2), true);
+        if (head == null || tail == null || (gap == -1 ? head.length != 8 : head.length + tail.length > 7)) {
+            return null;
+        }
+
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < head.length; i++) {
+            bytes[i * 2] = (byte) (head[i] >> 8);
+            bytes[i * 2 + 1] = (byte) head[i];
+        }
+        for (int i = 0; i < tail.length; i++) {
+            int offset = (8 - tail.length + i) * 2;
+            bytes[offset] = (byte) (tail[i] >> 8);
+            bytes[offset + 1] = (byte) tail[i];
+        }
+
+        // stored as plain IPv4, as InetAddress has always returned mapped addresses
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return bytes;
+            }
+        }
+        if (bytes[10] == (byte) 0xFF && bytes[11] == (byte) 0xFF) {
+            return new byte[] { bytes[12], bytes[13], bytes[14], bytes[15] };
+        }
+        return bytes;
+    }
+
+    private static byte @Nullable [] parseIPv4(String address) {
+        String[] parts = address.split("\\.", -1);
+        if (parts.length != 4) {
+            return null;
+        }
+        byte[] bytes = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || part.length() > 3) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < part.length(); j++) {
+                char c = part.charAt(j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (value > 255) {
+                return null;
+            }
+            bytes[i] = (byte) value;
+        }
+        return bytes;
+    }
+
+    // the 16-bit groups on one side of a "::", the last of which may be written as an IPv4 address
+    private static int @Nullable [] parseGroups(String part, boolean last) {
+        if (part.isEmpty()) {
+            return new int[0];
+        }
+        String[] fields = part.split(":", -1);
+        int mapped = last && fields[fields.length - 1].indexOf('.') != -1 ? 1 : 0;
+        int[] groups = new int[fields.length + mapped];
+        for (int i = 0; i < fields.length - mapped; i++) {
+            String field = fields[i];
+            if (field.isEmpty() || field.length() > 4) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < field.length(); j++) {
+                char c = field.charAt(j);
+                int digit = c < 128 ? Character.digit(c, 16) : -1;
+                if (digit == -1) {
+                    return null;
+                }
+                value = value << 4 | digit;
+            }
+            groups[i] = value;
+        }
+        if (mapped == 1) {
+            byte[] ipv4 = parseIPv4(fields[fields.length - 1]);
+            if (ipv4 == null) {
+                return null;
+            }
+            groups[fields.length - 1] = (ipv4[0] & 0xFF) << 8 | ipv4[1] & 0xFF;
+            groups[fields.length] = (ipv4[2] & 0xFF) << 8 | ipv4[3] & 0xFF;
+        }
+        return groups;
+    }
+
+    public static @Nullable UUID decodeUuid(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        if (value instanceof byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        return UUID.fromString(value.toString());
+    }
+
+    public static @Nullable String decodeAddress(@Nullable Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            try {
+                return InetAddress.getByAddress(bytes).getHostAddress();
+            } catch (UnknownHostException e) {
+                throw new SQLException("Invalid IP address of " + bytes.length + " bytes", e);
+            }
+        }
+        return value.toString();
+    }
+}
@@ -24,18 +24,35 @@
 
 package com.backwardsnode.easyadmin.core.database;
 
+import com.backwardsnode.easyadmin.api.data.DatabaseStatistics;
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
+import com.backwardsnode.easyadmin.api.data.PlayerDossier;
 import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.data.RecordCounts;
 import com.backwardsnode.easyadmin.api.record.*;
+import com.backwardsnode.easyadmin.api.record.base.AdminRecord;
+import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
+import com.backwardsnode.easyadmin.api.record.base.ScopedRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableBanRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableMuteRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutablePlayerRecord;
 import com.backwardsnode.easyadmin.core.database.config.LocalConfigLoader;
 import com.backwardsnode.easyadmin.core.database.config.RemoteConfigLoader;
-import com.backwardsnode.easyadmin.core.database.util.DatabaseUtil;
+import com.backwardsnode.easyadmin.core.database.metrics.DatabaseMetrics;
+import com.backwardsnode.easyadmin.core.database.metrics.PoolMetrics;
+import com.backwardsnode.easyadmin.core.database.metrics.StatementMetrics;
+import com.backwardsnode.easyadmin.core.database.util.ResultSetSpliterator;
+import com.backwardsnode.easyadmin.core.database.util.UncheckedSQLException;
+import com.backwardsnode.easyadmin.core.database.util.SQLBiConsumer;
 import com.backwardsnode.easyadmin.core.database.util.SQLBiFunction;
+import com.backwardsnode.easyadmin.core.database.util.SQLConsumer;
 import com.backwardsnode.easyadmin.core.database.util.SQLFunction;
+import com.backwardsnode.easyadmin.core.importer.ImportCheckpoint;
+import com.backwardsnode.easyadmin.core.importer.ImportedRecord;
+import com.backwardsnode.easyadmin.core.record.GeneratedKeyRecord;
 import com.backwardsnode.easyadmin.core.record.RecordLoader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.jetbrains.annotations.NotNull;
@@ -45,23 +62,46 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public final class DatabaseController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseController.class);
+    private static final String EXECUTOR_NAME = "EasyAdmin-Database";
+    private static final int EXECUTOR_THREADS = 4;
+    private static final int EXECUTOR_QUEUE_CAPACITY = 2048;
+    private static final int IMPORTED_NAME_LENGTH = 16;
+    private static final String WRITER_NAME = "EasyAdmin-Writer";
 
     private final DatabaseStatementFactory statementFactory;
+    private final RecordLoader recordLoader;
     private final boolean autoInit;
 
     private final boolean isRemoteDatabase;
 
-    // Remote
+    // Pooled
     private final HikariConfig hikariConfig;
-    private HikariDataSource dataSource;
+    private final HikariConfig readHikariConfig;
+    private volatile HikariDataSource dataSource;
+    private volatile HikariDataSource readDataSource;
 
     // Local
     private final LocalConfigLoader<?> localConfig;
+    private final GroupCommitWriter writer;
+
+    private final ColumnLayout preferredLayout;
+
+    // players written to recently, whose reads stay on the primary until the replicas catch up
+    private final Cache<UUID, Boolean> recentWrites;
+
+    private final DatabaseMetrics metrics = new DatabaseMetrics();
+
+    private volatile DatabaseExecutor executor;
 
     private boolean initialized = false;
 
@@ -78,8 +118,19 @@ public final class DatabaseController {
             throw new IllegalArgumentException("Statement factory is not compatible with config loader");
         }
         this.hikariConfig = config.toHikariConfig();
+        this.readHikariConfig = config.toReadHikariConfig();
+        if (readHikariConfig != null && config.getStickyPrimaryMillis() > 0) {
+            recentWrites = Caffeine.newBuilder()
+                    .expireAfterWrite(config.getStickyPrimaryMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+        } else {
+            recentWrites = null;
+        }
         localConfig = null;
+        writer = null;
+        preferredLayout = config.getColumnLayout();
         this.statementFactory = statementFactory;
+        recordLoader = new RecordLoader(statementFactory.supportsLocalDateTime());
         this.autoInit = autoInit;
         isRemoteDatabase = true;
     }
@@ -96,9 +147,23 @@ public final class DatabaseController {
         if (!config.isStatementFactoryCompatible(statementFactory)) {
             throw new IllegalArgumentException("Statement factory is not compatible with config loader");
         }
-        this.hikariConfig = null;
+        if (config.isPooled()) {
+            this.hikariConfig = config.toHikariConfig();
+            this.readHikariConfig = config.toReadHikariConfig();
+        } else {
+            this.hikariConfig = null;
+            this.readHikariConfig = null;
+        }
+        // local read connections open the same file, so they always see committed writes
+        recentWrites = null;
         localConfig = config;
+        // a single pooled writer connection can take every write in turn, grouping those that queue up meanwhile
+        writer = config.isPooled() && config.getWriteGroupSize() > 0
+                ? new GroupCommitWriter(WRITER_NAME, config.getWriteGroupSize(), this::commitGroup)
+                : null;
+        preferredLayout = config.getColumnLayout();
         this.statementFactory = statementFactory;
+        recordLoader = new RecordLoader(statementFactory.supportsLocalDateTime());
         this.autoInit = autoInit;
         isRemoteDatabase = false;
 
@@ -113,51 +178,102 @@ public final class DatabaseController {
     }
 
     public @Nullable PlayerRecord getPlayerRecord(@NotNull UUID playerUUID) {
-        return singletonResponse(c -> statementFactory.getRetrievePlayerRecordStatement(c, playerUUID), RecordLoader::loadPlayerRecord);
+        return singletonResponse("retrievePlayerRecord", playerUUID, c -> statementFactory.getRetrievePlayerRecordStatement(c, playerUUID), recordLoader::loadPlayerRecord);
+    }
+
+    public @Nullable PlayerDossier getPlayerDossier(@NotNull UUID playerUUID, int recordLimit) {
+        return singletonResponse("retrievePlayerDossier", playerUUID, c -> statementFactory.getRetrievePlayerDossierStatement(c, playerUUID, recordLimit), recordLoader::loadPlayerDossier);
     }
 
     public void insertPlayerRecord(@NotNull PlayerRecord playerRecord) {
-        insertOrUpdate(statementFactory::getCreatePlayerRecordStatement, playerRecord);
+        insertPlayer("createPlayerRecord", statementFactory::getCreatePlayerRecordStatement, playerRecord);
     }
 
     public boolean updatePlayerRecord(@NotNull MutablePlayerRecord playerRecord) {
-        if (playerRecord.isModified()) {
-            updateOrInsertPlayerRecord(playerRecord);
-            return true;
-        }
-        return false;
+        return playerRecord.isModified() && updateOrInsertPlayerRecord(playerRecord);
+    }
+
+    public boolean updateOrInsertPlayerRecord(@NotNull MutablePlayerRecord playerRecord) {
+        return upsertPlayerRecord(playerRecord);
+    }
+
+    /**
+     * Writes a player, creating them if they do not exist yet and otherwise updating only the stats that changed.
+     * @param playerRecord the player
+     * @return true if the player was written
+     */
+    public boolean upsertPlayerRecord(@NotNull MutablePlayerRecord playerRecord) {
+        return upsertPlayerRecords(List.of(playerRecord))[0];
     }
 
-    public void updateOrInsertPlayerRecord(@NotNull MutablePlayerRecord playerRecord) {
-        insertOrUpdate(statementFactory::getUpdatePlayerRecordStatement, playerRecord);
+    /**
+     * Writes players in a single transaction, creating those that do not exist yet and otherwise updating only the
+     * stats that changed. Players with the same changed stats share a JDBC batch.
+     * @param playerRecords the players, at most one per UUID
+     * @return whether each player, by index, was written
+     */
+    public boolean[] upsertPlayerRecords(@NotNull List<? extends MutablePlayerRecord> playerRecords) {
+        boolean[] results = new boolean[playerRecords.size()];
+        if (playerRecords.isEmpty()) {
+            return results;
+        }
+        Map<Integer, List<MutablePlayerRecord>> groups = new HashMap<>();
+        for (MutablePlayerRecord playerRecord : playerRecords) {
+            int changed = (playerRecord.hasPlayerJoinStatsChanged() ? 1 : 0)
+                    | (playerRecord.hasPlayerLeaveStatsChanged() ? 2 : 0)
+                    | (playerRecord.hasPlayerDynamicStatsChanged() ? 4 : 0);
+            groups.computeIfAbsent(changed, k -> new ArrayList<>()).add(playerRecord);
+        }
+
+        boolean success = inTransaction("upsertPlayerRecords", connection -> {
+            for (List<MutablePlayerRecord> group : groups.values()) {
+                try (PreparedStatement statement = statementFactory.getBatchUpsertPlayerRecordStatement(connection, group.get(0))) {
+                    for (MutablePlayerRecord playerRecord : group) {
+                        statementFactory.addUpsertPlayerRecordBatch(statement, playerRecord);
+                    }
+                    statement.executeBatch();
+                }
+            }
+            // players not known to be written may be new, and new players need their record counts
+            for (MutablePlayerRecord playerRecord : playerRecords) {
+                if (!playerRecord.isLoaded()) {
+                    try (PreparedStatement statement = statementFactory.getCreateRecordCountsStatement(connection, playerRecord.getId())) {
+                        statement.executeUpdate();
+                    }
+                }
+            }
+        });
+        playerRecords.forEach(this::markWritten);
+        Arrays.fill(results, success);
+        return results;
     }
 
     public Collection<BanRecord> getPlayerBans(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerBansStatement(c, playerUUID, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrievePlayerBans", playerUUID, c -> statementFactory.getRetrievePlayerBansStatement(c, playerUUID, lookupOptions), recordLoader::loadBanRecord);
     }
 
     public Collection<BanRecord> getPlayerBansByStatus(@NotNull UUID playerUUID, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerBansByStatusStatement(c, playerUUID, status, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrievePlayerBansByStatus", playerUUID, c -> statementFactory.getRetrievePlayerBansByStatusStatement(c, playerUUID, status, lookupOptions), recordLoader::loadBanRecord);
     }
 
     public Collection<BanRecord> getIPBans(@NotNull String ipAddress, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveIPBansStatement(c, ipAddress, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrieveIPBans", null, c -> statementFactory.getRetrieveIPBansStatement(c, ipAddress, lookupOptions), recordLoader::loadBanRecord);
     }
 
     public Collection<BanRecord> getIPBansByStatus(@NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveIPBansByStatusStatement(c, ipAddress, status, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrieveIPBansByStatus", null, c -> statementFactory.getRetrieveIPBansByStatusStatement(c, ipAddress, status, lookupOptions), recordLoader::loadBanRecord);
     }
 
     public Collection<BanRecord> getPlayerBansOrIPBans(@NotNull UUID playerUUID, @NotNull String ipAddress, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerBansOrIPBansStatement(c, playerUUID, ipAddress, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrievePlayerBansOrIPBans", playerUUID, c -> statementFactory.getRetrievePlayerBansOrIPBansStatement(c, playerUUID, ipAddress, lookupOptions), recordLoader::loadBanRecord);
     }
 
     public Collection<BanRecord> getPlayerBansOrIPBansByStatus(@NotNull UUID playerUUID, @NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerBansOrIPBansByStatusStatement(c, playerUUID, ipAddress, status, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrievePlayerBansOrIPBansByStatus", playerUUID, c -> statementFactory.getRetrievePlayerBansOrIPBansByStatusStatement(c, playerUUID, ipAddress, status, lookupOptions), recordLoader::loadBanRecord);
     }
 
-    public void insertBan(@NotNull BanRecord banRecord) {
-        insertOrUpdate(statementFactory::getCreateBanStatement, banRecord);
+    public boolean insertBan(@NotNull BanRecord banRecord) {
+        return insertCounted("createBan", statementFactory::getCreateBanStatement, banRecord);
     }
 
     public boolean updateBan(@NotNull MutableBanRecord banRecord) {
@@ -169,55 +285,55 @@ public final class DatabaseController {
     }
 
     public void updateOrInsertBan(@NotNull MutableBanRecord banRecord) {
-        insertOrUpdate(statementFactory::getUpdatePlayerBanStatement, banRecord);
+        insertOrUpdate("updatePlayerBan", statementFactory::getUpdatePlayerBanStatement, banRecord);
     }
 
     public Collection<CommentRecord> getPlayerComments(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerCommentsStatement(c, playerUUID, lookupOptions), RecordLoader::loadCommentRecord);
+        return collectionResponse("retrievePlayerComments", playerUUID, c -> statementFactory.getRetrievePlayerCommentsStatement(c, playerUUID, lookupOptions), recordLoader::loadCommentRecord);
     }
 
     public Collection<CommentRecord> getPlayerCommentsByType(@NotNull UUID playerUUID, boolean isWarning, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerCommentsByTypeStatement(c, playerUUID, isWarning, lookupOptions), RecordLoader::loadCommentRecord);
+        return collectionResponse("retrievePlayerCommentsByType", playerUUID, c -> statementFactory.getRetrievePlayerCommentsByTypeStatement(c, playerUUID, isWarning, lookupOptions), recordLoader::loadCommentRecord);
     }
 
-    public void insertComment(@NotNull CommentRecord commentRecord) {
-        insertOrUpdate(statementFactory::getCreateCommentStatement, commentRecord);
+    public boolean insertComment(@NotNull CommentRecord commentRecord) {
+        return insertCounted("createComment", statementFactory::getCreateCommentStatement, commentRecord);
     }
 
     public Collection<KickRecord> getPlayerKicks(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerKicksStatement(c, playerUUID, lookupOptions), RecordLoader::loadKickRecord);
+        return collectionResponse("retrievePlayerKicks", playerUUID, c -> statementFactory.getRetrievePlayerKicksStatement(c, playerUUID, lookupOptions), recordLoader::loadKickRecord);
     }
 
-    public void insertKick(@NotNull KickRecord kickRecord) {
-        insertOrUpdate(statementFactory::getCreateKickStatement, kickRecord);
+    public boolean insertKick(@NotNull KickRecord kickRecord) {
+        return insertCounted("createKick", statementFactory::getCreateKickStatement, kickRecord);
     }
 
     public Collection<MuteRecord> getPlayerMutes(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerMutesStatement(c, playerUUID, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrievePlayerMutes", playerUUID, c -> statementFactory.getRetrievePlayerMutesStatement(c, playerUUID, lookupOptions), recordLoader::loadMuteRecord);
     }
 
     public Collection<MuteRecord> getPlayerMutesByStatus(@NotNull UUID playerUUID, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerMutesByStatusStatement(c, playerUUID, status, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrievePlayerMutesByStatus", playerUUID, c -> statementFactory.getRetrievePlayerMutesByStatusStatement(c, playerUUID, status, lookupOptions), recordLoader::loadMuteRecord);
     }
 
     public Collection<MuteRecord> getIPMutes(@NotNull String ipAddress, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveIPMutesStatement(c, ipAddress, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrieveIPMutes", null, c -> statementFactory.getRetrieveIPMutesStatement(c, ipAddress, lookupOptions), recordLoader::loadMuteRecord);
     }
 
     public Collection<MuteRecord> getIPMutesByStatus(@NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveIPMutesByStatusStatement(c, ipAddress, status, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrieveIPMutesByStatus", null, c -> statementFactory.getRetrieveIPMutesByStatusStatement(c, ipAddress, status, lookupOptions), recordLoader::loadMuteRecord);
     }
 
     public Collection<MuteRecord> getPlayerMutesOrIPMutes(@NotNull UUID playerUUID, @NotNull String ipAddress, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerMutesOrIPMutesStatement(c, playerUUID, ipAddress, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrievePlayerMutesOrIPMutes", playerUUID, c -> statementFactory.getRetrievePlayerMutesOrIPMutesStatement(c, playerUUID, ipAddress, lookupOptions), recordLoader::loadMuteRecord);
     }
 
     public Collection<MuteRecord> getPlayerMutesOrIPMutesByStatus(@NotNull UUID playerUUID, @NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrievePlayerMutesOrIPMutesByStatusStatement(c, playerUUID, ipAddress, status, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrievePlayerMutesOrIPMutesByStatus", playerUUID, c -> statementFactory.getRetrievePlayerMutesOrIPMutesByStatusStatement(c, playerUUID, ipAddress, status, lookupOptions), recordLoader::loadMuteRecord);
     }
 
-    public void insertMute(@NotNull MuteRecord muteRecord) {
-        insertOrUpdate(statementFactory::getCreateMuteStatement, muteRecord);
+    public boolean insertMute(@NotNull MuteRecord muteRecord) {
+        return insertCounted("createMute", statementFactory::getCreateMuteStatement, muteRecord);
     }
 
     public boolean updateMute(@NotNull MutableMuteRecord muteRecord) {
@@ -229,119 +345,1088 @@ public final class DatabaseController {
     }
 
     public void updateOrInsertMute(@NotNull MutableMuteRecord muteRecord) {
-        insertOrUpdate(statementFactory::getUpdatePlayerMuteStatement, muteRecord);
+        insertOrUpdate("updatePlayerMute", statementFactory::getUpdatePlayerMuteStatement, muteRecord);
     }
 
     public Collection<BanRecord> getStaffBans(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveStaffBansStatement(c, staffUUID, lookupOptions), RecordLoader::loadBanRecord);
+        return collectionResponse("retrieveStaffBans", staffUUID, c -> statementFactory.getRetrieveStaffBansStatement(c, staffUUID, lookupOptions), recordLoader::loadBanRecord);
     }
 
     public Collection<CommentRecord> getStaffComments(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveStaffCommentsStatement(c, staffUUID, lookupOptions), RecordLoader::loadCommentRecord);
+        return collectionResponse("retrieveStaffComments", staffUUID, c -> statementFactory.getRetrieveStaffCommentsStatement(c, staffUUID, lookupOptions), recordLoader::loadCommentRecord);
     }
 
     public Collection<KickRecord> getStaffKicks(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveStaffKicksStatement(c, staffUUID, lookupOptions), RecordLoader::loadKickRecord);
+        return collectionResponse("retrieveStaffKicks", staffUUID, c -> statementFactory.getRetrieveStaffKicksStatement(c, staffUUID, lookupOptions), recordLoader::loadKickRecord);
     }
 
     public Collection<MuteRecord> getStaffMutes(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
-        return collectionResponse(c -> statementFactory.getRetrieveStaffMutesStatement(c, staffUUID, lookupOptions), RecordLoader::loadMuteRecord);
+        return collectionResponse("retrieveStaffMutes", staffUUID, c -> statementFactory.getRetrieveStaffMutesStatement(c, staffUUID, lookupOptions), recordLoader::loadMuteRecord);
+    }
+
+    public Stream<BanRecord> streamStaffBans(@NotNull UUID staffUUID) {
+        return streamResponse("streamStaffBans", staffUUID, c -> statementFactory.getStreamStaffBansStatement(c, staffUUID), recordLoader::loadBanRecord);
+    }
+
+    public Stream<CommentRecord> streamStaffComments(@NotNull UUID staffUUID) {
+        return streamResponse("streamStaffComments", staffUUID, c -> statementFactory.getStreamStaffCommentsStatement(c, staffUUID), recordLoader::loadCommentRecord);
+    }
+
+    public Stream<KickRecord> streamStaffKicks(@NotNull UUID staffUUID) {
+        return streamResponse("streamStaffKicks", staffUUID, c -> statementFactory.getStreamStaffKicksStatement(c, staffUUID), recordLoader::loadKickRecord);
+    }
+
+    public Stream<MuteRecord> streamStaffMutes(@NotNull UUID staffUUID) {
+        return streamResponse("streamStaffMutes", staffUUID, c -> statementFactory.getStreamStaffMutesStatement(c, staffUUID), recordLoader::loadMuteRecord);
+    }
+
+    public Stream<BanRecord> streamBans(@NotNull LocalDateTime from, @NotNull LocalDateTime to) {
+        return streamResponse("streamBans", null, c -> statementFactory.getStreamBansStatement(c, from, to), recordLoader::loadBanRecord);
+    }
+
+    public Stream<CommentRecord> streamComments(@NotNull LocalDateTime from, @NotNull LocalDateTime to) {
+        return streamResponse("streamComments", null, c -> statementFactory.getStreamCommentsStatement(c, from, to), recordLoader::loadCommentRecord);
+    }
+
+    public Stream<KickRecord> streamKicks(@NotNull LocalDateTime from, @NotNull LocalDateTime to) {
+        return streamResponse("streamKicks", null, c -> statementFactory.getStreamKicksStatement(c, from, to), recordLoader::loadKickRecord);
+    }
+
+    public Stream<MuteRecord> streamMutes(@NotNull LocalDateTime from, @NotNull LocalDateTime to) {
+        return streamResponse("streamMutes", null, c -> statementFactory.getStreamMutesStatement(c, from, to), recordLoader::loadMuteRecord);
+    }
+
+    /**
+     * Streams every player, for backups. Like the other streams, a failure part way through is thrown from the stream,
+     * so that missing rows are not mistaken for the end of the table.
+     * @return the players, which must be closed
+     */
+    public Stream<PlayerRecord> streamAllPlayers() {
+        return streamResponse("streamAllPlayers", null, statementFactory::getStreamAllPlayersStatement, recordLoader::loadPlayerRecord);
+    }
+
+    public Stream<BanRecord> streamAllBans() {
+        return streamResponse("streamAllBans", null, statementFactory::getStreamAllBansStatement, recordLoader::loadBanRecord);
+    }
+
+    public Stream<CommentRecord> streamAllComments() {
+        return streamResponse("streamAllComments", null, statementFactory::getStreamAllCommentsStatement, recordLoader::loadCommentRecord);
+    }
+
+    public Stream<KickRecord> streamAllKicks() {
+        return streamResponse("streamAllKicks", null, statementFactory::getStreamAllKicksStatement, recordLoader::loadKickRecord);
+    }
+
+    public Stream<MuteRecord> streamAllMutes() {
+        return streamResponse("streamAllMutes", null, statementFactory::getStreamAllMutesStatement, recordLoader::loadMuteRecord);
+    }
+
+    /**
+     * Streams every active ban, for rebuilding the in-memory punishment lookups.
+     * @return the active bans, which must be closed
+     */
+    public Stream<BanRecord> streamActiveBans() {
+        return streamResponse("streamActiveBans", null, statementFactory::getStreamActiveBansStatement, recordLoader::loadBanRecord);
+    }
+
+    public Stream<MuteRecord> streamActiveMutes() {
+        return streamResponse("streamActiveMutes", null, statementFactory::getStreamActiveMutesStatement, recordLoader::loadMuteRecord);
+    }
+
+    /**
+     * Gets all of a player's record counts, read from the maintained counters. Players without counters, such as
+     * those who have never joined, are counted from the record tables instead.
+     * @param playerUUID the UUID of the player
+     * @return the record counts, or null if the database could not be reached
+     */
+    public @Nullable RecordCounts getRecordCounts(@NotNull UUID playerUUID) {
+        RecordCounts counts = singletonResponse("retrieveRecordCounts", playerUUID, c -> statementFactory.getRetrieveRecordCountsStatement(c, playerUUID), recordLoader::loadRecordCounts);
+        if (counts == null) {
+            counts = singletonResponse("countRecords", playerUUID, c -> statementFactory.getCountRecordsStatement(c, playerUUID), recordLoader::loadRecordCounts);
+        }
+        return counts;
+    }
+
+    /**
+     * Recounts every player's records from the record tables, replacing the maintained counters.
+     * @return whether the counters were rebuilt
+     */
+    public boolean rebuildRecordCounts() {
+        return inTransaction("rebuildRecordCounts", connection -> {
+            try (PreparedStatement statement = statementFactory.getClearRecordCountsStatement(connection)) {
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = statementFactory.getRebuildRecordCountsStatement(connection)) {
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Gets how far an import source has been read.
+     * @param source the import source name
+     * @return the checkpoint, or null if the source has not been imported or the database could not be reached
+     */
+    public @Nullable ImportCheckpoint getImportCheckpoint(@NotNull String source) {
+        // a resumed import must see the checkpoint it last wrote, which a lagging replica may not have yet
+        return singletonResponse("retrieveImportCheckpoint", true, null, c -> statementFactory.getRetrieveImportCheckpointStatement(c, source),
+                result -> new ImportCheckpoint(result.getLong(1), result.getLong(2)));
+    }
+
+    /**
+     * Inserts imported records and moves the source checkpoint in a single transaction, using one JDBC batch per
+     * table. Players that the records refer to are created if they don't exist yet. Record counts are not updated, so
+     * they should be rebuilt once the import is complete.
+     * @param source the import source name
+     * @param records the records to insert
+     * @param checkpoint the checkpoint to store for the source
+     * @return whether the records were inserted
+     */
+    public boolean importRecords(@NotNull String source, @NotNull List<ImportedRecord> records, @NotNull ImportCheckpoint checkpoint) {
+        return inTransaction("importRecords", connection -> {
+            insertImported(connection, records);
+
+            try (PreparedStatement statement = statementFactory.getDeleteImportCheckpointStatement(connection, source)) {
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = statementFactory.getCreateImportCheckpointStatement(connection, source, checkpoint.position(), checkpoint.imported())) {
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Inserts records restored from a backup in a single transaction, the same way as imported records. Record ids
+     * are assigned by the database.
+     * @param records the records to insert
+     * @return whether the records were inserted
+     */
+    public boolean restoreRecords(@NotNull List<ImportedRecord> records) {
+        return inTransaction("restoreRecords", connection -> insertImported(connection, records));
+    }
+
+    /**
+     * Inserts players restored from a backup in a single transaction, keeping every column.
+     * @param players the players to insert
+     * @return whether the players were inserted
+     */
+    public boolean restorePlayers(@NotNull List<PlayerRecord> players) {
+        return inTransaction("restorePlayers", connection -> {
+            try (PreparedStatement statement = statementFactory.getRestorePlayerStatement(connection)) {
+                for (PlayerRecord player : players) {
+                    statementFactory.addRestorePlayerBatch(statement, player);
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Counts the players in the database.
+     * @return the number of players, or -1 if the database could not be reached
+     */
+    public int countPlayers() {
+        Integer count = singletonResponse("countPlayers", null, statementFactory::getCountPlayersStatement, result -> result.getInt(1));
+        return count == null ? -1 : count;
+    }
+
+    /**
+     * Marks active bans whose unban date has passed as expired, in a single transaction.
+     * @param now the date to expire bans at
+     * @param limit the most bans to expire
+     * @return the bans that were expired, as they were before expiring, or null if they could not be expired
+     */
+    public @Nullable List<BanRecord> expireBans(@NotNull LocalDateTime now, int limit) {
+        return expire("expireBans", c -> statementFactory.getRetrieveExpiredBansStatement(c, now, limit),
+                statementFactory::getExpireBanStatement, recordLoader::loadBanRecord);
+    }
+
+    /**
+     * Marks active mutes whose unmute date has passed as expired, in a single transaction.
+     * @param now the date to expire mutes at
+     * @param limit the most mutes to expire
+     * @return the mutes that were expired, as they were before expiring, or null if they could not be expired
+     */
+    public @Nullable List<MuteRecord> expireMutes(@NotNull LocalDateTime now, int limit) {
+        return expire("expireMutes", c -> statementFactory.getRetrieveExpiredMutesStatement(c, now, limit),
+                statementFactory::getExpireMuteStatement, recordLoader::loadMuteRecord);
+    }
+
+    /**
+     * Marks a single active ban as expired.
+     * @param id the ID of the ban
+     * @return true if the ban was active and is now expired, false otherwise
+     */
+    public boolean expireBan(int id) {
+        return expireOne("expireBan", statementFactory::getExpireBanStatement, id);
+    }
+
+    /**
+     * Marks a single active mute as expired.
+     * @param id the ID of the mute
+     * @return true if the mute was active and is now expired, false otherwise
+     */
+    public boolean expireMute(int id) {
+        return expireOne("expireMute", statementFactory::getExpireMuteStatement, id);
+    }
+
+    private <T extends LiveRecord<Integer>> @Nullable List<T> expire(String kind, SQLFunction<Connection, PreparedStatement> selectFunc,
+                                                                      SQLFunction<Connection, PreparedStatement> expireFunc, SQLFunction<ResultSet, T> applyerFunc) {
+        List<T> expired = new ArrayList<>();
+        boolean success = inTransaction(kind, connection -> {
+            List<T> records = new ArrayList<>();
+            try (PreparedStatement statement = selectFunc.apply(connection);
+                 ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    records.add(applyerFunc.apply(result));
+                }
+            }
+            if (records.isEmpty()) {
+                return;
+            }
+
+            try (PreparedStatement statement = expireFunc.apply(connection)) {
+                for (T record : records) {
+                    statementFactory.addRecordIdBatch(statement, record.getId());
+                }
+                int[] updated = statement.executeBatch();
+                for (int i = 0; i < updated.length; i++) {
+                    // drivers that rewrite batches report success without a row count
+                    if (updated[i] != 0) {
+                        expired.add(records.get(i));
+                    }
+                }
+            }
+        });
+        return success ? expired : null;
+    }
+
+    private boolean expireOne(String kind, SQLFunction<Connection, PreparedStatement> expireFunc, int id) {
+        boolean[] expired = new boolean[1];
+        boolean success = inTransaction(kind, connection -> {
+            try (PreparedStatement statement = expireFunc.apply(connection)) {
+                statementFactory.addRecordIdBatch(statement, id);
+                int[] updated = statement.executeBatch();
+                expired[0] = updated.length == 1 && updated[0] != 0;
+            }
+        });
+        return success && expired[0];
+    }
+
+    /**
+     * Moves the oldest ended bans issued before a date into the archive table, in a single transaction.
+     * @param before the date that archived bans were issued before
+     * @param limit the most bans to move
+     * @return the number of bans moved, or -1 if they could not be moved
+     */
+    public int archiveEndedBans(@NotNull LocalDateTime before, int limit) {
+        return archiveEnded("archiveBans", c -> statementFactory.getRetrieveArchivableBansStatement(c, before, limit),
+                statementFactory::getArchiveBanStatement, statementFactory::getDeleteBanStatement,
+                () -> statementFactory.setBanArchiveHorizon(latest(statementFactory.getBanArchiveHorizon(), before)));
+    }
+
+    /**
+     * Moves the oldest ended mutes issued before a date into the archive table, in a single transaction.
+     * @param before the date that archived mutes were issued before
+     * @param limit the most mutes to move
+     * @return the number of mutes moved, or -1 if they could not be moved
+     */
+    public int archiveEndedMutes(@NotNull LocalDateTime before, int limit) {
+        return archiveEnded("archiveMutes", c -> statementFactory.getRetrieveArchivableMutesStatement(c, before, limit),
+                statementFactory::getArchiveMuteStatement, statementFactory::getDeleteMuteStatement,
+                () -> statementFactory.setMuteArchiveHorizon(latest(statementFactory.getMuteArchiveHorizon(), before)));
+    }
+
+    private int archiveEnded(String kind, SQLFunction<Connection, PreparedStatement> selectFunc, SQLFunction<Connection, PreparedStatement> archiveFunc,
+                             SQLFunction<Connection, PreparedStatement> deleteFunc, Runnable extendHorizon) {
+        int[] moved = new int[1];
+        boolean success = inTransaction(kind, connection -> {
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement statement = selectFunc.apply(connection);
+                 ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    ids.add(result.getInt(1));
+                }
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            // lookups start reading the archive before any record leaves the hot table
+            extendHorizon.run();
+            try (PreparedStatement archive = archiveFunc.apply(connection);
+                 PreparedStatement delete = deleteFunc.apply(connection)) {
+                for (int id : ids) {
+                    statementFactory.addRecordIdBatch(archive, id);
+                    statementFactory.addRecordIdBatch(delete, id);
+                }
+                archive.executeBatch();
+                delete.executeBatch();
+            }
+            moved[0] = ids.size();
+        });
+        return success ? moved[0] : -1;
+    }
+
+    /**
+     * Reads how far back the archive tables reach, so lookups on this server read the archive once any server sharing
+     * the database has archived records. A horizon never moves earlier than one this server already knows of.
+     */
+    public void refreshArchiveHorizons() {
+        try (Connection connection = getConnection()) {
+            loadArchiveHorizons(connection);
+        } catch (SQLException e) {
+            LOGGER.error("Failed to read archive horizons", e);
+        }
+    }
+
+    private void loadArchiveHorizons(Connection connection) throws SQLException {
+        try (PreparedStatement statement = statementFactory.getRetrieveArchiveHorizonsStatement(connection);
+             ResultSet result = statement.executeQuery()) {
+            if (result.next()) {
+                Timestamp bans = result.getTimestamp(1);
+                Timestamp mutes = result.getTimestamp(2);
+                if (bans != null) {
+                    statementFactory.setBanArchiveHorizon(latest(statementFactory.getBanArchiveHorizon(), bans.toLocalDateTime()));
+                }
+                if (mutes != null) {
+                    statementFactory.setMuteArchiveHorizon(latest(statementFactory.getMuteArchiveHorizon(), mutes.toLocalDateTime()));
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime latest(@Nullable LocalDateTime current, LocalDateTime horizon) {
+        return current == null || current.isBefore(horizon) ? horizon : current;
+    }
+
+    private void insertImported(Connection connection, List<ImportedRecord> records) throws SQLException {
+        Map<UUID, String> names = new LinkedHashMap<>();
+        Map<UUID, LocalDateTime> firstSeen = new HashMap<>();
+        for (ImportedRecord imported : records) {
+            AdminRecord record = imported.record();
+            addImportedPlayer(names, firstSeen, record.getPlayer(), imported.playerName(), record.getDateAdded());
+            addImportedPlayer(names, firstSeen, record.getAuthor(), imported.staffName(), record.getDateAdded());
+            if (record instanceof ScopedRecord scopedRecord) {
+                addImportedPlayer(names, firstSeen, scopedRecord.getTerminatingStaff(), null, record.getDateAdded());
+            }
+        }
+        try (PreparedStatement statement = statementFactory.getImportPlayerStatement(connection)) {
+            for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                statementFactory.addImportPlayerBatch(statement, entry.getKey(), entry.getValue(), firstSeen.get(entry.getKey()));
+            }
+            statement.executeBatch();
+        }
+
+        importBatch(connection, records, BanRecord.class, statementFactory::getImportBanStatement, statementFactory::addImportBanBatch);
+        importBatch(connection, records, MuteRecord.class, statementFactory::getImportMuteStatement, statementFactory::addImportMuteBatch);
+        importBatch(connection, records, KickRecord.class, statementFactory::getImportKickStatement, statementFactory::addCreateKickBatch);
+        importBatch(connection, records, CommentRecord.class, statementFactory::getImportCommentStatement, statementFactory::addCreateCommentBatch);
+    }
+
+    private static void addImportedPlayer(Map<UUID, String> names, Map<UUID, LocalDateTime> firstSeen, @Nullable UUID player, @Nullable String name, LocalDateTime date) {
+        if (player == null) {
+            return;
+        }
+        if (name == null || name.isBlank()) {
+            name = names.getOrDefault(player, "#" + player.toString().substring(0, 8));
+        }
+        names.put(player, name.length() > IMPORTED_NAME_LENGTH ? name.substring(0, IMPORTED_NAME_LENGTH) : name);
+        firstSeen.merge(player, date, (a, b) -> a.isBefore(b) ? a : b);
+    }
+
+    private static <T> void importBatch(Connection connection, List<ImportedRecord> records, Class<T> type,
+                                        SQLFunction<Connection, PreparedStatement> statementFunc, SQLBiConsumer<PreparedStatement, T> batchFunc) throws SQLException {
+        try (PreparedStatement statement = statementFunc.apply(connection)) {
+            boolean batched = false;
+            for (ImportedRecord imported : records) {
+                if (type.isInstance(imported.record())) {
+                    batchFunc.accept(statement, type.cast(imported.record()));
+                    batched = true;
+                }
+            }
+            if (batched) {
+                statement.executeBatch();
+            }
+        }
     }
 
     public int countPlayerBans(@NotNull UUID playerUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountPlayerBansStatement(c, playerUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(playerUUID);
+        return counts == null ? 0 : counts.bans();
     }
 
     public int countPlayerComments(@NotNull UUID playerUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountPlayerCommentsStatement(c, playerUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(playerUUID);
+        return counts == null ? 0 : counts.comments();
     }
 
     public int countPlayerKicks(@NotNull UUID playerUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountPlayerKicksStatement(c, playerUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(playerUUID);
+        return counts == null ? 0 : counts.kicks();
     }
 
     public int countPlayerMutes(@NotNull UUID playerUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountPlayerMutesStatement(c, playerUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(playerUUID);
+        return counts == null ? 0 : counts.mutes();
     }
 
     public int countStaffBans(@NotNull UUID staffUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountStaffBansStatement(c, staffUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(staffUUID);
+        return counts == null ? 0 : counts.issuedBans();
     }
 
     public int countStaffComments(@NotNull UUID staffUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountStaffCommentsStatement(c, staffUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(staffUUID);
+        return counts == null ? 0 : counts.issuedComments();
     }
 
     public int countStaffKicks(@NotNull UUID staffUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountStaffKicksStatement(c, staffUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(staffUUID);
+        return counts == null ? 0 : counts.issuedKicks();
     }
 
     public int countStaffMutes(@NotNull UUID staffUUID) {
-        Integer i = singletonResponse(c -> statementFactory.getCountStaffMutesStatement(c, staffUUID), RecordLoader::getCountColumn);
-        return i == null ? 0 : i;
+        RecordCounts counts = getRecordCounts(staffUUID);
+        return counts == null ? 0 : counts.issuedMutes();
     }
 
-    private <T> int insertOrUpdate(SQLBiFunction<Connection, T, PreparedStatement> statementFunc, T entity) {
-        try (Connection connection = getConnection()) {
-            try (PreparedStatement statement = statementFunc.apply(connection, entity)) {
-                return statement.executeUpdate();
+    public @NotNull CompletableFuture<PlayerRecord> getPlayerRecordAsync(@NotNull UUID playerUUID) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getPlayerRecord(playerUUID));
+    }
+
+    public @NotNull CompletableFuture<PlayerDossier> getPlayerDossierAsync(@NotNull UUID playerUUID, int recordLimit) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerDossier(playerUUID, recordLimit));
+    }
+
+    public @NotNull CompletableFuture<Void> insertPlayerRecordAsync(@NotNull PlayerRecord playerRecord) {
+        return submit(QueryPriority.WRITE, () -> {
+            insertPlayerRecord(playerRecord);
+            return null;
+        });
+    }
+
+    public @NotNull CompletableFuture<Boolean> updatePlayerRecordAsync(@NotNull MutablePlayerRecord playerRecord) {
+        return submit(QueryPriority.WRITE, () -> updatePlayerRecord(playerRecord));
+    }
+
+    public @NotNull CompletableFuture<Boolean> updateOrInsertPlayerRecordAsync(@NotNull MutablePlayerRecord playerRecord) {
+        return submit(QueryPriority.WRITE, () -> updateOrInsertPlayerRecord(playerRecord));
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getPlayerBansAsync(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerBans(playerUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getPlayerBansByStatusAsync(@NotNull UUID playerUUID, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getPlayerBansByStatus(playerUUID, status, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getIPBansAsync(@NotNull String ipAddress, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getIPBans(ipAddress, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getIPBansByStatusAsync(@NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getIPBansByStatus(ipAddress, status, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getPlayerBansOrIPBansAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerBansOrIPBans(playerUUID, ipAddress, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getPlayerBansOrIPBansByStatusAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getPlayerBansOrIPBansByStatus(playerUUID, ipAddress, status, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Boolean> insertBanAsync(@NotNull BanRecord banRecord) {
+        return submit(QueryPriority.WRITE, () -> insertBan(banRecord));
+    }
+
+    public @NotNull CompletableFuture<Boolean> updateBanAsync(@NotNull MutableBanRecord banRecord) {
+        return submit(QueryPriority.WRITE, () -> updateBan(banRecord));
+    }
+
+    public @NotNull CompletableFuture<Void> updateOrInsertBanAsync(@NotNull MutableBanRecord banRecord) {
+        return submit(QueryPriority.WRITE, () -> {
+            updateOrInsertBan(banRecord);
+            return null;
+        });
+    }
+
+    public @NotNull CompletableFuture<Collection<CommentRecord>> getPlayerCommentsAsync(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerComments(playerUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<CommentRecord>> getPlayerCommentsByTypeAsync(@NotNull UUID playerUUID, boolean isWarning, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerCommentsByType(playerUUID, isWarning, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Boolean> insertCommentAsync(@NotNull CommentRecord commentRecord) {
+        return submit(QueryPriority.WRITE, () -> insertComment(commentRecord));
+    }
+
+    public @NotNull CompletableFuture<Collection<KickRecord>> getPlayerKicksAsync(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerKicks(playerUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Boolean> insertKickAsync(@NotNull KickRecord kickRecord) {
+        return submit(QueryPriority.WRITE, () -> insertKick(kickRecord));
+    }
+
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getPlayerMutesAsync(@NotNull UUID playerUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerMutes(playerUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getPlayerMutesByStatusAsync(@NotNull UUID playerUUID, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getPlayerMutesByStatus(playerUUID, status, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getIPMutesAsync(@NotNull String ipAddress, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getIPMutes(ipAddress, lookupOptions));
+    }
 
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getIPMutesByStatusAsync(@NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getIPMutesByStatus(ipAddress, status, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getPlayerMutesOrIPMutesAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getPlayerMutesOrIPMutes(playerUUID, ipAddress, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getPlayerMutesOrIPMutesByStatusAsync(@NotNull UUID playerUUID, @NotNull String ipAddress, @NotNull PunishmentStatus status, LookupOptions lookupOptions) {
+        return submit(QueryPriority.ENFORCEMENT, () -> getPlayerMutesOrIPMutesByStatus(playerUUID, ipAddress, status, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Boolean> insertMuteAsync(@NotNull MuteRecord muteRecord) {
+        return submit(QueryPriority.WRITE, () -> insertMute(muteRecord));
+    }
+
+    public @NotNull CompletableFuture<Boolean> updateMuteAsync(@NotNull MutableMuteRecord muteRecord) {
+        return submit(QueryPriority.WRITE, () -> updateMute(muteRecord));
+    }
+
+    public @NotNull CompletableFuture<Void> updateOrInsertMuteAsync(@NotNull MutableMuteRecord muteRecord) {
+        return submit(QueryPriority.WRITE, () -> {
+            updateOrInsertMute(muteRecord);
+            return null;
+        });
+    }
+
+    public @NotNull CompletableFuture<Collection<BanRecord>> getStaffBansAsync(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getStaffBans(staffUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<CommentRecord>> getStaffCommentsAsync(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getStaffComments(staffUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<KickRecord>> getStaffKicksAsync(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getStaffKicks(staffUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<Collection<MuteRecord>> getStaffMutesAsync(@NotNull UUID staffUUID, LookupOptions lookupOptions) {
+        return submit(QueryPriority.LOOKUP, () -> getStaffMutes(staffUUID, lookupOptions));
+    }
+
+    public @NotNull CompletableFuture<RecordCounts> getRecordCountsAsync(@NotNull UUID playerUUID) {
+        return submit(QueryPriority.STATISTICS, () -> getRecordCounts(playerUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countPlayerBansAsync(@NotNull UUID playerUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countPlayerBans(playerUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countPlayerCommentsAsync(@NotNull UUID playerUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countPlayerComments(playerUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countPlayerKicksAsync(@NotNull UUID playerUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countPlayerKicks(playerUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countPlayerMutesAsync(@NotNull UUID playerUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countPlayerMutes(playerUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countStaffBansAsync(@NotNull UUID staffUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countStaffBans(staffUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countStaffCommentsAsync(@NotNull UUID staffUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countStaffComments(staffUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countStaffKicksAsync(@NotNull UUID staffUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countStaffKicks(staffUUID));
+    }
+
+    public @NotNull CompletableFuture<Integer> countStaffMutesAsync(@NotNull UUID staffUUID) {
+        return submit(QueryPriority.STATISTICS, () -> countStaffMutes(staffUUID));
+    }
+
+    public boolean insertRecord(@NotNull LiveRecord<?> record) {
+        if (record instanceof BanRecord banRecord) {
+            return insertBan(banRecord);
+        } else if (record instanceof MuteRecord muteRecord) {
+            return insertMute(muteRecord);
+        } else if (record instanceof KickRecord kickRecord) {
+            return insertKick(kickRecord);
+        } else if (record instanceof CommentRecord commentRecord) {
+            return insertComment(commentRecord);
+        }
+        throw new IllegalArgumentException("Unsupported record type " + record.getClass().getName());
+    }
+
+    /**
+     * Inserts all records in a single transaction, using one JDBC batch per table. If the batch fails, the
+     * transaction is rolled back and the records are inserted one at a time so that a single bad record does not
+     * fail the others.
+     * @param records the records to insert
+     * @return whether each record, by index, was inserted
+     */
+    public boolean[] insertBatch(@NotNull List<? extends LiveRecord<?>> records) {
+        boolean[] results = new boolean[records.size()];
+        if (records.isEmpty()) {
+            return results;
+        }
+        try {
+            return insertBatch(records, results);
+        } finally {
+            records.forEach(this::markWritten);
+        }
+    }
+
+    private boolean[] insertBatch(List<? extends LiveRecord<?>> records, boolean[] results) {
+        if (writer != null && !writer.isWriterThread()) {
+            CompletableFuture<Boolean> batched = writer.submit("insertBatch", connection -> insertBatch(connection, records, results));
+            if (batched != null) {
+                if (batched.join()) {
+                    return results;
+                }
+                return insertIndividually(records, results);
+            }
+        }
+
+        StatementMetrics statementMetrics = metrics.getStatement("insertBatch");
+        long start = System.nanoTime();
+        try (Connection connection = getConnection()) {
+            long acquired = System.nanoTime();
+            statementMetrics.recordAcquire(acquired - start);
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+                insertBatch(connection, records, results);
+                connection.commit();
+                statementMetrics.recordExecute(System.nanoTime() - acquired);
+                return results;
             } catch (SQLException e) {
+                statementMetrics.recordError();
+                LOGGER.warn("Batch insert of " + records.size() + " records failed, retrying individually", e);
+                connection.rollback();
+                Arrays.fill(results, false);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            statementMetrics.recordError();
+            LOGGER.error("Failed to connect to database", e);
+            return results;
+        }
+
+        return insertIndividually(records, results);
+    }
+
+    private void insertBatch(Connection connection, List<? extends LiveRecord<?>> records, boolean[] results) throws SQLException {
+        executeBatch(connection, records, results, BanRecord.class, statementFactory::getBatchCreateBanStatement, statementFactory::addCreateBanBatch,
+                statementFactory::getCreateBanStatement);
+        executeBatch(connection, records, results, MuteRecord.class, statementFactory::getBatchCreateMuteStatement, statementFactory::addCreateMuteBatch,
+                statementFactory::getCreateMuteStatement);
+        executeBatch(connection, records, results, KickRecord.class, statementFactory::getBatchCreateKickStatement, statementFactory::addCreateKickBatch,
+                statementFactory::getCreateKickStatement);
+        executeBatch(connection, records, results, CommentRecord.class, statementFactory::getBatchCreateCommentStatement, statementFactory::addCreateCommentBatch,
+                statementFactory::getCreateCommentStatement);
+
+        RecordCountDelta delta = new RecordCountDelta();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i]) {
+                delta.add(records.get(i));
+            }
+        }
+        delta.apply(connection, statementFactory);
+    }
+
+    private boolean[] insertIndividually(List<? extends LiveRecord<?>> records, boolean[] results) {
+        Arrays.fill(results, false);
+        for (int i = 0; i < results.length; i++) {
+            try {
+                results[i] = insertRecord(records.get(i));
+            } catch (RuntimeException e) {
                 LOGGER.error("Exception while trying to insert record", e);
             }
+        }
+        return results;
+    }
+
+    private <T> void executeBatch(Connection connection, List<? extends LiveRecord<?>> records, boolean[] results, Class<T> type,
+                                  SQLFunction<Connection, PreparedStatement> statementFunc, SQLBiConsumer<PreparedStatement, T> batchFunc,
+                                  SQLBiFunction<Connection, T, PreparedStatement> insertFunc) throws SQLException {
+        int[] indices = new int[records.size()];
+        int count = 0;
+        for (int i = 0; i < records.size(); i++) {
+            if (type.isInstance(records.get(i))) {
+                indices[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        if (!statementFactory.supportsBatchGeneratedKeys()) {
+            // keys can't be matched to batched rows, so run each insert on its own within the transaction
+            for (int i = 0; i < count; i++) {
+                T record = type.cast(records.get(indices[i]));
+                try (PreparedStatement statement = insertFunc.apply(connection, record)) {
+                    results[indices[i]] = statement.executeUpdate() > 0;
+                    assignGeneratedKeys(statement, List.of(record));
+                }
+            }
+            return;
+        }
+
+        try (PreparedStatement statement = statementFunc.apply(connection)) {
+            for (int i = 0; i < count; i++) {
+                batchFunc.accept(statement, type.cast(records.get(indices[i])));
+            }
+
+            int[] updateCounts = statement.executeBatch();
+            List<LiveRecord<?>> inserted = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                // drivers may report fewer counts than statements, or SUCCESS_NO_INFO when rewriting batches
+                results[indices[i]] = i >= updateCounts.length || updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO;
+                if (results[indices[i]]) {
+                    inserted.add(records.get(indices[i]));
+                }
+            }
+            assignGeneratedKeys(statement, inserted);
+        }
+    }
+
+    private void assignGeneratedKeys(Statement statement, List<?> inserted) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            for (Object record : inserted) {
+                if (!keys.next()) {
+                    break;
+                }
+                if (record instanceof GeneratedKeyRecord generatedKeyRecord) {
+                    generatedKeyRecord.assignGeneratedId(keys.getInt(1));
+                }
+            }
+        }
+    }
+
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull QueryPriority priority, @NotNull Supplier<T> query) {
+        return getExecutor().submit(priority, query);
+    }
+
+    public @NotNull DatabaseExecutor getExecutor() {
+        DatabaseExecutor current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    current = executor = new DatabaseExecutor(EXECUTOR_NAME, EXECUTOR_THREADS, EXECUTOR_QUEUE_CAPACITY);
+                }
+            }
+        }
+        return current;
+    }
+
+    private <T> int insertOrUpdate(String kind, SQLBiFunction<Connection, T, PreparedStatement> statementFunc, T entity) {
+        try {
+            if (writer != null && !writer.isWriterThread()) {
+                int[] updated = { -1 };
+                CompletableFuture<Boolean> written = writer.submit(kind, connection -> {
+                    try (PreparedStatement statement = statementFunc.apply(connection, entity)) {
+                        updated[0] = statement.executeUpdate();
+                    }
+                });
+                if (written != null) {
+                    return written.join() ? updated[0] : -1;
+                }
+            }
+            StatementMetrics statementMetrics = metrics.getStatement(kind);
+            long start = System.nanoTime();
+            try (Connection connection = getConnection()) {
+                long acquired = System.nanoTime();
+                statementMetrics.recordAcquire(acquired - start);
+                try (PreparedStatement statement = statementFunc.apply(connection, entity)) {
+                    int updated = statement.executeUpdate();
+                    statementMetrics.recordExecute(System.nanoTime() - acquired);
+                    return updated;
+
+                } catch (SQLException e) {
+                    statementMetrics.recordError();
+                    LOGGER.error("Exception while trying to insert record", e);
+                }
+            } catch (SQLException e) {
+                statementMetrics.recordError();
+                LOGGER.error("Failed to connect to database", e);
+            }
+            return -1;
+        } finally {
+            markWritten(entity);
+        }
+    }
+
+    private <T extends PlayerRecord> void insertPlayer(String kind, SQLBiFunction<Connection, T, PreparedStatement> statementFunc, T playerRecord) {
+        try {
+            inTransaction(kind, connection -> {
+                try (PreparedStatement statement = statementFunc.apply(connection, playerRecord)) {
+                    statement.executeUpdate();
+                }
+                try (PreparedStatement statement = statementFactory.getCreateRecordCountsStatement(connection, playerRecord.getId())) {
+                    statement.executeUpdate();
+                }
+            });
+        } finally {
+            markWritten(playerRecord);
+        }
+    }
+
+    private <T extends LiveRecord<?>> boolean insertCounted(String kind, SQLBiFunction<Connection, T, PreparedStatement> statementFunc, T record) {
+        try {
+            return inTransaction(kind, connection -> {
+                try (PreparedStatement statement = statementFunc.apply(connection, record)) {
+                    if (statement.executeUpdate() <= 0) {
+                        throw new SQLException("Record was not inserted");
+                    }
+                    assignGeneratedKeys(statement, List.of(record));
+                }
+                RecordCountDelta delta = new RecordCountDelta();
+                delta.add(record);
+                delta.apply(connection, statementFactory);
+            });
+        } finally {
+            markWritten(record);
+        }
+    }
+
+    // called once a write has completed rather than when it is queued, so a write waiting on the group-commit writer
+    // doesn't use up the window before the replica could even have seen it
+    private void markWritten(Object entity) {
+        if (recentWrites == null) {
+            return;
+        }
+        if (entity instanceof PlayerRecord playerRecord) {
+            recentWrites.put(playerRecord.getId(), Boolean.TRUE);
+        } else if (entity instanceof AdminRecord adminRecord) {
+            recentWrites.put(adminRecord.getPlayer(), Boolean.TRUE);
+            if (adminRecord.getAuthor() != null) {
+                recentWrites.put(adminRecord.getAuthor(), Boolean.TRUE);
+            }
+        }
+    }
+
+    private boolean inTransaction(String kind, SQLConsumer<Connection> work) {
+        if (writer != null && !writer.isWriterThread()) {
+            CompletableFuture<Boolean> written = writer.submit(kind, work);
+            if (written != null) {
+                return written.join();
+            }
+        }
+
+        StatementMetrics statementMetrics = metrics.getStatement(kind);
+        long start = System.nanoTime();
+        try (Connection connection = getConnection()) {
+            long acquired = System.nanoTime();
+            statementMetrics.recordAcquire(acquired - start);
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+                work.accept(connection);
+                connection.commit();
+                statementMetrics.recordExecute(System.nanoTime() - acquired);
+                return true;
+            } catch (SQLException e) {
+                statementMetrics.recordError();
+                LOGGER.error("Exception while trying to write records", e);
+                connection.rollback();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
         } catch (SQLException e) {
+            statementMetrics.recordError();
             LOGGER.error("Failed to connect to database", e);
         }
-        return -1;
+        return false;
     }
 
-    private <T> @Nullable T singletonResponse(SQLFunction<Connection, PreparedStatement> statementFunc, SQLFunction<ResultSet, T> applyerFunc) {
+    /**
+     * Runs a group of writes from the writer in one transaction. Each write runs within its own savepoint, so a
+     * failing write is rolled back alone and the rest still commit together.
+     */
+    private void commitGroup(List<GroupCommitWriter.GroupedWrite> group) {
+        boolean[] results = new boolean[group.size()];
+        long start = System.nanoTime();
         try (Connection connection = getConnection()) {
+            long acquired = System.nanoTime();
+            for (GroupCommitWriter.GroupedWrite write : group) {
+                metrics.getStatement(write.kind()).recordAcquire(acquired - start);
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+                for (int i = 0; i < group.size(); i++) {
+                    GroupCommitWriter.GroupedWrite write = group.get(i);
+                    StatementMetrics statementMetrics = metrics.getStatement(write.kind());
+                    long started = System.nanoTime();
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        write.work().accept(connection);
+                        connection.releaseSavepoint(savepoint);
+                        statementMetrics.recordExecute(System.nanoTime() - started);
+                        results[i] = true;
+                    } catch (SQLException e) {
+                        statementMetrics.recordError();
+                        LOGGER.error("Exception while trying to write records", e);
+                        connection.rollback(savepoint);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                LOGGER.error("Failed to commit " + group.size() + " grouped writes", e);
+                connection.rollback();
+                Arrays.fill(results, false);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to connect to database", e);
+            Arrays.fill(results, false);
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).future().complete(results[i]);
+        }
+    }
+
+    private <T> @Nullable T singletonResponse(String kind, @Nullable UUID routingKey, SQLFunction<Connection, PreparedStatement> statementFunc, SQLFunction<ResultSet, T> applyerFunc) {
+        return singletonResponse(kind, false, routingKey, statementFunc, applyerFunc);
+    }
+
+    private <T> @Nullable T singletonResponse(String kind, boolean fromPrimary, @Nullable UUID routingKey, SQLFunction<Connection, PreparedStatement> statementFunc, SQLFunction<ResultSet, T> applyerFunc) {
+        StatementMetrics statementMetrics = metrics.getStatement(kind);
+        long start = System.nanoTime();
+        try (Connection connection = fromPrimary ? getConnection() : getReadConnection(routingKey)) {
+            long acquired = System.nanoTime();
+            statementMetrics.recordAcquire(acquired - start);
             try (PreparedStatement statement = statementFunc.apply(connection);
                  ResultSet result = statement.executeQuery()) {
 
+                long executed = System.nanoTime();
+                statementMetrics.recordExecute(executed - acquired);
                 if (result.next()) {
-                    return applyerFunc.apply(result);
+                    T value = applyerFunc.apply(result);
+                    statementMetrics.recordDecode(System.nanoTime() - executed);
+                    return value;
                 }
 
             } catch (SQLException e) {
+                statementMetrics.recordError();
                 LOGGER.error("Exception while trying to retrieve record", e);
             }
         } catch (SQLException e) {
+            statementMetrics.recordError();
             LOGGER.error("Failed to connect to database", e);
         }
         return null;
     }
 
-    private <T> @NotNull Collection<T> collectionResponse(SQLFunction<Connection, PreparedStatement> statementFunc, SQLFunction<ResultSet, T> applyerFunc) {
-        try (Connection connection = getConnection()) {
+    private <T> @NotNull Collection<T> collectionResponse(String kind, @Nullable UUID routingKey, SQLFunction<Connection, PreparedStatement> statementFunc, SQLFunction<ResultSet, T> applyerFunc) {
+        StatementMetrics statementMetrics = metrics.getStatement(kind);
+        long start = System.nanoTime();
+        try (Connection connection = getReadConnection(routingKey)) {
+            long acquired = System.nanoTime();
+            statementMetrics.recordAcquire(acquired - start);
             try (PreparedStatement statement = statementFunc.apply(connection);
                  ResultSet result = statement.executeQuery()) {
 
+                long executed = System.nanoTime();
+                statementMetrics.recordExecute(executed - acquired);
                 LinkedList<T> list = new LinkedList<>();
 
                 while (result.next()) {
                     list.add(applyerFunc.apply(result));
                 }
 
+                statementMetrics.recordDecode(System.nanoTime() - executed);
                 return list;
 
             } catch (SQLException e) {
+                statementMetrics.recordError();
                 LOGGER.error("Exception while trying to retrieve records", e);
             }
         } catch (SQLException e) {
+            statementMetrics.recordError();
             LOGGER.error("Failed to connect to database", e);
         }
         return Collections.emptySet();
     }
 
+    /**
+     * Opens a lazily decoded stream over a query. The connection stays checked out until the stream is exhausted or
+     * closed, so callers should use try-with-resources. Decode time is recorded when the stream is closed.
+     * @throws UncheckedSQLException if the query could not be run, or later from the stream if a row could not be read
+     */
+    private <T> @NotNull Stream<T> streamResponse(String kind, @Nullable UUID routingKey, SQLFunction<Connection, PreparedStatement> statementFunc, SQLFunction<ResultSet, T> applyerFunc) {
+        StatementMetrics statementMetrics = metrics.getStatement(kind);
+        Connection connection = null;
+        PreparedStatement statement = null;
+        long start = System.nanoTime();
+        try {
+            connection = getReadConnection(routingKey);
+            long acquired = System.nanoTime();
+            statementMetrics.recordAcquire(acquired - start);
+            statement = statementFunc.apply(connection);
+            ResultSet result = statement.executeQuery();
+            statementMetrics.recordExecute(System.nanoTime() - acquired);
+
+            // rows are decoded as the caller consumes them, so only the time spent inside the applyer is counted
+            long[] decodeNanos = new long[1];
+            SQLFunction<ResultSet, T> timedApplyer = row -> {
+                long decodeStart = System.nanoTime();
+                try {
+                    return applyerFunc.apply(row);
+                } finally {
+                    decodeNanos[0] += System.nanoTime() - decodeStart;
+                }
+            };
+            return ResultSetSpliterator.stream(connection, statement, result, timedApplyer)
+                    .onClose(() -> statementMetrics.recordDecode(decodeNanos[0]));
+        } catch (SQLException e) {
+            statementMetrics.recordError();
+            ResultSetSpliterator.closeQuietly(statement);
+            ResultSetSpliterator.closeQuietly(connection);
+            // an empty stream would look like a table with no rows
+            throw new UncheckedSQLException(e);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the connection and statement timings recorded since the controller was created or the
+     * statistics were last reset.
+     * @return the database statistics
+     */
+    public @NotNull DatabaseStatistics getStatistics() {
+        HikariDataSource primary = dataSource;
+        HikariDataSource read = readDataSource;
+        return metrics.snapshot(primary == null ? null : primary.getHikariPoolMXBean(), read == null ? null : read.getHikariPoolMXBean());
+    }
+
+    public void resetStatistics() {
+        metrics.reset();
+    }
+
     public void logMetadata() {
         try (Connection connection = getConnection()) {
             DatabaseMetaData meta = connection.getMetaData();
@@ -354,21 +1439,73 @@ public final class DatabaseController {
     }
 
     private Connection getConnection() throws SQLException {
-        if (isRemoteDatabase) {
-            if (dataSource == null) {
-                dataSource = new HikariDataSource(hikariConfig);
-
-                if (autoInit) {
-                    initDatabase();
-                }
+        if (hikariConfig != null) {
+            HikariDataSource source = dataSource;
+            if (source == null) {
+                source = openDataSource();
             }
-            return dataSource.getConnection();
+            return acquire(source, metrics.getPrimaryPool());
         }
 
         if (autoInit) {
             initDatabase();
         }
-        return localConfig.getConnection();
+        long start = System.nanoTime();
+        Connection connection = localConfig.getConnection();
+        metrics.getPrimaryPool().recordAcquire(System.nanoTime() - start);
+        return connection;
+    }
+
+    /**
+     * Gets a connection for reads, from the read pool if there is one. Reads about a player written to within the
+     * sticky window go to the primary instead, as a replica may not have caught up with the write yet.
+     * @param routingKey the player the read is about, or null if it is not about a single player
+     */
+    private Connection getReadConnection(@Nullable UUID routingKey) throws SQLException {
+        if (readHikariConfig == null || (routingKey != null && recentWrites != null && recentWrites.getIfPresent(routingKey) != null)) {
+            return getConnection();
+        }
+
+        HikariDataSource source = readDataSource;
+        if (source == null) {
+            source = openReadDataSource();
+        }
+        return acquire(source, metrics.getReadPool());
+    }
+
+    private static Connection acquire(HikariDataSource source, PoolMetrics poolMetrics) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Connection connection = source.getConnection();
+            poolMetrics.recordAcquire(System.nanoTime() - start);
+            return connection;
+        } catch (SQLTransientConnectionException e) {
+            // Hikari gives up with a transient exception once the connection timeout passes
+            poolMetrics.recordTimeout();
+            throw e;
+        }
+    }
+
+    private synchronized HikariDataSource openDataSource() {
+        if (dataSource == null) {
+            dataSource = new HikariDataSource(hikariConfig);
+
+            if (autoInit) {
+                initDatabase();
+            }
+        }
+        return dataSource;
+    }
+
+    private synchronized HikariDataSource openReadDataSource() {
+        if (readDataSource == null) {
+            // the primary pool creates and initializes the database before any read-only connection can open it
+            if (dataSource == null) {
+                openDataSource();
+            }
+            readDataSource = new HikariDataSource(readHikariConfig);
+        }
+        return readDataSource;
     }
 
     public void initDatabase() {
@@ -377,27 +1514,33 @@ public final class DatabaseController {
         }
         initialized = true;
 
-        try (Connection connection = getConnection();
-             Statement statement = connection.createStatement()) {
-
-            List<String> initStatements = DatabaseUtil.loadSchemaStatements(statementFactory.getSchemaInitScriptName());
-            for (String initStatement : initStatements) {
-                statement.addBatch(initStatement);
-            }
-            statement.executeBatch();
-
+        try (Connection connection = getConnection()) {
+            new SchemaMigrator(statementFactory).migrate(connection, preferredLayout);
+            loadArchiveHorizons(connection);
         } catch (SQLException | IOException e) {
-            LOGGER.error("Failed to run database initialization script", e);
+            LOGGER.error("Failed to migrate database schema", e);
         }
     }
 
     public void disconnect() {
-        if (isRemoteDatabase) {
+        // the writer may still need to open the pool for its last group, so it finishes before the lock is taken
+        if (writer != null) {
+            writer.close();
+        }
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdown(5, TimeUnit.SECONDS);
+                executor = null;
+            }
+            if (readDataSource != null) {
+                readDataSource.close();
+                readDataSource = null;
+            }
             if (dataSource != null) {
                 dataSource.close();
                 dataSource = null;
             }
+            initialized = false;
         }
-        initialized = false;
     }
 }
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public final class DatabaseExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    public DatabaseExecutor(String name, int threads, int queueCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+
+        AtomicInteger threadId = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, name + "-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            this.threads.add(thread);
+            return thread;
+        };
+
+        // the queue itself is unbounded, admission is limited per priority in submit
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), threadFactory);
+    }
+
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull QueryPriority priority, @NotNull Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        int limit = Math.max(1, (int) (queueCapacity * priority.getQueueShare()));
+        int current;
+        do {
+            current = queued.get();
+            if (current >= limit) {
+                future.completeExceptionally(new RejectedExecutionException("Database queue is full for " + priority + " tasks (" + current + " queued)"));
+                return future;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+
+        try {
+            executor.execute(new PrioritizedTask<>(priority, sequence.getAndIncrement(), task, future));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public boolean isExecutorThread() {
+        return threads.contains(Thread.currentThread());
+    }
+
+    public int getQueuedTaskCount() {
+        return queued.get();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, unit)) {
+                LOGGER.warn("Database executor did not finish " + executor.getQueue().size() + " queued tasks before shutdown");
+                for (Runnable runnable : executor.shutdownNow()) {
+                    if (runnable instanceof PrioritizedTask<?> task) {
+                        task.cancel();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class PrioritizedTask<T> implements Runnable, Comparable<PrioritizedTask<?>> {
+
+        private final QueryPriority priority;
+        private final long sequence;
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future;
+
+        private PrioritizedTask(QueryPriority priority, long sequence, Supplier<T> task, CompletableFuture<T> future) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            queued.decrementAndGet();
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        private void cancel() {
+            queued.decrementAndGet();
+            future.cancel(false);
+        }
+
+        @Override
+        public int compareTo(@NotNull PrioritizedTask<?> o) {
+            int cmp = priority.compareTo(o.priority);
+            return cmp != 0 ? cmp : Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -31,15 +31,41 @@ import com.backwardsnode.easyadmin.api.record.mutable.MutableBanRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutableMuteRecord;
 import com.backwardsnode.easyadmin.api.record.mutable.MutablePlayerRecord;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface DatabaseStatementFactory {
 
     String getSchemaInitScriptName();
 
+    String getMigrationScriptDirectory();
+
+    boolean supportsBatchGeneratedKeys();
+
+    boolean supportsLocalDateTime();
+
+    ColumnLayout getColumnLayout();
+
+    void setColumnLayout(ColumnLayout layout);
+
+    String getUuidColumnType();
+
+    String getAddressColumnType();
+
+    void convertToCompactLayout(Connection connection) throws SQLException, IOException;
+
+    LocalDateTime getBanArchiveHorizon();
+
+    void setBanArchiveHorizon(LocalDateTime horizon);
+
+    LocalDateTime getMuteArchiveHorizon();
+
+    void setMuteArchiveHorizon(LocalDateTime horizon);
+
     PreparedStatement getCreatePlayerRecordStatement(Connection connection, PlayerRecord record) throws SQLException;
 
     PreparedStatement getCreateBanStatement(Connection connection, BanRecord record) throws SQLException;
@@ -50,21 +76,43 @@ public interface DatabaseStatementFactory {
 
     PreparedStatement getCreateMuteStatement(Connection connection, MuteRecord record) throws SQLException;
 
-    PreparedStatement getCountPlayerBansStatement(Connection connection, UUID player) throws SQLException;
+    PreparedStatement getBatchCreateBanStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getBatchCreateCommentStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getBatchCreateKickStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getBatchCreateMuteStatement(Connection connection) throws SQLException;
+
+    void addCreateBanBatch(PreparedStatement statement, BanRecord record) throws SQLException;
+
+    void addCreateCommentBatch(PreparedStatement statement, CommentRecord record) throws SQLException;
 
-    PreparedStatement getCountPlayerCommentsStatement(Connection connection, UUID player) throws SQLException;
+    void addCreateKickBatch(PreparedStatement statement, KickRecord record) throws SQLException;
 
-    PreparedStatement getCountPlayerKicksStatement(Connection connection, UUID player) throws SQLException;
+    void addCreateMuteBatch(PreparedStatement statement, MuteRecord record) throws SQLException;
 
-    PreparedStatement getCountPlayerMutesStatement(Connection connection, UUID player) throws SQLException;
+    PreparedStatement getImportPlayerStatement(Connection connection) throws SQLException;
 
-    PreparedStatement getCountStaffBansStatement(Connection connection, UUID staff) throws SQLException;
+    PreparedStatement getImportBanStatement(Connection connection) throws SQLException;
 
-    PreparedStatement getCountStaffCommentsStatement(Connection connection, UUID staff) throws SQLException;
+    PreparedStatement getImportCommentStatement(Connection connection) throws SQLException;
 
-    PreparedStatement getCountStaffKicksStatement(Connection connection, UUID staff) throws SQLException;
+    PreparedStatement getImportKickStatement(Connection connection) throws SQLException;
 
-    PreparedStatement getCountStaffMutesStatement(Connection connection, UUID staff) throws SQLException;
+    PreparedStatement getImportMuteStatement(Connection connection) throws SQLException;
+
+    void addImportPlayerBatch(PreparedStatement statement, UUID player, String username, LocalDateTime firstJoin) throws SQLException;
+
+    void addImportBanBatch(PreparedStatement statement, BanRecord record) throws SQLException;
+
+    void addImportMuteBatch(PreparedStatement statement, MuteRecord record) throws SQLException;
+
+    PreparedStatement getRetrieveImportCheckpointStatement(Connection connection, String source) throws SQLException;
+
+    PreparedStatement getDeleteImportCheckpointStatement(Connection connection, String source) throws SQLException;
+
+    PreparedStatement getCreateImportCheckpointStatement(Connection connection, String source, long position, long imported) throws SQLException;
 
     PreparedStatement getRetrievePlayerRecordStatement(Connection connection, UUID player) throws SQLException;
 
@@ -108,8 +156,92 @@ public interface DatabaseStatementFactory {
 
     PreparedStatement getRetrievePlayerMutesOrIPMutesByStatusStatement(Connection connection, UUID player, String ipAddress, PunishmentStatus status, LookupOptions options) throws SQLException;
 
+    PreparedStatement getRetrieveRecordCountsStatement(Connection connection, UUID player) throws SQLException;
+
+    PreparedStatement getCountRecordsStatement(Connection connection, UUID player) throws SQLException;
+
+    PreparedStatement getCreateRecordCountsStatement(Connection connection, UUID player) throws SQLException;
+
+    PreparedStatement getCreateRecordCountsStatement(Connection connection) throws SQLException;
+
+    void addCreateRecordCountsBatch(PreparedStatement statement, UUID player, int[] deltas) throws SQLException;
+
+    PreparedStatement getClearRecordCountsStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getRebuildRecordCountsStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getIncrementRecordCountsStatement(Connection connection) throws SQLException;
+
+    void addIncrementRecordCountsBatch(PreparedStatement statement, UUID player, int[] deltas) throws SQLException;
+
+    PreparedStatement getRetrievePlayerDossierStatement(Connection connection, UUID player, int recordLimit) throws SQLException;
+
+    PreparedStatement getStreamStaffBansStatement(Connection connection, UUID staff) throws SQLException;
+
+    PreparedStatement getStreamStaffCommentsStatement(Connection connection, UUID staff) throws SQLException;
+
+    PreparedStatement getStreamStaffKicksStatement(Connection connection, UUID staff) throws SQLException;
+
+    PreparedStatement getStreamStaffMutesStatement(Connection connection, UUID staff) throws SQLException;
+
+    PreparedStatement getStreamBansStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    PreparedStatement getStreamCommentsStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    PreparedStatement getStreamKicksStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    PreparedStatement getStreamMutesStatement(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    PreparedStatement getStreamAllPlayersStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getStreamAllBansStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getStreamAllCommentsStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getStreamAllKicksStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getStreamAllMutesStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getStreamActiveBansStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getStreamActiveMutesStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getRetrieveExpiredBansStatement(Connection connection, LocalDateTime now, int limit) throws SQLException;
+
+    PreparedStatement getRetrieveExpiredMutesStatement(Connection connection, LocalDateTime now, int limit) throws SQLException;
+
+    PreparedStatement getExpireBanStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getExpireMuteStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getRetrieveArchiveHorizonsStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getRetrieveArchivableBansStatement(Connection connection, LocalDateTime before, int limit) throws SQLException;
+
+    PreparedStatement getRetrieveArchivableMutesStatement(Connection connection, LocalDateTime before, int limit) throws SQLException;
+
+    PreparedStatement getArchiveBanStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getArchiveMuteStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getDeleteBanStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getDeleteMuteStatement(Connection connection) throws SQLException;
+
+    void addRecordIdBatch(PreparedStatement statement, int id) throws SQLException;
+
+    PreparedStatement getCountPlayersStatement(Connection connection) throws SQLException;
+
+    PreparedStatement getRestorePlayerStatement(Connection connection) throws SQLException;
+
+    void addRestorePlayerBatch(PreparedStatement statement, PlayerRecord record) throws SQLException;
+
     PreparedStatement getUpdatePlayerRecordStatement(Connection connection, MutablePlayerRecord playerRecord) throws SQLException;
 
+    PreparedStatement getBatchUpsertPlayerRecordStatement(Connection connection, MutablePlayerRecord playerRecord) throws SQLException;
+
+    void addUpsertPlayerRecordBatch(PreparedStatement statement, PlayerRecord playerRecord) throws SQLException;
+
     PreparedStatement getUpdatePlayerBanStatement(Connection connection, MutableBanRecord banRecord) throws SQLException;
 
     PreparedStatement getUpdatePlayerMuteStatement(Connection connection, MutableMuteRecord muteRecord) throws SQLException;
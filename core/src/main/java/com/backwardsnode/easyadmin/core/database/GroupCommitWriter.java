@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.core.database.util.SQLConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs every write on one thread, for databases that only allow a single writer. Writes that queue up while a
+ * transaction is committing are run together in the next transaction, so they share a single sync to disk.
+ */
+public final class GroupCommitWriter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitWriter.class);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Consumer<List<GroupedWrite>> committer;
+    private final int maxGroupSize;
+    private final BlockingQueue<GroupedWrite> queue = new LinkedBlockingQueue<>();
+    // a dedicated thread rather than a background scheduler task, as scheduled flushes block waiting on this writer
+    // and would deadlock if every scheduler thread were taken by them
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    /**
+     * Starts the writer thread.
+     * @param name the name of the writer thread
+     * @param maxGroupSize the most writes to run in one transaction
+     * @param committer runs a group of writes in one transaction and completes each of their futures
+     */
+    public GroupCommitWriter(@NotNull String name, int maxGroupSize, @NotNull Consumer<List<GroupedWrite>> committer) {
+        this.committer = committer;
+        this.maxGroupSize = maxGroupSize;
+
+        writer = new Thread(this::run, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a write to run in the next transaction.
+     * @param kind the statement kind the write is recorded under
+     * @param work the write
+     * @return a future completed with whether the write was committed, or null if the writer has been closed
+     */
+    public @Nullable CompletableFuture<Boolean> submit(@NotNull String kind, @NotNull SQLConsumer<Connection> work) {
+        if (!running) {
+            return null;
+        }
+        GroupedWrite write = new GroupedWrite(kind, work, new CompletableFuture<>());
+        queue.add(write);
+        if (!running && queue.remove(write)) {
+            // closed while queueing, and nothing is left to take it
+            return null;
+        }
+        return write.future;
+    }
+
+    /**
+     * Checks if the calling thread is the writer, in which case it must run its writes itself rather than wait on
+     * the queue.
+     * @return true if called from the writer thread
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writer;
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<GroupedWrite> group = new ArrayList<>(maxGroupSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                GroupedWrite first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+            } catch (InterruptedException e) {
+                // keep going until closed, so queued writers are never left waiting
+            }
+            queue.drainTo(group, maxGroupSize - group.size());
+
+            if (!group.isEmpty()) {
+                commit(group);
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<GroupedWrite> group) {
+        try {
+            committer.accept(group);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to commit " + group.size() + " grouped writes", e);
+        }
+        for (GroupedWrite write : group) {
+            write.future.complete(false);
+        }
+    }
+
+    /**
+     * Stops accepting writes and waits for the queued writes to commit.
+     */
+    @Override
+    public void close() {
+        // the writer is not interrupted, as an interrupt during JDBC I/O can close embedded database files
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOGGER.warn("Writer did not finish committing, " + queue.size() + " writes remain");
+            return;
+        }
+
+        // writes submitted while the writer was exiting
+        List<GroupedWrite> group = new ArrayList<>();
+        queue.drainTo(group);
+        if (!group.isEmpty()) {
+            commit(group);
+        }
+    }
+
+    /**
+     * A write waiting for its group to commit. The committer completes the future once the outcome is known; any
+     * left incomplete afterwards are completed as failed.
+     */
+    public record GroupedWrite(String kind, SQLConsumer<Connection> work, CompletableFuture<Boolean> future) {}
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.core.BackgroundScheduler;
+import com.backwardsnode.easyadmin.core.record.MutablePlayerRecordImpl;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Holds changed player stats and writes them in the background once per flush interval. Repeated changes to a
+ * player within an interval, such as a join, some server switches and a leave, are coalesced into a single write.
+ */
+public final class PlayerUpdateBuffer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerUpdateBuffer.class);
+
+    private final DatabaseController databaseController;
+    private final int maxBatchSize;
+    private final Map<UUID, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> task;
+
+    private volatile boolean running = true;
+
+    public PlayerUpdateBuffer(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler) {
+        this(databaseController, scheduler, Duration.ofSeconds(1), 1000);
+    }
+
+    public PlayerUpdateBuffer(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler, @NotNull Duration flushInterval, int maxBatchSize) {
+        this.databaseController = databaseController;
+        this.maxBatchSize = maxBatchSize;
+
+        task = scheduler.scheduleWithFixedDelay("flush player updates", this::flushAll, flushInterval, flushInterval);
+    }
+
+    /**
+     * Queues a player to be written, replacing any queued copy of the same player that has not been written yet.
+     * @param record the player, holding every change made since they were last written
+     * @return a future completed with whether the player was written, shared with the copies it replaced
+     */
+    public @NotNull CompletableFuture<Boolean> enqueue(@NotNull MutablePlayerRecordImpl record) {
+        if (!running) {
+            return CompletableFuture.completedFuture(databaseController.upsertPlayerRecord(record));
+        }
+
+        PendingUpdate update = pending.compute(record.getId(), (uuid, queued) -> {
+            if (queued == null) {
+                return new PendingUpdate(record, new CompletableFuture<>());
+            }
+            record.coalesce(queued.record);
+            return new PendingUpdate(record, queued.future);
+        });
+        if (!running && pending.remove(record.getId(), update)) {
+            // closed while queueing, so write through instead of leaving it behind
+            update.future.complete(databaseController.upsertPlayerRecord(record));
+        }
+        return update.future;
+    }
+
+    public int getQueuedCount() {
+        return pending.size();
+    }
+
+    private void flushAll() {
+        List<PendingUpdate> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        for (UUID uuid : pending.keySet()) {
+            PendingUpdate update = pending.remove(uuid);
+            if (update == null) {
+                continue;
+            }
+            batch.add(update);
+            if (batch.size() == maxBatchSize) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingUpdate> batch) {
+        List<MutablePlayerRecordImpl> records = new ArrayList<>(batch.size());
+        for (PendingUpdate update : batch) {
+            records.add(update.record);
+        }
+
+        try {
+            boolean[] results = databaseController.upsertPlayerRecords(records);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results[i]);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to flush " + batch.size() + " player updates", e);
+            for (PendingUpdate update : batch) {
+                update.future.complete(false);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting updates and writes the remaining ones.
+     */
+    @Override
+    public void close() {
+        running = false;
+        task.cancel(false);
+        // a flush already in progress takes the updates it reached, this one writes the rest
+        flushAll();
+    }
+
+    private record PendingUpdate(MutablePlayerRecordImpl record, CompletableFuture<Boolean> future) {}
+}
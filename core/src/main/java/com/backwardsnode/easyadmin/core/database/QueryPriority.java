@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+public enum QueryPriority {
+
+    /**
+     * Lookups that gate a player action, such as ban checks on login and mute checks on chat
+     */
+    ENFORCEMENT(1.0),
+    /**
+     * Inserts and updates of records
+     */
+    WRITE(1.0),
+    /**
+     * History lookups requested by staff
+     */
+    LOOKUP(0.5),
+    /**
+     * Counts and other statistics
+     */
+    STATISTICS(0.25);
+
+    private final double queueShare;
+
+    QueryPriority(double queueShare) {
+        this.queueShare = queueShare;
+    }
+
+    /**
+     * Gets the fraction of the executor queue this priority may fill before new tasks of the same priority are
+     * rejected. Lower priorities are shed first when the queue backs up.
+     * @return the share of the queue capacity
+     */
+    public double getQueueShare() {
+        return queueShare;
+    }
+}
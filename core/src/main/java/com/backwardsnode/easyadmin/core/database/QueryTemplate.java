@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.api.data.LookupOptions;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Holds the SQL text of a lookup for every shape of {@link LookupOptions}, so the statement for a lookup can be picked
+ * instead of built. The texts are interned so that drivers which cache statements by SQL text see one key per shape.
+ * A lookup may also have an archived form, which reads the hot table together with its archive table.
+ */
+public final class QueryTemplate {
+
+    private static final int DATE_AFTER = 1;
+    private static final int DATE_BEFORE = 2;
+    private static final int ASCENDING = 4;
+    private static final int CURSOR = 8;
+    private static final int ARCHIVED = 16;
+    private static final int SHAPES = 32;
+
+    private final String[] templates = new String[SHAPES];
+
+    /**
+     * Creates the templates for a lookup.
+     * @param query the select statement up to and including its WHERE clause, without a trailing semicolon
+     * @param dateColumn the column filtered by the date options
+     */
+    public QueryTemplate(String query, String dateColumn) {
+        this(query, null, dateColumn);
+    }
+
+    /**
+     * Creates the templates for a lookup that can also read archived records. The archived form is a UNION ALL of both
+     * statements with the date and cursor filters repeated in each, so every table is filtered by its own indexes; its
+     * condition and filter parameters are bound once for each table, see {@link #readsArchive}.
+     * @param query the select statement up to and including its WHERE clause, without a trailing semicolon
+     * @param archiveQuery the same select statement reading the archive table, or null if the lookup has no archived
+     *                     form
+     * @param dateColumn the column filtered by the date options
+     */
+    public QueryTemplate(String query, @Nullable String archiveQuery, String dateColumn) {
+        for (int shape = 0; shape < SHAPES; shape++) {
+            if ((shape & ARCHIVED) != 0 && archiveQuery == null) {
+                templates[shape] = templates[shape & ~ARCHIVED];
+                continue;
+            }
+            StringBuilder builder = new StringBuilder(query);
+            appendFilters(builder, shape, dateColumn);
+            if ((shape & ARCHIVED) != 0) {
+                builder.append(" UNION ALL ").append(archiveQuery);
+                appendFilters(builder, shape, dateColumn);
+            }
+
+            builder.append((shape & ASCENDING) != 0 ? " ORDER BY id ASC" : " ORDER BY id DESC");
+            builder.append(" LIMIT ? OFFSET ?;");
+
+            templates[shape] = builder.toString().intern();
+        }
+    }
+
+    private static void appendFilters(StringBuilder builder, int shape, String dateColumn) {
+        if ((shape & DATE_AFTER) != 0 && (shape & DATE_BEFORE) != 0) {
+            builder.append(" AND ").append(dateColumn).append(" BETWEEN ? AND ?");
+        } else if ((shape & DATE_BEFORE) != 0) {
+            builder.append(" AND ").append(dateColumn).append(" < ?");
+        } else if ((shape & DATE_AFTER) != 0) {
+            builder.append(" AND ").append(dateColumn).append(" > ?");
+        }
+
+        if ((shape & CURSOR) != 0) {
+            builder.append((shape & ASCENDING) != 0 ? " AND id > ?" : " AND id < ?");
+        }
+    }
+
+    public String get(LookupOptions options) {
+        return get(options, null);
+    }
+
+    /**
+     * Gets the template for a lookup, reading archived records only if the lookup reaches past the archive horizon.
+     * @param options the lookup options
+     * @param archiveHorizon the latest date of any archived record, or null if nothing has been archived
+     * @return the SQL text
+     */
+    public String get(LookupOptions options, @Nullable LocalDateTime archiveHorizon) {
+        int shape = 0;
+        if (options.getDateAfter() != null) {
+            shape |= DATE_AFTER;
+        }
+        if (options.getDateBefore() != null) {
+            shape |= DATE_BEFORE;
+        }
+        if (!options.getSortDescending()) {
+            shape |= ASCENDING;
+        }
+        if (options.getCursor() != null) {
+            shape |= CURSOR;
+        }
+        if (readsArchive(options, archiveHorizon)) {
+            shape |= ARCHIVED;
+        }
+        return templates[shape];
+    }
+
+    /**
+     * Checks whether a lookup reaches past the archive horizon, in which case the archived form of a template is used.
+     * @param options the lookup options
+     * @param archiveHorizon the latest date of any archived record, or null if nothing has been archived
+     * @return true if archived records must be read
+     */
+    public static boolean readsArchive(LookupOptions options, @Nullable LocalDateTime archiveHorizon) {
+        return archiveHorizon != null && (options.getDateAfter() == null || options.getDateAfter().isBefore(archiveHorizon));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.core.BackgroundScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Periodically moves bans and mutes that ended long ago out of the hot tables and into their archive tables, a batch
+ * at a time, so that the tables read on every login and chat message stay small. Archived records are still returned
+ * by history lookups reaching far enough back.
+ */
+public final class RecordArchiver implements AutoCloseable {
+
+    public static final int DEFAULT_ARCHIVE_AFTER_DAYS = 180;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_INTERVAL_HOURS = 24;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecordArchiver.class);
+
+    private final DatabaseController databaseController;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final ScheduledFuture<?> task;
+
+    private volatile boolean running = true;
+
+    public RecordArchiver(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler, @NotNull Duration archiveAfter, int batchSize, @NotNull Duration interval) {
+        this.databaseController = databaseController;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+
+        task = scheduler.scheduleWithFixedDelay("archive ended records", this::archiveEnded, Duration.ZERO, interval);
+    }
+
+    private void archiveEnded() {
+        // other servers sharing the database may have archived records since the last pass
+        databaseController.refreshArchiveHorizons();
+
+        LocalDateTime before = LocalDateTime.now().minus(archiveAfter);
+        int bans = archive(before, databaseController::archiveEndedBans);
+        int mutes = archive(before, databaseController::archiveEndedMutes);
+        if (bans > 0 || mutes > 0) {
+            LOGGER.info("Archived {} bans and {} mutes issued before {}", bans, mutes, before);
+        }
+    }
+
+    private int archive(LocalDateTime before, BatchArchiver batchArchiver) {
+        int total = 0;
+        int moved;
+        // each batch is its own short transaction, so enforcement lookups are never held up behind the whole pass
+        do {
+            moved = batchArchiver.archive(before, batchSize);
+            if (moved > 0) {
+                total += moved;
+            }
+        } while (running && moved == batchSize);
+        return total;
+    }
+
+    /**
+     * Stops archiving. A batch in progress still commits before the scheduler finishes closing.
+     */
+    @Override
+    public void close() {
+        running = false;
+        task.cancel(false);
+    }
+
+    @FunctionalInterface
+    private interface BatchArchiver {
+        int archive(LocalDateTime before, int limit);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.api.record.*;
+import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.backwardsnode.easyadmin.core.record.RecordLoader.RECORD_COUNT_COLUMNS;
+
+/**
+ * Collects the changes a set of inserted records make to the player_stats counters, so they can be applied with one
+ * update per player in the same transaction as the inserts.
+ */
+final class RecordCountDelta {
+
+    // indices into RECORD_COUNT_COLUMNS
+    private static final int BANS = 0;
+    private static final int COMMENTS = 1;
+    private static final int WARNINGS = 2;
+    private static final int KICKS = 3;
+    private static final int MUTES = 4;
+    private static final int ISSUED_BANS = 5;
+    private static final int ISSUED_COMMENTS = 6;
+    private static final int ISSUED_KICKS = 7;
+    private static final int ISSUED_MUTES = 8;
+
+    private final Map<UUID, int[]> deltas = new LinkedHashMap<>();
+
+    public void add(LiveRecord<?> record) {
+        if (record instanceof BanRecord banRecord) {
+            increment(banRecord.getPlayer(), BANS);
+            increment(banRecord.getAuthor(), ISSUED_BANS);
+        } else if (record instanceof CommentRecord commentRecord) {
+            increment(commentRecord.getPlayer(), COMMENTS);
+            if (commentRecord.isWarning()) {
+                increment(commentRecord.getPlayer(), WARNINGS);
+            }
+            increment(commentRecord.getAuthor(), ISSUED_COMMENTS);
+        } else if (record instanceof KickRecord kickRecord) {
+            increment(kickRecord.getPlayer(), KICKS);
+            increment(kickRecord.getAuthor(), ISSUED_KICKS);
+        } else if (record instanceof MuteRecord muteRecord) {
+            increment(muteRecord.getPlayer(), MUTES);
+            increment(muteRecord.getAuthor(), ISSUED_MUTES);
+        }
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * Applies the collected changes. Players without a counter row yet have one created by counting their records,
+     * less the records being inserted, so the increments that follow apply the same way whether the row existed or not.
+     * @param connection the connection holding the insert transaction
+     * @param statementFactory the factory to create the statements with
+     * @throws SQLException if the counters could not be updated
+     */
+    public void apply(Connection connection, DatabaseStatementFactory statementFactory) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = statementFactory.getCreateRecordCountsStatement(connection)) {
+            for (Map.Entry<UUID, int[]> entry : deltas.entrySet()) {
+                statementFactory.addCreateRecordCountsBatch(statement, entry.getKey(), entry.getValue());
+            }
+            statement.executeBatch();
+        }
+        try (PreparedStatement statement = statementFactory.getIncrementRecordCountsStatement(connection)) {
+            for (Map.Entry<UUID, int[]> entry : deltas.entrySet()) {
+                statementFactory.addIncrementRecordCountsBatch(statement, entry.getKey(), entry.getValue());
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void increment(@Nullable UUID player, int column) {
+        if (player != null) {
+            deltas.computeIfAbsent(player, k -> new int[RECORD_COUNT_COLUMNS.length])[column]++;
+        }
+    }
+}
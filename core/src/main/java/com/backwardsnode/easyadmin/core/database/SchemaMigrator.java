@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.core.database.util.DatabaseUtil;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Brings a database schema up to date by running the migration scripts it has not seen yet. Version 1 is the
+ * platform's baseline script, and every later version {@code n} is read from {@code schema/<directory>/n.sql}. The
+ * applied versions are recorded in the {@code schema_version} table, so each script runs exactly once.
+ * <p>
+ * The {@link ColumnLayout} a database was created with is kept in the {@code schema_settings} table, and the
+ * {@code ${uuid}} and {@code ${ip}} placeholders in the scripts are replaced with the column types of that layout.
+ */
+public final class SchemaMigrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String CREATE_VERSION_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version int NOT NULL PRIMARY KEY, " +
+            "appliedAt timestamp NOT NULL);";
+    private static final String SELECT_VERSION_SQL = "SELECT MAX(version) FROM schema_version;";
+    private static final String INSERT_VERSION_SQL = "INSERT INTO schema_version (version, appliedAt) VALUES (?, ?);";
+    private static final String CREATE_SETTINGS_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_settings (" +
+            "settingKey varchar(64) NOT NULL PRIMARY KEY, " +
+            "settingValue varchar(255) NOT NULL);";
+    private static final String SELECT_SETTING_SQL = "SELECT settingValue FROM schema_settings WHERE settingKey = ?;";
+    private static final String INSERT_SETTING_SQL = "INSERT INTO schema_settings (settingValue, settingKey) VALUES (?, ?);";
+    private static final String UPDATE_SETTING_SQL = "UPDATE schema_settings SET settingValue = ? WHERE settingKey = ?;";
+
+    private static final String COLUMN_LAYOUT_SETTING = "columnLayout";
+    // created by every platform's baseline script since the first release
+    private static final String BASELINE_TABLE = "bans";
+
+    private final DatabaseStatementFactory statementFactory;
+
+    public SchemaMigrator(DatabaseStatementFactory statementFactory) {
+        this.statementFactory = statementFactory;
+    }
+
+    /**
+     * Runs every pending migration, each in its own transaction where the platform allows transactional DDL, then
+     * converts the database to the preferred column layout if it is not already using it.
+     * @param connection the connection to migrate through
+     * @param preferredLayout the layout new databases are created with and existing ones are converted to
+     * @return the schema version after migrating
+     * @throws SQLException if a migration fails; versions applied before it stay applied
+     * @throws IOException if a migration script cannot be read
+     */
+    public int migrate(Connection connection, ColumnLayout preferredLayout) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_VERSION_TABLE_SQL);
+            statement.execute(CREATE_SETTINGS_TABLE_SQL);
+        }
+
+        int version = getCurrentVersion(connection);
+        ColumnLayout layout = getColumnLayout(connection);
+        if (layout == null) {
+            // databases created before layouts or versions were recorded always use text columns, and are converted
+            // below once their migrations have run
+            layout = version == 0 && !hasBaselineTables(connection) ? preferredLayout : ColumnLayout.TEXT;
+            putSetting(connection, COLUMN_LAYOUT_SETTING, layout.name(), false);
+        }
+        statementFactory.setColumnLayout(layout);
+
+        String script;
+        while ((script = getScriptName(version + 1)) != null) {
+            apply(connection, version + 1, DatabaseUtil.loadSchemaStatements(script));
+            version++;
+            LOGGER.info("Migrated database schema to version {}", version);
+        }
+
+        if (layout != preferredLayout) {
+            if (preferredLayout == ColumnLayout.COMPACT) {
+                convertToCompactLayout(connection);
+                LOGGER.info("Converted database to the compact column layout");
+            } else {
+                LOGGER.warn("The database uses the compact column layout, which cannot be converted back to text");
+            }
+        }
+        return version;
+    }
+
+    public @Nullable ColumnLayout getColumnLayout(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SETTING_SQL)) {
+            statement.setString(1, COLUMN_LAYOUT_SETTING);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? ColumnLayout.valueOf(resultSet.getString(1)) : null;
+            }
+        }
+    }
+
+    public int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_VERSION_SQL)) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Checks if the tables of the baseline script already exist, as they do in databases created before their schema
+     * version was recorded.
+     * @param connection the connection to check through
+     * @return true if the baseline tables exist
+     * @throws SQLException if the tables cannot be listed
+     */
+    public boolean hasBaselineTables(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String table = BASELINE_TABLE;
+        if (metaData.storesUpperCaseIdentifiers()) {
+            table = table.toUpperCase();
+        } else if (metaData.storesLowerCaseIdentifiers()) {
+            table = table.toLowerCase();
+        }
+        try (ResultSet resultSet = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+            return resultSet.next();
+        }
+    }
+
+    private String getScriptName(int version) {
+        if (version == 1) {
+            return statementFactory.getSchemaInitScriptName();
+        }
+        String script = statementFactory.getMigrationScriptDirectory() + "/" + version + ".sql";
+        return DatabaseUtil.hasSchemaFile(script) ? script : null;
+    }
+
+    private void apply(Connection connection, int version, List<String> statements) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                    statement.execute(sql
+                            .replace("${uuid}", statementFactory.getUuidColumnType())
+                            .replace("${ip}", statementFactory.getAddressColumnType()));
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_VERSION_SQL)) {
+                statement.setInt(1, version);
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                statement.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void convertToCompactLayout(Connection connection) throws SQLException, IOException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            // MySQL commits DDL implicitly, so a failure there can't be rolled back and its script is re-run instead
+            statementFactory.convertToCompactLayout(connection);
+            putSetting(connection, COLUMN_LAYOUT_SETTING, ColumnLayout.COMPACT.name(), true);
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        statementFactory.setColumnLayout(ColumnLayout.COMPACT);
+    }
+
+    private void putSetting(Connection connection, String key, String value, boolean exists) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(exists ? UPDATE_SETTING_SQL : INSERT_SETTING_SQL)) {
+            statement.setString(1, value);
+            statement.setString(2, key);
+            statement.executeUpdate();
+        }
+    }
+}
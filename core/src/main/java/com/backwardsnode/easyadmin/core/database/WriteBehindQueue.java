@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database;
+
+import com.backwardsnode.easyadmin.api.record.base.LiveRecord;
+import com.backwardsnode.easyadmin.core.BackgroundScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects committed records and inserts them in batches in the background. A flush happens once the first
+ * queued record has waited for the flush window, or once enough records are queued to fill a batch.
+ */
+public final class WriteBehindQueue implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final DatabaseController databaseController;
+    private final BackgroundScheduler scheduler;
+    private final Duration flushWindow;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue;
+    // records are keyed by identity, as copies of an unwritten record are indistinguishable until it has an ID
+    private final Map<LiveRecord<?>, CompletableFuture<Boolean>> unwritten = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler) {
+        this(databaseController, scheduler, Duration.ofMillis(50), 500, 10000);
+    }
+
+    public WriteBehindQueue(@NotNull DatabaseController databaseController, @NotNull BackgroundScheduler scheduler, @NotNull Duration flushWindow, int maxBatchSize, int capacity) {
+        this.databaseController = databaseController;
+        this.scheduler = scheduler;
+        this.flushWindow = flushWindow;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues a record to be inserted.
+     * @param record the record
+     * @return a future completed with whether the record was persisted
+     */
+    public @NotNull CompletableFuture<Boolean> enqueue(@NotNull LiveRecord<?> record) {
+        PendingWrite write = new PendingWrite(record, new CompletableFuture<>());
+
+        if (!running || !queue.offer(write)) {
+            // closed or backed up, write through instead of dropping the record
+            write.future.complete(databaseController.insertRecord(record));
+            return write.future;
+        }
+
+        try {
+            // the first record queued since the last flush starts the flush window, a full batch is flushed at once
+            if (flushScheduled.compareAndSet(false, true)) {
+                scheduler.schedule("flush queued records", this::flushQueued, flushWindow);
+            }
+            if (queue.size() == maxBatchSize) {
+                scheduler.execute("flush queued records", this::flushQueued);
+            }
+        } catch (RejectedExecutionException e) {
+            // the scheduler closed while queueing
+            flushQueued();
+        }
+        return write.future;
+    }
+
+    /**
+     * Marks a queued record as unwritten until the given future completes, so changes made to it in the meantime can
+     * be held back until it has been inserted and given its ID.
+     * @param record the queued record
+     * @param written a future completed once the record has been inserted and everything that follows the insert is done
+     */
+    public void holdUntilWritten(@NotNull LiveRecord<?> record, @NotNull CompletableFuture<Boolean> written) {
+        unwritten.put(record, written);
+        written.whenComplete((success, e) -> unwritten.remove(record, written));
+    }
+
+    /**
+     * Gets the future for a record that is still waiting to be written.
+     * @param record the record
+     * @return the future given to {@link #holdUntilWritten(LiveRecord, CompletableFuture)}, or null if the record is
+     * not waiting to be written
+     */
+    public @Nullable CompletableFuture<Boolean> getUnwritten(@NotNull LiveRecord<?> record) {
+        return unwritten.get(record);
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private synchronized void flushQueued() {
+        // cleared first, so a record queued during the flush schedules another rather than being left behind
+        flushScheduled.set(false);
+
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<LiveRecord<?>> records = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            records.add(write.record);
+        }
+
+        try {
+            boolean[] results = databaseController.insertBatch(records);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results[i]);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to flush " + batch.size() + " queued records", e);
+            for (PendingWrite write : batch) {
+                write.future.complete(false);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting records into the queue and flushes the remaining records.
+     */
+    @Override
+    public void close() {
+        running = false;
+        // waits for a flush in progress, then writes the records queued behind it
+        flushQueued();
+    }
+
+    private record PendingWrite(LiveRecord<?> record, CompletableFuture<Boolean> future) {}
+}
@@ -24,11 +24,13 @@
 
 package com.backwardsnode.easyadmin.core.database.config;
 
+import com.backwardsnode.easyadmin.core.database.ColumnLayout;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
 
 public interface ConfigLoader<T extends DatabaseStatementFactory> {
 
     T getStatementFactory();
     boolean isStatementFactoryCompatible(DatabaseStatementFactory factory);
+    ColumnLayout getColumnLayout();
 
 }
@@ -27,12 +27,16 @@ package com.backwardsnode.easyadmin.core.database.config;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
 import com.backwardsnode.easyadmin.core.database.impl.EasyAdminH2;
 
+import com.zaxxer.hikari.HikariConfig;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public final class H2ConfigLoader extends LocalConfigLoader<EasyAdminH2> {
 
+    private int queryCacheSize = 64;
+
     public H2ConfigLoader(String filePath, String username) {
         this(filePath, username, null);
     }
@@ -45,9 +49,24 @@ public final class H2ConfigLoader extends LocalConfigLoader<EasyAdminH2> {
         Class.forName("org.h2.Driver");
     }
 
+    @Override
+    public String getJdbcUrl() {
+        if (queryCacheSize > 0) {
+            return "jdbc:h2:" + getFilePath() + ";QUERY_CACHE_SIZE=" + queryCacheSize;
+        }
+        return "jdbc:h2:" + getFilePath();
+    }
+
     @Override
     public Connection getConnection() throws SQLException {
-        return DriverManager.getConnection("jdbc:h2:" + getFilePath(), getUsername(), getPassword());
+        return DriverManager.getConnection(getJdbcUrl(), getUsername(), getPassword());
+    }
+
+    @Override
+    public HikariConfig toHikariConfig() {
+        HikariConfig config = super.toHikariConfig();
+        config.setPoolName("EasyAdmin-H2");
+        return config;
     }
 
     @Override
@@ -59,4 +78,12 @@ public final class H2ConfigLoader extends LocalConfigLoader<EasyAdminH2> {
     public boolean isStatementFactoryCompatible(DatabaseStatementFactory factory) {
         return factory instanceof EasyAdminH2;
     }
+
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    public void setQueryCacheSize(int queryCacheSize) {
+        this.queryCacheSize = queryCacheSize;
+    }
 }
\ No newline at end of file
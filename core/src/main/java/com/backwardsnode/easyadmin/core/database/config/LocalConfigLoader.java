@@ -24,21 +24,36 @@
 
 package com.backwardsnode.easyadmin.core.database.config;
 
+import com.backwardsnode.easyadmin.core.database.ColumnLayout;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
+import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 
 public abstract class LocalConfigLoader<T extends DatabaseStatementFactory> implements ConfigLoader<T> {
 
+    public static final int DEFAULT_POOL_SIZE = 4;
+
     protected final String FILE_PATH;
     protected final String USERNAME;
     protected final String PASSWORD;
 
+    private boolean pooled = true;
+    private int poolSize;
+
+    private ColumnLayout columnLayout = ColumnLayout.TEXT;
+
     protected LocalConfigLoader(String filePath, String username, String password) {
+        this(filePath, username, password, DEFAULT_POOL_SIZE);
+    }
+
+    protected LocalConfigLoader(String filePath, String username, String password, int poolSize) {
         FILE_PATH = filePath;
         USERNAME = username;
         PASSWORD = password;
+        setPoolSize(poolSize);
     }
 
     public String getFilePath() {
@@ -53,6 +68,76 @@ public abstract class LocalConfigLoader<T extends DatabaseStatementFactory> impl
         return PASSWORD;
     }
 
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + poolSize);
+        }
+        this.poolSize = poolSize;
+    }
+
     public abstract void testConnection() throws ClassNotFoundException;
+    public abstract String getJdbcUrl();
     public abstract Connection getConnection() throws SQLException;
+
+    /**
+     * Creates the configuration for the primary connection pool. Local pools keep their connections open for the
+     * lifetime of the controller, as opening an embedded database file is far more expensive than a network handshake.
+     * @return the primary pool configuration
+     */
+    public HikariConfig toHikariConfig() {
+        HikariConfig config = new HikariConfig();
+
+        config.setJdbcUrl(getJdbcUrl());
+        if (USERNAME != null) {
+            config.setUsername(USERNAME);
+        }
+        if (PASSWORD != null) {
+            config.setPassword(PASSWORD);
+        }
+
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setIdleTimeout(0);
+        config.setMaxLifetime(0);
+
+        return config;
+    }
+
+    /**
+     * Creates the configuration for a separate read-only connection pool, if the platform benefits from one.
+     * @return the read pool configuration, or null if reads should share the primary pool
+     */
+    public @Nullable HikariConfig toReadHikariConfig() {
+        return null;
+    }
+
+    /**
+     * Gets the most writes to group into one transaction on a dedicated writer thread, for platforms that only allow
+     * one writer at a time.
+     * @return the largest write group, or 0 if writes should run on the calling thread
+     */
+    public int getWriteGroupSize() {
+        return 0;
+    }
+
+    @Override
+    public ColumnLayout getColumnLayout() {
+        return columnLayout;
+    }
+
+    public void setColumnLayout(ColumnLayout columnLayout) {
+        this.columnLayout = columnLayout;
+    }
 }
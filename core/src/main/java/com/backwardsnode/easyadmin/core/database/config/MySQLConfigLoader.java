@@ -27,6 +27,9 @@ package com.backwardsnode.easyadmin.core.database.config;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
 import com.backwardsnode.easyadmin.core.database.impl.EasyAdminMySQL;
 import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.StringJoiner;
 
 public final class MySQLConfigLoader extends RemoteConfigLoader<EasyAdminMySQL> {
 
@@ -80,6 +83,23 @@ public final class MySQLConfigLoader extends RemoteConfigLoader<EasyAdminMySQL>
         return config;
     }
 
+    @Override
+    public @Nullable HikariConfig toReadHikariConfig() {
+        if (!hasReadReplicas()) {
+            return null;
+        }
+        HikariConfig config = toHikariConfig();
+
+        StringJoiner hosts = new StringJoiner(",");
+        getReadReplicas().forEach(replica -> hosts.add(replica.toString()));
+        // the load balancing driver picks a replica per transaction, so the pool spreads over all of them
+        String scheme = getReadReplicas().size() > 1 ? "jdbc:mysql:loadbalance://" : "jdbc:mysql://";
+        config.setJdbcUrl(scheme + hosts + "/" + database);
+        config.setReadOnly(true);
+
+        return config;
+    }
+
     @Override
     public EasyAdminMySQL getStatementFactory() {
         return new EasyAdminMySQL();
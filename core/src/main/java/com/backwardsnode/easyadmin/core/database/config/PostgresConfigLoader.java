@@ -27,6 +27,9 @@ package com.backwardsnode.easyadmin.core.database.config;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
 import com.backwardsnode.easyadmin.core.database.impl.EasyAdminPostgres;
 import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.StringJoiner;
 
 public final class PostgresConfigLoader extends RemoteConfigLoader<EasyAdminPostgres> {
 
@@ -58,6 +61,25 @@ public final class PostgresConfigLoader extends RemoteConfigLoader<EasyAdminPost
         return config;
     }
 
+    @Override
+    public @Nullable HikariConfig toReadHikariConfig() {
+        if (!hasReadReplicas()) {
+            return null;
+        }
+        HikariConfig config = new HikariConfig();
+
+        StringJoiner hosts = new StringJoiner(",");
+        getReadReplicas().forEach(replica -> hosts.add(replica.toString()));
+        // the data source only takes a single server, the URL form lets the driver balance over every replica
+        config.setJdbcUrl("jdbc:postgresql://" + hosts + "/" + database + "?loadBalanceHosts=true");
+        config.setUsername(username);
+        config.setPassword(password);
+        config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(preparedStatementCacheSize));
+        config.setReadOnly(true);
+
+        return config;
+    }
+
     @Override
     public EasyAdminPostgres getStatementFactory() {
         return new EasyAdminPostgres();
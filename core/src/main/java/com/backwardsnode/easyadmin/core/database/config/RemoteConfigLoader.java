@@ -24,8 +24,14 @@
 
 package com.backwardsnode.easyadmin.core.database.config;
 
+import com.backwardsnode.easyadmin.core.database.ColumnLayout;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
 import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class RemoteConfigLoader<T extends DatabaseStatementFactory> implements ConfigLoader<T> {
 
@@ -36,6 +42,10 @@ public abstract class RemoteConfigLoader<T extends DatabaseStatementFactory> imp
     protected final String password;
     protected final int preparedStatementCacheSize;
 
+    private ColumnLayout columnLayout = ColumnLayout.TEXT;
+    private final List<ReadReplica> readReplicas = new ArrayList<>();
+    private long stickyPrimaryMillis = 2000;
+
     protected RemoteConfigLoader(String host, int port, String database, String username, String password) {
         this(host, port, database, username, password, 256);
     }
@@ -52,6 +62,12 @@ public abstract class RemoteConfigLoader<T extends DatabaseStatementFactory> imp
     public abstract String getJdbcUrl();
     public abstract HikariConfig toHikariConfig();
 
+    /**
+     * Creates the configuration for a connection pool spread over the read replicas.
+     * @return the read pool configuration, or null if there are no replicas and reads should use the primary pool
+     */
+    public abstract @Nullable HikariConfig toReadHikariConfig();
+
     public String getHost() {
         return host;
     }
@@ -79,4 +95,38 @@ public abstract class RemoteConfigLoader<T extends DatabaseStatementFactory> imp
     public int getPreparedStatementCacheSize() {
         return preparedStatementCacheSize;
     }
+
+    public List<ReadReplica> getReadReplicas() {
+        return Collections.unmodifiableList(readReplicas);
+    }
+
+    public boolean hasReadReplicas() {
+        return !readReplicas.isEmpty();
+    }
+
+    public void addReadReplica(ReadReplica replica) {
+        readReplicas.add(replica);
+    }
+
+    /**
+     * Gets how long reads about a player go to the primary after a write about them, so that they see their own writes
+     * before the replicas have caught up.
+     * @return the sticky window in milliseconds
+     */
+    public long getStickyPrimaryMillis() {
+        return stickyPrimaryMillis;
+    }
+
+    public void setStickyPrimaryMillis(long stickyPrimaryMillis) {
+        this.stickyPrimaryMillis = Math.max(0, stickyPrimaryMillis);
+    }
+
+    @Override
+    public ColumnLayout getColumnLayout() {
+        return columnLayout;
+    }
+
+    public void setColumnLayout(ColumnLayout columnLayout) {
+        this.columnLayout = columnLayout;
+    }
 }
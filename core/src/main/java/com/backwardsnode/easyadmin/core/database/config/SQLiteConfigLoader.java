@@ -27,12 +27,25 @@ package com.backwardsnode.easyadmin.core.database.config;
 import com.backwardsnode.easyadmin.core.database.DatabaseStatementFactory;
 import com.backwardsnode.easyadmin.core.database.impl.EasyAdminSQLite;
 
+import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.Nullable;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public final class SQLiteConfigLoader extends LocalConfigLoader<EasyAdminSQLite> {
 
+    // SQLITE_OPEN_READONLY, see sqlite3.h
+    private static final int OPEN_READONLY = 0x00000001;
+
+    public static final int DEFAULT_WRITE_GROUP_SIZE = 64;
+
+    private int busyTimeout = 5000;
+    private boolean singleWriter = false;
+    private Synchronous synchronous = Synchronous.FULL;
+    private int writeGroupSize = DEFAULT_WRITE_GROUP_SIZE;
+
     public SQLiteConfigLoader(String filePath) {
         super(filePath, null, null);
     }
@@ -41,9 +54,55 @@ public final class SQLiteConfigLoader extends LocalConfigLoader<EasyAdminSQLite>
         Class.forName("org.sqlite.JDBC");
     }
 
+    @Override
+    public String getJdbcUrl() {
+        return "jdbc:sqlite:" + getFilePath();
+    }
+
     @Override
     public Connection getConnection() throws SQLException {
-        return DriverManager.getConnection("jdbc:sqlite:" + getFilePath());
+        return DriverManager.getConnection(getJdbcUrl());
+    }
+
+    @Override
+    public HikariConfig toHikariConfig() {
+        HikariConfig config = super.toHikariConfig();
+
+        // SQLite only allows a single writer, so the primary pool holds exactly one connection and readers are
+        // served by their own pool
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        config.setPoolName("EasyAdmin-SQLite");
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout));
+        if (singleWriter) {
+            // readers no longer block the writer, and with one writer committing in groups the journal only needs
+            // syncing as often as the chosen level asks
+            config.addDataSourceProperty("journal_mode", "WAL");
+            config.addDataSourceProperty("synchronous", synchronous.name());
+        }
+
+        return config;
+    }
+
+    @Override
+    public @Nullable HikariConfig toReadHikariConfig() {
+        // each connection to an in-memory database sees its own database, so it can't be split
+        if (isInMemory()) {
+            return null;
+        }
+
+        HikariConfig config = super.toHikariConfig();
+
+        config.setPoolName("EasyAdmin-SQLite-Read");
+        config.addDataSourceProperty("open_mode", String.valueOf(OPEN_READONLY));
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout));
+
+        return config;
+    }
+
+    public boolean isInMemory() {
+        String path = getFilePath();
+        return path.isEmpty() || path.startsWith(":memory:") || path.contains("mode=memory");
     }
 
     @Override
@@ -55,4 +114,53 @@ public final class SQLiteConfigLoader extends LocalConfigLoader<EasyAdminSQLite>
     public boolean isStatementFactoryCompatible(DatabaseStatementFactory factory) {
         return factory instanceof EasyAdminSQLite;
     }
+
+    public int getBusyTimeout() {
+        return busyTimeout;
+    }
+
+    public void setBusyTimeout(int busyTimeout) {
+        this.busyTimeout = busyTimeout;
+    }
+
+    public boolean isSingleWriter() {
+        return singleWriter;
+    }
+
+    /**
+     * Sets whether the database runs in write-ahead logging mode, with every write funnelled through one writer
+     * thread that commits queued writes together.
+     * @param singleWriter true to use a single writer
+     */
+    public void setSingleWriter(boolean singleWriter) {
+        this.singleWriter = singleWriter;
+    }
+
+    public Synchronous getSynchronous() {
+        return synchronous;
+    }
+
+    public void setSynchronous(Synchronous synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    @Override
+    public int getWriteGroupSize() {
+        return singleWriter ? writeGroupSize : 0;
+    }
+
+    public void setWriteGroupSize(int writeGroupSize) {
+        this.writeGroupSize = Math.max(1, writeGroupSize);
+    }
+
+    /**
+     * How often SQLite syncs to disk, see the synchronous pragma. In write-ahead logging mode, NORMAL only syncs at
+     * checkpoints and can lose the last commits on power loss, but never corrupts the database.
+     */
+    public enum Synchronous {
+        OFF,
+        NORMAL,
+        FULL,
+        EXTRA
+    }
 }
\ No newline at end of file
@@ -26,6 +26,16 @@ package com.backwardsnode.easyadmin.core.database.impl;
 
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
 import com.backwardsnode.easyadmin.core.database.AbstractStatementFactory;
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.StringJoiner;
+
+import static com.backwardsnode.easyadmin.core.record.RecordLoader.PLAYER_COLUMNS;
+import static com.backwardsnode.easyadmin.core.record.RecordLoader.RECORD_COUNT_COLUMNS;
 
 public class EasyAdminH2 extends AbstractStatementFactory {
 
@@ -41,4 +51,65 @@ public class EasyAdminH2 extends AbstractStatementFactory {
     public String getSchemaInitScriptName() {
         return "h2.sql";
     }
+
+    @Override
+    public String getMigrationScriptDirectory() {
+        return "h2";
+    }
+
+    @Override
+    protected PreparedStatement initImportPlayerSql(Connection connection) throws SQLException {
+        // ON CONFLICT is only understood in PostgreSQL compatibility mode, and the parameters need casts as nothing
+        // else gives them a type
+        return connection.prepareStatement("INSERT INTO players (uuid,username,firstJoin,totalJoins) SELECT u,n,j,0 FROM (VALUES (CAST(? AS "
+                + getUuidColumnType() + "),CAST(? AS varchar(16)),CAST(? AS timestamp))) AS v(u,n,j) WHERE NOT EXISTS (SELECT 1 FROM players WHERE players.uuid = v.u);");
+    }
+
+    @Override
+    protected PreparedStatement initCreateRecordCountsSql(Connection connection) throws SQLException {
+        String columns = String.join(",", RECORD_COUNT_COLUMNS);
+        StringJoiner values = new StringJoiner(",");
+        for (String column : RECORD_COUNT_COLUMNS) {
+            values.add("v." + column);
+        }
+        return connection.prepareStatement("MERGE INTO player_stats USING (" + selectRecordCountsSql() + ") AS v(uuid," + columns
+                + ") ON player_stats.uuid = v.uuid WHEN NOT MATCHED THEN INSERT (uuid," + columns + ") VALUES (v.uuid," + values + ");");
+    }
+
+    @Override
+    protected PreparedStatement initUpsertPlayerSql(Connection connection, Collection<String> updateColumns) throws SQLException {
+        // as above, the values are cast so MERGE can see their types, and only the given columns are updated on a match
+        StringBuilder builder = new StringBuilder("MERGE INTO players USING (VALUES (CAST(? AS ").append(getUuidColumnType())
+                .append("),CAST(? AS varchar(16)),CAST(? AS timestamp),CAST(? AS timestamp),CAST(? AS timestamp),CAST(? AS int),CAST(? AS int),")
+                .append("CAST(? AS varchar(32)),CAST(? AS ").append(getAddressColumnType()).append("))) AS v(").append(PLAYER_COLUMNS)
+                .append(") ON players.uuid = v.uuid");
+        if (!updateColumns.isEmpty()) {
+            StringJoiner assignments = new StringJoiner(",");
+            for (String column : updateColumns) {
+                assignments.add(column + " = v." + column);
+            }
+            builder.append(" WHEN MATCHED THEN UPDATE SET ").append(assignments);
+        }
+        StringJoiner values = new StringJoiner(",");
+        for (String column : PLAYER_COLUMNS.split(",")) {
+            values.add("v." + column);
+        }
+        builder.append(" WHEN NOT MATCHED THEN INSERT (").append(PLAYER_COLUMNS).append(") VALUES (").append(values).append(");");
+        return connection.prepareStatement(builder.toString());
+    }
+
+    @Override
+    protected ColumnCodec getCompactColumnCodec() {
+        return new ColumnCodec(ColumnCodec.Format.NATIVE, ColumnCodec.Format.TEXT);
+    }
+
+    @Override
+    protected String getCompactUuidColumnType() {
+        return "uuid";
+    }
+
+    @Override
+    protected String getCompactAddressColumnType() {
+        return "varchar(45)";
+    }
 }
@@ -26,6 +26,17 @@ package com.backwardsnode.easyadmin.core.database.impl;
 
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
 import com.backwardsnode.easyadmin.core.database.AbstractStatementFactory;
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.StringJoiner;
+
+import static com.backwardsnode.easyadmin.core.record.RecordLoader.PLAYER_COLUMNS;
+import static com.backwardsnode.easyadmin.core.record.RecordLoader.RECORD_COUNT_COLUMNS;
 
 public class EasyAdminMySQL extends AbstractStatementFactory {
 
@@ -41,4 +52,67 @@ public class EasyAdminMySQL extends AbstractStatementFactory {
     public String getSchemaInitScriptName() {
         return "mysql.sql";
     }
+
+    @Override
+    public String getMigrationScriptDirectory() {
+        return "mysql";
+    }
+
+    @Override
+    protected PreparedStatement prepareStream(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        // Connector/J only streams rows one at a time for this fetch size, any other value buffers the whole result
+        statement.setFetchSize(Integer.MIN_VALUE);
+        return statement;
+    }
+
+    @Override
+    protected PreparedStatement initImportPlayerSql(Connection connection) throws SQLException {
+        return connection.prepareStatement("INSERT INTO players (uuid,username,firstJoin,totalJoins) VALUES (?,?,?,0) ON DUPLICATE KEY UPDATE uuid = uuid;");
+    }
+
+    @Override
+    protected PreparedStatement initCreateRecordCountsSql(Connection connection) throws SQLException {
+        // the players table is also in scope here, so the no-op assignment names the table it updates
+        return connection.prepareStatement("INSERT INTO player_stats (uuid," + String.join(",", RECORD_COUNT_COLUMNS) + ") "
+                + selectRecordCountsSql() + " ON DUPLICATE KEY UPDATE player_stats.uuid = player_stats.uuid;");
+    }
+
+    @Override
+    protected PreparedStatement initUpsertPlayerSql(Connection connection, Collection<String> updateColumns) throws SQLException {
+        StringJoiner assignments = new StringJoiner(",");
+        for (String column : updateColumns) {
+            assignments.add(column + " = VALUES(" + column + ")");
+        }
+        if (updateColumns.isEmpty()) {
+            assignments.add("uuid = uuid");
+        }
+        return connection.prepareStatement("INSERT INTO players (" + PLAYER_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?) ON DUPLICATE KEY UPDATE " + assignments + ";");
+    }
+
+    @Override
+    protected String typedNull(String type) {
+        // MySQL resolves union column types across every branch, and has no CAST to most of these types
+        return "NULL";
+    }
+
+    @Override
+    protected String statusAsText() {
+        return "status";
+    }
+
+    @Override
+    protected ColumnCodec getCompactColumnCodec() {
+        return new ColumnCodec(ColumnCodec.Format.BINARY, ColumnCodec.Format.BINARY);
+    }
+
+    @Override
+    protected String getCompactUuidColumnType() {
+        return "binary(16)";
+    }
+
+    @Override
+    protected String getCompactAddressColumnType() {
+        return "varbinary(16)";
+    }
 }
@@ -26,6 +26,11 @@ package com.backwardsnode.easyadmin.core.database.impl;
 
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
 import com.backwardsnode.easyadmin.core.database.AbstractStatementFactory;
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 public class EasyAdminPostgres extends AbstractStatementFactory {
 
@@ -41,4 +46,37 @@ public class EasyAdminPostgres extends AbstractStatementFactory {
     public String getSchemaInitScriptName() {
         return "postgres.sql";
     }
+
+    @Override
+    public String getMigrationScriptDirectory() {
+        return "postgres";
+    }
+
+    @Override
+    protected PreparedStatement prepareInsert(Connection connection, String sql) throws SQLException {
+        // RETURN_GENERATED_KEYS makes the driver append RETURNING *, only the key is needed
+        return connection.prepareStatement(sql, new String[] { "id" });
+    }
+
+    @Override
+    protected PreparedStatement prepareStream(Connection connection, String sql) throws SQLException {
+        // the driver only fetches with a cursor inside a transaction, otherwise the fetch size is ignored
+        connection.setAutoCommit(false);
+        return super.prepareStream(connection, sql);
+    }
+
+    @Override
+    protected ColumnCodec getCompactColumnCodec() {
+        return new ColumnCodec(ColumnCodec.Format.NATIVE, ColumnCodec.Format.NATIVE);
+    }
+
+    @Override
+    protected String getCompactUuidColumnType() {
+        return "uuid";
+    }
+
+    @Override
+    protected String getCompactAddressColumnType() {
+        return "inet";
+    }
 }
@@ -26,9 +26,18 @@ package com.backwardsnode.easyadmin.core.database.impl;
 
 import com.backwardsnode.easyadmin.api.data.LookupOptions;
 import com.backwardsnode.easyadmin.core.database.AbstractStatementFactory;
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
+
+import java.sql.*;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import static com.backwardsnode.easyadmin.api.internal.Tables.*;
 
 public class EasyAdminSQLite extends AbstractStatementFactory {
 
+    private static final int CONVERT_PAGE_SIZE = 1000;
+
     public EasyAdminSQLite() {
         super();
     }
@@ -41,4 +50,98 @@ public class EasyAdminSQLite extends AbstractStatementFactory {
     public String getSchemaInitScriptName() {
         return "sqlite.sql";
     }
+
+    @Override
+    public String getMigrationScriptDirectory() {
+        return "sqlite";
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        // the driver only reports the last inserted row ID after a batch
+        return false;
+    }
+
+    @Override
+    public boolean supportsLocalDateTime() {
+        // sqlite-jdbc has no LocalDateTime mapping to rely on, so timestamps are read as Timestamp and converted
+        return false;
+    }
+
+    @Override
+    protected ColumnCodec getCompactColumnCodec() {
+        return new ColumnCodec(ColumnCodec.Format.BINARY, ColumnCodec.Format.BINARY);
+    }
+
+    @Override
+    protected String getCompactUuidColumnType() {
+        return "blob";
+    }
+
+    @Override
+    protected String getCompactAddressColumnType() {
+        return "blob";
+    }
+
+    @Override
+    public void convertToCompactLayout(Connection connection) throws SQLException {
+        // SQLite cannot alter column types or decode the text forms itself, but any column can hold a blob, so the
+        // values are rewritten in place and the declared types are left alone
+        try (Statement statement = connection.createStatement()) {
+            // parent and child keys are converted one table at a time, so only check them on commit
+            statement.execute("PRAGMA defer_foreign_keys = ON;");
+        }
+        convertColumns(connection, "players", new String[] { PLAYERS.UUID }, PLAYERS.LAST_IP);
+        convertColumns(connection, "bans", new String[] { BANS.PLAYER_UUID, BANS.STAFF_UUID, BANS.UNBAN_STAFF_UUID }, BANS.PLAYER_IP);
+        convertColumns(connection, "comments", new String[] { COMMENTS.PLAYER_UUID, COMMENTS.STAFF_UUID });
+        convertColumns(connection, "kicks", new String[] { KICKS.PLAYER_UUID, KICKS.STAFF_UUID });
+        convertColumns(connection, "mutes", new String[] { MUTES.PLAYER_UUID, MUTES.STAFF_UUID, MUTES.UNMUTE_STAFF_UUID }, MUTES.PLAYER_IP);
+        convertColumns(connection, "bans_archive", new String[] { BANS.PLAYER_UUID, BANS.STAFF_UUID, BANS.UNBAN_STAFF_UUID }, BANS.PLAYER_IP);
+        convertColumns(connection, "mutes_archive", new String[] { MUTES.PLAYER_UUID, MUTES.STAFF_UUID, MUTES.UNMUTE_STAFF_UUID }, MUTES.PLAYER_IP);
+        convertColumns(connection, "player_stats", new String[] { PLAYER_STATS.UUID });
+    }
+
+    private void convertColumns(Connection connection, String table, String[] uuidColumns, String... addressColumns) throws SQLException {
+        StringJoiner columns = new StringJoiner(",");
+        StringJoiner assignments = new StringJoiner(",");
+        for (String column : uuidColumns) {
+            columns.add(column);
+            assignments.add(column + " = ?");
+        }
+        for (String column : addressColumns) {
+            columns.add(column);
+            assignments.add(column + " = ?");
+        }
+        int columnCount = uuidColumns.length + addressColumns.length;
+
+        try (PreparedStatement select = connection.prepareStatement("SELECT rowid," + columns + " FROM " + table + " WHERE rowid > ? ORDER BY rowid LIMIT " + CONVERT_PAGE_SIZE + ";");
+             PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET " + assignments + " WHERE rowid = ?;")) {
+            long lastRowId = 0;
+            int rows;
+            do {
+                rows = 0;
+                select.setLong(1, lastRowId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastRowId = resultSet.getLong(1);
+                        for (int i = 0; i < columnCount; i++) {
+                            Object value = resultSet.getObject(i + 2);
+                            byte[] bytes = null;
+                            if (i < uuidColumns.length) {
+                                UUID uuid = ColumnCodec.decodeUuid(value);
+                                bytes = uuid == null ? null : ColumnCodec.encodeUuid(uuid);
+                            } else if (value != null) {
+                                bytes = value instanceof byte[] encoded ? encoded : ColumnCodec.encodeAddress(value.toString());
+                            }
+                            update.setBytes(i + 1, bytes);
+                        }
+                        update.setLong(columnCount + 1, lastRowId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                update.executeBatch();
+            } while (rows == CONVERT_PAGE_SIZE);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database.metrics;
+
+import com.backwardsnode.easyadmin.api.data.DatabaseStatistics;
+import com.backwardsnode.easyadmin.api.data.PoolStatistics;
+import com.backwardsnode.easyadmin.api.data.StatementStatistics;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the statement and pool metrics of a database controller. Metrics are created on first use, and recording
+ * never blocks, so they are always enabled.
+ */
+public final class DatabaseMetrics {
+
+    private final ConcurrentMap<String, StatementMetrics> statements = new ConcurrentHashMap<>();
+    private final PoolMetrics primaryPool = new PoolMetrics("primary");
+    private final PoolMetrics readPool = new PoolMetrics("read");
+    private volatile LocalDateTime since = LocalDateTime.now();
+
+    public @NotNull StatementMetrics getStatement(@NotNull String kind) {
+        StatementMetrics metrics = statements.get(kind);
+        if (metrics == null) {
+            metrics = statements.computeIfAbsent(kind, StatementMetrics::new);
+        }
+        return metrics;
+    }
+
+    public @NotNull PoolMetrics getPrimaryPool() {
+        return primaryPool;
+    }
+
+    public @NotNull PoolMetrics getReadPool() {
+        return readPool;
+    }
+
+    public void reset() {
+        since = LocalDateTime.now();
+        statements.values().forEach(StatementMetrics::reset);
+        primaryPool.reset();
+        readPool.reset();
+    }
+
+    /**
+     * Takes a snapshot of the metrics, with statements ordered by the total time spent executing them.
+     * @param primary the primary pool, or null if connections are not pooled
+     * @param read the read pool, or null if there is no separate read pool
+     */
+    public @NotNull DatabaseStatistics snapshot(@Nullable HikariPoolMXBean primary, @Nullable HikariPoolMXBean read) {
+        List<PoolStatistics> pools = new ArrayList<>(2);
+        pools.add(primaryPool.snapshot(primary));
+        if (read != null) {
+            pools.add(readPool.snapshot(read));
+        }
+
+        List<StatementStatistics> snapshots = new ArrayList<>(statements.size());
+        for (StatementMetrics metrics : statements.values()) {
+            StatementStatistics snapshot = metrics.snapshot();
+            if (snapshot.count() > 0 || snapshot.errors() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparingLong((StatementStatistics s) -> s.execute().totalNanos()).reversed());
+
+        return new DatabaseStatistics(since, List.copyOf(pools), List.copyOf(snapshots));
+    }
+
+}
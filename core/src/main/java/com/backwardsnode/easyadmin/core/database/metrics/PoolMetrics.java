@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database.metrics;
+
+import com.backwardsnode.easyadmin.api.data.LatencySummary;
+import com.backwardsnode.easyadmin.api.data.PoolStatistics;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the connections handed out by one pool, and how many of them had to wait.
+ */
+public final class PoolMetrics {
+
+    // an idle connection is handed out in microseconds, so anything slower waited on a busy pool or a new connection
+    private static final long WAIT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    PoolMetrics(String name) {
+        this.name = name;
+    }
+
+    public void recordAcquire(long nanos) {
+        acquire.record(nanos);
+        if (nanos > WAIT_THRESHOLD_NANOS) {
+            waits.increment();
+        }
+    }
+
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void reset() {
+        acquire.reset();
+        waits.reset();
+        timeouts.reset();
+    }
+
+    public PoolStatistics snapshot(@Nullable HikariPoolMXBean pool) {
+        LatencySummary acquired = acquire.snapshot();
+        if (pool == null) {
+            return new PoolStatistics(name, acquired.count(), waits.sum(), timeouts.sum(), acquired, 0, 0, 0, 0);
+        }
+        return new PoolStatistics(name, acquired.count(), waits.sum(), timeouts.sum(), acquired,
+                pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+}
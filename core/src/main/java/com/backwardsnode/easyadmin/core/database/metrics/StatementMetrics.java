@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database.metrics;
+
+import com.backwardsnode.easyadmin.api.data.StatementStatistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The timings of one kind of statement, split into acquiring a connection, executing the statement and decoding the
+ * rows it returns.
+ */
+public final class StatementMetrics {
+
+    private final String kind;
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram execute = new LatencyHistogram();
+    private final LatencyHistogram decode = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    StatementMetrics(String kind) {
+        this.kind = kind;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void recordAcquire(long nanos) {
+        acquire.record(nanos);
+    }
+
+    public void recordExecute(long nanos) {
+        execute.record(nanos);
+    }
+
+    public void recordDecode(long nanos) {
+        decode.record(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    void reset() {
+        acquire.reset();
+        execute.reset();
+        decode.reset();
+        errors.reset();
+    }
+
+    public StatementStatistics snapshot() {
+        return new StatementStatistics(kind, errors.sum(), acquire.snapshot(), execute.snapshot(), decode.snapshot());
+    }
+
+}
@@ -26,12 +26,11 @@ package com.backwardsnode.easyadmin.core.database.util;
 
 import com.backwardsnode.easyadmin.core.EasyAdminService;
 import com.backwardsnode.easyadmin.core.config.DatabaseConfig;
+import com.backwardsnode.easyadmin.core.config.SQLiteConfig;
+import com.backwardsnode.easyadmin.core.database.ColumnLayout;
 import com.backwardsnode.easyadmin.core.database.DatabaseController;
 import com.backwardsnode.easyadmin.core.database.DatabasePlatform;
-import com.backwardsnode.easyadmin.core.database.config.H2ConfigLoader;
-import com.backwardsnode.easyadmin.core.database.config.MySQLConfigLoader;
-import com.backwardsnode.easyadmin.core.database.config.PostgresConfigLoader;
-import com.backwardsnode.easyadmin.core.database.config.SQLiteConfigLoader;
+import com.backwardsnode.easyadmin.core.database.config.*;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -45,46 +44,75 @@ public final class DatabaseUtil {
         if (platform == null) {
             return null;
         }
+        final ColumnLayout layout = config.isCompactStorage() ? ColumnLayout.COMPACT : ColumnLayout.TEXT;
         return switch (platform) {
-            case H2 -> new DatabaseController(
+            case H2 -> createController(
                     new H2ConfigLoader(
                             service.getDataFile("easyadmin.h2").toAbsolutePath().toString(),
                             config.getDatabaseUser()
-                    )
+                    ), layout, config.getDatabasePoolSize()
             );
-            case H2_SECURE -> new DatabaseController(
+            case H2_SECURE -> createController(
                     new H2ConfigLoader(
                             service.getDataFile("easyadmin_s.h2").toAbsolutePath().toString(),
                             config.getDatabaseUser(),
                             config.getDatabasePassword()
-                    )
+                    ), layout, config.getDatabasePoolSize()
             );
-            case MYSQL -> new DatabaseController(
+            case MYSQL -> createController(
                     new MySQLConfigLoader(
                             config.getDatabaseHost(),
                             config.getDatabasePort(),
+                            config.getDatabaseName(),
                             config.getDatabaseUser(),
-                            config.getDatabasePassword(),
-                            config.getDatabaseName()
-                    )
+                            config.getDatabasePassword()
+                    ), layout, config
             );
-            case POSTGRESQL -> new DatabaseController(
+            case POSTGRESQL -> createController(
                     new PostgresConfigLoader(
                             config.getDatabaseHost(),
                             config.getDatabasePort(),
+                            config.getDatabaseName(),
                             config.getDatabaseUser(),
-                            config.getDatabasePassword(),
-                            config.getDatabaseName()
-                    )
+                            config.getDatabasePassword()
+                    ), layout, config
             );
-            case SQLITE -> new DatabaseController(
+            case SQLITE -> createController(
                     new SQLiteConfigLoader(
                             service.getDataFile("easyadmin.db").toAbsolutePath().toString()
-                    )
+                    ), layout, config.getSQLiteConfiguration()
             );
         };
     }
 
+    private static DatabaseController createController(final RemoteConfigLoader<?> loader, final ColumnLayout layout, final DatabaseConfig config) {
+        // the layout must be set before the controller is created, as it may initialize the database straight away
+        loader.setColumnLayout(layout);
+        config.getReadReplicas().forEach(loader::addReadReplica);
+        return new DatabaseController(loader);
+    }
+
+    private static DatabaseController createController(final H2ConfigLoader loader, final ColumnLayout layout, final int poolSize) {
+        loader.setPoolSize(poolSize);
+        return createController(loader, layout);
+    }
+
+    private static DatabaseController createController(final SQLiteConfigLoader loader, final ColumnLayout layout, final SQLiteConfig config) {
+        loader.setSingleWriter(config.isSingleWriter());
+        loader.setSynchronous(config.getSynchronous());
+        loader.setWriteGroupSize(config.getWriteGroupSize());
+        return createController(loader, layout);
+    }
+
+    private static DatabaseController createController(final LocalConfigLoader<?> loader, final ColumnLayout layout) {
+        loader.setColumnLayout(layout);
+        return new DatabaseController(loader);
+    }
+
+    public static boolean hasSchemaFile(String schemaFile) {
+        return DatabaseUtil.class.getResource("/schema/" + schemaFile) != null;
+    }
+
     public static List<String> loadSchemaStatements(String schemaFile) throws IOException {
         try (InputStream is = DatabaseUtil.class.getResourceAsStream("/schema/" + schemaFile)) {
 
@@ -98,6 +126,8 @@ public final class DatabaseUtil {
                 StringBuilder statement = new StringBuilder();
                 String line;
                 boolean inComment = false;
+                // semicolons inside a dollar-quoted body (e.g. a Postgres DO block) do not end the statement
+                boolean inDollarQuote = false;
 
                 while ((line = reader.readLine()) != null) {
                     if (line.startsWith("--")) {
@@ -124,14 +154,17 @@ public final class DatabaseUtil {
                     } while (endCommentIndex != -1);
 
                     if (inComment) {
-                        statement.append(line, 0, startCommentIndex);
-                    } else {
-                        statement.append(line);
+                        line = line.substring(0, startCommentIndex);
+                    }
+                    statement.append(line);
+
+                    for (int i = line.indexOf("$$"); i != -1; i = line.indexOf("$$", i + 2)) {
+                        inDollarQuote = !inDollarQuote;
                     }
 
                     int length = statement.length();
 
-                    if (length > 0 && statement.charAt(length - 1) == ';') {
+                    if (!inDollarQuote && length > 0 && statement.charAt(length - 1) == ';') {
                         statements.add(statement.toString().replaceAll(" +", " "));
                         statement.setLength(0);
                     }
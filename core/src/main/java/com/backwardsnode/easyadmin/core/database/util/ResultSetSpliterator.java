@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.database.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes rows lazily from an open {@link ResultSet}. The result set, its statement and its connection are owned by
+ * the spliterator and closed once the last row has been read, a row fails to decode, or the stream is closed. A row
+ * that fails to be read or decoded is thrown to the consumer of the stream as an {@link UncheckedSQLException}.
+ * @param <T> the type of record decoded from each row
+ */
+public final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultSetSpliterator.class);
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final SQLFunction<ResultSet, T> applyerFunc;
+    private boolean closed = false;
+
+    public ResultSetSpliterator(Connection connection, Statement statement, ResultSet resultSet, SQLFunction<ResultSet, T> applyerFunc) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.applyerFunc = applyerFunc;
+    }
+
+    public static <T> Stream<T> stream(Connection connection, Statement statement, ResultSet resultSet, SQLFunction<ResultSet, T> applyerFunc) {
+        ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(connection, statement, resultSet, applyerFunc);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        T record;
+        try {
+            if (!resultSet.next()) {
+                close();
+                return false;
+            }
+            record = applyerFunc.apply(resultSet);
+        } catch (SQLException e) {
+            // ending the stream here would look the same as running out of rows
+            close();
+            throw new UncheckedSQLException(e);
+        }
+        action.accept(record);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeQuietly(resultSet);
+        closeQuietly(statement);
+        closeQuietly(connection);
+    }
+
+    public static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOGGER.error("Failed to release database resource", e);
+        }
+    }
+}
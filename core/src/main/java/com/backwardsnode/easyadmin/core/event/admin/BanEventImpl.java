@@ -41,7 +41,7 @@ import org.jetbrains.annotations.Nullable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public final class BanEventImpl extends CancellableEvent implements BanEvent {
+public class BanEventImpl extends CancellableEvent implements BanEvent {
 
     private final ServiceSource source;
     private final BanRecordImpl banRecord;
@@ -52,7 +52,12 @@ public final class BanEventImpl extends CancellableEvent implements BanEvent {
 
     public BanEventImpl(EasyAdmin instance, ServiceSource source, BanRecordImpl banRecord,
                         CommandExecutor executor, boolean cancellable, boolean modifiable) {
-        super(instance, BanEvent.class, cancellable);
+        this(instance, BanEvent.class, source, banRecord, executor, cancellable, modifiable);
+    }
+
+    protected BanEventImpl(EasyAdmin instance, Class<? extends BanEvent> eventClass, ServiceSource source, BanRecordImpl banRecord,
+                           CommandExecutor executor, boolean cancellable, boolean modifiable) {
+        super(instance, eventClass, cancellable);
         this.source = source;
         this.banRecord = banRecord;
         this.executor = executor;
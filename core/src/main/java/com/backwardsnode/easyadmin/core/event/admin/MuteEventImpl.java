@@ -41,7 +41,7 @@ import org.jetbrains.annotations.Nullable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public final class MuteEventImpl extends CancellableEvent implements MuteEvent {
+public class MuteEventImpl extends CancellableEvent implements MuteEvent {
 
     private final ServiceSource source;
     private final MuteRecordImpl muteRecord;
@@ -52,7 +52,12 @@ public final class MuteEventImpl extends CancellableEvent implements MuteEvent {
 
     public MuteEventImpl(EasyAdmin instance, ServiceSource source, MuteRecordImpl muteRecord,
                          CommandExecutor executor, boolean cancellable, boolean modifiable) {
-        super(instance, MuteEventImpl.class, cancellable);
+        this(instance, MuteEventImpl.class, source, muteRecord, executor, cancellable, modifiable);
+    }
+
+    protected MuteEventImpl(EasyAdmin instance, Class<? extends MuteEvent> eventClass, ServiceSource source, MuteRecordImpl muteRecord,
+                            CommandExecutor executor, boolean cancellable, boolean modifiable) {
+        super(instance, eventClass, cancellable);
         this.source = source;
         this.muteRecord = muteRecord;
         this.executor = executor;
@@ -142,6 +142,42 @@ public final class CommonMessages {
             public static final MessageKey WARNINGS = new MessageKey("admin.lookup.warnings");
             public static final MessageKey DESCRIPTION_FIELD = new MessageKey("admin.lookup.descriptionField");
             public static final MessageKey DESCRIPTION_FIELD_ALL = new MessageKey("admin.lookup.descriptionFieldAll");
+            public static final MessageKey ONGOING = new MessageKey("admin.lookup.ongoing", false);
+
+        }
+
+        public static final class DATABASE_STATS {
+
+            public static final MessageKey DESC = new MessageKey("admin.dbstats.description", false);
+            public static final MessageKey USAGE = new MessageKey("admin.dbstats.usage", false);
+            public static final MessageKey TITLE = new MessageKey("admin.dbstats.title");
+            public static final MessageKey SINCE = new MessageKey("admin.dbstats.since");
+            public static final MessageKey POOL = new MessageKey("admin.dbstats.pool");
+            public static final MessageKey STATEMENT = new MessageKey("admin.dbstats.statement");
+            public static final MessageKey NONE = new MessageKey("admin.dbstats.none");
+            public static final MessageKey RESET = new MessageKey("admin.dbstats.reset");
+
+        }
+
+        public static final class BACKUP {
+
+            public static final MessageKey DESC = new MessageKey("admin.backup.description", false);
+            public static final MessageKey USAGE = new MessageKey("admin.backup.usage", false);
+            public static final MessageKey EXPORT_STARTED = new MessageKey("admin.backup.exportStarted");
+            public static final MessageKey EXPORTED = new MessageKey("admin.backup.exported");
+            public static final MessageKey RESTORE_STARTED = new MessageKey("admin.backup.restoreStarted");
+            public static final MessageKey RESTORED = new MessageKey("admin.backup.restored");
+            public static final MessageKey FAILED = new MessageKey("admin.backup.failed");
+
+        }
+
+        public static final class IMPORT {
+
+            public static final MessageKey DESC = new MessageKey("admin.import.description", false);
+            public static final MessageKey USAGE = new MessageKey("admin.import.usage", false);
+            public static final MessageKey STARTED = new MessageKey("admin.import.started");
+            public static final MessageKey COMPLETE = new MessageKey("admin.import.complete");
+            public static final MessageKey FAILED = new MessageKey("admin.import.failed");
 
         }
 
@@ -321,6 +357,8 @@ public final class CommonMessages {
 
     public static final class PLAYER {
 
+        public static final MessageKey CHECK_PENDING = new MessageKey("player.checkPending");
+
         public static final class BAN {
 
             public static final MessageKey BAN_TITLE = new MessageKey("player.banTitle", false);
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
+import com.backwardsnode.easyadmin.core.record.CommentRecordImpl;
+import com.backwardsnode.easyadmin.core.record.KickRecordImpl;
+import com.backwardsnode.easyadmin.core.record.MuteRecordImpl;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Import source for the AdvancedBan punishment history. AdvancedBan only stores the name of the staff member who
+ * issued a punishment, so imported records have no author unless that name can be resolved elsewhere.
+ */
+public final class AdvancedBanImport {
+
+    private static final String COLUMNS = "h.id,h.name,h.uuid,h.reason,h.operator,h.punishmentType,h.start,h.end," +
+            "CASE WHEN EXISTS (SELECT 1 FROM Punishments p WHERE p.uuid = h.uuid AND p.start = h.start AND p.punishmentType = h.punishmentType) THEN 1 ELSE 0 END";
+
+    private AdvancedBanImport() {
+
+    }
+
+    /**
+     * Creates a source for the AdvancedBan history table.
+     * @param connection the connection to the AdvancedBan database
+     * @param pageSize the number of rows to read per query
+     * @return the sources, in the order they should be imported
+     */
+    public static List<ImportSource> createSources(@NotNull Connection connection, int pageSize) {
+        return List.of(new JdbcImportSource("advancedban:history", connection, COLUMNS, "PunishmentHistory h", "h.id", pageSize, AdvancedBanImport::map));
+    }
+
+    private static ImportedRecord map(ResultSet result) throws SQLException {
+        String type = result.getString(6);
+        String target = result.getString(3);
+        String reason = ImportMapping.emptyToNull(result.getString(4));
+        LocalDateTime start = ImportMapping.fromEpochMillis(Long.parseLong(result.getString(7).trim()));
+        LocalDateTime end = ImportMapping.fromEndMillis(Long.parseLong(result.getString(8).trim()));
+        PunishmentStatus status = ImportMapping.status(result.getInt(9) != 0, false, end);
+        String playerName = result.getString(2);
+
+        // IP punishments store the address where the UUID would be
+        boolean ipPunishment = type.equals("IP_BAN") || type.equals("TEMP_IP_BAN");
+        UUID player = ipPunishment ? ImportSource.UNKNOWN_PLAYER : ImportMapping.parseUuid(target);
+        if (player == null) {
+            throw new IllegalArgumentException("invalid UUID " + target);
+        }
+        String ipAddress = ipPunishment ? target : null;
+
+        return new ImportedRecord(switch (type) {
+            case "BAN", "TEMP_BAN", "IP_BAN", "TEMP_IP_BAN" -> new BanRecordImpl(status, player, null, null, start, end, ipAddress, null, reason, null);
+            case "MUTE", "TEMP_MUTE" -> new MuteRecordImpl(status, player, null, null, start, end, null, null, reason, null);
+            case "WARNING", "TEMP_WARNING" -> new CommentRecordImpl(player, null, start, true, reason == null ? "" : reason);
+            case "NOTE" -> new CommentRecordImpl(player, null, start, false, reason == null ? "" : reason);
+            case "KICK" -> new KickRecordImpl(player, null, start, true, null, reason);
+            default -> throw new IllegalArgumentException("unknown punishment type " + type);
+        }, ipPunishment ? null : playerName, result.getString(5));
+    }
+
+}
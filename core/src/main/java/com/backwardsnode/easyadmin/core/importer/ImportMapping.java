@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+final class ImportMapping {
+
+    private static final Pattern UNDASHED_UUID = Pattern.compile("[0-9a-fA-F]{32}");
+    private static final Pattern DASHED_UUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private ImportMapping() {
+
+    }
+
+    /**
+     * Parses a UUID with or without dashes. Other plugins store markers such as "CONSOLE" in the same columns, so
+     * anything else is treated as no player.
+     */
+    static @Nullable UUID parseUuid(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        if (DASHED_UUID.matcher(value).matches()) {
+            return UUID.fromString(value);
+        }
+        if (UNDASHED_UUID.matcher(value).matches()) {
+            return new UUID(Long.parseUnsignedLong(value.substring(0, 16), 16), Long.parseUnsignedLong(value.substring(16), 16));
+        }
+        return null;
+    }
+
+    static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Gets the end date of a punishment stored as epoch milliseconds, where zero or below means it never ends.
+     */
+    static @Nullable LocalDateTime fromEndMillis(long millis) {
+        return millis > 0 ? fromEpochMillis(millis) : null;
+    }
+
+    /**
+     * Works out the status of a punishment. Punishments that were lifted by staff have ended, while those still
+     * marked active are only expired once their end date has passed.
+     */
+    static PunishmentStatus status(boolean active, boolean removed, @Nullable LocalDateTime end) {
+        if (removed) {
+            return PunishmentStatus.ENDED;
+        }
+        if (end != null && !end.isAfter(LocalDateTime.now())) {
+            return PunishmentStatus.EXPIRED;
+        }
+        return active ? PunishmentStatus.ACTIVE : PunishmentStatus.ENDED;
+    }
+
+    static @Nullable String emptyToNull(@Nullable String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A source of records from another punishment plugin, read forwards from a position. Positions only need to increase
+ * along the source, so that the importer can resume after the last position it committed.
+ */
+public interface ImportSource extends AutoCloseable {
+
+    /**
+     * Placeholder player for records which only target an IP address, since every record must belong to a player.
+     */
+    UUID UNKNOWN_PLAYER = new UUID(0, 0);
+
+    /**
+     * Gets the name the source is checkpointed under.
+     * @return the unique source name
+     */
+    @NotNull String getName();
+
+    /**
+     * Prepares the source to be read, skipping every row up to and including the given position.
+     * @param position the last position already imported, or 0 to read from the start
+     * @throws Exception if the source could not be opened
+     */
+    void open(long position) throws Exception;
+
+    /**
+     * Reads the next record. Rows which can't be mapped to a record are logged and skipped.
+     * @return the next record, or null if the source has been fully read
+     * @throws Exception if the source could not be read
+     */
+    @Nullable ImportedRecord next() throws Exception;
+
+    /**
+     * Gets the position of the last row read, including any skipped rows.
+     * @return the current position
+     */
+    long getPosition();
+
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import com.backwardsnode.easyadmin.core.database.util.SQLFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads records from another plugin's table over JDBC. Rows are read a page at a time, ordered by an increasing id
+ * column which doubles as the import position, so that no page holds a cursor open for the whole table and a resumed
+ * import starts straight after the last committed row.
+ */
+public class JdbcImportSource implements ImportSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcImportSource.class);
+
+    private final String name;
+    private final Connection connection;
+    private final String pageSql;
+    private final int pageSize;
+    private final SQLFunction<ResultSet, ImportedRecord> mapper;
+
+    private PreparedStatement statement;
+    private ResultSet result;
+    private int pageRows;
+    private boolean exhausted;
+    private long position;
+
+    /**
+     * Creates a source for a table. The connection is not closed with the source.
+     * @param name the unique source name
+     * @param connection the connection to read from
+     * @param columns the columns to select, where the first must be the id column
+     * @param table the table to select from, which may include an alias or joins
+     * @param idColumn the id column, as it should appear in the where and order by clauses
+     * @param pageSize the number of rows to read per query
+     * @param mapper maps the current row to a record, or null if the row should be skipped
+     */
+    public JdbcImportSource(@NotNull String name, @NotNull Connection connection, @NotNull String columns, @NotNull String table,
+                            @NotNull String idColumn, int pageSize, @NotNull SQLFunction<ResultSet, ImportedRecord> mapper) {
+        this.name = name;
+        this.connection = connection;
+        this.pageSql = "SELECT " + columns + " FROM " + table + " WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT " + pageSize;
+        this.pageSize = pageSize;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public void open(long position) throws SQLException {
+        this.position = position;
+        exhausted = false;
+        statement = connection.prepareStatement(pageSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(pageSize);
+    }
+
+    @Override
+    public @Nullable ImportedRecord next() throws SQLException {
+        while (true) {
+            if (result == null) {
+                if (exhausted) {
+                    return null;
+                }
+                statement.setLong(1, position);
+                result = statement.executeQuery();
+                pageRows = 0;
+            }
+
+            if (!result.next()) {
+                result.close();
+                result = null;
+                // a short page means there is nothing after it
+                exhausted = pageRows < pageSize;
+                continue;
+            }
+
+            pageRows++;
+            position = result.getLong(1);
+            try {
+                ImportedRecord record = mapper.apply(result);
+                if (record != null) {
+                    return record;
+                }
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Skipping row " + position + " from " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (result != null) {
+            result.close();
+            result = null;
+        }
+        if (statement != null) {
+            statement.close();
+            statement = null;
+        }
+    }
+
+}
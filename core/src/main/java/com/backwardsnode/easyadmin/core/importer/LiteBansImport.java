@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
+import com.backwardsnode.easyadmin.core.record.CommentRecordImpl;
+import com.backwardsnode.easyadmin.core.record.KickRecordImpl;
+import com.backwardsnode.easyadmin.core.record.MuteRecordImpl;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Import sources for the LiteBans tables. Bans, mutes and kicks map directly, and warnings become warning comments.
+ */
+public final class LiteBansImport {
+
+    private static final String GLOBAL_SCOPE = "*";
+    private static final String PUNISHMENT_COLUMNS = "p.id,p.uuid,p.ip,p.reason,p.banned_by_uuid,p.banned_by_name,p.removed_by_uuid,p.removed_by_name," +
+            "p.removed_by_reason,p.removed_by_date,p.time,p.until,p.server_scope,p.ipban,p.active";
+
+    private LiteBansImport() {
+
+    }
+
+    /**
+     * Creates a source for each LiteBans table.
+     * @param connection the connection to the LiteBans database
+     * @param tablePrefix the table prefix LiteBans was configured with
+     * @param pageSize the number of rows to read per query
+     * @return the sources, in the order they should be imported
+     */
+    public static List<ImportSource> createSources(@NotNull Connection connection, @NotNull String tablePrefix, int pageSize) {
+        String playerName = "(SELECT h.name FROM " + tablePrefix + "history h WHERE h.uuid = p.uuid ORDER BY h.date DESC LIMIT 1)";
+        return List.of(
+                new JdbcImportSource("litebans:bans", connection, PUNISHMENT_COLUMNS + "," + playerName, tablePrefix + "bans p", "p.id", pageSize,
+                        LiteBansImport::mapBan),
+                new JdbcImportSource("litebans:mutes", connection, PUNISHMENT_COLUMNS + "," + playerName, tablePrefix + "mutes p", "p.id", pageSize,
+                        LiteBansImport::mapMute),
+                new JdbcImportSource("litebans:kicks", connection, "p.id,p.uuid,p.reason,p.banned_by_uuid,p.banned_by_name,p.time,p.server_scope,p.server_origin," + playerName,
+                        tablePrefix + "kicks p", "p.id", pageSize, LiteBansImport::mapKick),
+                new JdbcImportSource("litebans:warnings", connection, "p.id,p.uuid,p.reason,p.banned_by_uuid,p.banned_by_name,p.time," + playerName,
+                        tablePrefix + "warnings p", "p.id", pageSize, LiteBansImport::mapWarning)
+        );
+    }
+
+    private static ImportedRecord mapBan(ResultSet result) throws SQLException {
+        Punishment punishment = readPunishment(result);
+        if (punishment == null) {
+            return null;
+        }
+        return new ImportedRecord(new BanRecordImpl(punishment.status(), punishment.player(), punishment.staff(), punishment.removedBy(), punishment.date(),
+                punishment.end(), punishment.ipAddress(), punishment.contexts(), punishment.reason(), punishment.removedReason()),
+                result.getString(16), result.getString(6));
+    }
+
+    private static ImportedRecord mapMute(ResultSet result) throws SQLException {
+        Punishment punishment = readPunishment(result);
+        if (punishment == null) {
+            return null;
+        }
+        return new ImportedRecord(new MuteRecordImpl(punishment.status(), punishment.player(), punishment.staff(), punishment.removedBy(), punishment.date(),
+                punishment.end(), punishment.ipAddress(), punishment.contexts(), punishment.reason(), punishment.removedReason()),
+                result.getString(16), result.getString(6));
+    }
+
+    private static ImportedRecord mapKick(ResultSet result) throws SQLException {
+        UUID player = ImportMapping.parseUuid(result.getString(2));
+        if (player == null) {
+            return null;
+        }
+        String scope = result.getString(7);
+        boolean global = scope == null || scope.equals(GLOBAL_SCOPE);
+        return new ImportedRecord(new KickRecordImpl(player, ImportMapping.parseUuid(result.getString(4)), ImportMapping.fromEpochMillis(result.getLong(6)),
+                global, ImportMapping.emptyToNull(result.getString(8)), ImportMapping.emptyToNull(result.getString(3))),
+                result.getString(9), result.getString(5));
+    }
+
+    private static ImportedRecord mapWarning(ResultSet result) throws SQLException {
+        UUID player = ImportMapping.parseUuid(result.getString(2));
+        if (player == null) {
+            return null;
+        }
+        String reason = result.getString(3);
+        return new ImportedRecord(new CommentRecordImpl(player, ImportMapping.parseUuid(result.getString(4)), ImportMapping.fromEpochMillis(result.getLong(6)),
+                true, reason == null ? "" : reason), result.getString(7), result.getString(5));
+    }
+
+    private static Punishment readPunishment(ResultSet result) throws SQLException {
+        boolean ipBan = result.getBoolean(14);
+        UUID player = ImportMapping.parseUuid(result.getString(2));
+        String ipAddress = ipBan ? ImportMapping.emptyToNull(result.getString(3)) : null;
+        if (player == null) {
+            // IP bans of players who never joined are stored against a marker instead of a UUID
+            if (ipAddress == null) {
+                return null;
+            }
+            player = ImportSource.UNKNOWN_PLAYER;
+        }
+
+        String scope = result.getString(13);
+        String removedByName = result.getString(8);
+        Timestamp removedDate = result.getTimestamp(10);
+        boolean removed = removedByName != null || removedDate != null;
+
+        LocalDateTime end = ImportMapping.fromEndMillis(result.getLong(12));
+        if (removed && removedDate != null) {
+            end = removedDate.toLocalDateTime();
+        }
+
+        return new Punishment(
+                ImportMapping.status(result.getBoolean(15), removed, end),
+                player,
+                ImportMapping.parseUuid(result.getString(5)),
+                ImportMapping.parseUuid(result.getString(7)),
+                ImportMapping.fromEpochMillis(result.getLong(11)),
+                end,
+                ipAddress,
+                scope == null || scope.equals(GLOBAL_SCOPE) ? null : scope,
+                ImportMapping.emptyToNull(result.getString(4)),
+                ImportMapping.emptyToNull(result.getString(9)));
+    }
+
+    private record Punishment(PunishmentStatus status, UUID player, UUID staff, UUID removedBy, LocalDateTime date, LocalDateTime end,
+                              String ipAddress, String contexts, String reason, String removedReason) {
+
+    }
+
+}
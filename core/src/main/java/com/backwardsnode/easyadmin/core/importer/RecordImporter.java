@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import com.backwardsnode.easyadmin.core.database.DatabaseController;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies records from import sources into the database. Records are inserted in batches, each committed in one
+ * transaction together with the source checkpoint, so an interrupted import resumes after the last committed batch
+ * without duplicating records. No events are fired for imported records.
+ */
+public class RecordImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecordImporter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private final DatabaseController controller;
+    private final int batchSize;
+
+    public RecordImporter(@NotNull DatabaseController controller, int batchSize) {
+        this.controller = controller;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Imports every source in turn, then rebuilds the player record counts.
+     * @param sources the sources to import
+     * @return the total number of records imported by this run
+     * @throws Exception if a source could not be read or a batch could not be committed
+     */
+    public long importAll(@NotNull List<? extends ImportSource> sources) throws Exception {
+        long imported = 0;
+        try {
+            for (ImportSource source : sources) {
+                try (source) {
+                    imported += importSource(source);
+                }
+            }
+        } finally {
+            if (imported > 0 && !controller.rebuildRecordCounts()) {
+                LOGGER.warn("Failed to rebuild record counts after import");
+            }
+        }
+        return imported;
+    }
+
+    private long importSource(ImportSource source) throws Exception {
+        ImportCheckpoint checkpoint = controller.getImportCheckpoint(source.getName());
+        if (checkpoint == null) {
+            checkpoint = ImportCheckpoint.START;
+        } else {
+            LOGGER.info("Resuming import of " + source.getName() + " after position " + checkpoint.position());
+        }
+
+        source.open(checkpoint.position());
+        long start = checkpoint.imported();
+        List<ImportedRecord> batch = new ArrayList<>(batchSize);
+        ImportedRecord record;
+        while ((record = source.next()) != null) {
+            batch.add(record);
+            if (batch.size() >= batchSize) {
+                checkpoint = commit(source, batch, checkpoint);
+            }
+        }
+        if (!batch.isEmpty()) {
+            checkpoint = commit(source, batch, checkpoint);
+        }
+
+        LOGGER.info("Imported " + (checkpoint.imported() - start) + " records from " + source.getName() + " (" + checkpoint.imported() + " in total)");
+        return checkpoint.imported() - start;
+    }
+
+    private ImportCheckpoint commit(ImportSource source, List<ImportedRecord> batch, ImportCheckpoint previous) {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(source.getPosition(), previous.imported() + batch.size());
+        if (!controller.importRecords(source.getName(), batch, checkpoint)) {
+            throw new IllegalStateException("Failed to import records from " + source.getName() + " after position " + previous.position());
+        }
+        batch.clear();
+        LOGGER.info("Imported " + checkpoint.imported() + " records from " + source.getName());
+        return checkpoint;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin.core.importer;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads the vanilla banned-players.json or banned-ips.json list. Positions are indices into the list, so the file
+ * should not be edited while an import of it is incomplete.
+ */
+public final class VanillaBanListSource implements ImportSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VanillaBanListSource.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z");
+    private static final String FOREVER = "forever";
+
+    public static final String PLAYER_LIST = "banned-players.json";
+    public static final String IP_LIST = "banned-ips.json";
+
+    private final Path file;
+    private final boolean ipList;
+
+    private List<Map<String, Object>> entries;
+    private int position;
+
+    private VanillaBanListSource(Path file, boolean ipList) {
+        this.file = file;
+        this.ipList = ipList;
+    }
+
+    public static VanillaBanListSource players(@NotNull Path serverDirectory) {
+        return new VanillaBanListSource(serverDirectory.resolve(PLAYER_LIST), false);
+    }
+
+    public static VanillaBanListSource addresses(@NotNull Path serverDirectory) {
+        return new VanillaBanListSource(serverDirectory.resolve(IP_LIST), true);
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return ipList ? "vanilla:banned-ips" : "vanilla:banned-players";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void open(long position) throws IOException {
+        this.position = (int) position;
+        if (!Files.exists(file)) {
+            entries = List.of();
+            return;
+        }
+
+        // JSON is valid YAML, and the lists can grow past the default document size limit
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Object document = new Yaml(options).load(reader);
+            entries = document instanceof List<?> list ? (List<Map<String, Object>>) list : List.of();
+        }
+    }
+
+    @Override
+    public @Nullable ImportedRecord next() {
+        while (position < entries.size()) {
+            Map<String, Object> entry = entries.get(position++);
+            try {
+                return map(entry);
+            } catch (IllegalArgumentException | DateTimeParseException | ClassCastException e) {
+                LOGGER.warn("Skipping entry " + position + " from " + file + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private ImportedRecord map(Map<String, Object> entry) {
+        LocalDateTime created = parseDate((String) entry.get("created"));
+        String expires = (String) entry.get("expires");
+        LocalDateTime end = expires == null || expires.equals(FOREVER) ? null : parseDate(expires);
+        if (created == null) {
+            created = LocalDateTime.now();
+        }
+        PunishmentStatus status = ImportMapping.status(true, false, end);
+        String reason = ImportMapping.emptyToNull((String) entry.get("reason"));
+
+        if (ipList) {
+            String ipAddress = (String) entry.get("ip");
+            if (ipAddress == null) {
+                throw new IllegalArgumentException("missing ip");
+            }
+            return new ImportedRecord(new BanRecordImpl(status, UNKNOWN_PLAYER, null, null, created, end, ipAddress, null, reason, null), null, null);
+        }
+
+        UUID player = ImportMapping.parseUuid((String) entry.get("uuid"));
+        if (player == null) {
+            throw new IllegalArgumentException("invalid uuid " + entry.get("uuid"));
+        }
+        // the source is a name, or "Server" for the console, so the author can't be recorded
+        return new ImportedRecord(new BanRecordImpl(status, player, null, null, created, end, null, null, reason, null), (String) entry.get("name"), null);
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        return ZonedDateTime.parse(value, DATE_FORMAT).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        entries = null;
+    }
+
+}
@@ -32,11 +32,11 @@ import org.jetbrains.annotations.Nullable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public class BanRecordImpl implements BanRecord, MutableRecordProvider<MutableBanRecordImpl> {
+public class BanRecordImpl implements BanRecord, MutableRecordProvider<MutableBanRecordImpl>, GeneratedKeyRecord {
 
-    protected transient boolean _loaded;
+    protected transient volatile boolean _loaded;
 
-    protected int id;
+    protected volatile int id;
     protected PunishmentStatus status;
     protected UUID player;
     protected UUID staff;
@@ -71,6 +71,10 @@ public class BanRecordImpl implements BanRecord, MutableRecordProvider<MutableBa
         this(false, -1, PunishmentStatus.ACTIVE, player, staff, null, banDate, unbanDate, ipAddress, contexts, reason, null);
     }
 
+    public BanRecordImpl(@NotNull PunishmentStatus status, @NotNull UUID player, @Nullable UUID staff, @Nullable UUID unbanStaff, @NotNull LocalDateTime banDate, @Nullable LocalDateTime unbanDate, @Nullable String ipAddress, @Nullable String contexts, @Nullable String reason, @Nullable String unbanReason) {
+        this(false, -1, status, player, staff, unbanStaff, banDate, unbanDate, ipAddress, contexts, reason, unbanReason);
+    }
+
     @Override
     public boolean isLoaded() {
         return _loaded;
@@ -80,6 +84,12 @@ public class BanRecordImpl implements BanRecord, MutableRecordProvider<MutableBa
     public @NotNull Integer getId() {
         return id;
     }
+
+    @Override
+    public void assignGeneratedId(int id) {
+        this.id = id;
+        _loaded = true;
+    }
     @Override
     public @NotNull PunishmentStatus getStatus() {
         return status;
@@ -130,6 +140,14 @@ public class BanRecordImpl implements BanRecord, MutableRecordProvider<MutableBa
         return unbanReason;
     }
 
+    /**
+     * Copies this record with its status set to expired, as it is once its unban date has passed.
+     * @return the expired copy
+     */
+    public @NotNull BanRecordImpl asExpired() {
+        return new BanRecordImpl(_loaded, id, PunishmentStatus.EXPIRED, player, staff, unbanStaff, banDate, unbanDate, ipAddress, context, reason, unbanReason);
+    }
+
     @Override
     public @NotNull MutableBanRecordImpl asMutable() {
         return new MutableBanRecordImpl(this);
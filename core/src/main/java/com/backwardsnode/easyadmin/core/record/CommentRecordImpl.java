@@ -31,11 +31,11 @@ import org.jetbrains.annotations.Nullable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public class CommentRecordImpl implements CommentRecord, MutableRecordProvider<MutableCommentRecordImpl> {
+public class CommentRecordImpl implements CommentRecord, MutableRecordProvider<MutableCommentRecordImpl>, GeneratedKeyRecord {
 
-    protected transient boolean _loaded;
+    protected transient volatile boolean _loaded;
 
-    protected int id;
+    protected volatile int id;
     protected UUID player;
     protected UUID staff;
     protected LocalDateTime commentDate;
@@ -70,6 +70,12 @@ public class CommentRecordImpl implements CommentRecord, MutableRecordProvider<M
         return id;
     }
 
+    @Override
+    public void assignGeneratedId(int id) {
+        this.id = id;
+        _loaded = true;
+    }
+
     @Override
     public @NotNull UUID getPlayer() {
         return player;
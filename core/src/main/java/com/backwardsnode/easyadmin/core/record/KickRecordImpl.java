@@ -32,11 +32,11 @@ import org.jetbrains.annotations.Nullable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public class KickRecordImpl implements KickRecord, MutableRecordProvider<MutableKickRecordImpl> {
+public class KickRecordImpl implements KickRecord, MutableRecordProvider<MutableKickRecordImpl>, GeneratedKeyRecord {
 
-    protected transient boolean _loaded;
+    protected transient volatile boolean _loaded;
 
-    protected int id;
+    protected volatile int id;
     protected UUID player;
     protected UUID staff;
     protected LocalDateTime kickDate;
@@ -63,6 +63,10 @@ public class KickRecordImpl implements KickRecord, MutableRecordProvider<Mutable
         this(false, -1, player, staff, kickDate, isGlobal, null, reason);
     }
 
+    public KickRecordImpl(UUID player, UUID staff, LocalDateTime kickDate, boolean isGlobal, String serverName, String reason) {
+        this(false, -1, player, staff, kickDate, isGlobal, serverName, reason);
+    }
+
     @Override
     public boolean isLoaded() {
         return _loaded;
@@ -73,6 +77,12 @@ public class KickRecordImpl implements KickRecord, MutableRecordProvider<Mutable
         return id;
     }
 
+    @Override
+    public void assignGeneratedId(int id) {
+        this.id = id;
+        _loaded = true;
+    }
+
     @Override
     public @NotNull UUID getPlayer() {
         return player;
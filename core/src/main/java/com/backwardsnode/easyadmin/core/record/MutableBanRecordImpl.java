@@ -44,6 +44,12 @@ public final class MutableBanRecordImpl extends BanRecordImpl implements Mutable
         this.source = source;
     }
 
+    @Override
+    public @NotNull Integer getId() {
+        // the source may have been given its generated ID after this copy was made
+        return id < 0 ? source.getId() : id;
+    }
+
     @Override
     public void setAuthor(@Nullable UUID author) {
         if (!Objects.equals(this.staff, author)) {
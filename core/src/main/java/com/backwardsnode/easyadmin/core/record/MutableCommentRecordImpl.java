@@ -42,6 +42,12 @@ public final class MutableCommentRecordImpl extends CommentRecordImpl implements
         this.source = source;
     }
 
+    @Override
+    public @NotNull Integer getId() {
+        // the source may have been given its generated ID after this copy was made
+        return id < 0 ? source.getId() : id;
+    }
+
     @Override
     public boolean canSwitchWarningMode() {
         return !isLoaded();
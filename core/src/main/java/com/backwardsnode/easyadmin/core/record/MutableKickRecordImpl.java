@@ -25,6 +25,7 @@
 package com.backwardsnode.easyadmin.core.record;
 
 import com.backwardsnode.easyadmin.api.record.mutable.MutableKickRecord;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
@@ -41,6 +42,12 @@ public final class MutableKickRecordImpl extends KickRecordImpl implements Mutab
         this.source = source;
     }
 
+    @Override
+    public @NotNull Integer getId() {
+        // the source may have been given its generated ID after this copy was made
+        return id < 0 ? source.getId() : id;
+    }
+
     @Override
     public void setAuthor(@Nullable UUID author) {
         if (!Objects.equals(this.staff, author)) {
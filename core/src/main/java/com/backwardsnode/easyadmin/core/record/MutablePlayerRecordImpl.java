@@ -129,6 +129,19 @@ public final class MutablePlayerRecordImpl extends PlayerRecordImpl implements M
         }
     }
 
+    /**
+     * Carries over the changes of an earlier copy of the same player that has not been written yet, so that writing
+     * this copy also writes those changes. This copy must already hold the earlier values it did not change itself.
+     * @param earlier the earlier copy
+     */
+    public void coalesce(@NotNull MutablePlayerRecord earlier) {
+        joinStatsChanged |= earlier.hasPlayerJoinStatsChanged();
+        leaveStatsChanged |= earlier.hasPlayerLeaveStatsChanged();
+        dynamicStatsChanged |= earlier.hasPlayerDynamicStatsChanged();
+        // the player's row may not exist yet if the earlier copy was going to create it
+        _loaded &= earlier.isLoaded();
+    }
+
     @Override
     public boolean isModified() {
         return joinStatsChanged || leaveStatsChanged || dynamicStatsChanged;
@@ -32,11 +32,11 @@ import org.jetbrains.annotations.Nullable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public class MuteRecordImpl implements MuteRecord, MutableRecordProvider<MutableMuteRecordImpl> {
+public class MuteRecordImpl implements MuteRecord, MutableRecordProvider<MutableMuteRecordImpl>, GeneratedKeyRecord {
 
-    protected transient boolean _loaded;
+    protected transient volatile boolean _loaded;
 
-    protected int id;
+    protected volatile int id;
     protected PunishmentStatus status;
     protected UUID player;
     protected UUID staff;
@@ -71,6 +71,10 @@ public class MuteRecordImpl implements MuteRecord, MutableRecordProvider<Mutable
         this(false, -1, PunishmentStatus.ACTIVE, player, staff, null, muteDate, unmuteDate, ipAddress, contexts, reason, null);
     }
 
+    public MuteRecordImpl(PunishmentStatus status, UUID player, UUID staff, UUID unmuteStaff, LocalDateTime muteDate, LocalDateTime unmuteDate, String ipAddress, String contexts, String reason, String unmuteReason) {
+        this(false, -1, status, player, staff, unmuteStaff, muteDate, unmuteDate, ipAddress, contexts, reason, unmuteReason);
+    }
+
     @Override
     public boolean isLoaded() {
         return _loaded;
@@ -81,6 +85,12 @@ public class MuteRecordImpl implements MuteRecord, MutableRecordProvider<Mutable
         return id;
     }
 
+    @Override
+    public void assignGeneratedId(int id) {
+        this.id = id;
+        _loaded = true;
+    }
+
     @Override
     public @NotNull PunishmentStatus getStatus() {
         return status;
@@ -131,6 +141,14 @@ public class MuteRecordImpl implements MuteRecord, MutableRecordProvider<Mutable
         return unmuteReason;
     }
 
+    /**
+     * Copies this record with its status set to expired, as it is once its unmute date has passed.
+     * @return the expired copy
+     */
+    public @NotNull MuteRecordImpl asExpired() {
+        return new MuteRecordImpl(_loaded, id, PunishmentStatus.EXPIRED, player, staff, unmuteStaff, muteDate, unmuteDate, ipAddress, context, reason, unmuteReason);
+    }
+
     @Override
     public @NotNull MutableMuteRecordImpl asMutable() {
         return new MutableMuteRecordImpl(this);
@@ -33,7 +33,7 @@ import java.util.UUID;
 
 public class PlayerRecordImpl implements PlayerRecord, MutableRecordProvider<MutablePlayerRecordImpl> {
 
-    protected transient boolean _loaded;
+    protected transient volatile boolean _loaded;
 
     protected UUID uuid;
     protected String username;
@@ -70,11 +70,23 @@ public class PlayerRecordImpl implements PlayerRecord, MutableRecordProvider<Mut
         this(false, uuid, username, firstJoin, firstJoin, null, 0, totalJoins, lastServer, lastAddress);
     }
 
+    public PlayerRecordImpl(@NotNull UUID uuid, @NotNull String username, @NotNull LocalDateTime firstJoin, @NotNull LocalDateTime lastJoin, @Nullable LocalDateTime lastLeave,
+                            long playtime, int totalJoins, @Nullable String lastServer, @Nullable String lastAddress) {
+        this(false, uuid, username, firstJoin, lastJoin, lastLeave, playtime, totalJoins, lastServer, lastAddress);
+    }
+
     @Override
     public boolean isLoaded() {
         return _loaded;
     }
 
+    /**
+     * Marks the player as written, once the database holds a row for them.
+     */
+    public void markLoaded() {
+        _loaded = true;
+    }
+
     @Override
     public @NotNull UUID getId() {
         return uuid;
@@ -24,12 +24,19 @@
 
 package com.backwardsnode.easyadmin.core.record;
 
+import com.backwardsnode.easyadmin.api.data.PlayerDossier;
 import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.data.RecordCounts;
 import com.backwardsnode.easyadmin.api.record.*;
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static com.backwardsnode.easyadmin.api.internal.Tables.*;
@@ -41,111 +48,277 @@ import static com.backwardsnode.easyadmin.api.internal.Tables.*;
 public final class RecordLoader {
 
     /**
-     * Loads a {@link PlayerRecord}.
+     * Column projection for the players table, in the order read by {@link #loadPlayerRecord(ResultSet)}.
+     */
+    public static final String PLAYER_COLUMNS = String.join(",", PLAYERS.UUID, PLAYERS.USERNAME, PLAYERS.FIRST_JOIN,
+            PLAYERS.LAST_JOIN, PLAYERS.LAST_LEAVE, PLAYERS.PLAYTIME, PLAYERS.TOTAL_JOINS, PLAYERS.LAST_SERVER, PLAYERS.LAST_IP);
+
+    /**
+     * Column projection for the bans table, in the order read by {@link #loadBanRecord(ResultSet)}.
+     */
+    public static final String BAN_COLUMNS = String.join(",", BANS.ID, BANS.STATUS, BANS.PLAYER_UUID, BANS.STAFF_UUID,
+            BANS.UNBAN_STAFF_UUID, BANS.BAN_DATE, BANS.UNBAN_DATE, BANS.PLAYER_IP, BANS.CONTEXTS, BANS.REASON, BANS.UNBAN_REASON);
+
+    /**
+     * Column projection for the comments table, in the order read by {@link #loadCommentRecord(ResultSet)}.
+     */
+    public static final String COMMENT_COLUMNS = String.join(",", COMMENTS.ID, COMMENTS.PLAYER_UUID, COMMENTS.STAFF_UUID,
+            COMMENTS.DATE_ADDED, COMMENTS.IS_WARNING, COMMENTS.COMMENT);
+
+    /**
+     * Column projection for the kicks table, in the order read by {@link #loadKickRecord(ResultSet)}.
+     */
+    public static final String KICK_COLUMNS = String.join(",", KICKS.ID, KICKS.PLAYER_UUID, KICKS.STAFF_UUID,
+            KICKS.KICK_DATE, KICKS.IS_GLOBAL, KICKS.SERVER_NAME, KICKS.REASON);
+
+    /**
+     * Column projection for the mutes table, in the order read by {@link #loadMuteRecord(ResultSet)}.
+     */
+    public static final String MUTE_COLUMNS = String.join(",", MUTES.ID, MUTES.STATUS, MUTES.PLAYER_UUID, MUTES.STAFF_UUID,
+            MUTES.UNMUTE_STAFF_UUID, MUTES.MUTE_DATE, MUTES.UNMUTE_DATE, MUTES.PLAYER_IP, MUTES.CONTEXTS, MUTES.REASON, MUTES.UNMUTE_REASON);
+
+    /**
+     * Counter columns of the player_stats table, in the order of the {@link RecordCounts} components.
+     */
+    public static final String[] RECORD_COUNT_COLUMNS = { PLAYER_STATS.BANS, PLAYER_STATS.COMMENTS, PLAYER_STATS.WARNINGS,
+            PLAYER_STATS.KICKS, PLAYER_STATS.MUTES, PLAYER_STATS.ISSUED_BANS, PLAYER_STATS.ISSUED_COMMENTS,
+            PLAYER_STATS.ISSUED_KICKS, PLAYER_STATS.ISSUED_MUTES };
+
+    /**
+     * Row kinds of the dossier query, held in its first column. Count rows use {@link #DOSSIER_COUNTS} plus the index
+     * of the count, in the order of the {@link PlayerDossier} count components.
+     */
+    public static final int DOSSIER_PLAYER = 0;
+    public static final int DOSSIER_BAN = 1;
+    public static final int DOSSIER_COMMENT = 2;
+    public static final int DOSSIER_KICK = 3;
+    public static final int DOSSIER_MUTE = 4;
+    public static final int DOSSIER_COUNTS = 10;
+    public static final int DOSSIER_COUNT_TOTAL = 9;
+
+    /**
+     * Column names of the dossier query. Every row kind maps its fields onto these columns, padding the rest with nulls.
+     */
+    public static final String[] DOSSIER_COLUMNS = { "kind", "id", "num", "label", "playerUuid", "staffUuid",
+            "endStaffUuid", "playerIP", "startDate", "endDate", "extraDate", "flag", "contexts", "reason", "endReason" };
+
+    private final boolean localDateTimeSupported;
+
+    /**
+     * Creates a loader for the result sets of one driver.
+     * @param localDateTimeSupported whether the driver can read timestamps as {@link LocalDateTime} directly
+     */
+    public RecordLoader(boolean localDateTimeSupported) {
+        this.localDateTimeSupported = localDateTimeSupported;
+    }
+
+    /**
+     * Loads a {@link PlayerRecord}. The result must use the {@link #PLAYER_COLUMNS} projection.
      * @param result the result set to load from.
      * @return the loaded player record.
      * @throws SQLException if an error occured while loading the record.
      */
-    public static PlayerRecord loadPlayerRecord(ResultSet result) throws SQLException {
+    public PlayerRecord loadPlayerRecord(ResultSet result) throws SQLException {
         return new PlayerRecordImpl(true,
-                UUID.fromString(result.getString(PLAYERS.UUID)),
-                result.getString(PLAYERS.USERNAME),
-                result.getTimestamp(PLAYERS.FIRST_JOIN).toLocalDateTime(),
-                result.getTimestamp(PLAYERS.LAST_JOIN).toLocalDateTime(),
-                result.getTimestamp(PLAYERS.LAST_LEAVE).toLocalDateTime(),
-                result.getLong(PLAYERS.PLAYTIME),
-                result.getInt(PLAYERS.TOTAL_JOINS),
-                result.getString(PLAYERS.LAST_SERVER),
-                result.getString(PLAYERS.LAST_IP));
+                getUuid(result, 1),
+                result.getString(2),
+                getDateTime(result, 3),
+                getDateTime(result, 4),
+                getDateTime(result, 5),
+                result.getLong(6),
+                result.getInt(7),
+                result.getString(8),
+                getAddress(result, 9));
     }
 
     /**
-     * Loads a {@link BanRecord}.
+     * Loads a {@link BanRecord}. The result must use the {@link #BAN_COLUMNS} projection.
      * @param result the result set to load from.
      * @return the loaded ban record.
      * @throws SQLException if an error occured while loading the record.
      */
-    public static BanRecord loadBanRecord(ResultSet result) throws SQLException {
+    public BanRecord loadBanRecord(ResultSet result) throws SQLException {
         return new BanRecordImpl(true,
-                result.getInt(BANS.ID),
-                PunishmentStatus.fromString(result.getString(BANS.STATUS)),
-                UUID.fromString(result.getString(BANS.PLAYER_UUID)),
-                nullableUUID(result.getString(BANS.STAFF_UUID)),
-                nullableUUID(result.getString(BANS.UNBAN_STAFF_UUID)),
-                result.getTimestamp(BANS.BAN_DATE).toLocalDateTime(),
-                result.getTimestamp(BANS.UNBAN_DATE).toLocalDateTime(),
-                result.getString(BANS.PLAYER_IP),
-                result.getString(BANS.CONTEXTS),
-                result.getString(BANS.REASON),
-                result.getString(BANS.UNBAN_REASON));
+                result.getInt(1),
+                PunishmentStatus.fromString(result.getString(2)),
+                getUuid(result, 3),
+                getUuid(result, 4),
+                getUuid(result, 5),
+                getDateTime(result, 6),
+                getDateTime(result, 7),
+                getAddress(result, 8),
+                result.getString(9),
+                result.getString(10),
+                result.getString(11));
 
     }
 
     /**
-     * Loads a {@link CommentRecord}.
+     * Loads a {@link CommentRecord}. The result must use the {@link #COMMENT_COLUMNS} projection.
      * @param result the result set to load from.
      * @return the loaded comment record.
      * @throws SQLException if an error occured while loading the record.
      */
-    public static CommentRecord loadCommentRecord(ResultSet result) throws SQLException {
+    public CommentRecord loadCommentRecord(ResultSet result) throws SQLException {
         return new CommentRecordImpl(true,
-                result.getInt(COMMENTS.ID),
-                UUID.fromString(result.getString(COMMENTS.PLAYER_UUID)),
-                nullableUUID(result.getString(COMMENTS.STAFF_UUID)),
-                result.getTimestamp(COMMENTS.DATE_ADDED).toLocalDateTime(),
-                result.getBoolean(COMMENTS.IS_WARNING),
-                result.getString(COMMENTS.COMMENT));
+                result.getInt(1),
+                getUuid(result, 2),
+                getUuid(result, 3),
+                getDateTime(result, 4),
+                result.getBoolean(5),
+                result.getString(6));
     }
 
     /**
-     * Loads a {@link KickRecord}.
+     * Loads a {@link KickRecord}. The result must use the {@link #KICK_COLUMNS} projection.
      * @param result the result set to load from.
      * @return the loaded kick record.
      * @throws SQLException if an error occured while loading the record.
      */
-    public static KickRecord loadKickRecord(ResultSet result) throws SQLException {
+    public KickRecord loadKickRecord(ResultSet result) throws SQLException {
         return new KickRecordImpl(true,
-                result.getInt(KICKS.ID),
-                UUID.fromString(result.getString(KICKS.PLAYER_UUID)),
-                nullableUUID(result.getString(KICKS.STAFF_UUID)),
-                result.getTimestamp(KICKS.KICK_DATE).toLocalDateTime(),
-                result.getBoolean(KICKS.IS_GLOBAL),
-                result.getString(KICKS.SERVER_NAME),
-                result.getString(KICKS.REASON));
+                result.getInt(1),
+                getUuid(result, 2),
+                getUuid(result, 3),
+                getDateTime(result, 4),
+                result.getBoolean(5),
+                result.getString(6),
+                result.getString(7));
     }
 
     /**
-     * Loads a {@link MuteRecord}.
+     * Loads a {@link MuteRecord}. The result must use the {@link #MUTE_COLUMNS} projection.
      * @param result the result set to load from.
      * @return the loaded mute record.
      * @throws SQLException if an error occured while loading the record.
      */
-    public static MuteRecord loadMuteRecord(ResultSet result) throws SQLException {
+    public MuteRecord loadMuteRecord(ResultSet result) throws SQLException {
         return new MuteRecordImpl(true,
-                result.getInt(MUTES.ID),
-                PunishmentStatus.fromString(result.getString(MUTES.STATUS)),
-                UUID.fromString(result.getString(MUTES.PLAYER_UUID)),
-                nullableUUID(result.getString(MUTES.STAFF_UUID)),
-                nullableUUID(result.getString(MUTES.UNMUTE_STAFF_UUID)),
-                result.getTimestamp(MUTES.MUTE_DATE).toLocalDateTime(),
-                result.getTimestamp(MUTES.UNMUTE_DATE).toLocalDateTime(),
-                result.getString(MUTES.PLAYER_IP),
-                result.getString(MUTES.CONTEXTS),
-                result.getString(MUTES.REASON),
-                result.getString(MUTES.UNMUTE_REASON));
+                result.getInt(1),
+                PunishmentStatus.fromString(result.getString(2)),
+                getUuid(result, 3),
+                getUuid(result, 4),
+                getUuid(result, 5),
+                getDateTime(result, 6),
+                getDateTime(result, 7),
+                getAddress(result, 8),
+                result.getString(9),
+                result.getString(10),
+                result.getString(11));
     }
 
     /**
-     * Gets the integer value from the "count" column. Used in count queries.
+     * Loads a {@link PlayerDossier} from every row of the dossier query, starting at the current row.
+     * @param result the result set to load from.
+     * @return the loaded dossier.
+     * @throws SQLException if an error occured while loading the dossier.
+     */
+    public PlayerDossier loadPlayerDossier(ResultSet result) throws SQLException {
+        PlayerRecord player = null;
+        List<BanRecord> bans = new ArrayList<>();
+        List<CommentRecord> comments = new ArrayList<>();
+        List<KickRecord> kicks = new ArrayList<>();
+        List<MuteRecord> mutes = new ArrayList<>();
+        int[] counts = new int[DOSSIER_COUNT_TOTAL];
+
+        do {
+            int kind = result.getInt(1);
+            switch (kind) {
+                case DOSSIER_PLAYER -> player = new PlayerRecordImpl(true,
+                        getUuid(result, 5),
+                        result.getString(4),
+                        getDateTime(result, 9),
+                        getDateTime(result, 10),
+                        getDateTime(result, 11),
+                        result.getLong(2),
+                        result.getInt(3),
+                        result.getString(13),
+                        getAddress(result, 8));
+                case DOSSIER_BAN -> bans.add(new BanRecordImpl(true,
+                        result.getInt(2),
+                        PunishmentStatus.fromString(result.getString(4)),
+                        getUuid(result, 5),
+                        getUuid(result, 6),
+                        getUuid(result, 7),
+                        getDateTime(result, 9),
+                        getDateTime(result, 10),
+                        getAddress(result, 8),
+                        result.getString(13),
+                        result.getString(14),
+                        result.getString(15)));
+                case DOSSIER_COMMENT -> comments.add(new CommentRecordImpl(true,
+                        result.getInt(2),
+                        getUuid(result, 5),
+                        getUuid(result, 6),
+                        getDateTime(result, 9),
+                        result.getBoolean(12),
+                        result.getString(14)));
+                case DOSSIER_KICK -> kicks.add(new KickRecordImpl(true,
+                        result.getInt(2),
+                        getUuid(result, 5),
+                        getUuid(result, 6),
+                        getDateTime(result, 9),
+                        result.getBoolean(12),
+                        result.getString(4),
+                        result.getString(14)));
+                case DOSSIER_MUTE -> mutes.add(new MuteRecordImpl(true,
+                        result.getInt(2),
+                        PunishmentStatus.fromString(result.getString(4)),
+                        getUuid(result, 5),
+                        getUuid(result, 6),
+                        getUuid(result, 7),
+                        getDateTime(result, 9),
+                        getDateTime(result, 10),
+                        getAddress(result, 8),
+                        result.getString(13),
+                        result.getString(14),
+                        result.getString(15)));
+                default -> counts[kind - DOSSIER_COUNTS] = result.getInt(2);
+            }
+        } while (result.next());
+
+        return new PlayerDossier(player, bans, comments, kicks, mutes,
+                counts[0], counts[1], counts[2], counts[3], counts[4], counts[5], counts[6], counts[7], counts[8]);
+    }
+
+    /**
+     * Gets the integer value from the first column. Used in count queries.
      * @param result the result set to load from.
      * @return the count value.
      * @throws SQLException if an error occured while reading the result.
      */
-    public static int getCountColumn(ResultSet result) throws SQLException {
-        return result.getInt("count");
+    /**
+     * Loads {@link RecordCounts}. The result must hold the {@link #RECORD_COUNT_COLUMNS} in order.
+     * @param result the result set to load from.
+     * @return the loaded counts.
+     * @throws SQLException if an error occured while loading the counts.
+     */
+    public RecordCounts loadRecordCounts(ResultSet result) throws SQLException {
+        return new RecordCounts(
+                result.getInt(1),
+                result.getInt(2),
+                result.getInt(3),
+                result.getInt(4),
+                result.getInt(5),
+                result.getInt(6),
+                result.getInt(7),
+                result.getInt(8),
+                result.getInt(9));
+    }
+
+    private LocalDateTime getDateTime(ResultSet result, int column) throws SQLException {
+        if (localDateTimeSupported) {
+            return result.getObject(column, LocalDateTime.class);
+        }
+        Timestamp timestamp = result.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static UUID getUuid(ResultSet result, int column) throws SQLException {
+        return ColumnCodec.decodeUuid(result.getObject(column));
     }
 
-    private static UUID nullableUUID(String uuidString) {
-        return uuidString == null ? null : UUID.fromString(uuidString);
+    private static String getAddress(ResultSet result, int column) throws SQLException {
+        return ColumnCodec.decodeAddress(result.getObject(column));
     }
 }
@@ -22,10 +22,12 @@
  * SOFTWARE.
  */
 
+-- ${uuid} and ${ip} are replaced with the UUID and IP address column types of the configured storage layout
+
 CREATE TABLE IF NOT EXISTS players (
-    uuid            char(36)        NOT NULL,
+    uuid            ${uuid}         NOT NULL,
     username        varchar(16)     NOT NULL,
-    lastIP          varchar(45),
+    lastIP          ${ip},
     firstJoin       timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     lastJoin        timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     lastLeave       timestamp,
@@ -39,10 +41,10 @@ CREATE INDEX IF NOT EXISTS players_username ON players (username);
 CREATE TABLE IF NOT EXISTS bans (
     id              int             AUTO_INCREMENT,
     status          enum('Active', 'Expired', 'Ended') NOT NULL DEFAULT 'Active',
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
-    unbanStaffUuid  char(36),
-    playerIP        varchar(45),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
+    unbanStaffUuid  ${uuid},
+    playerIP        ${ip},
     banDate         timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     unbanDate       timestamp,
     contexts        varchar(255),
@@ -57,8 +59,8 @@ CREATE INDEX IF NOT EXISTS bans_playerUuid ON bans (playerUuid);
 
 CREATE TABLE IF NOT EXISTS comments (
     id              int             AUTO_INCREMENT,
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
     dateAdded       timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     isWarning       boolean         NOT NULL DEFAULT 0,
     comment         varchar(255)    NOT NULL,
@@ -70,8 +72,8 @@ CREATE INDEX IF NOT EXISTS comments_playerUuid ON comments (playerUuid);
 
 CREATE TABLE IF NOT EXISTS kicks (
     id              int             AUTO_INCREMENT,
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
     kickDate        timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     isGlobal        boolean         NOT NULL,
     serverName      varchar(255),
@@ -85,10 +87,10 @@ CREATE INDEX IF NOT EXISTS kicks_playerUuid ON kicks (playerUuid);
 CREATE TABLE IF NOT EXISTS mutes (
     id              int             AUTO_INCREMENT,
     status          enum('Active', 'Expired', 'Ended') NOT NULL DEFAULT 'Active',
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
-    unmuteStaffUuid char(36),
-    playerIP        varchar(45),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
+    unmuteStaffUuid ${uuid},
+    playerIP        ${ip},
     muteDate        timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     unmuteDate      timestamp,
     contexts        varchar(255),
@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+-- Converts the text UUID columns to the native uuid type. IP addresses stay as text, as H2 has no function to parse
+-- them into their bytes
+
+SET REFERENTIAL_INTEGRITY FALSE;
+
+ALTER TABLE players ALTER COLUMN uuid SET DATA TYPE uuid;
+ALTER TABLE bans ALTER COLUMN playerUuid SET DATA TYPE uuid;
+ALTER TABLE bans ALTER COLUMN staffUuid SET DATA TYPE uuid;
+ALTER TABLE bans ALTER COLUMN unbanStaffUuid SET DATA TYPE uuid;
+ALTER TABLE comments ALTER COLUMN playerUuid SET DATA TYPE uuid;
+ALTER TABLE comments ALTER COLUMN staffUuid SET DATA TYPE uuid;
+ALTER TABLE kicks ALTER COLUMN playerUuid SET DATA TYPE uuid;
+ALTER TABLE kicks ALTER COLUMN staffUuid SET DATA TYPE uuid;
+ALTER TABLE mutes ALTER COLUMN playerUuid SET DATA TYPE uuid;
+ALTER TABLE mutes ALTER COLUMN staffUuid SET DATA TYPE uuid;
+ALTER TABLE mutes ALTER COLUMN unmuteStaffUuid SET DATA TYPE uuid;
+ALTER TABLE bans_archive ALTER COLUMN playerUuid SET DATA TYPE uuid;
+ALTER TABLE bans_archive ALTER COLUMN staffUuid SET DATA TYPE uuid;
+ALTER TABLE bans_archive ALTER COLUMN unbanStaffUuid SET DATA TYPE uuid;
+ALTER TABLE mutes_archive ALTER COLUMN playerUuid SET DATA TYPE uuid;
+ALTER TABLE mutes_archive ALTER COLUMN staffUuid SET DATA TYPE uuid;
+ALTER TABLE mutes_archive ALTER COLUMN unmuteStaffUuid SET DATA TYPE uuid;
+ALTER TABLE player_stats ALTER COLUMN uuid SET DATA TYPE uuid;
+
+SET REFERENTIAL_INTEGRITY TRUE;
@@ -0,0 +1,40 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+-- Composite indexes matching the lookups: punishments by player and status, by IP and status, by issuing staff
+-- member in id order, and the status/end date range scanned when expiring punishments
+
+CREATE INDEX bans_playerUuid_status ON bans (playerUuid, status);
+CREATE INDEX bans_playerIP_status ON bans (playerIP, status);
+CREATE INDEX bans_staffUuid_id ON bans (staffUuid, id);
+CREATE INDEX bans_status_unbanDate ON bans (status, unbanDate);
+
+CREATE INDEX comments_staffUuid_id ON comments (staffUuid, id);
+
+CREATE INDEX kicks_staffUuid_id ON kicks (staffUuid, id);
+
+CREATE INDEX mutes_playerUuid_status ON mutes (playerUuid, status);
+CREATE INDEX mutes_playerIP_status ON mutes (playerIP, status);
+CREATE INDEX mutes_staffUuid_id ON mutes (staffUuid, id);
+CREATE INDEX mutes_status_unmuteDate ON mutes (status, unmuteDate);
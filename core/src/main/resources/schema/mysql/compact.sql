@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+-- Converts the text UUID and IP address columns to the compact layout: binary(16) UUIDs and varbinary(16) addresses
+-- holding the 4 or 16 address bytes. Each column is widened to a binary type first, so the text can be decoded in place
+-- MySQL commits each ALTER implicitly, so the conversion is not atomic and may be re-run after failing part way. Every
+-- step is safe to repeat: widening and narrowing keep converted bytes as they are, and only rows whose UUID is still
+-- 36 characters of text are decoded, which covers the whole row since each UPDATE is applied atomically
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE players MODIFY uuid varbinary(36) NOT NULL, MODIFY lastIP varbinary(45);
+UPDATE players SET uuid = UNHEX(REPLACE(uuid, '-', '')), lastIP = INET6_ATON(lastIP)
+    WHERE LENGTH(uuid) = 36;
+ALTER TABLE players MODIFY uuid binary(16) NOT NULL, MODIFY lastIP varbinary(16);
+
+ALTER TABLE bans MODIFY playerUuid varbinary(36) NOT NULL, MODIFY staffUuid varbinary(36), MODIFY unbanStaffUuid varbinary(36), MODIFY playerIP varbinary(45);
+UPDATE bans SET playerUuid = UNHEX(REPLACE(playerUuid, '-', '')), staffUuid = UNHEX(REPLACE(staffUuid, '-', '')),
+    unbanStaffUuid = UNHEX(REPLACE(unbanStaffUuid, '-', '')), playerIP = INET6_ATON(playerIP)
+    WHERE LENGTH(playerUuid) = 36;
+ALTER TABLE bans MODIFY playerUuid binary(16) NOT NULL, MODIFY staffUuid binary(16), MODIFY unbanStaffUuid binary(16), MODIFY playerIP varbinary(16);
+
+ALTER TABLE comments MODIFY playerUuid varbinary(36) NOT NULL, MODIFY staffUuid varbinary(36);
+UPDATE comments SET playerUuid = UNHEX(REPLACE(playerUuid, '-', '')), staffUuid = UNHEX(REPLACE(staffUuid, '-', ''))
+    WHERE LENGTH(playerUuid) = 36;
+ALTER TABLE comments MODIFY playerUuid binary(16) NOT NULL, MODIFY staffUuid binary(16);
+
+ALTER TABLE kicks MODIFY playerUuid varbinary(36) NOT NULL, MODIFY staffUuid varbinary(36);
+UPDATE kicks SET playerUuid = UNHEX(REPLACE(playerUuid, '-', '')), staffUuid = UNHEX(REPLACE(staffUuid, '-', ''))
+    WHERE LENGTH(playerUuid) = 36;
+ALTER TABLE kicks MODIFY playerUuid binary(16) NOT NULL, MODIFY staffUuid binary(16);
+
+ALTER TABLE mutes MODIFY playerUuid varbinary(36) NOT NULL, MODIFY staffUuid varbinary(36), MODIFY unmuteStaffUuid varbinary(36), MODIFY playerIP varbinary(45);
+UPDATE mutes SET playerUuid = UNHEX(REPLACE(playerUuid, '-', '')), staffUuid = UNHEX(REPLACE(staffUuid, '-', '')),
+    unmuteStaffUuid = UNHEX(REPLACE(unmuteStaffUuid, '-', '')), playerIP = INET6_ATON(playerIP)
+    WHERE LENGTH(playerUuid) = 36;
+ALTER TABLE mutes MODIFY playerUuid binary(16) NOT NULL, MODIFY staffUuid binary(16), MODIFY unmuteStaffUuid binary(16), MODIFY playerIP varbinary(16);
+
+ALTER TABLE bans_archive MODIFY playerUuid varbinary(36) NOT NULL, MODIFY staffUuid varbinary(36), MODIFY unbanStaffUuid varbinary(36), MODIFY playerIP varbinary(45);
+UPDATE bans_archive SET playerUuid = UNHEX(REPLACE(playerUuid, '-', '')), staffUuid = UNHEX(REPLACE(staffUuid, '-', '')),
+    unbanStaffUuid = UNHEX(REPLACE(unbanStaffUuid, '-', '')), playerIP = INET6_ATON(playerIP)
+    WHERE LENGTH(playerUuid) = 36;
+ALTER TABLE bans_archive MODIFY playerUuid binary(16) NOT NULL, MODIFY staffUuid binary(16), MODIFY unbanStaffUuid binary(16), MODIFY playerIP varbinary(16);
+
+ALTER TABLE mutes_archive MODIFY playerUuid varbinary(36) NOT NULL, MODIFY staffUuid varbinary(36), MODIFY unmuteStaffUuid varbinary(36), MODIFY playerIP varbinary(45);
+UPDATE mutes_archive SET playerUuid = UNHEX(REPLACE(playerUuid, '-', '')), staffUuid = UNHEX(REPLACE(staffUuid, '-', '')),
+    unmuteStaffUuid = UNHEX(REPLACE(unmuteStaffUuid, '-', '')), playerIP = INET6_ATON(playerIP)
+    WHERE LENGTH(playerUuid) = 36;
+ALTER TABLE mutes_archive MODIFY playerUuid binary(16) NOT NULL, MODIFY staffUuid binary(16), MODIFY unmuteStaffUuid binary(16), MODIFY playerIP varbinary(16);
+
+ALTER TABLE player_stats MODIFY uuid varbinary(36) NOT NULL;
+UPDATE player_stats SET uuid = UNHEX(REPLACE(uuid, '-', ''))
+    WHERE LENGTH(uuid) = 36;
+ALTER TABLE player_stats MODIFY uuid binary(16) NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -22,6 +22,8 @@
  * SOFTWARE.
  */
 
+-- ${uuid} and ${ip} are replaced with the UUID and IP address column types of the configured storage layout
+
 DO $$ BEGIN
     CREATE TYPE punish_status AS ENUM ('Active', 'Expired', 'Ended');
 EXCEPTION
@@ -29,9 +31,9 @@ EXCEPTION
 END $$;
 
 CREATE TABLE IF NOT EXISTS players (
-    uuid            char(36)        PRIMARY KEY,
+    uuid            ${uuid}         PRIMARY KEY,
     username        varchar(16)     NOT NULL,
-    lastIP          varchar(45),
+    lastIP          ${ip},
     firstJoin       timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     lastJoin        timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     lastLeave       timestamp,
@@ -44,10 +46,10 @@ CREATE INDEX IF NOT EXISTS players_username ON players (username);
 CREATE TABLE IF NOT EXISTS bans (
     id              serial          PRIMARY KEY,
     status          punish_status   NOT NULL DEFAULT 'Active',
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
-    unbanStaffUuid  char(36),
-    playerIP        varchar(45),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
+    unbanStaffUuid  ${uuid},
+    playerIP        ${ip},
     banDate         timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     unbanDate       timestamp,
     contexts        varchar(255),
@@ -61,12 +63,11 @@ CREATE INDEX IF NOT EXISTS bans_playerUuid ON bans (playerUuid);
 
 CREATE TABLE IF NOT EXISTS comments (
     id              serial          PRIMARY KEY,
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
     dateAdded       timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    isWarning       boolean         NOT NULL DEFAULT 0,
+    isWarning       boolean         NOT NULL DEFAULT false,
     comment         varchar(255)    NOT NULL,
-    PRIMARY KEY (id),
     FOREIGN KEY (playerUuid)        REFERENCES players(uuid),
     FOREIGN KEY (staffUuid)         REFERENCES players(uuid)
 );
@@ -74,8 +75,8 @@ CREATE INDEX IF NOT EXISTS comments_playerUuid ON comments (playerUuid);
 
 CREATE TABLE IF NOT EXISTS kicks (
     id              serial          PRIMARY KEY,
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
     kickDate        timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     isGlobal        boolean         NOT NULL,
     serverName      varchar(255),
@@ -88,10 +89,10 @@ CREATE INDEX IF NOT EXISTS kicks_playerUuid ON kicks (playerUuid);
 CREATE TABLE IF NOT EXISTS mutes (
     id              serial          PRIMARY KEY ,
     status          punish_status   NOT NULL DEFAULT 'Active',
-    playerUuid      char(36)        NOT NULL,
-    staffUuid       char(36),
-    unmuteStaffUuid char(36),
-    playerIP        varchar(45),
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
+    unmuteStaffUuid ${uuid},
+    playerIP        ${ip},
     muteDate        timestamp       NOT NULL DEFAULT CURRENT_TIMESTAMP,
     unmuteDate      timestamp,
     contexts        varchar(255),
@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+-- Converts the text UUID and IP address columns to the native uuid and inet types. The foreign keys are dropped while
+-- the referenced and referencing columns have different types, and recreated once both sides are converted
+
+ALTER TABLE bans DROP CONSTRAINT IF EXISTS bans_playeruuid_fkey, DROP CONSTRAINT IF EXISTS bans_staffuuid_fkey,
+    DROP CONSTRAINT IF EXISTS bans_unbanstaffuuid_fkey;
+ALTER TABLE comments DROP CONSTRAINT IF EXISTS comments_playeruuid_fkey, DROP CONSTRAINT IF EXISTS comments_staffuuid_fkey;
+ALTER TABLE kicks DROP CONSTRAINT IF EXISTS kicks_playeruuid_fkey, DROP CONSTRAINT IF EXISTS kicks_staffuuid_fkey;
+ALTER TABLE mutes DROP CONSTRAINT IF EXISTS mutes_playeruuid_fkey, DROP CONSTRAINT IF EXISTS mutes_staffuuid_fkey,
+    DROP CONSTRAINT IF EXISTS mutes_unmutestaffuuid_fkey;
+
+ALTER TABLE players ALTER COLUMN uuid TYPE uuid USING uuid::uuid, ALTER COLUMN lastIP TYPE inet USING lastIP::inet;
+ALTER TABLE bans ALTER COLUMN playerUuid TYPE uuid USING playerUuid::uuid, ALTER COLUMN staffUuid TYPE uuid USING staffUuid::uuid,
+    ALTER COLUMN unbanStaffUuid TYPE uuid USING unbanStaffUuid::uuid, ALTER COLUMN playerIP TYPE inet USING playerIP::inet;
+ALTER TABLE comments ALTER COLUMN playerUuid TYPE uuid USING playerUuid::uuid, ALTER COLUMN staffUuid TYPE uuid USING staffUuid::uuid;
+ALTER TABLE kicks ALTER COLUMN playerUuid TYPE uuid USING playerUuid::uuid, ALTER COLUMN staffUuid TYPE uuid USING staffUuid::uuid;
+ALTER TABLE mutes ALTER COLUMN playerUuid TYPE uuid USING playerUuid::uuid, ALTER COLUMN staffUuid TYPE uuid USING staffUuid::uuid,
+    ALTER COLUMN unmuteStaffUuid TYPE uuid USING unmuteStaffUuid::uuid, ALTER COLUMN playerIP TYPE inet USING playerIP::inet;
+ALTER TABLE bans_archive ALTER COLUMN playerUuid TYPE uuid USING playerUuid::uuid, ALTER COLUMN staffUuid TYPE uuid USING staffUuid::uuid,
+    ALTER COLUMN unbanStaffUuid TYPE uuid USING unbanStaffUuid::uuid, ALTER COLUMN playerIP TYPE inet USING playerIP::inet;
+ALTER TABLE mutes_archive ALTER COLUMN playerUuid TYPE uuid USING playerUuid::uuid, ALTER COLUMN staffUuid TYPE uuid USING staffUuid::uuid,
+    ALTER COLUMN unmuteStaffUuid TYPE uuid USING unmuteStaffUuid::uuid, ALTER COLUMN playerIP TYPE inet USING playerIP::inet;
+ALTER TABLE player_stats ALTER COLUMN uuid TYPE uuid USING uuid::uuid;
+
+ALTER TABLE bans ADD FOREIGN KEY (playerUuid) REFERENCES players(uuid), ADD FOREIGN KEY (staffUuid) REFERENCES players(uuid),
+    ADD FOREIGN KEY (unbanStaffUuid) REFERENCES players(uuid);
+ALTER TABLE comments ADD FOREIGN KEY (playerUuid) REFERENCES players(uuid), ADD FOREIGN KEY (staffUuid) REFERENCES players(uuid);
+ALTER TABLE kicks ADD FOREIGN KEY (playerUuid) REFERENCES players(uuid), ADD FOREIGN KEY (staffUuid) REFERENCES players(uuid);
+ALTER TABLE mutes ADD FOREIGN KEY (playerUuid) REFERENCES players(uuid), ADD FOREIGN KEY (staffUuid) REFERENCES players(uuid),
+    ADD FOREIGN KEY (unmuteStaffUuid) REFERENCES players(uuid);
@@ -22,10 +22,12 @@
  * SOFTWARE.
  */
 
+-- ${uuid} and ${ip} are replaced with the UUID and IP address column types of the configured storage layout
+
 CREATE TABLE IF NOT EXISTS players (
-    uuid            char(36)        NOT NULL PRIMARY KEY,
+    uuid            ${uuid}         NOT NULL PRIMARY KEY,
     username        varchar(16)     NOT NULL COLLATE NOCASE,
-    lastIP          varchar(45),
+    lastIP          ${ip},
     firstJoin       timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
     lastJoin        timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
     lastLeave       timestamp,
@@ -36,12 +38,12 @@ CREATE TABLE IF NOT EXISTS players (
 CREATE INDEX IF NOT EXISTS players_username ON players (username);
 
 CREATE TABLE IF NOT EXISTS bans (
-    id              int             PRIMARY KEY AUTOINCREMENT,
+    id              integer         PRIMARY KEY AUTOINCREMENT,
     status          text            CHECK(status IN ('Active', 'Expired', 'Ended')) NOT NULL DEFAULT ('Active'),
-    playerUuid      char(36)        NOT NULL REFERENCES players(uuid),
-    staffUuid       char(36)        REFERENCES players(uuid),
-    unbanStaffUuid  char(36)        REFERENCES players(uuid),
-    playerIP        varchar(45),
+    playerUuid      ${uuid}         NOT NULL REFERENCES players(uuid),
+    staffUuid       ${uuid}         REFERENCES players(uuid),
+    unbanStaffUuid  ${uuid}         REFERENCES players(uuid),
+    playerIP        ${ip},
     banDate         timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
     unbanDate       timestamp,
     contexts        varchar(255),
@@ -51,9 +53,9 @@ CREATE TABLE IF NOT EXISTS bans (
 CREATE INDEX IF NOT EXISTS bans_playerUuid ON bans (playerUuid);
 
 CREATE TABLE IF NOT EXISTS comments (
-    id              int             PRIMARY KEY AUTOINCREMENT,
-    playerUuid      char(36)        NOT NULL REFERENCES players(uuid),
-    staffUuid       char(36)        REFERENCES players(uuid),
+    id              integer         PRIMARY KEY AUTOINCREMENT,
+    playerUuid      ${uuid}         NOT NULL REFERENCES players(uuid),
+    staffUuid       ${uuid}         REFERENCES players(uuid),
     dateAdded       timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
     isWarning       boolean         NOT NULL DEFAULT (0),
     comment         varchar(255)    NOT NULL
@@ -61,9 +63,9 @@ CREATE TABLE IF NOT EXISTS comments (
 CREATE INDEX IF NOT EXISTS comments_playerUuid ON comments (playerUuid);
 
 CREATE TABLE IF NOT EXISTS kicks (
-    id              int             PRIMARY KEY AUTOINCREMENT,
-    playerUuid      char(36)        NOT NULL REFERENCES players(uuid),
-    staffUuid       char(36)        REFERENCES players(uuid),
+    id              integer         PRIMARY KEY AUTOINCREMENT,
+    playerUuid      ${uuid}         NOT NULL REFERENCES players(uuid),
+    staffUuid       ${uuid}         REFERENCES players(uuid),
     kickDate        timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
     isGlobal        boolean         NOT NULL,
     serverName      varchar(255),
@@ -72,12 +74,12 @@ CREATE TABLE IF NOT EXISTS kicks (
 CREATE INDEX IF NOT EXISTS kicks_playerUuid ON kicks (playerUuid);
 
 CREATE TABLE IF NOT EXISTS mutes (
-    id              int             PRIMARY KEY AUTOINCREMENT,
+    id              integer         PRIMARY KEY AUTOINCREMENT,
     status          text            CHECK(status IN ('Active', 'Expired', 'Ended')) NOT NULL DEFAULT ('Active'),
-    playerUuid      char(36)        NOT NULL REFERENCES players(uuid),
-    staffUuid       char(36)        REFERENCES players(uuid),
-    unmuteStaffUuid char(36)        REFERENCES players(uuid),
-    playerIP        varchar(45),
+    playerUuid      ${uuid}         NOT NULL REFERENCES players(uuid),
+    staffUuid       ${uuid}         REFERENCES players(uuid),
+    unmuteStaffUuid ${uuid}         REFERENCES players(uuid),
+    playerIP        ${ip},
     muteDate        timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
     unmuteDate      timestamp,
     contexts        varchar(255),
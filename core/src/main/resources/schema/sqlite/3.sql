@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+-- Per-player record counters, kept up to date by the inserts that add records so that counting a player's records
+-- does not scan the record tables. The counters are backfilled from the existing records
+
+CREATE TABLE IF NOT EXISTS player_stats (
+    uuid            ${uuid}         NOT NULL PRIMARY KEY,
+    bans            int             NOT NULL DEFAULT (0),
+    comments        int             NOT NULL DEFAULT (0),
+    warnings        int             NOT NULL DEFAULT (0),
+    kicks           int             NOT NULL DEFAULT (0),
+    mutes           int             NOT NULL DEFAULT (0),
+    issuedBans      int             NOT NULL DEFAULT (0),
+    issuedComments  int             NOT NULL DEFAULT (0),
+    issuedKicks     int             NOT NULL DEFAULT (0),
+    issuedMutes     int             NOT NULL DEFAULT (0)
+);
+
+INSERT INTO player_stats (uuid, bans, comments, warnings, kicks, mutes, issuedBans, issuedComments, issuedKicks, issuedMutes)
+    SELECT uuid,
+        (SELECT COUNT(*) FROM bans WHERE playerUuid = players.uuid),
+        (SELECT COUNT(*) FROM comments WHERE playerUuid = players.uuid),
+        (SELECT COUNT(*) FROM comments WHERE playerUuid = players.uuid AND isWarning = true),
+        (SELECT COUNT(*) FROM kicks WHERE playerUuid = players.uuid),
+        (SELECT COUNT(*) FROM mutes WHERE playerUuid = players.uuid),
+        (SELECT COUNT(*) FROM bans WHERE staffUuid = players.uuid),
+        (SELECT COUNT(*) FROM comments WHERE staffUuid = players.uuid),
+        (SELECT COUNT(*) FROM kicks WHERE staffUuid = players.uuid),
+        (SELECT COUNT(*) FROM mutes WHERE staffUuid = players.uuid)
+    FROM players;
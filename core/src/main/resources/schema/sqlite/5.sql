@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+-- Cold storage for bans and mutes that ended long ago, moved out of the hot tables in batches so that the hot tables
+-- and their indexes stay small. Archived records keep their ids and are only read by lookups reaching past the newest
+-- archived date
+
+CREATE TABLE IF NOT EXISTS bans_archive (
+    id              int             NOT NULL PRIMARY KEY,
+    status          text            CHECK(status IN ('Active', 'Expired', 'Ended')) NOT NULL,
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
+    unbanStaffUuid  ${uuid},
+    playerIP        ${ip},
+    banDate         timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
+    unbanDate       timestamp,
+    contexts        varchar(255),
+    reason          varchar(255),
+    unbanReason     varchar(255)
+);
+CREATE INDEX IF NOT EXISTS bans_archive_playerUuid ON bans_archive (playerUuid);
+CREATE INDEX IF NOT EXISTS bans_archive_playerIP ON bans_archive (playerIP);
+CREATE INDEX IF NOT EXISTS bans_archive_staffUuid_id ON bans_archive (staffUuid, id);
+CREATE INDEX IF NOT EXISTS bans_archive_banDate ON bans_archive (banDate);
+
+CREATE TABLE IF NOT EXISTS mutes_archive (
+    id              int             NOT NULL PRIMARY KEY,
+    status          text            CHECK(status IN ('Active', 'Expired', 'Ended')) NOT NULL,
+    playerUuid      ${uuid}         NOT NULL,
+    staffUuid       ${uuid},
+    unmuteStaffUuid ${uuid},
+    playerIP        ${ip},
+    muteDate        timestamp       NOT NULL DEFAULT (CURRENT_TIMESTAMP),
+    unmuteDate      timestamp,
+    contexts        varchar(255),
+    reason          varchar(255),
+    unmuteReason    varchar(255)
+);
+CREATE INDEX IF NOT EXISTS mutes_archive_playerUuid ON mutes_archive (playerUuid);
+CREATE INDEX IF NOT EXISTS mutes_archive_playerIP ON mutes_archive (playerIP);
+CREATE INDEX IF NOT EXISTS mutes_archive_staffUuid_id ON mutes_archive (staffUuid, id);
+CREATE INDEX IF NOT EXISTS mutes_archive_muteDate ON mutes_archive (muteDate);
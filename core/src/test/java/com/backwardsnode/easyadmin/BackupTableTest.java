@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.api.data.PunishmentStatus;
+import com.backwardsnode.easyadmin.api.record.BanRecord;
+import com.backwardsnode.easyadmin.core.backup.BackupTable;
+import com.backwardsnode.easyadmin.core.record.BanRecordImpl;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BackupTableTest {
+
+    private static final UUID PLAYER = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID STAFF = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    @Test
+    public void restoresWrittenRowsInBatches() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2023, 4, 1, 12, 30, 15, 250_000_000);
+        List<BanRecord> bans = List.of(
+                new BanRecordImpl(PunishmentStatus.ACTIVE, PLAYER, STAFF, null, date, null, null, null, "Griefing", null),
+                new BanRecordImpl(PunishmentStatus.ENDED, PLAYER, null, STAFF, date, date.plusDays(1), "192.168.0.1", "lobby", null, "Appealed"),
+                new BanRecordImpl(PunishmentStatus.EXPIRED, PLAYER, STAFF, null, date, date.plusHours(1), null, null, "", null));
+
+        byte[] backup = write(bans);
+        List<List<BanRecord>> batches = new ArrayList<>();
+        long read = BackupTable.BANS_TABLE.read(new ByteArrayInputStream(backup), 2, batch -> batches.add(List.copyOf(batch)));
+
+        assertEquals(3, read);
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).size());
+
+        BanRecord ended = batches.get(0).get(1);
+        assertEquals(PunishmentStatus.ENDED, ended.getStatus());
+        assertEquals(PLAYER, ended.getPlayer());
+        assertNull(ended.getAuthor());
+        assertEquals(STAFF, ended.getTerminatingStaff());
+        assertEquals(date, ended.getDateAdded());
+        assertEquals(date.plusDays(1), ended.getTerminationDate());
+        assertEquals("192.168.0.1", ended.getIpAddress());
+        assertEquals("lobby", ended.getContext());
+        assertNull(ended.getReason());
+        assertEquals("Appealed", ended.getTerminationReason());
+        assertEquals("", batches.get(1).get(0).getReason());
+    }
+
+    @Test
+    public void rejectsTruncatedAndMismatchedBackups() throws Exception {
+        BanRecord ban = new BanRecordImpl(PunishmentStatus.ACTIVE, PLAYER, STAFF, null, LocalDateTime.now(), null, null, null, null, null);
+        byte[] backup = write(List.of(ban, ban));
+
+        byte[] truncated = Arrays.copyOf(backup, backup.length - 9);
+        assertThrows(IOException.class, () -> BackupTable.BANS_TABLE.read(new ByteArrayInputStream(truncated), 10, batch -> true));
+        assertThrows(IOException.class, () -> BackupTable.MUTES_TABLE.read(new ByteArrayInputStream(backup), 10, batch -> true));
+        assertThrows(IOException.class, () -> BackupTable.BANS_TABLE.read(new ByteArrayInputStream(backup), 10, batch -> false));
+    }
+
+    private static byte[] write(List<BanRecord> bans) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BackupTable.BANS_TABLE.write(out, bans.stream());
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.core.database.ColumnCodec;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnCodecTest {
+
+    @Test
+    public void decodesEveryUuidFormat() {
+        UUID uuid = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+        assertEquals(16, ColumnCodec.encodeUuid(uuid).length);
+        assertEquals(uuid, ColumnCodec.decodeUuid(ColumnCodec.encodeUuid(uuid)));
+        assertEquals(uuid, ColumnCodec.decodeUuid(uuid.toString()));
+        assertEquals(uuid, ColumnCodec.decodeUuid(uuid));
+        assertNull(ColumnCodec.decodeUuid(null));
+    }
+
+    @Test
+    public void decodesEveryAddressFormat() throws SQLException {
+        assertEquals(4, ColumnCodec.encodeAddress("192.168.0.1").length);
+        assertEquals(16, ColumnCodec.encodeAddress("2001:db8::1").length);
+        assertEquals("192.168.0.1", ColumnCodec.decodeAddress(ColumnCodec.encodeAddress("192.168.0.1")));
+        assertEquals("192.168.0.1", ColumnCodec.decodeAddress("192.168.0.1"));
+        assertNull(ColumnCodec.decodeAddress(null));
+    }
+
+    @Test
+    public void parsesAddressLiteralsLikeInetAddress() throws Exception {
+        for (String address : new String[] { "0.0.0.0", "255.255.255.255", "::", "::1", "1::", "2001:db8::8a2e:370:7334",
+                "2001:0db8:0000:0000:0000:ff00:0042:8329", "::ffff:192.168.0.1", "::192.168.0.1", "1:2:3:4:5:6:7::", "fe80::1%eth0" }) {
+            assertArrayEquals(InetAddress.getByName(address).getAddress(), ColumnCodec.parseAddress(address), address);
+        }
+    }
+
+    @Test
+    public void rejectsAnythingButAddressLiterals() {
+        for (String address : new String[] { "", "localhost", "example.com", "#", "1.2.3", "1.2.3.4.5", "256.0.0.1", "1..2.3",
+                "1:2:3:4:5:6:7:8:9", "1::2::3", ":::", "12345::", "g::1", "1.2.3.4::", "1:2:3:4:5:6:7:8::" }) {
+            assertNull(ColumnCodec.parseAddress(address), address);
+        }
+        assertThrows(SQLException.class, () -> ColumnCodec.encodeAddress("localhost"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.api.data.LatencySummary;
+import com.backwardsnode.easyadmin.core.database.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void summarizesRecordedLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        LatencySummary summary = histogram.snapshot();
+        assertEquals(1000, summary.count());
+        assertEquals(500_500_000L, summary.totalNanos());
+        assertEquals(500_500L, summary.meanNanos());
+        assertEquals(1_000_000L, summary.maxNanos());
+        assertWithinEighth(500_000L, summary.p50Nanos());
+        assertWithinEighth(950_000L, summary.p95Nanos());
+        assertWithinEighth(990_000L, summary.p99Nanos());
+    }
+
+    @Test
+    public void keepsSmallAndLargeLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencySummary summary = histogram.snapshot();
+        assertEquals(3, summary.count());
+        assertEquals(3, summary.p50Nanos());
+        assertEquals(Long.MAX_VALUE, summary.maxNanos());
+        assertEquals(Long.MAX_VALUE, summary.p99Nanos());
+    }
+
+    @Test
+    public void resetsToEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.reset();
+
+        assertSame(LatencySummary.EMPTY, histogram.snapshot());
+    }
+
+    private static void assertWithinEighth(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, "expected about " + expected + " but was " + actual);
+    }
+
+}
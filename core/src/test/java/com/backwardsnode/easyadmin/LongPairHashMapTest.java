@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.core.component.LongPairHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongPairHashMapTest {
+
+    @Test
+    public void putReplacesAndReturnsPrevious() {
+        LongPairHashMap<String> map = new LongPairHashMap<>();
+
+        assertNull(map.put(1, 2, "a"));
+        assertEquals("a", map.put(1, 2, "b"));
+        assertEquals("b", map.get(1, 2));
+        assertNull(map.get(2, 1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void removeKeepsCollidingKeysReachable() {
+        // a tiny table forces long probe runs that wrap around the end
+        LongPairHashMap<Integer> map = new LongPairHashMap<>(1);
+        for (int i = 0; i < 12; i++) {
+            map.put(0, i, i);
+        }
+        for (int i = 0; i < 12; i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove(0, i));
+        }
+
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(0, i));
+        }
+        assertEquals(6, map.size());
+    }
+
+    @Test
+    public void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        LongPairHashMap<Integer> map = new LongPairHashMap<>();
+        Map<UUID, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100000; i++) {
+            // a small key space makes replacements and removals of present keys common
+            UUID key = new UUID(random.nextInt(64), random.nextInt(512));
+            long high = key.getMostSignificantBits();
+            long low = key.getLeastSignificantBits();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(high, low));
+            } else {
+                assertEquals(expected.put(key, i), map.put(high, low, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<UUID, Integer> entry : expected.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey().getMostSignificantBits(), entry.getKey().getLeastSignificantBits()));
+            assertEquals(entry.getValue(), map.get(entry.getKey().getMostSignificantBits(), entry.getKey().getLeastSignificantBits()));
+        }
+    }
+
+    @Test
+    public void emptyMapHasNoKeys() {
+        LongPairHashMap<String> map = new LongPairHashMap<>(0);
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0, 0));
+        assertNull(map.remove(0, 0));
+    }
+}
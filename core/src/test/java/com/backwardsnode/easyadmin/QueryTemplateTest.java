@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.api.data.LookupOptions;
+import com.backwardsnode.easyadmin.core.database.QueryTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryTemplateTest {
+
+    private static final String QUERY = "SELECT id FROM bans WHERE playerUuid = ?";
+
+    @Test
+    public void selectsTemplateForOptions() {
+        QueryTemplate template = new QueryTemplate(QUERY, "banDate");
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(QUERY + " ORDER BY id DESC LIMIT ? OFFSET ?;", template.get(new LookupOptions(10)));
+        assertEquals(QUERY + " AND banDate < ? ORDER BY id DESC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, true, now, null)));
+        assertEquals(QUERY + " AND banDate > ? ORDER BY id ASC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, false, null, now)));
+        assertEquals(QUERY + " AND banDate BETWEEN ? AND ? ORDER BY id DESC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, true, now, now.minusDays(1))));
+    }
+
+    @Test
+    public void seeksPastCursor() {
+        QueryTemplate template = new QueryTemplate(QUERY, "banDate");
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(QUERY + " AND id < ? ORDER BY id DESC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10).withCursor(120)));
+        assertEquals(QUERY + " AND banDate > ? AND id > ? ORDER BY id ASC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, false, null, now, 120)));
+    }
+
+    @Test
+    public void readsArchiveOnlyPastHorizon() {
+        String archive = "SELECT id FROM bans_archive WHERE playerUuid = ?";
+        QueryTemplate template = new QueryTemplate(QUERY, archive, "banDate");
+        LocalDateTime horizon = LocalDateTime.now().minusDays(180);
+
+        assertEquals(QUERY + " ORDER BY id DESC LIMIT ? OFFSET ?;", template.get(new LookupOptions(10), null));
+        assertEquals(QUERY + " UNION ALL " + archive + " ORDER BY id DESC LIMIT ? OFFSET ?;", template.get(new LookupOptions(10), horizon));
+        assertEquals(QUERY + " AND banDate > ? UNION ALL " + archive + " AND banDate > ? ORDER BY id DESC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, true, null, horizon.minusDays(1)), horizon));
+        assertEquals(QUERY + " AND banDate > ? ORDER BY id DESC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, true, null, horizon.plusDays(1)), horizon));
+    }
+
+    @Test
+    public void filtersEachArchiveArm() {
+        String archive = "SELECT id FROM bans_archive WHERE playerUuid = ?";
+        QueryTemplate template = new QueryTemplate(QUERY, archive, "banDate");
+        LocalDateTime horizon = LocalDateTime.now().minusDays(180);
+
+        assertEquals(QUERY + " AND id > ? UNION ALL " + archive + " AND id > ? ORDER BY id ASC LIMIT ? OFFSET ?;",
+                template.get(new LookupOptions(10, 0, false, null, null, 120), horizon));
+        assertTrue(QueryTemplate.readsArchive(new LookupOptions(10), horizon));
+        assertFalse(QueryTemplate.readsArchive(new LookupOptions(10), null));
+    }
+
+    @Test
+    public void ignoresHorizonWithoutArchive() {
+        QueryTemplate template = new QueryTemplate(QUERY, "banDate");
+
+        assertSame(template.get(new LookupOptions(10)), template.get(new LookupOptions(10), LocalDateTime.now()));
+    }
+
+    @Test
+    public void reusesTemplateText() {
+        QueryTemplate template = new QueryTemplate(QUERY, "banDate");
+
+        assertSame(template.get(new LookupOptions(10)), template.get(new LookupOptions(50, 20)));
+    }
+}
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SchemaLoadTest {
@@ -46,4 +47,23 @@ public class SchemaLoadTest {
         assertEquals(5, statements.size());
         assertTrue(statements.get(0).startsWith("CREATE TABLE"));
     }
+
+    @Test
+    public void loadDollarQuotedSchema() {
+        List<String> statements;
+        try {
+            statements = DatabaseUtil.loadSchemaStatements("postgres.sql");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        assertEquals(11, statements.size());
+        assertTrue(statements.get(0).startsWith("DO $$"));
+        assertTrue(statements.get(0).endsWith("END $$;"));
+    }
+
+    @Test
+    public void findMigrationScripts() {
+        assertTrue(DatabaseUtil.hasSchemaFile("mysql/2.sql"));
+        assertFalse(DatabaseUtil.hasSchemaFile("mysql/1.sql"));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.core.database.ColumnLayout;
+import com.backwardsnode.easyadmin.core.database.SchemaMigrator;
+import com.backwardsnode.easyadmin.core.database.impl.EasyAdminH2;
+import com.backwardsnode.easyadmin.core.database.util.DatabaseUtil;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaMigratorTest {
+
+    private static final UUID PLAYER = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    @Test
+    public void createsNewDatabasesWithThePreferredLayout() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:migrator_new")) {
+            SchemaMigrator migrator = new SchemaMigrator(new EasyAdminH2());
+            assertFalse(migrator.hasBaselineTables(connection));
+
+            migrator.migrate(connection, ColumnLayout.COMPACT);
+
+            assertEquals(ColumnLayout.COMPACT, migrator.getColumnLayout(connection));
+        }
+    }
+
+    @Test
+    public void convertsUnversionedBaselineDatabases() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:migrator_baseline")) {
+            // a database from before schema versions were recorded, with only the baseline tables in text columns
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : DatabaseUtil.loadSchemaStatements("h2.sql")) {
+                    statement.execute(sql.replace("${uuid}", "char(36)").replace("${ip}", "varchar(45)"));
+                }
+                statement.execute("INSERT INTO players (uuid, username) VALUES ('" + PLAYER + "', 'Player');");
+                statement.execute("INSERT INTO bans (playerUuid, playerIP, reason) VALUES ('" + PLAYER + "', '192.168.0.1', 'Griefing');");
+            }
+
+            SchemaMigrator migrator = new SchemaMigrator(new EasyAdminH2());
+            assertTrue(migrator.hasBaselineTables(connection));
+            int version = migrator.migrate(connection, ColumnLayout.COMPACT);
+
+            assertEquals(version, migrator.getCurrentVersion(connection));
+            assertEquals(ColumnLayout.COMPACT, migrator.getColumnLayout(connection));
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT playerUuid, playerIP FROM bans;")) {
+                assertTrue(resultSet.next());
+                assertEquals(PLAYER, resultSet.getObject(1));
+                assertEquals("192.168.0.1", resultSet.getString(2));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT bans FROM player_stats WHERE uuid = '" + PLAYER + "';")) {
+                assertTrue(resultSet.next());
+                assertEquals(1, resultSet.getInt(1));
+            }
+        }
+    }
+}
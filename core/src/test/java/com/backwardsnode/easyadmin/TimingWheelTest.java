@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Thomas Stephenson (BackwardsNode) <backwardsnode@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.backwardsnode.easyadmin;
+
+import com.backwardsnode.easyadmin.core.component.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    public void expiresOnceDeadlinePasses() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 300);
+
+        assertEquals(List.of(), wheel.advance(299));
+        assertEquals(List.of("a", "b"), sorted(wheel.advance(300)));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void waitsOutRoundsBeyondOneRevolution() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 0);
+        wheel.schedule("near", 200);
+        wheel.schedule("far", 1000);
+
+        assertEquals(List.of("near"), wheel.advance(200));
+        assertEquals(List.of(), wheel.advance(600));
+        assertEquals(List.of(), wheel.advance(999));
+        assertEquals(List.of("far"), wheel.advance(1000));
+    }
+
+    @Test
+    public void cancelledDeadlinesDoNotExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 0);
+        TimingWheel.Timeout<String> a = wheel.schedule("a", 100);
+        wheel.schedule("b", 100);
+
+        assertTrue(wheel.cancel(a));
+        assertFalse(wheel.cancel(a));
+        assertEquals(List.of("b"), wheel.advance(100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void passedDeadlinesExpireOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 1000);
+        wheel.advance(5000);
+        wheel.schedule("late", 2000);
+
+        assertEquals(5100, wheel.nextTickNanos());
+        assertEquals(List.of(), wheel.advance(5099));
+        assertEquals(List.of("late"), wheel.advance(5100));
+    }
+
+    private static List<String> sorted(List<String> items) {
+        return items.stream().sorted().toList();
+    }
+
+}